@@ -0,0 +1,113 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks that serialize the writes to any given Asset (series), across the Surrogate
+ * and Carrier write paths, so that the check-then-act sequences of concurrent writers of the
+ * same Asset do not interleave, while the writes to different Assets proceed in parallel
+ * (unless the Assets happen to share a stripe).
+ *
+ * Locks are reentrant, so that a write can delegate to other writes of the same Asset.
+ * A write must not acquire the lock of another Asset while holding one, since two Assets
+ * may share a stripe, and the order of acquisition could not be guaranteed.
+ */
+public class AssetWriteLocks {
+
+  private final ReentrantLock[] stripes;
+
+  private final AtomicLong acquisitions = new AtomicLong(0);
+
+  private final AtomicLong contentions = new AtomicLong(0);
+
+  private final AtomicLong waitNanos = new AtomicLong(0);
+
+  /**
+   * @param stripeCount the number of locks (0 to disable the locking altogether)
+   */
+  public AssetWriteLocks(int stripeCount) {
+    if (stripeCount < 0) {
+      throw new IllegalArgumentException("Invalid number of lock stripes: " + stripeCount);
+    }
+    this.stripes = new ReentrantLock[stripeCount];
+    Arrays.setAll(stripes, i -> new ReentrantLock());
+  }
+
+  /**
+   * Performs a write while holding the lock of an Asset
+   *
+   * @param assetId the ID of the Asset (series)
+   * @param write   the write
+   * @param <T>     the type of the outcome of the write
+   * @return the outcome of the write
+   */
+  public <T> T withLock(UUID assetId, Supplier<T> write) {
+    if (stripes.length == 0) {
+      return write.get();
+    }
+    ReentrantLock lock = lockFor(assetId);
+    acquire(lock);
+    try {
+      return write.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void acquire(ReentrantLock lock) {
+    acquisitions.incrementAndGet();
+    if (lock.tryLock()) {
+      return;
+    }
+    contentions.incrementAndGet();
+    long start = System.nanoTime();
+    lock.lock();
+    waitNanos.addAndGet(System.nanoTime() - start);
+  }
+
+  private ReentrantLock lockFor(UUID assetId) {
+    // mix the high and low bits, which are both random in most UUIDs
+    int hash = Long.hashCode(assetId.getMostSignificantBits() ^ assetId.getLeastSignificantBits());
+    return stripes[Math.floorMod(hash, stripes.length)];
+  }
+
+  public int getStripeCount() {
+    return stripes.length;
+  }
+
+  public long getAcquisitions() {
+    return acquisitions.get();
+  }
+
+  /**
+   * @return the number of writes that had to wait for another write (of the same stripe)
+   */
+  public long getContentions() {
+    return contentions.get();
+  }
+
+  /**
+   * @return the total time spent waiting for the locks, in ms
+   */
+  public long getWaitMillis() {
+    return waitNanos.get() / 1_000_000;
+  }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.Forbidden;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.InternalServerError;
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newId;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.services.CompositeKnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.taxonomy.krformat.SerializationFormat;
+
+/**
+ * Asynchronous variants of the main read operations of a {@link SemanticKnowledgeAssetRepository}.
+ *
+ * The results are the same as the results of the synchronous operations, but the lookups that do
+ * not depend on each other run concurrently, rather than one after the other:
+ * <ul>
+ *   <li>the content of a Surrogate is fetched and parsed while the Links to and from the Asset
+ *   are retrieved from the Index;</li>
+ *   <li>the content of a Carrier is (speculatively) fetched from the Artifact Repository
+ *   while the Surrogate that describes the Carrier is retrieved;</li>
+ *   <li>the Surrogates of the components of a Composite are retrieved concurrently with each
+ *   other, and with the Surrogate, the root and the struct of the Composite.</li>
+ * </ul>
+ * The stages run on the executor of the Repository, which follows the configured thread mode
+ * (@see KnowledgeAssetRepositoryOptions#THREAD_MODE).
+ * The futures never complete exceptionally: errors are reported as failed Answers.
+ */
+public class AsyncKnowledgeAssetRepository {
+
+  private final SemanticKnowledgeAssetRepository repo;
+
+  private final Executor executor;
+
+  AsyncKnowledgeAssetRepository(SemanticKnowledgeAssetRepository repo, Executor executor) {
+    this.repo = repo;
+    this.executor = executor;
+  }
+
+  /**
+   * @see SemanticKnowledgeAssetRepository#getKnowledgeAssetVersion(UUID, String)
+   */
+  public CompletableFuture<Answer<KnowledgeAsset>> getKnowledgeAssetVersion(
+      UUID assetId, String versionTag) {
+    return getKnowledgeAssetVersion(assetId, versionTag, null);
+  }
+
+  /**
+   * @see SemanticKnowledgeAssetRepository#getKnowledgeAssetVersion(UUID, String, String)
+   */
+  public CompletableFuture<Answer<KnowledgeAsset>> getKnowledgeAssetVersion(
+      UUID assetId, String versionTag, String xAccept) {
+    return supply(() -> repo.resolveAssetVersion(assetId, versionTag))
+        .thenCompose(assetVersionId -> retrieveSurrogate(assetId, versionTag, assetVersionId))
+        .thenApply(surr -> surr.flatMap(ka -> repo.negotiateSurrogate(ka, xAccept)))
+        .exceptionally(AsyncKnowledgeAssetRepository::toFailure);
+  }
+
+  /**
+   * Retrieves the canonical Surrogate of a resolved Asset version, parsing the Surrogate while
+   * the Links to and from the Asset are retrieved from the Index
+   */
+  private CompletableFuture<Answer<KnowledgeAsset>> retrieveSurrogate(
+      UUID assetId, String versionTag, Optional<ResourceIdentifier> assetVersionId) {
+    var surrogateId = assetVersionId.flatMap(repo::resolveLatestCanonicalSurrogate);
+    if (surrogateId.isEmpty()) {
+      return CompletableFuture.completedFuture(
+          Answer.ofTry(surrogateId, newId(assetId, versionTag),
+              () -> "No metadata found for asset " + assetId + " # " + versionTag));
+    }
+    var surrogate = supply(() -> repo.retrieveCanonicalSurrogateVersion(surrogateId.get()));
+    var neighbours = supply(() -> repo.getNeighbourAssets(assetVersionId.get()));
+    return surrogate.thenCombine(neighbours, (surr, links) ->
+        surr.map(ka -> repo.enrichSurrogate(ka, links)));
+  }
+
+  /**
+   * @see SemanticKnowledgeAssetRepository#getKnowledgeAssetCarrierVersion(UUID, String, UUID,
+   * String, String)
+   */
+  public CompletableFuture<Answer<KnowledgeCarrier>> getKnowledgeAssetCarrierVersion(
+      UUID assetId, String versionTag, UUID artifactId, String artifactVersionTag,
+      String xAccept) {
+    var surrogate = getKnowledgeAssetVersion(assetId, versionTag);
+    // the content will not be needed if inlined, or not stored: the fetch is speculative
+    var stored = artifactVersionTag != null
+        ? supply(() -> repo.retrieveStoredArtifact(artifactId, artifactVersionTag))
+        : CompletableFuture.completedFuture(Answer.<byte[]>failed());
+    return surrogate.thenCombine(stored, (surr, prefetched) ->
+            repo.assembleKnowledgeAssetCarrierVersion(
+                assetId, versionTag, artifactId, artifactVersionTag, xAccept,
+                surr,
+                meta -> prefetched.isSuccess()
+                    ? prefetched
+                    : repo.retrieveStoredArtifact(
+                        meta.getArtifactId().getUuid(), meta.getArtifactId().getVersionTag())))
+        .exceptionally(AsyncKnowledgeAssetRepository::toFailure);
+  }
+
+  /**
+   * @see SemanticKnowledgeAssetRepository#getCompositeKnowledgeAssetSurrogate(UUID, String,
+   * Boolean, String)
+   */
+  public CompletableFuture<Answer<CompositeKnowledgeCarrier>> getCompositeKnowledgeAssetSurrogate(
+      UUID assetId, String versionTag, String xAccept) {
+    if (repo.isKnowledgeGraphAsset(assetId)) {
+      return CompletableFuture.completedFuture(Answer.failed(Forbidden));
+    }
+    SerializationFormat fmt = repo.getPreferredSurrogateFormat(xAccept);
+
+    var assetVersionId = supply(() -> repo.resolveAssetVersion(assetId, versionTag));
+    var composite = assetVersionId
+        .thenCompose(axId -> retrieveSurrogate(assetId, versionTag, axId))
+        .thenApply(surr -> surr.flatMap(ka -> repo.negotiateSurrogate(ka, xAccept)));
+    var components = assetVersionId
+        .thenCompose(axId -> getComponentSurrogates(axId, fmt, xAccept));
+    var rootId = supply(() -> repo.getCompositeRootId(assetId, versionTag));
+    var structure = supply(() -> repo.getCompositeKnowledgeAssetStructure(assetId, versionTag));
+
+    return CompletableFuture.allOf(composite, components, rootId, structure)
+        .thenApply(x -> repo.assembleCompositeKnowledgeAssetSurrogate(
+            composite.join(),
+            rootId::join,
+            ka -> components.join(),
+            structure::join))
+        .exceptionally(AsyncKnowledgeAssetRepository::toFailure);
+  }
+
+  /**
+   * Retrieves the (encoded) Surrogates of the components of a Composite, concurrently,
+   * in the same order as the synchronous operation
+   */
+  private CompletableFuture<List<KnowledgeCarrier>> getComponentSurrogates(
+      Optional<ResourceIdentifier> compositeId, SerializationFormat fmt, String xAccept) {
+    if (compositeId.isEmpty()) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+    List<CompletableFuture<Answer<KnowledgeCarrier>>> components =
+        repo.getComponentIds(compositeId.get()).stream()
+            .map(cid -> getKnowledgeAssetVersion(cid.getUuid(), cid.getVersionTag(), xAccept)
+                .thenApply(surr -> surr.flatMap(ax -> repo.encodeCanonicalSurrogate(ax, fmt))))
+            .collect(Collectors.toList());
+    return CompletableFuture.allOf(components.toArray(CompletableFuture[]::new))
+        .thenApply(x -> components.stream()
+            .map(CompletableFuture::join)
+            .flatMap(Answer::trimStream)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * @see SemanticKnowledgeAssetRepository#listKnowledgeAssets(String, String, String, Integer,
+   * Integer)
+   */
+  public CompletableFuture<Answer<List<Pointer>>> listKnowledgeAssets(
+      String assetTypeTag, String assetAnnotationTag, String assetAnnotationConcept,
+      Integer offset, Integer limit) {
+    return supply(() -> repo.listKnowledgeAssets(
+        assetTypeTag, assetAnnotationTag, assetAnnotationConcept, offset, limit))
+        .exceptionally(AsyncKnowledgeAssetRepository::toFailure);
+  }
+
+  private <T> CompletableFuture<T> supply(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, executor);
+  }
+
+  private static <T> Answer<T> toFailure(Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null
+        ? t.getCause()
+        : t;
+    return Answer.failed(new ServerSideException(InternalServerError, cause.getMessage()));
+  }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.InternalServerError;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+
+/**
+ * Transparent (GZIP) compression of (encoded) Knowledge Artifacts, applied when the Artifacts
+ * are written to, and read from, the underlying Artifact Repository.
+ *
+ * Compressed content is stored as a header, followed by the GZIP stream, so that compressed
+ * content can be told apart from content that is itself GZIP-encoded, and returned as-is.
+ * The GZIP stream can be served to clients that accept a GZIP Content-Encoding,
+ * without decompressing it (@see {@link #toGzip(byte[])}).
+ */
+public final class ContentCompression {
+
+  /**
+   * Header that identifies compressed content
+   */
+  static final String HEADER = "#kars-gzip/1\n";
+  private static final byte[] HEADER_BYTES = HEADER.getBytes(UTF_8);
+
+  private ContentCompression() {
+    // static functions only
+  }
+
+  /**
+   * Compresses a content, if at least as large as a given threshold,
+   * and if compression actually reduces its size
+   *
+   * @param content   the (binary) content
+   * @param threshold the min size of the content to be compressed, in bytes (0 to disable)
+   * @return the compressed content, or the content itself
+   */
+  public static byte[] compress(byte[] content, int threshold) {
+    if (threshold <= 0 || content.length < threshold || isCompressed(content)) {
+      return content;
+    }
+    var out = new ByteArrayOutputStream(content.length / 4 + HEADER_BYTES.length);
+    out.writeBytes(HEADER_BYTES);
+    out.writeBytes(gzip(content));
+    return out.size() < content.length ? out.toByteArray() : content;
+  }
+
+  /**
+   * @param stored the content, as stored
+   * @return the decompressed content, or the stored content if not compressed
+   */
+  public static Answer<byte[]> decompress(byte[] stored) {
+    if (!isCompressed(stored)) {
+      return Answer.of(stored);
+    }
+    try (var in = new GZIPInputStream(new ByteArrayInputStream(
+        stored, HEADER_BYTES.length, stored.length - HEADER_BYTES.length))) {
+      return Answer.of(in.readAllBytes());
+    } catch (IOException e) {
+      return Answer.failed(new ServerSideException(InternalServerError,
+          "Unable to decompress content: " + e.getMessage()));
+    }
+  }
+
+  /**
+   * @param stored the content, as stored
+   * @return the content as a GZIP stream: as-is, if stored compressed, or compressed otherwise
+   */
+  public static byte[] toGzip(byte[] stored) {
+    return isCompressed(stored)
+        ? Arrays.copyOfRange(stored, HEADER_BYTES.length, stored.length)
+        : gzip(stored);
+  }
+
+  /**
+   * @param stored the content, as stored
+   * @return true if the content is compressed
+   */
+  public static boolean isCompressed(byte[] stored) {
+    return stored != null
+        && stored.length > HEADER_BYTES.length
+        && Arrays.equals(stored, 0, HEADER_BYTES.length,
+        HEADER_BYTES, 0, HEADER_BYTES.length);
+  }
+
+  private static byte[] gzip(byte[] content) {
+    var out = new ByteArrayOutputStream(content.length / 4 + 32);
+    try (var gz = new GZIPOutputStream(out)) {
+      gz.write(content);
+    } catch (IOException e) {
+      // in-memory streams do not fail
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+}
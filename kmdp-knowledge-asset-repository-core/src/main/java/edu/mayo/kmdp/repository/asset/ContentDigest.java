@@ -0,0 +1,73 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Digests of (encoded) Knowledge Artifacts, used to detect that a given content has
+ * already been stored, without retrieving and comparing the stored content.
+ *
+ * Digests are SHA-256 hashes, rendered as 'sha256:' + lowercase hex string
+ */
+public final class ContentDigest {
+
+  public static final String ALGORITHM = "SHA-256";
+  public static final String PREFIX = "sha256:";
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private ContentDigest() {
+    // static functions only
+  }
+
+  /**
+   * @param content the (binary) content
+   * @return the digest of the content
+   */
+  public static String digest(byte[] content) {
+    return toDigest(newDigester().digest(content));
+  }
+
+  /**
+   * @return a new SHA-256 message digester (not thread safe)
+   */
+  public static MessageDigest newDigester() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is required to be supported by any Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param hash the bytes of a hash
+   * @return the hash, as a digest String
+   */
+  public static String toDigest(byte[] hash) {
+    return PREFIX + toHex(hash);
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] chars = new char[bytes.length * 2];
+    for (int j = 0; j < bytes.length; j++) {
+      chars[2 * j] = HEX[(bytes[j] >> 4) & 0xF];
+      chars[2 * j + 1] = HEX[bytes[j] & 0xF];
+    }
+    return new String(chars);
+  }
+
+}
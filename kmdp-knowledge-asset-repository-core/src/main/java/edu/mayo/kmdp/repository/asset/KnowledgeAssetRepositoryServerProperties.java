@@ -76,6 +76,202 @@ public class KnowledgeAssetRepositoryServerProperties extends
             Integer.class,
             false)),
 
+    AUTOSAVE_MAX_STALENESS(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.autoSaveMaxStaleness",
+            "60",
+            "Max time a Knowledge Graph change can remain unsaved under sustained writes, in seconds (0 for no limit)",
+            Integer.class,
+            false)),
+
+    QUERY_STATISTICS(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryStatistics",
+            Boolean.TRUE.toString(),
+            "Flag that, when true, optimizes the Knowledge Graph queries using predicate statistics",
+            Boolean.class,
+            false)),
+
+    FOLLOWER(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.follower",
+            Boolean.FALSE.toString(),
+            "Flag that, when true, makes this node a read-only follower, which rejects writes and replicates the Knowledge Graph persisted by the node that accepts writes",
+            Boolean.class,
+            false)),
+
+    FOLLOWER_POLL_INTERVAL(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.followerPollInterval",
+            "30",
+            "Interval between the checks for a new Knowledge Graph snapshot, on a follower node, in seconds (0 to check on demand only)",
+            Integer.class,
+            false)),
+
+    QUERY_CACHE_SIZE(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryCacheSize",
+            "32",
+            "Max (estimated) memory used to cache Knowledge Graph query results, in MB (0 to disable)",
+            Integer.class,
+            false)),
+
+    QUERY_TIMEOUT(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryTimeout",
+            "30",
+            "Max time to admit and evaluate a client query, in seconds (0 for no limit)",
+            Integer.class,
+            false)),
+
+    QUERY_MAX_ROWS(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryMaxRows",
+            "10000",
+            "Max number of results returned by a client query (0 for no limit)",
+            Integer.class,
+            false)),
+
+    QUERY_MAX_CONCURRENCY(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryMaxConcurrency",
+            "4",
+            "Max number of client queries evaluated concurrently",
+            Integer.class,
+            false)),
+
+    QUERY_MAX_QUEUED(
+        Opt.of("edu.mayo.kmdp.repository.asset.graph.queryMaxQueued",
+            "32",
+            "Max number of client queries waiting for admission, before new ones are rejected",
+            Integer.class,
+            false)),
+
+    CARRIER_CHUNK_SIZE(
+        Opt.of("edu.mayo.kmdp.repository.asset.carrierChunkSize",
+            "4096",
+            "Max size of the chunks used to store and stream (large) Carriers, in KB",
+            Integer.class,
+            false)),
+
+    CONTENT_DEDUPLICATION(
+        Opt.of("edu.mayo.kmdp.repository.asset.contentDeduplication",
+            Boolean.TRUE.toString(),
+            "Flag that, when true, stores identical Carrier and Surrogate content only once",
+            Boolean.class,
+            false)),
+
+    COMPRESSION_THRESHOLD(
+        Opt.of("edu.mayo.kmdp.repository.asset.compressionThreshold",
+            "8",
+            "Min size of the stored Carriers, Surrogates and Graph to be compressed, in KB (0 to disable)",
+            Integer.class,
+            false)),
+
+    TOMBSTONE_DELETE(
+        Opt.of("edu.mayo.kmdp.repository.asset.tombstoneDelete",
+            Boolean.FALSE.toString(),
+            "Flag that, when true, deletes Asset versions by hiding them, deferring their removal to a background compaction",
+            Boolean.class,
+            false)),
+
+    COMPACTION_BATCH_SIZE(
+        Opt.of("edu.mayo.kmdp.repository.asset.compaction.batchSize",
+            "50",
+            "Max number of deleted Asset versions removed by each (background) compaction",
+            Integer.class,
+            false)),
+
+    COMPACTION_INTERVAL(
+        Opt.of("edu.mayo.kmdp.repository.asset.compaction.interval",
+            "60",
+            "Time between two (background) compactions of the deleted Asset versions, in seconds (0 to disable)",
+            Integer.class,
+            false)),
+
+    BATCH_READ_LIMIT(
+        Opt.of("edu.mayo.kmdp.repository.asset.batch.limit",
+            "1000",
+            "Max number of Asset versions whose Surrogates can be retrieved in one batch",
+            Integer.class,
+            false)),
+
+    BATCH_READ_PARALLELISM(
+        Opt.of("edu.mayo.kmdp.repository.asset.batch.parallelism",
+            "8",
+            "Number of Surrogates of a batch retrieved concurrently from the Artifact Repository",
+            Integer.class,
+            false)),
+
+    REBUILD_PARALLELISM(
+        Opt.of("edu.mayo.kmdp.repository.asset.rebuild.parallelism",
+            "0",
+            "Number of threads that decode the Surrogates while rebuilding the Index (0 for the number of processors)",
+            Integer.class,
+            false)),
+
+    CHANGE_LOG(
+        Opt.of("edu.mayo.kmdp.repository.asset.changeLog",
+            "NONE",
+            "Store of the ordered log of the changes to the Assets: NONE, MEMORY (e.g. for testing), or ARTIFACT (durable, in the Artifact Repository)",
+            String.class,
+            false)),
+
+    THREAD_MODE(
+        Opt.of("edu.mayo.kmdp.repository.asset.threads",
+            "PLATFORM",
+            "Threads that run the requests and the internal fan-outs of the Repository: PLATFORM, or VIRTUAL (Java 21+ only: on earlier runtimes, VIRTUAL falls back to PLATFORM)",
+            String.class,
+            false)),
+
+    ASYNC_READ_THREADS(
+        Opt.of("edu.mayo.kmdp.repository.asset.async.threads",
+            "0",
+            "Max number of platform threads that run the stages of the asynchronous reads, in PLATFORM mode (0 for 4 times the number of processors)",
+            Integer.class,
+            false)),
+
+    INDEX_MEMOIZATION(
+        Opt.of("edu.mayo.kmdp.repository.asset.index.memoization",
+            "true",
+            "Memoize the Index lookups within the scope of each read operation, e.g. the retrieval of a Composite",
+            Boolean.class,
+            false)),
+
+    WRITE_LOCK_STRIPES(
+        Opt.of("edu.mayo.kmdp.repository.asset.writeLockStripes",
+            "256",
+            "Number of locks that serialize the concurrent writes to the same Asset (0 to disable)",
+            Integer.class,
+            false)),
+
+    INVALIDATION_CHANNEL(
+        Opt.of("edu.mayo.kmdp.repository.asset.invalidationChannel",
+            "NONE",
+            "Channel that notifies the other nodes sharing the Artifact Repository of the changes, to invalidate their caches: NONE, MEMORY (nodes in the same JVM, e.g. for testing), or ARTIFACT (polling the Artifact Repository)",
+            String.class,
+            false)),
+
+    INVALIDATION_POLL_INTERVAL(
+        Opt.of("edu.mayo.kmdp.repository.asset.invalidationPollInterval",
+            "5",
+            "Interval between the checks for the changes notified by the other nodes, on the ARTIFACT invalidation channel, in seconds (0 to check on demand only)",
+            Integer.class,
+            false)),
+
+    EVENT_BUFFER_SIZE(
+        Opt.of("edu.mayo.kmdp.repository.asset.events.bufferSize",
+            "256",
+            "Max number of change events buffered for each subscriber",
+            Integer.class,
+            false)),
+
+    EVENT_OVERFLOW_POLICY(
+        Opt.of("edu.mayo.kmdp.repository.asset.events.overflowPolicy",
+            "DROP",
+            "Behavior when the event buffer of a subscriber is full: DROP the event, or BLOCK the writer",
+            String.class,
+            false)),
+
+    EVENT_BLOCK_TIMEOUT(
+        Opt.of("edu.mayo.kmdp.repository.asset.events.blockTimeout",
+            "1000",
+            "Max time a writer waits for space in a full event buffer, in ms, under the BLOCK policy (0 to wait indefinitely)",
+            Integer.class,
+            false)),
+
     ASSET_NAMESPACE(
         Opt.of("edu.mayo.kmdp.repository.asset.namespace",
             Registry.MAYO_ASSETS_BASE_URI,
@@ -36,6 +36,8 @@ import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.K
 import edu.mayo.kmdp.repository.asset.index.sparql.impl.JenaSparqlDAO;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.api.repository.asset.v4.server.KnowledgeAssetCatalogApiInternal;
 import org.omg.spec.api4kp._20200801.api.repository.asset.v4.server.KnowledgeAssetRepositoryApiInternal;
 import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
@@ -193,8 +195,25 @@ public interface KnowledgeAssetRepositoryService extends KnowledgeAssetCatalogAp
     }
   }
 
+  /**
+   * Retrieves the content of a Knowledge Artifact (version) stored in the underlying Artifact
+   * Repository, as it was originally stored by the client, without consulting the Index.
+   * Content shared with other Artifacts, compressed, or stored in chunks is resolved,
+   * decompressed and reassembled.
+   *
+   * @param artifactId the uuid of the Artifact
+   * @param versionTag the version of the Artifact
+   * @return the content of the Artifact version
+   */
+  Answer<byte[]> getStoredKnowledgeArtifact(UUID artifactId, String versionTag);
+
   /**
    * Expose the underlying {@link KnowledgeAssetRepositoryService}
+   * <p>
+   * The content of the Artifacts in the underlying repository is the content as stored, which
+   * may be a reference to shared content, compressed, or a manifest of chunks:
+   * use {@link #getStoredKnowledgeArtifact(UUID, String)} to read the actual content
+   *
    * @return the Artifact Repository provider
    */
   KnowledgeArtifactRepositoryService getInnerArtifactRepository();
@@ -15,7 +15,34 @@ package edu.mayo.kmdp.repository.asset;
 
 import static edu.mayo.kmdp.id.helper.DatatypeHelper.getDefaultVersionId;
 import static edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties.KnowledgeArtifactRepositoryOptions.DEFAULT_REPOSITORY_ID;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.ASYNC_READ_THREADS;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.BATCH_READ_LIMIT;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.BATCH_READ_PARALLELISM;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.CARRIER_CHUNK_SIZE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.CHANGE_LOG;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.COMPRESSION_THRESHOLD;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.CONTENT_DEDUPLICATION;
 import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.CLEARABLE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.COMPACTION_BATCH_SIZE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.COMPACTION_INTERVAL;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.EVENT_BLOCK_TIMEOUT;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.EVENT_BUFFER_SIZE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.EVENT_OVERFLOW_POLICY;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.INDEX_MEMOIZATION;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.INVALIDATION_CHANNEL;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.INVALIDATION_POLL_INTERVAL;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_CACHE_SIZE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.REBUILD_PARALLELISM;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.THREAD_MODE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.TOMBSTONE_DELETE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.WRITE_LOCK_STRIPES;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType.CREATE;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType.DELETE;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType.UPDATE;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind.ASSET;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind.CARRIER;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind.CATALOG;
+import static edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind.SURROGATE;
 import static edu.mayo.kmdp.repository.asset.negotiation.ContentNegotiationHelper.decodePreferences;
 import static edu.mayo.kmdp.repository.asset.negotiation.LocatorHelper.rewriteSelfLinks;
 import static edu.mayo.kmdp.util.JenaUtil.objA;
@@ -32,6 +59,7 @@ import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.I
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.NoContent;
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.NotAcceptable;
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.PreconditionFailed;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.ServiceUnavailable;
 import static java.nio.charset.Charset.defaultCharset;
 import static java.util.Arrays.stream;
 import static java.util.Collections.emptyMap;
@@ -90,30 +118,72 @@ import edu.mayo.kmdp.language.translators.misc.FormatBeauitifier;
 import edu.mayo.kmdp.repository.artifact.ClearableKnowledgeArtifactRepositoryService;
 import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
 import edu.mayo.kmdp.repository.artifact.exceptions.ResourceNotFoundException;
+import edu.mayo.kmdp.repository.asset.TaskExecutors.ThreadMode;
+import edu.mayo.kmdp.repository.asset.carrier.ChunkedCarrierStore;
+import edu.mayo.kmdp.repository.asset.carrier.ChunkedCarrierStore.StoredCarrier;
+import edu.mayo.kmdp.repository.asset.carrier.ContentAddressedStore;
+import edu.mayo.kmdp.repository.asset.cache.ArtifactInvalidationChannel;
+import edu.mayo.kmdp.repository.asset.cache.CacheInvalidation;
+import edu.mayo.kmdp.repository.asset.cache.InMemoryInvalidationChannel;
+import edu.mayo.kmdp.repository.asset.cache.InvalidationChannel;
+import edu.mayo.kmdp.repository.asset.changes.ArtifactChangeLog;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import edu.mayo.kmdp.repository.asset.changes.ChangeLog;
+import edu.mayo.kmdp.repository.asset.changes.ChangePage;
+import edu.mayo.kmdp.repository.asset.changes.InMemoryChangeLog;
 import edu.mayo.kmdp.repository.asset.composite.CompositeHelper;
+import edu.mayo.kmdp.repository.asset.events.AssetEventBus;
+import edu.mayo.kmdp.repository.asset.events.AssetEventBus.OverflowPolicy;
+import edu.mayo.kmdp.repository.asset.index.AssetRemoval;
 import edu.mayo.kmdp.repository.asset.index.IdentityMapper;
 import edu.mayo.kmdp.repository.asset.index.Index;
+import edu.mayo.kmdp.repository.asset.index.IndexRebuild;
+import edu.mayo.kmdp.repository.asset.index.MemoizingIndex;
 import edu.mayo.kmdp.repository.asset.index.StaticFilter;
+import edu.mayo.kmdp.repository.asset.index.TombstoneCompactor;
 import edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphHolder;
+import edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphInfo;
 import edu.mayo.kmdp.repository.asset.negotiation.ContentNegotiationHelper;
 import edu.mayo.kmdp.repository.asset.negotiation.SurrogateEnricher;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateProjection;
+import edu.mayo.kmdp.repository.asset.query.GraphQueryGovernor;
+import edu.mayo.kmdp.repository.asset.query.GraphQueryPage;
+import edu.mayo.kmdp.repository.asset.query.GraphQueryPager;
+import edu.mayo.kmdp.repository.asset.query.QueryResultCache;
 import edu.mayo.kmdp.util.FileUtil;
 import edu.mayo.kmdp.util.StreamUtil;
 import edu.mayo.kmdp.util.Util;
 import edu.mayo.ontology.taxonomies.kmdo.semanticannotationreltype.SemanticAnnotationRelTypeSeries;
 import edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -121,6 +191,8 @@ import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryCancelledException;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.ResourceFactory;
@@ -168,6 +240,7 @@ import org.omg.spec.api4kp._20200801.services.transrepresentation.ModelMIMECoder
 import org.omg.spec.api4kp._20200801.surrogate.Component;
 import org.omg.spec.api4kp._20200801.surrogate.KnowledgeArtifact;
 import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.surrogate.Link;
 import org.omg.spec.api4kp._20200801.surrogate.Publication;
 import org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder;
 import org.omg.spec.api4kp._20200801.surrogate.SurrogateDiffer;
@@ -223,6 +296,26 @@ public class SemanticKnowledgeAssetRepository
   private static final SyntacticRepresentation
       defaultSurrogateRepresentation = rep(defaultSurrogateModel, defaultSurrogateFormat);
 
+  /**
+   * Default number of results in a page of (paged) Knowledge Graph query results
+   */
+  public static final int DEFAULT_PAGE_SIZE = 1000;
+
+  /**
+   * Default max number of results of a full-text search
+   */
+  public static final int DEFAULT_SEARCH_LIMIT = 50;
+
+  /**
+   * Default number of changes in a page of the change feed
+   */
+  public static final int DEFAULT_CHANGE_PAGE_SIZE = 100;
+
+  /**
+   * Max number of changes in a page of the change feed
+   */
+  public static final int MAX_CHANGE_PAGE_SIZE = 1000;
+
   /**
    * Unique identifier of the underlying artifact repository
    */
@@ -248,6 +341,11 @@ public class SemanticKnowledgeAssetRepository
   /* Internal helpers */
   private final Index index;
 
+  /**
+   * The Index, decorated to memoize the lookups within the scope of a read operation
+   */
+  private final MemoizingIndex indexMemo;
+
   private final KnowledgeGraphHolder kGraphHolder;
 
   private final KARSHrefBuilder hrefBuilder;
@@ -258,6 +356,65 @@ public class SemanticKnowledgeAssetRepository
 
   private final CompositeHelper compositeHelper;
 
+  private final QueryResultCache queryCache;
+
+  private final GraphQueryGovernor queryGovernor;
+
+  private final GraphQueryPager queryPager;
+
+  private final ContentAddressedStore blobStore;
+
+  private final ChunkedCarrierStore carrierStore;
+
+  /**
+   * If true, Asset versions are deleted by means of tombstones, and removed by the compactor
+   */
+  private final boolean tombstoneDelete;
+
+  private final TombstoneCompactor compactor;
+
+  /**
+   * Serializes the compaction of the tombstones with the re-registration of a tombstoned version
+   */
+  private final ReentrantLock compactionGuard = new ReentrantLock();
+
+  /**
+   * Number of threads that decode the Surrogates while rebuilding the Index
+   */
+  private final int rebuildParallelism;
+
+  /**
+   * Max number of Asset versions whose Surrogates can be retrieved in one batch
+   */
+  private final int batchReadLimit;
+
+  /**
+   * Number of Surrogates of a batch retrieved concurrently
+   */
+  private final int batchReadParallelism;
+
+  /**
+   * The threads that run the internal fan-outs (e.g. the rebuild of the Index), as
+   * supported by the Java runtime
+   */
+  private final ThreadMode threadMode;
+
+  /**
+   * The threads that run the stages of the asynchronous read operations: in PLATFORM mode,
+   * a bounded pool, since the stages block on the Artifact Repository and on the Index
+   */
+  private final ExecutorService asyncExecutor;
+
+  /**
+   * Asynchronous variants of the read operations
+   */
+  private final AsyncKnowledgeAssetRepository asyncRepository;
+
+  /**
+   * Progress of the latest rebuild of the Index, if any
+   */
+  private volatile IndexRebuild lastRebuild;
+
   @Autowired(required = false)
   private KnowledgeAssetRepositoryServerProperties cfg;
 
@@ -269,9 +426,33 @@ public class SemanticKnowledgeAssetRepository
 
 
   /**
-   * PLACEHOLDER solution for a CloudEvents based notification system
+   * Asynchronous publisher of the changes to the Assets
+   */
+  private final AssetEventBus eventBus;
+
+  /**
+   * Ordered log of the changes to the Assets, for incremental synchronization (null if disabled)
+   */
+  private final ChangeLog changeLog;
+
+  /**
+   * Serializes the concurrent writes to the same Asset
+   */
+  private final AssetWriteLocks writeLocks;
+
+  /**
+   * ID of this node, among the nodes that share the Artifact Repository
+   */
+  private final String nodeId = UUID.randomUUID().toString().replace("-", "");
+
+  /**
+   * Notifies the other nodes of the changes, and this node of theirs (null if disabled)
    */
-  private final List<Subscriber<? super ResourceIdentifier>> subscribers = new ArrayList<>();
+  private final InvalidationChannel invalidationChannel;
+
+  private final Consumer<CacheInvalidation> invalidationHandler = this::onInvalidation;
+
+  private final AtomicLong receivedInvalidations = new AtomicLong(0);
 
   /**
    * Initializes a new Knowledge Asset Repository Server
@@ -302,7 +483,9 @@ public class SemanticKnowledgeAssetRepository
 
     this.knowledgeArtifactApi = artifactRepo;
 
-    this.index = index;
+    Boolean memoization = cfg.getTyped(INDEX_MEMOIZATION);
+    this.indexMemo = new MemoizingIndex(index, Boolean.TRUE.equals(memoization));
+    this.index = indexMemo;
     this.hrefBuilder = hrefBuilder != null
         ? hrefBuilder : new KARSHrefBuilder(cfg);
     this.negotiator = new ContentNegotiationHelper(this.hrefBuilder);
@@ -322,6 +505,65 @@ public class SemanticKnowledgeAssetRepository
 
     this.kGraphHolder = kgraphHolder;
 
+    this.queryCache = new QueryResultCache(cfg.getTyped(QUERY_CACHE_SIZE));
+    this.queryGovernor = new GraphQueryGovernor(cfg);
+    this.queryPager = new GraphQueryPager(kgraphHolder);
+
+    Boolean dedup = cfg.getTyped(CONTENT_DEDUPLICATION);
+    Integer compressionKB = cfg.getTyped(COMPRESSION_THRESHOLD);
+    this.blobStore = new ContentAddressedStore(artifactRepo, dedup, compressionKB * 1024);
+    Integer chunkSizeKB = cfg.getTyped(CARRIER_CHUNK_SIZE);
+    this.carrierStore = new ChunkedCarrierStore(blobStore, chunkSizeKB * 1024);
+
+    Boolean tombstones = cfg.getTyped(TOMBSTONE_DELETE);
+    this.tombstoneDelete = tombstones;
+    Integer compactionBatchSize = cfg.getTyped(COMPACTION_BATCH_SIZE);
+    Integer compactionInterval = cfg.getTyped(COMPACTION_INTERVAL);
+    this.compactor = new TombstoneCompactor(
+        this::compactTombstones, compactionBatchSize, compactionInterval);
+    Integer eventBufferSize = cfg.getTyped(EVENT_BUFFER_SIZE);
+    String overflowPolicy = cfg.getTyped(EVENT_OVERFLOW_POLICY);
+    Integer blockTimeout = cfg.getTyped(EVENT_BLOCK_TIMEOUT);
+    this.eventBus = new AssetEventBus(eventBufferSize,
+        OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase()), blockTimeout);
+
+    String changeLogStore = cfg.getTyped(CHANGE_LOG);
+    this.changeLog = newChangeLog(changeLogStore);
+
+    Integer lockStripes = cfg.getTyped(WRITE_LOCK_STRIPES);
+    this.writeLocks = new AssetWriteLocks(lockStripes);
+
+    String channel = cfg.getTyped(INVALIDATION_CHANNEL);
+    Integer invalidationPollInterval = cfg.getTyped(INVALIDATION_POLL_INTERVAL);
+    this.invalidationChannel = newInvalidationChannel(channel, invalidationPollInterval);
+    if (invalidationChannel != null) {
+      invalidationChannel.subscribe(invalidationHandler);
+      blobStore.onRelease(blobId -> publishInvalidation(List.of(),
+          List.of(newId(blobId, ContentAddressedStore.BLOB_VERSION).getVersionId())));
+    }
+
+    String threads = cfg.getTyped(THREAD_MODE);
+    ThreadMode requestedMode = ThreadMode.parse(threads);
+    this.threadMode = requestedMode.effective();
+    if (threadMode != requestedMode) {
+      logger.warn("Thread mode {} not supported by the Java runtime {} - using {} threads",
+          requestedMode, Runtime.version(), threadMode);
+    }
+    Integer asyncThreads = cfg.getTyped(ASYNC_READ_THREADS);
+    this.asyncExecutor = TaskExecutors.newTaskExecutor("AsyncRead", threadMode,
+        asyncThreads > 0 ? asyncThreads : 4 * Runtime.getRuntime().availableProcessors());
+    this.asyncRepository = new AsyncKnowledgeAssetRepository(this, asyncExecutor);
+
+    Integer parallelism = cfg.getTyped(REBUILD_PARALLELISM);
+    this.rebuildParallelism = parallelism > 0
+        ? parallelism
+        : Runtime.getRuntime().availableProcessors();
+
+    Integer batchLimit = cfg.getTyped(BATCH_READ_LIMIT);
+    this.batchReadLimit = batchLimit;
+    Integer batchParallelism = cfg.getTyped(BATCH_READ_PARALLELISM);
+    this.batchReadParallelism = Math.max(1, batchParallelism);
+
     if (!allowClearAll && cfg.getProperty(CLEARABLE.getName()) != null) {
       allowClearAll = cfg.getTyped(CLEARABLE);
     }
@@ -331,6 +573,44 @@ public class SemanticKnowledgeAssetRepository
     }
   }
 
+  /**
+   * @param store the type of store of the change log: NONE, MEMORY or ARTIFACT
+   * @return the change log, or null if disabled
+   */
+  private ChangeLog newChangeLog(String store) {
+    switch (store.trim().toUpperCase()) {
+      case "ARTIFACT":
+        return new ArtifactChangeLog(knowledgeArtifactApi, () -> artifactRepositoryId);
+      case "MEMORY":
+        return new InMemoryChangeLog();
+      case "NONE":
+        return null;
+      default:
+        throw new IllegalArgumentException("Unsupported change log store: " + store);
+    }
+  }
+
+  /**
+   * @param channel      the type of invalidation channel: NONE, MEMORY or ARTIFACT
+   * @param pollInterval the interval between polls of the ARTIFACT channel, in seconds
+   * @return the invalidation channel, or null if disabled
+   */
+  private InvalidationChannel newInvalidationChannel(String channel, int pollInterval) {
+    switch (channel.trim().toUpperCase()) {
+      case "ARTIFACT":
+        // retain the messages for (well) longer than the other nodes take to poll them
+        long retention = Math.max(60, 10L * pollInterval) * 1000;
+        return new ArtifactInvalidationChannel(knowledgeArtifactApi, () -> artifactRepositoryId,
+            nodeId, pollInterval, retention);
+      case "MEMORY":
+        return InMemoryInvalidationChannel.shared();
+      case "NONE":
+        return null;
+      default:
+        throw new IllegalArgumentException("Unsupported invalidation channel: " + channel);
+    }
+  }
+
   @PostConstruct
   @Loggable(level = LogLevel.INFO, beforeCode = "KARS-000.A", afterCode = "KARS-000.Z")
   private void bootstrap() {
@@ -343,6 +623,9 @@ public class SemanticKnowledgeAssetRepository
     if (isDeleteAllowed()) {
       onDeleteSupported();
     }
+    if (tombstoneDelete && !kGraphHolder.isReadOnly()) {
+      compactor.start();
+    }
   }
 
   @Loggable(level = LogLevel.INFO, beforeCode = "KARS-000.C")
@@ -364,7 +647,14 @@ public class SemanticKnowledgeAssetRepository
   @PreDestroy
   @Loggable(level = LogLevel.INFO, beforeCode = "KARS-900.A", afterCode = "KARS-900.Z")
   private void shutdown() {
-    // Nothing to do - components will @Predestroy themselves
+    // other components will @Predestroy themselves
+    compactor.shutdown();
+    eventBus.close();
+    if (invalidationChannel != null) {
+      invalidationChannel.unsubscribe(invalidationHandler);
+      invalidationChannel.close();
+    }
+    asyncExecutor.shutdown();
   }
 
   private ResourceIdentifier toAssetId(UUID assetId, String versionTag) {
@@ -423,14 +713,16 @@ public class SemanticKnowledgeAssetRepository
   @Failsafe(value = LogLevel.WARN)
   @Loggable(level = LogLevel.WARN, beforeCode = "KARS-015.A")
   public Answer<Void> clearKnowledgeAssetCatalog() {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (!isDeleteAllowed()) {
       logger.error("Attempted CLEAR ALL Assets, but ");
       return Answer.of(Forbidden);
     } else {
       logger.warn("CLEAR ALL Knowledge Assets");
     }
-    clear();
-    return succeed();
+    return clear();
   }
 
   //*****************************************************************************************/
@@ -450,7 +742,175 @@ public class SemanticKnowledgeAssetRepository
       return Answer.unsupported();
     }
     ResourceIdentifier kbId = kGraphHolder.getInfo().graphKnowledgeBaseId();
-    return queryExecutor.askQuery(kbId.getUuid(), kbId.getVersionTag(), graphQuery, null);
+    Optional<String> cacheKey = queryCache.isEnabled()
+        ? QueryResultCache.toKey(graphQuery)
+        : Optional.empty();
+    if (cacheKey.isEmpty()) {
+      return askQuery(kbId, graphQuery);
+    }
+
+    long generation = kGraphHolder.getGraphGeneration();
+    Optional<List<Bindings>> cached = queryCache.get(cacheKey.get(), generation);
+    if (cached.isPresent()) {
+      return Answer.of(cached.get());
+    }
+    Answer<List<Bindings>> results = askQuery(kbId, graphQuery);
+    // only cache if the Graph has not changed while the query was being evaluated
+    if (results.isSuccess() && generation == kGraphHolder.getGraphGeneration()) {
+      queryCache.put(cacheKey.get(), generation, results.get());
+    }
+    return results;
+  }
+
+  /**
+   * Executes a SELECT query on the repository's knowledge graph, returning one page of results.
+   * The graph is locked while a page is evaluated, but not between pages.
+   *
+   * @param graphQuery The query, as a Knowledge Artifact
+   * @param cursor     The cursor returned with the previous page, if any (null for the first page)
+   * @param pageSize   The max number of results to return
+   * @return The page of results, with a cursor to the next page (if any),
+   * or CONFLICT if the graph has changed since the cursor was issued
+   */
+  @Loggable(beforeCode = "KARS-025.A")
+  public Answer<GraphQueryPage> queryKnowledgeAssetGraphPage(
+      KnowledgeCarrier graphQuery, String cursor, Integer pageSize) {
+    int maxRows = queryGovernor.getMaxRows();
+    int size = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+    if (maxRows > 0) {
+      size = Math.min(size, maxRows);
+    }
+    int effectiveSize = size;
+    return queryGovernor.submit(remaining ->
+        queryPager.page(graphQuery, cursor, effectiveSize, remaining));
+  }
+
+  /**
+   * Executes a SELECT query on the repository's knowledge graph, returning all the results
+   * (up to the configured max number of rows) from a single evaluation of the query.
+   * Unlike the paged evaluation, the query is admitted, and evaluated, only once.
+   *
+   * @param graphQuery The query, as a Knowledge Artifact
+   * @return The results of the query, as a single (last) page
+   */
+  @Loggable(beforeCode = "KARS-025.B")
+  public Answer<GraphQueryPage> queryKnowledgeAssetGraphResults(KnowledgeCarrier graphQuery) {
+    return queryGovernor.submit(remaining ->
+        queryPager.select(graphQuery, queryGovernor.getMaxRows(), remaining));
+  }
+
+  /**
+   * Submits a client query, subject to admission control.
+   * SPARQL SELECT queries are evaluated on the Graph directly, so that the query timeout can be
+   * set on the QueryExecution; other queries are delegated to the query executor
+   *
+   * @param kbId       the ID of the Knowledge Graph, as a Knowledge Base
+   * @param graphQuery the query
+   * @return the query results, or a failed Answer if the query was cancelled, or could not be
+   * evaluated
+   */
+  private Answer<List<Bindings>> askQuery(ResourceIdentifier kbId, KnowledgeCarrier graphQuery) {
+    try {
+      return queryGovernor.execute(graphQuery, (q, remaining) ->
+          GraphQueryPager.toQuery(q).filter(Query::isSelectType).isPresent()
+              ? queryPager.select(q, remaining).map(GraphQueryPage::toBindings)
+              : queryExecutor.askQuery(kbId.getUuid(), kbId.getVersionTag(), q, null));
+    } catch (QueryCancelledException qce) {
+      // e.g. an index lookup, made while resolving the query, that could not be completed
+      return Answer.failed(new ServerSideException(ServiceUnavailable,
+          "Knowledge Graph query cancelled, please retry later"));
+    }
+  }
+
+  /**
+   * @return the admission controller for client queries, e.g. for monitoring purposes
+   */
+  public GraphQueryGovernor getQueryGovernor() {
+    return queryGovernor;
+  }
+
+  /**
+   * @return the compactor of the deleted Asset versions, e.g. to compact them on demand
+   */
+  public TombstoneCompactor getTombstoneCompactor() {
+    return compactor;
+  }
+
+  /**
+   * Lists the changes to the Assets, their Carriers and their Surrogates, recorded after a given
+   * sequence number, in order, so that consumers can synchronize incrementally
+   *
+   * @param since the sequence number of the last change already processed (0 for all)
+   * @param limit the max number of changes to be returned (defaults to 100, at most 1000)
+   * @return a page of changes, or NOT IMPLEMENTED if the change log is disabled
+   */
+  @Loggable(beforeCode = "KARS-036.A")
+  public Answer<ChangePage> listChanges(Long since, Integer limit) {
+    if (changeLog == null) {
+      return Answer.unsupported();
+    }
+    int pageSize = limit != null && limit > 0
+        ? Math.min(limit, MAX_CHANGE_PAGE_SIZE)
+        : DEFAULT_CHANGE_PAGE_SIZE;
+    return Answer.of(changeLog.changesSince(since != null ? since : 0L, pageSize));
+  }
+
+  /**
+   * @return the publisher of the changes to the Assets, e.g. for monitoring purposes
+   */
+  public AssetEventBus getEventBus() {
+    return eventBus;
+  }
+
+  /**
+   * @return the progress of the latest rebuild of the Index, if any, e.g. for monitoring purposes
+   */
+  public Optional<IndexRebuild> getIndexRebuild() {
+    return Optional.ofNullable(lastRebuild);
+  }
+
+  /**
+   * @return the cache of the Knowledge Graph query results, e.g. for monitoring purposes
+   */
+  public QueryResultCache getQueryResultCache() {
+    return queryCache;
+  }
+
+  /**
+   * @return the channel that notifies the changes to/from the other nodes, if enabled
+   */
+  public Optional<InvalidationChannel> getInvalidationChannel() {
+    return Optional.ofNullable(invalidationChannel);
+  }
+
+  /**
+   * @return the locks that serialize the writes to the same Asset, e.g. for monitoring purposes
+   */
+  public AssetWriteLocks getWriteLocks() {
+    return writeLocks;
+  }
+
+  /**
+   * @return the Index, decorated to memoize the lookups within a read operation, e.g. for
+   * monitoring purposes
+   */
+  public MemoizingIndex getIndexMemo() {
+    return indexMemo;
+  }
+
+  /**
+   * @return the asynchronous variants of the read operations, which run the independent
+   * Index and Artifact lookups concurrently
+   */
+  public AsyncKnowledgeAssetRepository async() {
+    return asyncRepository;
+  }
+
+  /**
+   * @return the number of changes notified by the other nodes, since startup
+   */
+  public long getReceivedInvalidations() {
+    return receivedInvalidations.get();
   }
 
   /**
@@ -541,6 +1001,34 @@ public class SemanticKnowledgeAssetRepository
     );
   }
 
+  /**
+   * Full-text search over the names of the Assets, and the (textual) inlined expressions
+   * of their Carriers. Supports type-ahead lookups, matching the last search term as a prefix.
+   *
+   * @param searchText the search text
+   * @param limit      (do not return more than limit)
+   * @return Pointers to the matching Asset versions, by descending relevance
+   */
+  @Loggable(beforeCode = "KARS-033.A")
+  public Answer<List<Pointer>> searchKnowledgeAssets(
+      final String searchText,
+      final Integer limit) {
+    if (isEmpty(searchText) || searchText.isBlank()) {
+      return Answer.failed(new ServerSideException(BadRequest, "Missing search text"));
+    }
+    int max = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+
+    List<Pointer> pointers = index.searchAssets(searchText, max).stream()
+        .map(id -> this.toKnowledgeAssetPointer(
+            id,
+            HrefType.ASSET_VERSION,
+            codedRep(defaultSurrogateRepresentation),
+            null))
+        .collect(toList());
+
+    return Answer.of(pointers);
+  }
+
   /**
    * Initializes a new asset with a random ID and an empty surrogate. Version is set to 0.0.0
    *
@@ -549,6 +1037,9 @@ public class SemanticKnowledgeAssetRepository
   @Override
   @Loggable(beforeCode = "KARS-034.A", level = LogLevel.INFO)
   public Answer<UUID> initKnowledgeAsset() {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     ResourceIdentifier newId = randomAssetId(identityMapper.getAssetNamespace());
     return initKnowledgeAsset(newId);
   }
@@ -569,8 +1060,8 @@ public class SemanticKnowledgeAssetRepository
   }
 
   /**
-   * Lists Assets in this Repository, possibly filtering by type or annotation. For each asset in
-   * the collection, deletes it
+   * Lists Assets in this Repository, possibly filtering by type or annotation, and deletes
+   * all the assets in the collection, in bulk
    *
    * @param assetTypeTag           filter to include assets that have type or role denoted by this
    *                               tag
@@ -579,19 +1070,68 @@ public class SemanticKnowledgeAssetRepository
    * @param assetAnnotationConcept filter to include assets annotated with this concept
    * @return Success, or the most severe error
    * @see SemanticKnowledgeAssetRepository#deleteKnowledgeAsset(UUID)
+   * @see #removeKnowledgeAssets(List)
    */
   @Override
   @Loggable(level = LogLevel.WARN, beforeCode = "KARS-035.A")
   public Answer<Void> deleteKnowledgeAssets(String assetTypeTag, String assetAnnotationTag,
       String assetAnnotationConcept) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (!isDeleteAllowed()) {
       return Answer.of(Forbidden);
     }
 
     return listKnowledgeAssets(assetTypeTag, assetAnnotationTag, assetAnnotationConcept, 0, -1)
-        .mapList(Pointer.class, ptr -> deleteKnowledgeAsset(ptr.getUuid()))
-        .flatMap(l -> l.stream().reduce(Answer::merge)
-            .orElseGet(() -> Answer.of(NoContent)));
+        .flatMap(this::removeKnowledgeAssets);
+  }
+
+  /**
+   * Removes a collection of Assets, with all their versions, Carriers and Surrogates.
+   * <p>
+   * Unlike the removal of the Assets one version at a time, the affected versions are collected
+   * from the Index in one pass, without resolving the Surrogate of each version; the Artifacts are
+   * (hard) deleted one series at a time, and the Index is updated in a single unit of work.
+   *
+   * @param assets pointers to the Assets to be removed
+   * @return Success, or the most severe error
+   */
+  private Answer<Void> removeKnowledgeAssets(List<Pointer> assets) {
+    AssetRemoval removal = index.collectAssetRemoval(new ArrayList<>(assets));
+    Answer<Void> ans = purgeKnowledgeAssets(removal);
+    Answer<Void> recorded = removal.getAssetVersions().stream()
+        .map(versionId -> recordChange(DELETE, ASSET, versionId, versionId))
+        .reduce(Answer::merge)
+        .orElseGet(Answer::succeed);
+    publishInvalidation(removal.getAssetVersions(), List.of());
+    return merge(ans, recorded);
+  }
+
+  /**
+   * Removes a set of Asset versions, with their Carriers and Surrogates, from the Artifact
+   * Repository and from the Index
+   *
+   * @param removal the entities to be removed, as collected from the Index
+   * @return Success, or the most severe error
+   */
+  private Answer<Void> purgeKnowledgeAssets(AssetRemoval removal) {
+    logger.info("REMOVE {} Asset versions, with {} Artifact versions",
+        removal.getAssetVersions().size(), removal.getArtifactVersions().size());
+
+    removal.getArtifactVersions().forEach(this::releaseArtifactContent);
+    Answer<Void> ans = removal.getArtifactVersions().stream()
+        .map(ResourceIdentifier::getUuid)
+        .distinct()
+        .map(seriesId -> knowledgeArtifactApi
+            .isKnowledgeArtifactSeries(artifactRepositoryId, seriesId, true).isSuccess()
+            ? knowledgeArtifactApi.deleteKnowledgeArtifact(artifactRepositoryId, seriesId, true)
+            : succeed())
+        .reduce(Answer::merge)
+        .orElseGet(Answer::succeed);
+
+    index.unregisterAssets(removal);
+    return ans;
   }
 
   /**
@@ -620,6 +1160,26 @@ public class SemanticKnowledgeAssetRepository
                 defaultSurrogateRepresentation));
   }
 
+  /**
+   * Variant of {@link #getKnowledgeAsset(UUID, String)} that returns a sparse fieldset of the
+   * canonical Surrogate, skipping the enrichment of the properties that are not selected
+   *
+   * @param assetId the id of the asset for which the canonical surrogate is requested
+   * @param xAccept MIME type for advanced content negotiation support
+   * @param fields  comma-separated list of the properties to return (@see SurrogateProjection),
+   *                or null for the full Surrogate
+   * @return The (projected) canonical surrogate
+   */
+  @Loggable(beforeCode = "KARS-042.B")
+  public Answer<KnowledgeAsset> getKnowledgeAsset(UUID assetId, String xAccept, String fields) {
+    return SurrogateProjection.parse(fields)
+        .flatMap(projection -> indexMemo.inScope(() ->
+            retrieveLatestCanonicalSurrogateForLatestAsset(assetId, true, projection)))
+        .flatMap(latestCanonicalSurrogate ->
+            negotiator.negotiateCanonicalSurrogate(latestCanonicalSurrogate, xAccept,
+                defaultSurrogateRepresentation));
+  }
+
   /**
    * Registers a Canonical Surrogate (version) for a specific Asset Version The Asset must not have
    * a different canonical surrogate, unless it is equal to the one provided
@@ -637,10 +1197,25 @@ public class SemanticKnowledgeAssetRepository
   @Failsafe
   public Answer<Void> setKnowledgeAssetVersion(UUID assetId, String versionTag,
       KnowledgeAsset assetSurrogate) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
       // FUTURE: consider an interceptor
       return Answer.of(Forbidden);
     }
+    return writeLocks.withLock(assetId, () ->
+        storeKnowledgeAssetVersion(assetId, versionTag, assetSurrogate));
+  }
+
+  /**
+   * Registers a Canonical Surrogate (version) for a specific Asset Version,
+   * while holding the write lock of the Asset
+   *
+   * @see #setKnowledgeAssetVersion(UUID, String, KnowledgeAsset)
+   */
+  private Answer<Void> storeKnowledgeAssetVersion(UUID assetId, String versionTag,
+      KnowledgeAsset assetSurrogate) {
     String semVerTag = toSemVer(versionTag);
 
     setIdAndVersionIfMissing(assetSurrogate, assetId, semVerTag);
@@ -654,22 +1229,34 @@ public class SemanticKnowledgeAssetRepository
         assetSurrogate);
 
     ensureSemanticVersionedIdentifiers(assetSurrogate);
-    detectCanonicalSurrogateConflict(assetIdentifier, surrogateIdentifier, assetSurrogate);
-
     rewriteSelfLinks(assetSurrogate, hrefBuilder);
 
-    persistCanonicalKnowledgeAssetVersion(
-        assetSurrogate.getAssetId(), surrogateIdentifier, assetSurrogate);
+    Answer<KnowledgeCarrier> surrogateBinary = encodeCanonicalSurrogate(assetSurrogate);
+    if (isUnchangedCanonicalSurrogate(assetIdentifier, surrogateIdentifier, surrogateBinary)) {
+      logger.info("SKIP unchanged Surrogate {}:{} for Asset {}:{}",
+          surrogateIdentifier.getUuid(), surrogateIdentifier.getVersionTag(),
+          assetIdentifier.getUuid(), assetIdentifier.getVersionTag());
+      return Answer.of(NoContent);
+    }
+
+    detectCanonicalSurrogateConflict(assetIdentifier, surrogateIdentifier, assetSurrogate);
+
+    Answer<Void> persisted = persistCanonicalKnowledgeAssetVersion(
+        assetSurrogate.getAssetId(), surrogateIdentifier, assetSurrogate, surrogateBinary);
+    if (!persisted.isSuccess()) {
+      return persisted;
+    }
 
     return assetSurrogate.getCarriers().stream()
         .filter(ka -> Util.isNotEmpty(ka.getInlinedExpression()))
         .filter(ka -> !TXT.sameAs(ka.getRepresentation().getFormat()))
-        .map(ka -> knowledgeArtifactApi.setKnowledgeArtifactVersion(
+        .map(ka -> blobStore.put(
             artifactRepositoryId,
             ka.getArtifactId().getUuid(),
             ka.getArtifactId().getVersionTag(),
             ka.getInlinedExpression().getBytes()
         ))
+        .map(ans -> ans.isSuccess() ? Answer.of(NoContent) : Answer.<Void>failed(ans))
         .reduce(Answer::merge)
         .orElse(Answer.of(NoContent));
   }
@@ -716,6 +1303,9 @@ public class SemanticKnowledgeAssetRepository
   @Override
   @Loggable(beforeCode = "KARS-045.A", level = LogLevel.WARN)
   public Answer<Void> deleteKnowledgeAsset(UUID assetId) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (!isDeleteAllowed()) {
       return Answer.of(Forbidden);
     }
@@ -724,7 +1314,7 @@ public class SemanticKnowledgeAssetRepository
       return Answer.of(Forbidden);
     }
 
-    return listKnowledgeAssetVersions(assetId).flatMap(
+    return writeLocks.withLock(assetId, () -> listKnowledgeAssetVersions(assetId).flatMap(
         versions -> {
           Optional<Pointer> assetSeriesId = versions.stream().findAny();
           if (assetSeriesId.isEmpty()) {
@@ -737,7 +1327,7 @@ public class SemanticKnowledgeAssetRepository
                 index.unregisterAsset(assetSeriesId.get());
                 return ans;
               }).orElse(failed());
-        });
+        }));
   }
 
   /**
@@ -762,13 +1352,197 @@ public class SemanticKnowledgeAssetRepository
   @Loggable(beforeCode = "KARS-062.A")
   public Answer<KnowledgeAsset> getKnowledgeAssetVersion(UUID assetId, String versionTag,
       String xAccept) {
-    return retrieveLatestCanonicalSurrogateForAssetVersion(assetId, toSemVer(versionTag), true)
+    return indexMemo.inScope(() ->
+        retrieveLatestCanonicalSurrogateForAssetVersion(assetId, toSemVer(versionTag), true)
+            .flatMap(assetVersionCanonicalSurrogate ->
+                negotiator.negotiateCanonicalSurrogate(assetVersionCanonicalSurrogate, xAccept,
+                    defaultSurrogateRepresentation)));
+  }
+
+  /**
+   * Variant of {@link #getKnowledgeAssetVersion(UUID, String, String)} that returns a sparse
+   * fieldset of the canonical Surrogate, skipping the enrichment of the properties that are not
+   * selected
+   *
+   * @param assetId    the id of the asset for which the canonical surrogate is requested
+   * @param versionTag the version tag of the asset
+   * @param xAccept    MIME type for advanced content negotiation support
+   * @param fields     comma-separated list of the properties to return (@see SurrogateProjection),
+   *                   or null for the full Surrogate
+   * @return The (projected) canonical surrogate
+   */
+  @Loggable(beforeCode = "KARS-062.B")
+  public Answer<KnowledgeAsset> getKnowledgeAssetVersion(UUID assetId, String versionTag,
+      String xAccept, String fields) {
+    return SurrogateProjection.parse(fields)
+        .flatMap(projection -> indexMemo.inScope(() ->
+            retrieveLatestCanonicalSurrogateForAssetVersion(
+                assetId, toSemVer(versionTag), true, projection)))
         .flatMap(assetVersionCanonicalSurrogate ->
             negotiator.negotiateCanonicalSurrogate(assetVersionCanonicalSurrogate, xAccept,
                 defaultSurrogateRepresentation));
   }
 
 
+  /**
+   * Retrieves the canonical Surrogates of a batch of Asset versions.
+   * <p>
+   * The Asset versions, and the versions of their Surrogates, are resolved in one Index query,
+   * then the Surrogates are retrieved from the Artifact Repository concurrently.
+   * Asset versions that are not known are omitted from the result.
+   *
+   * @param assetVersionIds the IDs (uuid and version tag) of the Asset versions
+   * @return the canonical Surrogates, in the order of the IDs
+   * @see #getKnowledgeAssetVersion(UUID, String, String)
+   */
+  @Loggable(beforeCode = "KARS-066.A")
+  public Answer<List<KnowledgeAsset>> getKnowledgeAssetVersions(
+      List<ResourceIdentifier> assetVersionIds) {
+    return getKnowledgeAssetVersions(assetVersionIds, null);
+  }
+
+  /**
+   * Variant of {@link #getKnowledgeAssetVersions(List)} that returns a sparse fieldset of each
+   * Surrogate
+   *
+   * @param assetVersionIds the IDs (uuid and version tag) of the Asset versions
+   * @param fields          comma-separated list of the properties to return
+   *                        (@see SurrogateProjection), or null for the full Surrogates
+   * @return the (projected) canonical Surrogates, in the order of the IDs
+   */
+  public Answer<List<KnowledgeAsset>> getKnowledgeAssetVersions(
+      List<ResourceIdentifier> assetVersionIds, String fields) {
+    List<KnowledgeAsset> surrogates = new ArrayList<>(assetVersionIds.size());
+    return streamKnowledgeAssetVersions(assetVersionIds, fields, surrogates::add)
+        .map(x -> surrogates);
+  }
+
+  /**
+   * Retrieves the canonical Surrogates of a batch of Asset versions, passing each Surrogate to a
+   * consumer, in the order of the IDs, as soon as it is available
+   *
+   * @param assetVersionIds the IDs (uuid and version tag) of the Asset versions
+   * @param consumer        the consumer of the Surrogates
+   * @return success status
+   * @see #getKnowledgeAssetVersions(List)
+   */
+  public Answer<Void> streamKnowledgeAssetVersions(
+      List<ResourceIdentifier> assetVersionIds,
+      Consumer<KnowledgeAsset> consumer) {
+    return streamKnowledgeAssetVersions(assetVersionIds, null, consumer);
+  }
+
+  /**
+   * Variant of {@link #streamKnowledgeAssetVersions(List, Consumer)} that streams a sparse
+   * fieldset of each Surrogate
+   *
+   * @param assetVersionIds the IDs (uuid and version tag) of the Asset versions
+   * @param fields          comma-separated list of the properties to return
+   *                        (@see SurrogateProjection), or null for the full Surrogates
+   * @param consumer        the consumer of the (projected) Surrogates
+   * @return success status
+   */
+  public Answer<Void> streamKnowledgeAssetVersions(
+      List<ResourceIdentifier> assetVersionIds,
+      String fields,
+      Consumer<KnowledgeAsset> consumer) {
+    return SurrogateProjection.parse(fields)
+        .flatMap(projection ->
+            streamKnowledgeAssetVersions(assetVersionIds, projection, consumer));
+  }
+
+  private Answer<Void> streamKnowledgeAssetVersions(
+      List<ResourceIdentifier> assetVersionIds,
+      SurrogateProjection projection,
+      Consumer<KnowledgeAsset> consumer) {
+    if (assetVersionIds.size() > batchReadLimit) {
+      return Answer.failed(new ServerSideException(BadRequest,
+          "Too many Asset versions in batch: " + assetVersionIds.size()
+              + " (max " + batchReadLimit + ")"));
+    }
+    List<ResourceIdentifier> requested = assetVersionIds.stream()
+        .filter(id -> id.getUuid() != null && id.getVersionTag() != null)
+        .map(id -> newId(id.getUuid(), toSemVer(id.getVersionTag())))
+        .collect(Collectors.toList());
+
+    Map<String, Pointer> latestSurrogates = new HashMap<>();
+    index.resolveCanonicalSurrogateVersions(requested)
+        .forEach((assetVersion, surrogateVersions) -> {
+          surrogateVersions.sort(timedSemverComparator());
+          latestSurrogates.put(batchKey(assetVersion), surrogateVersions.get(0));
+        });
+
+    var permits = new Semaphore(batchReadParallelism);
+    List<Future<Answer<KnowledgeAsset>>> reads = new ArrayList<>(requested.size());
+    int consumed = 0;
+    try {
+      for (ResourceIdentifier id : requested) {
+        Pointer surrogateId = latestSurrogates.get(batchKey(id));
+        if (surrogateId != null) {
+          // at most batchReadParallelism reads are submitted at any time
+          permits.acquire();
+          consumed = consumeCompleted(reads, consumed, consumer);
+          reads.add(asyncExecutor.submit(() -> {
+            try {
+              return retrieveCanonicalSurrogateVersion(surrogateId)
+                  .map(ka -> SurrogateEnricher.enrichSurrogate(
+                      ka, hrefBuilder, translator, index, true, projection))
+                  .flatMap(ka -> negotiateSurrogate(ka, null));
+            } finally {
+              permits.release();
+            }
+          }));
+        } else if (isKnowledgeGraphAsset(id.getUuid())) {
+          reads.add(CompletableFuture.completedFuture(
+              retrieveLatestCanonicalSurrogateForAssetVersion(
+                  id.getUuid(), id.getVersionTag(), true, projection)
+                  .flatMap(ka -> negotiateSurrogate(ka, null))));
+        }
+      }
+      for (Future<Answer<KnowledgeAsset>> read : reads.subList(consumed, reads.size())) {
+        read.get().ifPresent(consumer);
+      }
+      return succeed();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Answer.failed(new ServerSideException(InternalServerError, "Batch read interrupted"));
+    } catch (ExecutionException e) {
+      return Answer.failed(new ServerSideException(InternalServerError, e.getMessage()));
+    } finally {
+      reads.forEach(read -> read.cancel(true));
+    }
+  }
+
+  /**
+   * Passes the Surrogates already retrieved to the consumer, in order, up to the first
+   * Surrogate still being retrieved
+   *
+   * @param reads    the (submitted) retrievals of the Surrogates
+   * @param consumed the number of Surrogates already passed to the consumer
+   * @param consumer the consumer of the Surrogates
+   * @return the number of Surrogates passed to the consumer so far
+   */
+  private static int consumeCompleted(List<Future<Answer<KnowledgeAsset>>> reads, int consumed,
+      Consumer<KnowledgeAsset> consumer) throws InterruptedException, ExecutionException {
+    int next = consumed;
+    while (next < reads.size() && reads.get(next).isDone()) {
+      reads.get(next++).get().ifPresent(consumer);
+    }
+    return next;
+  }
+
+  /**
+   * @return the max number of Asset versions whose Surrogates can be retrieved in one batch
+   */
+  public int getBatchReadLimit() {
+    return batchReadLimit;
+  }
+
+  private static String batchKey(ResourceIdentifier assetVersionId) {
+    return assetVersionId.getUuid() + ":" + assetVersionId.getVersionTag();
+  }
+
+
   /**
    * Ensures that a specific version of a Knowledge Asset is no (longer) registered in the
    * Repository.
@@ -783,6 +1557,9 @@ public class SemanticKnowledgeAssetRepository
   @Override
   @Loggable(level = LogLevel.WARN, beforeCode = "KARS-065.A")
   public Answer<Void> deleteKnowledgeAssetVersion(UUID assetId, String versionTag) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (!isDeleteAllowed()) {
       return Answer.of(Forbidden);
     }
@@ -790,6 +1567,19 @@ public class SemanticKnowledgeAssetRepository
       // FUTURE: consider an interceptor
       return Answer.of(Forbidden);
     }
+    return writeLocks.withLock(assetId, () -> removeKnowledgeAssetVersion(assetId, versionTag));
+  }
+
+  /**
+   * Removes (or tombstones) a specific version of a Knowledge Asset,
+   * while holding the write lock of the Asset
+   *
+   * @see #deleteKnowledgeAssetVersion(UUID, String)
+   */
+  private Answer<Void> removeKnowledgeAssetVersion(UUID assetId, String versionTag) {
+    if (tombstoneDelete) {
+      return tombstoneAssetVersion(assetId, toSemVer(versionTag));
+    }
 
     var asset =
         retrieveLatestCanonicalSurrogateForAssetVersion(assetId, toSemVer(versionTag), false);
@@ -816,6 +1606,305 @@ public class SemanticKnowledgeAssetRepository
     }
   }
 
+  /**
+   * Deletes a specific version of a Knowledge Asset by means of a tombstone, which immediately
+   * hides the version. The removal of its Carriers and Surrogates, and of their index entries,
+   * is deferred to the (background) compaction.
+   * <p>
+   * Since the deletion of published Assets requires the Repository to allow deletions, every
+   * deleted version is eventually removed, regardless of its publication status.
+   *
+   * @param assetId    the ID of the Asset
+   * @param versionTag the version of the Asset
+   * @return success if the Asset's version is no longer registered in the Repository
+   * @see TombstoneCompactor
+   */
+  @Loggable(level = LogLevel.INFO, beforeCode = "KARS-065.D")
+  private Answer<Void> tombstoneAssetVersion(UUID assetId, String versionTag) {
+    return index.resolveAsset(assetId, versionTag)
+        .map(ax -> {
+          index.tombstoneAssetVersion(ax);
+          Answer<Void> recorded =
+              recordChange(DELETE, ASSET, ax.getVersionId(), ax.getVersionId());
+          publishInvalidation(List.of(ax.getVersionId()), List.of());
+          return recorded;
+        })
+        .orElseGet(Answer::succeed);
+  }
+
+  /**
+   * Records a change in the change log, if enabled.
+   * A change that cannot be recorded fails the write that made it, so that consumers of the log
+   * do not miss changes silently: the change itself has been applied, and the client is expected
+   * to retry the (idempotent) write, which records the change again.
+   *
+   * @param type       the type of change
+   * @param kind       the kind of entity changed
+   * @param assetId    the (version) ID of the Asset affected by the change, if any
+   * @param resourceId the (version) ID of the Asset, Carrier or Surrogate changed, if any
+   * @return Success, or InternalServerError if the change could not be recorded
+   */
+  private Answer<Void> recordChange(
+      ChangeType type, EntityKind kind, URI assetId, URI resourceId) {
+    if (changeLog == null) {
+      return succeed();
+    }
+    try {
+      changeLog.append(type, kind, assetId, resourceId);
+      return succeed();
+    } catch (RuntimeException e) {
+      logger.error("Unable to record {} {} {}: {}", type, kind, resourceId, e.getMessage());
+      return Answer.failed(new ServerSideException(InternalServerError,
+          "Unable to record the change to " + resourceId + ": " + e.getMessage()));
+    }
+  }
+
+  /**
+   * Notifies the other nodes of a change, if an invalidation channel is enabled.
+   * Failures are logged, but do not affect the outcome of the change itself.
+   *
+   * @param assetVersions    the (version) IDs of the Assets that have changed
+   * @param artifactVersions the (version) IDs of the Artifacts that have changed
+   */
+  private void publishInvalidation(Collection<URI> assetVersions,
+      Collection<URI> artifactVersions) {
+    if (invalidationChannel == null) {
+      return;
+    }
+    try {
+      invalidationChannel.publish(CacheInvalidation.of(nodeId,
+          kGraphHolder.getGraphGeneration(), assetVersions, artifactVersions));
+    } catch (RuntimeException e) {
+      logger.error("Unable to publish invalidation of {} {}: {}",
+          assetVersions, artifactVersions, e.getMessage());
+    }
+  }
+
+  /**
+   * Invalidates the cached data derived from the content changed by another node.
+   * Query results are derived from the whole Graph, and are always invalidated.
+   *
+   * @param invalidation the message published by the other node
+   */
+  private void onInvalidation(CacheInvalidation invalidation) {
+    if (nodeId.equals(invalidation.getOrigin())) {
+      return;
+    }
+    receivedInvalidations.incrementAndGet();
+    logger.debug("INVALIDATE {}", invalidation);
+    queryCache.invalidate();
+    if (invalidation.isAll()) {
+      blobStore.forgetAll();
+    } else {
+      invalidation.getArtifactVersions().stream()
+          .map(SemanticIdentifier::newVersionId)
+          .forEach(versionId -> blobStore.forget(versionId.getUuid()));
+    }
+  }
+
+  /**
+   * Compacts (up to) a given number of tombstoned Asset versions
+   *
+   * @param batchSize the max number of Asset versions to be compacted
+   * @return the number of Asset versions actually compacted
+   */
+  private int compactTombstones(int batchSize) {
+    compactionGuard.lock();
+    try {
+      AssetRemoval removal = index.collectTombstones(batchSize);
+      if (removal.isEmpty()) {
+        return 0;
+      }
+      Answer<Void> ans = purgeKnowledgeAssets(removal);
+      if (!ans.isSuccess()) {
+        logger.warn("Unable to remove all the Artifacts of {} deleted Asset versions",
+            removal.getAssetVersions().size());
+      }
+      return removal.getAssetVersions().size();
+    } finally {
+      compactionGuard.unlock();
+    }
+  }
+
+  /**
+   * Compacts a tombstoned Asset version, if any, before the version is registered again,
+   * so that the compaction cannot remove the new registration
+   *
+   * @param assetId the ID of the Asset version
+   */
+  private void compactTombstone(ResourceIdentifier assetId) {
+    if (!index.isTombstoned(assetId)) {
+      return;
+    }
+    compactionGuard.lock();
+    try {
+      AssetRemoval removal = index.collectTombstone(assetId);
+      if (!removal.isEmpty()) {
+        purgeKnowledgeAssets(removal);
+      }
+    } finally {
+      compactionGuard.unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the Index from the canonical Surrogates stored in the underlying Artifact Repository,
+   * e.g. after the loss or the corruption of the Knowledge Graph.
+   * <p>
+   * The Artifacts are retrieved, and the Surrogates decoded, in parallel, while the current Index
+   * remains available. The rebuilt Index replaces the current Index atomically, once complete.
+   * Asset versions deleted by means of a tombstone, but not yet compacted, are restored.
+   *
+   * @return the progress of the rebuild, once complete,
+   * or CONFLICT if another rebuild is in progress
+   */
+  @Loggable(level = LogLevel.WARN, beforeCode = "KARS-910.A", afterCode = "KARS-910.Z")
+  public Answer<IndexRebuild> rebuildIndex() {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
+    Answer<List<Pointer>> artifacts =
+        knowledgeArtifactApi.listKnowledgeArtifacts(artifactRepositoryId);
+    if (!artifacts.isSuccess()) {
+      return Answer.failed(artifacts);
+    }
+    KnowledgeGraphInfo kgi = kGraphHolder.getInfo();
+    List<UUID> seriesIds = artifacts.get().stream()
+        .map(Pointer::getUuid)
+        .filter(id -> !kgi.isKnowledgeGraphCarrier(id) && !kgi.isKnowledgeGraphSurrogate(id))
+        .filter(id -> !ArtifactChangeLog.isChangeLog(id))
+        .filter(id -> !ArtifactInvalidationChannel.isInvalidationChannel(id))
+        .distinct()
+        .collect(toList());
+
+    var progress = new IndexRebuild(seriesIds.size());
+    Answer<Void> ans = index.rebuild(sink -> {
+      lastRebuild = progress;
+      try {
+        if (threadMode == ThreadMode.VIRTUAL) {
+          reindexOnTaskExecutor(seriesIds, sink, progress);
+        } else {
+          reindexOnForkJoinPool(seriesIds, sink, progress);
+        }
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Index rebuild interrupted", ie);
+      } catch (ExecutionException ee) {
+        throw new IllegalStateException("Index rebuild failed", ee.getCause());
+      }
+    });
+    if (!ans.isSuccess()) {
+      return Answer.failed(ans);
+    }
+    progress.complete();
+    return Answer.of(progress);
+  }
+
+  /**
+   * Scans the Artifact series in parallel, on a pool of (rebuild parallelism) platform threads
+   */
+  private void reindexOnForkJoinPool(
+      List<UUID> seriesIds, Consumer<Runnable> sink, IndexRebuild progress)
+      throws InterruptedException, ExecutionException {
+    var pool = new ForkJoinPool(rebuildParallelism);
+    try {
+      pool.submit(() -> seriesIds.parallelStream()
+              .forEach(seriesId -> reindexSurrogateSeries(seriesId, sink, progress)))
+          .get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Scans the Artifact series in parallel, one task (virtual thread) per series,
+   * while limiting the concurrent scans to the rebuild parallelism.
+   * A task is only submitted once a permit is available, so that the tasks (and their threads)
+   * are not all created up front
+   */
+  private void reindexOnTaskExecutor(
+      List<UUID> seriesIds, Consumer<Runnable> sink, IndexRebuild progress)
+      throws InterruptedException, ExecutionException {
+    var permits = new Semaphore(rebuildParallelism);
+    ExecutorService executor = TaskExecutors.newTaskExecutor("IndexRebuild", threadMode);
+    try {
+      List<Future<?>> scans = new ArrayList<>(seriesIds.size());
+      for (UUID seriesId : seriesIds) {
+        permits.acquire();
+        scans.add(executor.submit(() -> {
+          try {
+            reindexSurrogateSeries(seriesId, sink, progress);
+          } finally {
+            permits.release();
+          }
+        }));
+      }
+      for (Future<?> scan : scans) {
+        scan.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Scans the versions of an Artifact series, submitting the (re)registration of the
+   * canonical Surrogates to the Index being rebuilt
+   *
+   * @param seriesId the ID of the Artifact series
+   * @param sink     the sink of the units of work that populate the Index being rebuilt
+   * @param progress the progress of the rebuild
+   */
+  private void reindexSurrogateSeries(
+      UUID seriesId, Consumer<Runnable> sink, IndexRebuild progress) {
+    knowledgeArtifactApi.getKnowledgeArtifactSeries(artifactRepositoryId, seriesId)
+        .orElseGet(Collections::emptyList)
+        .forEach(version -> reindexSurrogateVersion(version, sink, progress));
+    progress.artifactScanned();
+  }
+
+  /**
+   * Retrieves and decodes an Artifact version. If the Artifact is a canonical Surrogate,
+   * submits the (re)registration of the Surrogate, and of its digest, to the Index being rebuilt
+   *
+   * @param version  the Artifact version
+   * @param sink     the sink of the units of work that populate the Index being rebuilt
+   * @param progress the progress of the rebuild
+   */
+  private void reindexSurrogateVersion(
+      Pointer version, Consumer<Runnable> sink, IndexRebuild progress) {
+    Answer<byte[]> stored =
+        blobStore.get(artifactRepositoryId, version.getUuid(), version.getVersionTag());
+    if (!stored.isSuccess()) {
+      progress.versionFailed();
+      return;
+    }
+    byte[] bytes = stored.get();
+    Optional<KnowledgeAsset> surrogate = ChunkedCarrierStore.isChunked(bytes)
+        ? Optional.empty()
+        : decodeCanonicalSurrogate(bytes).getOptionalValue();
+    Optional<ResourceIdentifier> surrogateId = surrogate
+        .flatMap(this::getCanonicalSurrogateMetadata)
+        .map(KnowledgeArtifact::getArtifactId)
+        // the content of blobs and Carriers may happen to be a Surrogate
+        .filter(id -> id.getUuid().equals(version.getUuid())
+            && id.getVersionTag().equals(version.getVersionTag()));
+    if (surrogateId.isEmpty()) {
+      progress.versionSkipped();
+      return;
+    }
+
+    String surrogateMimeType = encode(rep(defaultSurrogateModel, defaultSurrogateFormat,
+        defaultCharset(), Encodings.DEFAULT));
+    String digest = ContentDigest.digest(bytes);
+    sink.accept(() -> {
+      index.registerAssetByCanonicalSurrogate(
+          surrogate.get(), surrogateId.get(), surrogateMimeType);
+      index.registerSurrogateDigest(surrogateId.get(), digest);
+    });
+    progress.surrogateIndexed();
+  }
+
   /**
    * Removes a specific version of a Knowledge Asset that is currently present in the repository
    *
@@ -828,8 +1917,11 @@ public class SemanticKnowledgeAssetRepository
     Answer<Void> artfs = removeAssetVersionCarriers(asset, hardDelete);
     Answer<Void> surrs = removeAssetVersionSurrogates(asset, hardDelete);
     index.unregisterAssetVersion(asset.getAssetId());
+    Answer<Void> recorded = recordChange(DELETE, ASSET,
+        asset.getAssetId().getVersionId(), asset.getAssetId().getVersionId());
+    publishInvalidation(List.of(asset.getAssetId().getVersionId()), List.of());
 
-    return merge(artfs, surrs);
+    return merge(merge(artfs, surrs), recorded);
   }
 
   /**
@@ -876,6 +1968,9 @@ public class SemanticKnowledgeAssetRepository
    */
   private Answer<Void> removeArtifact(KnowledgeArtifact artifact, boolean hardDelete) {
     ResourceIdentifier id = artifact.getArtifactId();
+    if (hardDelete) {
+      releaseArtifactContent(id);
+    }
     Answer<Void> ans = knowledgeArtifactApi.deleteKnowledgeArtifactVersion(
         artifactRepositoryId,
         id.getUuid(), id.getVersionTag(),
@@ -889,6 +1984,19 @@ public class SemanticKnowledgeAssetRepository
     return ans;
   }
 
+  /**
+   * Releases the (shared or chunked) content of an Artifact, before the Artifact is
+   * (hard) deleted. Failures are logged, but do not prevent the deletion.
+   *
+   * @param id the Artifact version
+   */
+  private void releaseArtifactContent(ResourceIdentifier id) {
+    if (!carrierStore.release(artifactRepositoryId, id).isSuccess()) {
+      logger.warn("Unable to release the (shared) content of Artifact {}:{}",
+          id.getUuid(), id.getVersionTag());
+    }
+  }
+
   //*****************************************************************************************/
   //* Kowledge Artifacts
   //*****************************************************************************************/
@@ -1065,9 +2173,31 @@ public class SemanticKnowledgeAssetRepository
       UUID artifactId,
       String artifactVersionTag,
       String xAccept) {
+    return indexMemo.inScope(() -> assembleKnowledgeAssetCarrierVersion(
+        assetId, versionTag, artifactId, artifactVersionTag, xAccept,
+        getKnowledgeAssetVersion(assetId, toSemVer(versionTag)),
+        meta -> retrieveBinaryArtifactFromRepository(meta.getArtifactId())));
+  }
+
+  /**
+   * Wraps the content of a Carrier Artifact, retrieved from the most appropriate source, into a
+   * KnowledgeCarrier, given the (already retrieved) Surrogate of the Asset
+   *
+   * @param assetMetadata the canonical Surrogate of the Asset version
+   * @param storedContent retrieves the content of the Carrier from the Artifact Repository, if
+   *                      the content is not inlined in the Surrogate
+   * @see #getKnowledgeAssetCarrierVersion(UUID, String, UUID, String, String)
+   */
+  Answer<KnowledgeCarrier> assembleKnowledgeAssetCarrierVersion(
+      UUID assetId,
+      String versionTag,
+      UUID artifactId,
+      String artifactVersionTag,
+      String xAccept,
+      Answer<KnowledgeAsset> assetMetadata,
+      Function<KnowledgeArtifact, Answer<byte[]>> storedContent) {
     boolean withNegotiation = !isEmpty(xAccept);
 
-    var assetMetadata = getKnowledgeAssetVersion(assetId, toSemVer(versionTag));
     Answer<KnowledgeArtifact> artifactMetadata = assetMetadata
         .flatOpt(surr -> getComputableCarrierMetadata(artifactId, artifactVersionTag, surr));
 
@@ -1080,7 +2210,7 @@ public class SemanticKnowledgeAssetRepository
 
     Answer<KnowledgeCarrier> carrier = artifactMetadata
         .flatMap(meta ->
-            retrieveBinaryArtifact(meta)
+            retrieveBinaryArtifact(meta, () -> storedContent.apply(meta))
                 .map(bytes -> buildKnowledgeCarrier(
                     assetId, versionTag,
                     artifactId, artifactVersionTag,
@@ -1140,28 +2270,205 @@ public class SemanticKnowledgeAssetRepository
   @Failsafe
   public Answer<Void> setKnowledgeAssetCarrierVersion(UUID assetId, String versionTag,
       UUID artifactId, String artifactVersion, byte[] exemplar) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
       // FUTURE: consider an interceptor
       return kGraphHolder.saveKnowledgeGraph();
     }
 
+    return writeLocks.withLock(assetId, () ->
+        storeKnowledgeAssetCarrierVersion(assetId, versionTag,
+            artifactId, artifactVersion, exemplar));
+  }
+
+  /**
+   * Stores a (binary) exemplar artifact in the repository, associating it to a knowledge asset,
+   * while holding the write lock of the Asset
+   *
+   * @see #setKnowledgeAssetCarrierVersion(UUID, String, UUID, String, byte[])
+   */
+  private Answer<Void> storeKnowledgeAssetCarrierVersion(UUID assetId, String versionTag,
+      UUID artifactId, String artifactVersion, byte[] exemplar) {
     KnowledgeAsset asset = retrieveLatestCanonicalSurrogateForAssetVersion(
         assetId, toSemVer(versionTag), false)
         .orElseThrow(() ->
             new ServerSideException(PreconditionFailed,
                 "Unable to retrieve metadata information for " + assetId + ":" + versionTag));
     ResourceIdentifier artifactRef = toArtifactId(artifactId, artifactVersion);
+    ChangeType carrierChange = index
+        .resolveArtifact(artifactRef.getUuid(), artifactRef.getVersionTag()).isPresent()
+        ? UPDATE : CREATE;
+
+    // the updated Surrogate and the Carrier become visible to readers at once
+    Answer<Void> ans = inUnitOfWork(() -> {
+      Answer<Void> a1 = updateCanonicalSurrogateWithCarrier(asset, artifactRef, exemplar);
+      Answer<Void> a2 = persistKnowledgeCarrier(
+          asset.getAssetId(),
+          getComputableCarrierMetadata(artifactId, artifactVersion, asset)
+              .orElseThrow(() -> new IllegalStateException("Artifact metadata is inconsistent")),
+          exemplar);
+      return merge(a1, a2);
+    });
 
-    Answer<Void> a1 = updateCanonicalSurrogateWithCarrier(asset, artifactRef, exemplar);
-    Answer<Void> a2 = persistKnowledgeCarrier(
-        asset.getAssetId(),
-        getComputableCarrierMetadata(artifactId, artifactVersion, asset)
-            .orElseThrow(() -> new IllegalStateException("Artifact metadata is inconsistent")),
-        exemplar);
+    eventBus.publish(asset.getAssetId());
+    Answer<Void> recorded = recordChange(carrierChange, CARRIER,
+        asset.getAssetId().getVersionId(), artifactRef.getVersionId());
+    publishInvalidation(
+        List.of(asset.getAssetId().getVersionId()), List.of(artifactRef.getVersionId()));
 
-    subscribers.forEach(s -> s.onNext(asset.getAssetId()));
+    return merge(ans, recorded);
+  }
 
-    return merge(a1, a2);
+  /**
+   * Retrieves a specific version of a Knowledge Artifact, in its role of carrier of a given
+   * Knowledge Asset, as a stream.
+   * <p>
+   * Unlike {@link #getKnowledgeAssetCarrierVersionContent}, the content is neither wrapped nor
+   * reformatted, and (large) Artifacts stored in chunks are retrieved one chunk at a time,
+   * as the stream is consumed, bounding the memory used to serve the Artifact
+   *
+   * @param assetId            The id of the Asset for which the Artifact is a Carrier
+   * @param versionTag         The version of the Asset for which the Artifact is a Carrier
+   * @param artifactId         The id of the Carrier Artifact
+   * @param artifactVersionTag The version of the Carrier Artifact
+   * @param xAccept            Client's preferences on the Artifact representation, which must fit
+   *                           at least one of the preferences, if preferences are specified
+   * @return The Carrier Artifact, as a stream
+   */
+  public Answer<InputStream> getKnowledgeAssetCarrierVersionStream(
+      UUID assetId,
+      String versionTag,
+      UUID artifactId,
+      String artifactVersionTag,
+      String xAccept) {
+    return getKnowledgeAssetCarrierVersionStream(
+        assetId, versionTag, artifactId, artifactVersionTag, xAccept, false);
+  }
+
+  /**
+   * Retrieves a specific version of a Knowledge Artifact, in its role of carrier of a given
+   * Knowledge Asset, as a stream, optionally GZIP-encoded.
+   * <p>
+   * Artifacts stored compressed are returned as-is when GZIP encoding is requested,
+   * without decompressing and recompressing them.
+   *
+   * @param assetId            The id of the Asset for which the Artifact is a Carrier
+   * @param versionTag         The version of the Asset for which the Artifact is a Carrier
+   * @param artifactId         The id of the Carrier Artifact
+   * @param artifactVersionTag The version of the Carrier Artifact
+   * @param xAccept            Client's preferences on the Artifact representation, which must fit
+   *                           at least one of the preferences, if preferences are specified
+   * @param gzip               If true, the Artifact is returned GZIP-encoded
+   * @return The Carrier Artifact, as a (GZIP-encoded) stream
+   * @see #getKnowledgeAssetCarrierVersionStream(UUID, String, UUID, String, String)
+   */
+  @Loggable(beforeCode = "KARS-154.A")
+  public Answer<InputStream> getKnowledgeAssetCarrierVersionStream(
+      UUID assetId,
+      String versionTag,
+      UUID artifactId,
+      String artifactVersionTag,
+      String xAccept,
+      boolean gzip) {
+    Answer<KnowledgeArtifact> artifactMetadata =
+        getKnowledgeAssetVersion(assetId, toSemVer(versionTag))
+            .flatOpt(surr -> getComputableCarrierMetadata(artifactId, artifactVersionTag, surr));
+    if (!artifactMetadata.isSuccess()) {
+      return Answer.notFound();
+    }
+    KnowledgeArtifact meta = artifactMetadata.get();
+    if (!negotiator.isAcceptable(meta, xAccept)) {
+      return failed(NotAcceptable);
+    }
+
+    Optional<byte[]> inlined = extractInlinedArtifact(meta);
+    if (inlined.isPresent()) {
+      return Answer.of(new ByteArrayInputStream(
+          gzip ? ContentCompression.toGzip(inlined.get()) : inlined.get()));
+    }
+    return openBinaryArtifactFromRepository(meta.getArtifactId(), gzip)
+        .or(() -> retrieveArtifactFromExternalLocation(meta)
+            .map(bytes -> gzip ? ContentCompression.toGzip(bytes) : bytes)
+            .map(ByteArrayInputStream::new));
+  }
+
+  /**
+   * Stores a (binary) exemplar artifact in the repository, associating it to a knowledge asset,
+   * reading the artifact from a stream.
+   * <p>
+   * Large artifacts are read, and stored, one chunk at a time, bounding the memory used
+   * to process the upload. If the artifact is not yet associated to the asset, the representation
+   * of the artifact is detected using the first chunk.
+   *
+   * @param assetId         the id of the asset
+   * @param versionTag      the version of the asset
+   * @param artifactId      the id of the carrier artifact
+   * @param artifactVersion the version of the carrier artifact
+   * @param content         the binary-encoded artifact, as a stream
+   * @return Void
+   */
+  @Loggable(level = LogLevel.INFO, beforeCode = "KARS-155.A")
+  @Failsafe
+  public Answer<Void> setKnowledgeAssetCarrierVersionStream(UUID assetId, String versionTag,
+      UUID artifactId, String artifactVersion, InputStream content) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
+    if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
+      return Answer.failed(Forbidden);
+    }
+
+    return writeLocks.withLock(assetId, () ->
+        storeKnowledgeAssetCarrierVersionStream(assetId, versionTag,
+            artifactId, artifactVersion, content));
+  }
+
+  /**
+   * Stores a (binary) exemplar artifact, as a stream, associating it to a knowledge asset,
+   * while holding the write lock of the Asset
+   *
+   * @see #setKnowledgeAssetCarrierVersionStream(UUID, String, UUID, String, InputStream)
+   */
+  private Answer<Void> storeKnowledgeAssetCarrierVersionStream(UUID assetId, String versionTag,
+      UUID artifactId, String artifactVersion, InputStream content) {
+    KnowledgeAsset asset = retrieveLatestCanonicalSurrogateForAssetVersion(
+        assetId, toSemVer(versionTag), false)
+        .orElseThrow(() ->
+            new ServerSideException(PreconditionFailed,
+                "Unable to retrieve metadata information for " + assetId + ":" + versionTag));
+    ResourceIdentifier artifactRef = toArtifactId(artifactId, artifactVersion);
+    ChangeType carrierChange = index
+        .resolveArtifact(artifactRef.getUuid(), artifactRef.getVersionTag()).isPresent()
+        ? UPDATE : CREATE;
+
+    Answer<StoredCarrier> stored =
+        carrierStore.store(artifactRepositoryId, artifactRef, content);
+    if (!stored.isSuccess()) {
+      return Answer.failed(stored);
+    }
+    logger.info("PERSIST Carrier {}:{} for Asset {}:{} ({} bytes)",
+        artifactId, artifactVersion, assetId, versionTag, stored.get().getSize());
+
+    // the updated Surrogate and the Carrier become visible to readers at once
+    Answer<Void> ans = inUnitOfWork(() -> {
+      Answer<Void> updated = updateCanonicalSurrogateWithCarrier(
+          asset, artifactRef, stored.get().getHead());
+      indexKnowledgeCarrier(
+          asset.getAssetId(),
+          getComputableCarrierMetadata(artifactId, artifactVersion, asset)
+              .orElseThrow(() -> new IllegalStateException("Artifact metadata is inconsistent")));
+      return updated;
+    });
+
+    eventBus.publish(asset.getAssetId());
+    Answer<Void> recorded = recordChange(carrierChange, CARRIER,
+        asset.getAssetId().getVersionId(), artifactRef.getVersionId());
+    publishInvalidation(
+        List.of(asset.getAssetId().getVersionId()), List.of(artifactRef.getVersionId()));
+
+    return merge(ans, recorded);
   }
 
   /**
@@ -1491,6 +2798,9 @@ public class SemanticKnowledgeAssetRepository
   @Loggable(level = LogLevel.INFO, beforeCode = "KARS-174.A")
   public Answer<Void> addCanonicalKnowledgeAssetSurrogate(UUID assetId, String versionTag,
       KnowledgeCarrier assetSurrogateCarrier) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
       // FUTURE: consider an interceptor
       return Answer.failed(Forbidden);
@@ -1611,8 +2921,8 @@ public class SemanticKnowledgeAssetRepository
       return Answer.failed(Forbidden);
     }
 
-    var resolvedAssetId = index.resolveAsset(assetId, versionTag);
-    return Answer.ofTry(resolvedAssetId, newId(assetId, versionTag),
+    return indexMemo.inScope(() -> Answer.ofTry(
+            index.resolveAsset(assetId, versionTag), newId(assetId, versionTag),
             () -> "Unable to confirm asset Id as a known Asset")
         .flatMap(rootId -> compositeHelper.getComponentsQuery(rootId, Depends_On))
         .flatMap(this::getComponentIds)
@@ -1625,7 +2935,7 @@ public class SemanticKnowledgeAssetRepository
                 .collect(Answer.toList())
                 // combine into a Composite - NO Struct
                 .map(components -> ofUniformAnonymousComposite(
-                    toAssetId(assetId, versionTag), components)));
+                    toAssetId(assetId, versionTag), components))));
   }
 
 
@@ -1768,7 +3078,32 @@ public class SemanticKnowledgeAssetRepository
     }
     SerializationFormat fmt = negotiator.decodePreferredFormat(xAccept, defaultSurrogateFormat);
 
-    var compositeSurr = getKnowledgeAssetVersion(assetId, versionTag, xAccept);
+    return indexMemo.inScope(() -> assembleCompositeKnowledgeAssetSurrogate(
+        getKnowledgeAssetVersion(assetId, versionTag, xAccept),
+        () -> getCompositeRootId(assetId, versionTag),
+        composite -> getComponentIds(composite.getAssetId()).stream()
+            .map(cid -> getKnowledgeAssetVersion(cid.getUuid(), cid.getVersionTag(), xAccept)
+                .flatMap(ax -> encodeCanonicalSurrogate(ax, fmt)))
+            .flatMap(Answer::trimStream)
+            .collect(Collectors.toList()),
+        () -> getCompositeKnowledgeAssetStructure(assetId, versionTag)));
+  }
+
+  /**
+   * Assembles the Surrogate of a Composite with the Surrogates of the components, given the
+   * (already retrieved) Surrogate of the Composite
+   *
+   * @param compositeSurr the Surrogate of the Composite
+   * @param rootId        retrieves the ID of the root component
+   * @param components    retrieves the (encoded) Surrogates of the components
+   * @param structure     retrieves the struct of the Composite, if any
+   * @see #getCompositeKnowledgeAssetSurrogate(UUID, String, Boolean, String)
+   */
+  Answer<CompositeKnowledgeCarrier> assembleCompositeKnowledgeAssetSurrogate(
+      Answer<KnowledgeAsset> compositeSurr,
+      Supplier<Answer<ResourceIdentifier>> rootId,
+      Function<KnowledgeAsset, List<KnowledgeCarrier>> components,
+      Supplier<Answer<KnowledgeCarrier>> structure) {
     if (!compositeSurr.isSuccess()) {
       return failed(compositeSurr.getOutcomeType());
     }
@@ -1781,35 +3116,45 @@ public class SemanticKnowledgeAssetRepository
       return Answer.failedOnServer(new ServerSideException(PreconditionFailed));
     }
 
-    Answer<ResourceIdentifier> rootId = compositeHelper.getRootQuery(toAssetId(assetId, versionTag))
-        .flatMap(this::queryKnowledgeAssetGraph)
-        .flatOpt(compositeHelper::getRootId);
-
     return compositeSurr.flatMap(composite -> {
-      List<KnowledgeCarrier> components =
-          index.getRelatedAssets(composite.getAssetId(),
-                  Has_Structural_Component.getReferentId()).stream()
-              .map(cid -> getKnowledgeAssetVersion(cid.getUuid(), cid.getVersionTag(), xAccept)
-                  .flatMap(ax -> encodeCanonicalSurrogate(ax, fmt)))
-              .flatMap(Answer::trimStream)
-              .collect(Collectors.toList());
-
-      Answer<KnowledgeCarrier> structure =
-          getCompositeKnowledgeAssetStructure(assetId, versionTag)
-              .or(() -> inferBasicStruct(composite, structId.orElse(null)));
-
-      return structure.map(struct ->
+      Answer<ResourceIdentifier> root = rootId.get();
+      List<KnowledgeCarrier> componentSurrogates = components.apply(composite);
+      Answer<KnowledgeCarrier> struct = structure.get()
+          .or(() -> inferBasicStruct(composite, structId.orElse(null)));
+
+      return struct.map(s ->
           ofUniformNamedComposite(
               composite.getAssetId(),
               null,
-              rootId.orElse(null),
+              root.orElse(null),
               compositeSurr.map(KnowledgeAsset::getName).orElse(""),
               GRAPH,
-              struct,
-              components));
+              s,
+              componentSurrogates));
     });
   }
 
+  /**
+   * Queries the Knowledge Graph for the root component of a Composite
+   *
+   * @param assetId    the Composite Asset ID
+   * @param versionTag the Composite version Tag
+   * @return the ID of the root component, if any
+   */
+  Answer<ResourceIdentifier> getCompositeRootId(UUID assetId, String versionTag) {
+    return compositeHelper.getRootQuery(toAssetId(assetId, versionTag))
+        .flatMap(this::queryKnowledgeAssetGraph)
+        .flatOpt(compositeHelper::getRootId);
+  }
+
+  /**
+   * @param compositeId the ID of a Composite Asset
+   * @return the IDs of the structural components of the Composite
+   */
+  Set<ResourceIdentifier> getComponentIds(ResourceIdentifier compositeId) {
+    return index.getRelatedAssets(compositeId, Has_Structural_Component.getReferentId());
+  }
+
   /**
    * Uses the Links in a Surrogate to derive a (TREE-based) struct for a composite
    * <p>
@@ -1875,6 +3220,18 @@ public class SemanticKnowledgeAssetRepository
       return Answer.failed(Forbidden);
     }
 
+    return indexMemo.inScope(() ->
+        assembleCompositeKnowledgeAssetCarrier(assetId, versionTag, xAccept));
+  }
+
+  /**
+   * Assembles a Composite with the canonical Carriers of the components, the Struct and the
+   * name of the Composite
+   *
+   * @see #getCompositeKnowledgeAssetCarrier(UUID, String, Boolean, String)
+   */
+  private Answer<CompositeKnowledgeCarrier> assembleCompositeKnowledgeAssetCarrier(
+      UUID assetId, String versionTag, String xAccept) {
     ResourceIdentifier compositeAssetId = toAssetId(assetId, versionTag);
 
     var compositeSurr = getKnowledgeAssetVersion(assetId, versionTag, xAccept);
@@ -1915,11 +3272,26 @@ public class SemanticKnowledgeAssetRepository
   @Failsafe
   public Answer<Void> addKnowledgeAssetCarrier(UUID assetId, String versionTag,
       KnowledgeCarrier assetCarrier) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
       // FUTURE: consider an interceptor
       return Answer.failed(Forbidden);
     }
 
+    return writeLocks.withLock(assetId, () ->
+        storeKnowledgeAssetCarrier(assetId, versionTag, assetCarrier));
+  }
+
+  /**
+   * Adds a Carrier to a specific version of a Knowledge Asset,
+   * while holding the write lock of the Asset
+   *
+   * @see #addKnowledgeAssetCarrier(UUID, String, KnowledgeCarrier)
+   */
+  private Answer<Void> storeKnowledgeAssetCarrier(UUID assetId, String versionTag,
+      KnowledgeCarrier assetCarrier) {
     var currentSurrogate = getKnowledgeAsset(assetId, versionTag);
     if (!currentSurrogate.isSuccess()) {
       return failed(currentSurrogate);
@@ -1979,6 +3351,9 @@ public class SemanticKnowledgeAssetRepository
   @Loggable(beforeCode = "KARS-184.A", level = LogLevel.INFO)
   public Answer<Void> addKnowledgeAssetSurrogate(UUID assetId, String versionTag,
       KnowledgeCarrier surrogateCarrier) {
+    if (kGraphHolder.isReadOnly()) {
+      return Answer.failed(Forbidden);
+    }
     if (kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId)) {
       // FUTURE: consider an interceptor
       return Answer.failed(Forbidden);
@@ -2243,10 +3618,24 @@ public class SemanticKnowledgeAssetRepository
    * @return a byte-encoded copy of the artifact
    */
   private Answer<byte[]> retrieveBinaryArtifact(KnowledgeArtifact artifact) {
+    return retrieveBinaryArtifact(artifact,
+        () -> retrieveBinaryArtifactFromRepository(artifact.getArtifactId()));
+  }
+
+  /**
+   * Uses the Knowledge Artifact metadata to retrieve an actual copy of an artifact, in this order:
+   * * Inlined representation * Stored copy * External Locations
+   *
+   * @param artifact      The Knowledge Artifact Metadata
+   * @param storedContent retrieves the stored copy of the artifact, if any
+   * @return a byte-encoded copy of the artifact
+   */
+  private Answer<byte[]> retrieveBinaryArtifact(KnowledgeArtifact artifact,
+      Supplier<Answer<byte[]>> storedContent) {
     var carrier = extractInlinedArtifact(artifact);
     return Answer.ofTry(carrier, artifact.getArtifactId(),
             () -> "Unable to retrieve Artifact content")
-        .or(() -> retrieveBinaryArtifactFromRepository(artifact.getArtifactId()))
+        .or(storedContent)
         .or(() -> retrieveArtifactFromExternalLocation(artifact));
   }
 
@@ -2354,6 +3743,35 @@ public class SemanticKnowledgeAssetRepository
   }
 
 
+  /**
+   * Determines whether a Surrogate is an identical re-submission of the Surrogate version
+   * currently registered as canonical for a given Asset version, comparing the digest
+   * of the encoded Surrogate with the digest recorded in the index.
+   * <p>
+   * Identical re-submissions can be safely ignored, without retrieving, parsing
+   * and comparing the stored Surrogate with the new one.
+   *
+   * @param assetIdentifier     the Asset version
+   * @param surrogateIdentifier the Surrogate version
+   * @param surrogateBinary     the encoded Surrogate
+   * @return true if the digest of the encoded Surrogate matches the recorded one
+   */
+  private boolean isUnchangedCanonicalSurrogate(
+      ResourceIdentifier assetIdentifier,
+      ResourceIdentifier surrogateIdentifier,
+      Answer<KnowledgeCarrier> surrogateBinary) {
+    Optional<byte[]> bytes = surrogateBinary.flatOpt(AbstractCarrier::asBinary).getOptionalValue();
+    if (bytes.isEmpty() || !index.isKnownAsset(assetIdentifier)) {
+      return false;
+    }
+    boolean isCanonical = index.getCanonicalSurrogateForAsset(assetIdentifier)
+        .filter(surrId -> surrId.getUuid().equals(surrogateIdentifier.getUuid()))
+        .isPresent();
+    return isCanonical && index.getSurrogateDigest(surrogateIdentifier)
+        .filter(digest -> digest.equals(ContentDigest.digest(bytes.get())))
+        .isPresent();
+  }
+
   /**
    * Detects whether : * the given Asset has a Canonical Surrogate, AND *  that Canonical Surrogate
    * is not the same as the provided Surrogate *  OR *  that Canonical Surrogate is the same, AND
@@ -2460,28 +3878,57 @@ public class SemanticKnowledgeAssetRepository
       ResourceIdentifier assetId,
       ResourceIdentifier surrogateId,
       KnowledgeAsset assetSurrogate) {
-    Answer<KnowledgeCarrier> surrogateBinary = encodeCanonicalSurrogate(assetSurrogate);
+    return persistCanonicalKnowledgeAssetVersion(
+        assetId, surrogateId, assetSurrogate, encodeCanonicalSurrogate(assetSurrogate));
+  }
 
+  private Answer<Void> persistCanonicalKnowledgeAssetVersion(
+      ResourceIdentifier assetId,
+      ResourceIdentifier surrogateId,
+      KnowledgeAsset assetSurrogate,
+      Answer<KnowledgeCarrier> surrogateBinary) {
     if (surrogateBinary.isSuccess()) {
+      compactTombstone(assetId);
       logger.info("PERSIST Surrogate {}:{} for Asset {}:{}",
           surrogateId.getUuid(), surrogateId.getVersionTag(), assetId.getUuid(),
           assetId.getVersionTag());
-      Answer<Void> ans = this.knowledgeArtifactApi.setKnowledgeArtifactVersion(
+      byte[] bytes = surrogateBinary.flatOpt(AbstractCarrier::asBinary).get();
+      Answer<String> digest = blobStore.put(
           artifactRepositoryId,
           surrogateId.getUuid(),
           surrogateId.getVersionTag(),
-          surrogateBinary.flatOpt(AbstractCarrier::asBinary).get());
-
+          bytes);
+
+      ChangeType assetChange = index
+          .resolveAsset(assetId.getUuid(), assetId.getVersionTag()).isPresent()
+          ? UPDATE : CREATE;
+      ChangeType surrogateChange = index
+          .resolveArtifact(surrogateId.getUuid(), surrogateId.getVersionTag()).isPresent()
+          ? UPDATE : CREATE;
       logger.info("INDEX Asset {}:{}", assetId.getUuid(), assetId.getVersionTag());
-      index.registerAssetByCanonicalSurrogate(
-          assetSurrogate,
-          surrogateId,
-          surrogateBinary.map(KnowledgeCarrier::getRepresentation)
-              .map(ModelMIMECoder::encode)
-              .orElseThrow(IllegalStateException::new));
-
-      subscribers.forEach(s -> s.onNext(assetId));
-      return ans;
+      String surrogateMimeType = surrogateBinary.map(KnowledgeCarrier::getRepresentation)
+          .map(ModelMIMECoder::encode)
+          .orElseThrow(IllegalStateException::new);
+      index.inUnitOfWork(() ->
+          index.registerAssetByCanonicalSurrogate(assetSurrogate, surrogateId, surrogateMimeType));
+
+      Answer<Void> recorded = merge(
+          recordChange(assetChange, ASSET, assetId.getVersionId(), assetId.getVersionId()),
+          recordChange(surrogateChange, SURROGATE,
+              assetId.getVersionId(), surrogateId.getVersionId()));
+      // the digest acknowledges the write, so that an identical re-submission is skipped:
+      // it is not registered unless the changes are recorded, so that a retry records them
+      if (digest.isSuccess() && recorded.isSuccess()) {
+        index.registerSurrogateDigest(surrogateId, digest.get());
+      }
+      index.afterUnitOfWork(() -> {
+        eventBus.publish(assetId);
+        publishInvalidation(List.of(assetId.getVersionId()), List.of(surrogateId.getVersionId()));
+      });
+      if (!digest.isSuccess()) {
+        return Answer.failed(digest);
+      }
+      return recorded.isSuccess() ? Answer.of(NoContent) : recorded;
     } else {
       return Answer.failed(surrogateBinary);
     }
@@ -2498,16 +3945,40 @@ public class SemanticKnowledgeAssetRepository
       KnowledgeArtifact artifact,
       byte[] exemplar) {
 
-    Answer<Void> ans = this.knowledgeArtifactApi.setKnowledgeArtifactVersion(
+    Answer<String> digest = blobStore.put(
         artifactRepositoryId,
         artifact.getArtifactId().getUuid(), artifact.getArtifactId().getVersionTag(),
         exemplar);
 
+    indexKnowledgeCarrier(assetId, artifact);
+    return digest.isSuccess() ? Answer.of(NoContent) : Answer.failed(digest);
+  }
+
+  /**
+   * Executes a write as a single unit of work of the Index, so that the changes it makes
+   * to the Index are applied as a whole, and become visible to readers at once
+   *
+   * @param write the write operation
+   * @return the outcome of the write
+   * @see Index#inUnitOfWork(Runnable)
+   */
+  private Answer<Void> inUnitOfWork(Supplier<Answer<Void>> write) {
+    AtomicReference<Answer<Void>> outcome = new AtomicReference<>();
+    index.inUnitOfWork(() -> outcome.set(write.get()));
+    return outcome.get();
+  }
+
+  /**
+   * Indexes a Knowledge Carrier (version) for a given Asset (version)
+   *
+   * @param assetId  the Id of the Asset
+   * @param artifact the metadata about the Carrier Artifact
+   */
+  private void indexKnowledgeCarrier(ResourceIdentifier assetId, KnowledgeArtifact artifact) {
     this.index.registerArtifactToAsset(
         assetId,
         artifact,
         artifact.getRepresentation() != null ? codedRep(artifact.getRepresentation()) : null);
-    return ans;
   }
 
   /**
@@ -2696,10 +4167,16 @@ public class SemanticKnowledgeAssetRepository
    */
   private Answer<KnowledgeAsset> retrieveLatestCanonicalSurrogateForLatestAsset(
       UUID assetId, boolean withInverseLinks) {
+    return retrieveLatestCanonicalSurrogateForLatestAsset(
+        assetId, withInverseLinks, SurrogateProjection.FULL);
+  }
+
+  private Answer<KnowledgeAsset> retrieveLatestCanonicalSurrogateForLatestAsset(
+      UUID assetId, boolean withInverseLinks, SurrogateProjection projection) {
     Optional<ResourceIdentifier> surrogateId = getLatestAssetVersion(assetId)
         .flatMap(index::getCanonicalSurrogateForAsset);
     return Answer.ofTry(surrogateId, newId(assetId), () -> "No metadata found for asset " + assetId)
-        .flatMap(x -> retrieveLatestCanonicalSurrogate(x, withInverseLinks));
+        .flatMap(x -> retrieveLatestCanonicalSurrogate(x, withInverseLinks, projection));
   }
 
 
@@ -2725,12 +4202,21 @@ public class SemanticKnowledgeAssetRepository
       UUID assetId,
       String versionTag,
       boolean withInverseLinks) {
+    return retrieveLatestCanonicalSurrogateForAssetVersion(
+        assetId, versionTag, withInverseLinks, SurrogateProjection.FULL);
+  }
+
+  private Answer<KnowledgeAsset> retrieveLatestCanonicalSurrogateForAssetVersion(
+      UUID assetId,
+      String versionTag,
+      boolean withInverseLinks,
+      SurrogateProjection projection) {
     Optional<ResourceIdentifier> surrogateId =
         index.resolveAsset(assetId, versionTag)
             .flatMap(index::getCanonicalSurrogateForAsset);
     return Answer.ofTry(surrogateId, newId(assetId, versionTag),
             () -> "No metadata found for asset " + assetId + " # " + versionTag)
-        .flatMap(x -> this.retrieveLatestCanonicalSurrogate(x, withInverseLinks));
+        .flatMap(x -> this.retrieveLatestCanonicalSurrogate(x, withInverseLinks, projection));
   }
 
   /**
@@ -2741,14 +4227,95 @@ public class SemanticKnowledgeAssetRepository
    */
   private Answer<KnowledgeAsset> retrieveLatestCanonicalSurrogate(
       ResourceIdentifier surrogateIdentifier,
-      boolean withInverseLinks) {
+      boolean withInverseLinks,
+      SurrogateProjection projection) {
     var latestSurrogateId =
         getLatestSurrogateVersion(surrogateIdentifier.getUuid());
     return Answer.ofTry(latestSurrogateId, surrogateIdentifier,
             () -> "Unable to determine latest version for surrogate " + surrogateIdentifier.asKey())
         .flatMap(this::retrieveCanonicalSurrogateVersion)
         .map(ka -> SurrogateEnricher.enrichSurrogate(
-            ka, hrefBuilder, translator, index, withInverseLinks));
+            ka, hrefBuilder, translator, index, withInverseLinks, projection));
+  }
+
+  /**
+   * Resolves a version of a Knowledge Asset, using the Index only
+   *
+   * @param assetId    the uuid of the asset (series)
+   * @param versionTag the version tag of the asset
+   * @return the ID of the Asset version, if known
+   */
+  Optional<ResourceIdentifier> resolveAssetVersion(UUID assetId, String versionTag) {
+    return index.resolveAsset(assetId, toSemVer(versionTag));
+  }
+
+  /**
+   * Resolves the latest version of the canonical Surrogate of a version of a Knowledge Asset,
+   * using the Index only
+   *
+   * @param assetVersionId the ID of the Asset version
+   * @return the ID of the latest version of the canonical Surrogate, if any
+   */
+  Optional<ResourceIdentifier> resolveLatestCanonicalSurrogate(ResourceIdentifier assetVersionId) {
+    return index.getCanonicalSurrogateForAsset(assetVersionId)
+        .flatMap(surrId -> getLatestSurrogateVersion(surrId.getUuid()));
+  }
+
+  /**
+   * @param assetVersionId the ID of the Asset version
+   * @return the Links to and from the Asset version, as recorded in the Index
+   */
+  List<Link> getNeighbourAssets(ResourceIdentifier assetVersionId) {
+    return index.getNeighbourAssets(assetVersionId);
+  }
+
+  /**
+   * Enriches a canonical Surrogate, as retrieved from the Artifact Repository, with the
+   * server-specific information (@see SurrogateEnricher), using Links already retrieved
+   *
+   * @param surrogate  the canonical Surrogate
+   * @param neighbours the Links to and from the Asset
+   * @return the enriched Surrogate
+   */
+  KnowledgeAsset enrichSurrogate(KnowledgeAsset surrogate, List<Link> neighbours) {
+    return SurrogateEnricher.enrichSurrogate(surrogate, hrefBuilder, translator, neighbours);
+  }
+
+  /**
+   * Applies the client's preferences to a canonical Surrogate
+   *
+   * @see #getKnowledgeAssetVersion(UUID, String, String)
+   */
+  Answer<KnowledgeAsset> negotiateSurrogate(KnowledgeAsset surrogate, String xAccept) {
+    return negotiator.negotiateCanonicalSurrogate(surrogate, xAccept,
+        defaultSurrogateRepresentation);
+  }
+
+  /**
+   * @param xAccept the client's preferences
+   * @return the format used to encode the Surrogates returned to the client
+   */
+  SerializationFormat getPreferredSurrogateFormat(String xAccept) {
+    return negotiator.decodePreferredFormat(xAccept, defaultSurrogateFormat);
+  }
+
+  /**
+   * @param assetId the uuid of an Asset
+   * @return true if the Asset is the Knowledge Graph itself
+   */
+  boolean isKnowledgeGraphAsset(UUID assetId) {
+    return kGraphHolder.getInfo().isKnowledgeGraphAsset(assetId);
+  }
+
+  /**
+   * Retrieves a stored copy of a Knowledge Artifact, without consulting the Index
+   *
+   * @param artifactId         the uuid of the Artifact
+   * @param artifactVersionTag the version of the Artifact
+   * @return the binary encoding of the artifact
+   */
+  Answer<byte[]> retrieveStoredArtifact(UUID artifactId, String artifactVersionTag) {
+    return retrieveBinaryArtifactFromRepository(toArtifactId(artifactId, artifactVersionTag));
   }
 
   /**
@@ -2794,7 +4361,7 @@ public class SemanticKnowledgeAssetRepository
    * @param surrogateId the ID of the surrogate
    * @return the parsed Canonical KnowledgeAsset
    */
-  private Answer<KnowledgeAsset> retrieveCanonicalSurrogateVersion(ResourceIdentifier surrogateId) {
+  Answer<KnowledgeAsset> retrieveCanonicalSurrogateVersion(ResourceIdentifier surrogateId) {
     return retrieveBinaryArtifactFromRepository(surrogateId)
         .flatMap(this::decodeCanonicalSurrogate);
   }
@@ -2807,8 +4374,24 @@ public class SemanticKnowledgeAssetRepository
    */
   @Failsafe(traces = @Track(value = LogLevel.DEBUG, throwable = ResourceNotFoundException.class))
   private Answer<byte[]> retrieveBinaryArtifactFromRepository(ResourceIdentifier artifactId) {
-    return knowledgeArtifactApi.getKnowledgeArtifactVersion(
-        artifactRepositoryId, artifactId.getUuid(), artifactId.getVersionTag());
+    return blobStore.get(
+            artifactRepositoryId, artifactId.getUuid(), artifactId.getVersionTag())
+        .flatMap(stored -> carrierStore.reassemble(artifactRepositoryId, artifactId, stored));
+  }
+
+  /**
+   * Opens a binary artifact from the underlying Knowledge Artifact Repository, as a stream
+   *
+   * @param artifactId the ID of the artifact
+   * @param gzip       if true, opens the artifact as a GZIP-encoded stream
+   * @return the binary encoding of the artifact, as a stream
+   */
+  @Failsafe(traces = @Track(value = LogLevel.DEBUG, throwable = ResourceNotFoundException.class))
+  private Answer<InputStream> openBinaryArtifactFromRepository(
+      ResourceIdentifier artifactId, boolean gzip) {
+    return gzip
+        ? carrierStore.openGzip(artifactRepositoryId, artifactId)
+        : carrierStore.open(artifactRepositoryId, artifactId);
   }
 
   /**
@@ -2910,18 +4493,33 @@ public class SemanticKnowledgeAssetRepository
    * Disruptive method that clears the underlying Knowledge Artifact Repository, as well as the
    * index/knowledge graph - effectively resetting this Asset Repository to an empty state
    */
-  private void clear() {
+  private Answer<Void> clear() {
     if (this.knowledgeArtifactApi instanceof ClearableKnowledgeArtifactRepositoryService) {
       ClearableKnowledgeArtifactRepositoryService clearable =
           (ClearableKnowledgeArtifactRepositoryService) this.knowledgeArtifactApi;
       clearable.clear();
       this.index.reset();
+      Answer<Void> ans = succeed();
+      if (changeLog != null) {
+        changeLog.reset();
+        ans = recordChange(DELETE, CATALOG, null, null);
+      }
+      if (invalidationChannel != null) {
+        invalidationChannel.publish(
+            CacheInvalidation.all(nodeId, kGraphHolder.getGraphGeneration()));
+      }
+      return ans;
     } else {
       throw new ServerSideException(PreconditionFailed,
           "Clear requested, but clearable Artifact Repository instance was not found.");
     }
   }
 
+  @Override
+  public Answer<byte[]> getStoredKnowledgeArtifact(UUID artifactId, String versionTag) {
+    return retrieveStoredArtifact(artifactId, versionTag);
+  }
+
   @Override
   public KnowledgeArtifactRepositoryService getInnerArtifactRepository() {
     return this.knowledgeArtifactApi;
@@ -2929,6 +4527,6 @@ public class SemanticKnowledgeAssetRepository
 
   @Override
   public void subscribe(Subscriber<? super ResourceIdentifier> subscriber) {
-    this.subscribers.add(subscriber);
+    eventBus.subscribe(subscriber);
   }
 }
@@ -0,0 +1,153 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory of the executors that run (mostly blocking) tasks, such as the requests to the
+ * Repository, or the fan-outs of the Repository over the underlying Artifact Repository.
+ *
+ * In VIRTUAL mode, each task runs on its own virtual thread, which does not hold a platform
+ * thread while blocked on I/O or on a lock. Virtual threads are looked up at runtime, and
+ * are only available on Java runtimes that support them (21+): on earlier runtimes, VIRTUAL
+ * is not honored, and the tasks run on a bounded pool of (at most DEFAULT_MAX_THREADS)
+ * platform threads, exactly as in PLATFORM mode - see {@link ThreadMode#effective()}.
+ *
+ * The state shared by these tasks is guarded by explicit locks (e.g. {@link
+ * java.util.concurrent.locks.ReentrantLock}), rather than monitors (synchronized), wherever the
+ * lock may be held while blocked on the Artifact Repository: a virtual thread blocked inside a
+ * monitor pins its carrier (platform) thread, and enough of them would starve the others.
+ */
+public final class TaskExecutors {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskExecutors.class);
+
+  /**
+   * The kind of threads that run the tasks
+   */
+  public enum ThreadMode {
+    /**
+     * Platform threads, from a pool
+     */
+    PLATFORM,
+    /**
+     * One virtual thread per task, where supported
+     */
+    VIRTUAL;
+
+    /**
+     * @param mode the (case-insensitive) name of a mode
+     * @return the mode
+     */
+    public static ThreadMode parse(String mode) {
+      try {
+        return valueOf(mode.trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unsupported thread mode: " + mode);
+      }
+    }
+
+    /**
+     * @return the mode the tasks actually run in on this Java runtime: PLATFORM, if
+     * virtual threads are not supported
+     */
+    public ThreadMode effective() {
+      return this == VIRTUAL && !isVirtualThreadSupported() ? PLATFORM : this;
+    }
+  }
+
+  /**
+   * Default max number of platform threads of an executor (as Tomcat's request pool)
+   */
+  public static final int DEFAULT_MAX_THREADS = 200;
+
+  private static final long IDLE_SECONDS = 60;
+
+  private static final Optional<Method> VIRTUAL_EXECUTOR_FACTORY = lookupVirtualExecutorFactory();
+
+  private TaskExecutors() {
+    // static functions only
+  }
+
+  /**
+   * @return true if the Java runtime supports virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_EXECUTOR_FACTORY.isPresent();
+  }
+
+  /**
+   * @param name the name (prefix) of the threads, when not virtual
+   * @param mode the kind of threads
+   * @return an executor that runs each task on a new virtual thread (VIRTUAL mode, if supported),
+   * or on a pool of (at most DEFAULT_MAX_THREADS) daemon platform threads
+   */
+  public static ExecutorService newTaskExecutor(String name, ThreadMode mode) {
+    return newTaskExecutor(name, mode, DEFAULT_MAX_THREADS);
+  }
+
+  /**
+   * @param name       the name (prefix) of the threads, when not virtual
+   * @param mode       the kind of threads
+   * @param maxThreads the max number of platform threads, when not virtual; tasks submitted
+   *                   while all the threads are busy are queued
+   * @return an executor that runs each task on a new virtual thread (VIRTUAL mode, if supported),
+   * or on a bounded pool of daemon platform threads
+   */
+  public static ExecutorService newTaskExecutor(String name, ThreadMode mode, int maxThreads) {
+    if (mode == ThreadMode.VIRTUAL) {
+      if (VIRTUAL_EXECUTOR_FACTORY.isPresent()) {
+        try {
+          return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.get().invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+          logger.warn("Unable to create virtual threads: {}", e.getMessage());
+        }
+      } else {
+        logger.warn("Virtual threads not supported by the Java runtime {} - "
+            + "using (at most {}) {} threads", Runtime.version(), maxThreads, ThreadMode.PLATFORM);
+      }
+    }
+    var threadCount = new AtomicInteger(0);
+    int poolSize = Math.max(1, maxThreads);
+    var pool = new ThreadPoolExecutor(poolSize, poolSize,
+        IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+      var t = new Thread(r, name + "-" + threadCount.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    // idle threads are released, as in a cached pool
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  private static Optional<Method> lookupVirtualExecutorFactory() {
+    try {
+      return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+    } catch (NoSuchMethodException e) {
+      return Optional.empty();
+    }
+  }
+
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invalidation channel backed by the (shared) Artifact Repository.
+ *
+ * Each message is stored as a (small) version of an Artifact series, whose version tag
+ * starts with the publication time, followed by the ID of the publishing node and a counter.
+ * The messages are partitioned by publication time, in one series per time bucket, so that
+ * each node polls the versions of the (few) buckets published since the last poll, and consumes
+ * the messages published by the other nodes in the meantime, allowing for some clock skew
+ * between the nodes. Any node removes the messages older than the retention period, regardless
+ * of the node that published them.
+ */
+public class ArtifactInvalidationChannel implements InvalidationChannel {
+
+  private static final Logger logger = LoggerFactory.getLogger(ArtifactInvalidationChannel.class);
+
+  /**
+   * The base ID of the Artifact series that store the messages.
+   * The messages published within a time bucket are stored in a series of their own, whose ID
+   * is derived from this one and the bucket (see {@link #bucketId(long)})
+   */
+  public static final UUID CHANNEL_ID =
+      UUID.nameUUIDFromBytes("kars/invalidations".getBytes(UTF_8));
+
+  /**
+   * Max difference between the clocks of the nodes, in ms
+   */
+  static final long CLOCK_SKEW_TOLERANCE = 5_000;
+
+  /**
+   * The time span of the buckets that partition the messages, in ms
+   */
+  static final long BUCKET_MILLIS = 2 * CLOCK_SKEW_TOLERANCE;
+
+  private static final String TAG_SEPARATOR = "-";
+
+  private final KnowledgeArtifactRepositoryService artifactApi;
+
+  private final Supplier<String> repositoryId;
+
+  private final String nodeId;
+
+  private final int pollInterval;
+
+  private final long retentionMillis;
+
+  private final List<Consumer<CacheInvalidation>> consumers = new CopyOnWriteArrayList<>();
+
+  private final AtomicLong counter = new AtomicLong(0);
+
+  private final AtomicLong published = new AtomicLong(0);
+
+  private final AtomicLong received = new AtomicLong(0);
+
+  /**
+   * The messages consumed (or skipped) within the clock skew tolerance, by tag,
+   * with their publication time
+   */
+  private final Map<String, Long> seen = new HashMap<>();
+
+  /**
+   * The (local) time of the latest poll, or of the creation of the channel, before the first poll
+   */
+  private long polledAt;
+
+  /**
+   * The first time bucket that may still have to be removed
+   */
+  private long purgedBucket;
+
+  private ScheduledExecutorService poller;
+
+  /**
+   * @param artifactApi     the Artifact Repository that stores the messages
+   * @param repositoryId    the ID of the Artifact Repository, which may be resolved lazily
+   * @param nodeId          the ID of this node
+   * @param pollInterval    the interval between polls, in seconds (0 to poll on demand only)
+   * @param retentionMillis the time after which the messages are removed, in ms
+   */
+  public ArtifactInvalidationChannel(KnowledgeArtifactRepositoryService artifactApi,
+      Supplier<String> repositoryId, String nodeId, int pollInterval, long retentionMillis) {
+    if (nodeId.contains(TAG_SEPARATOR)) {
+      throw new IllegalArgumentException("Invalid node ID " + nodeId);
+    }
+    this.artifactApi = artifactApi;
+    this.repositoryId = repositoryId;
+    this.nodeId = nodeId;
+    this.pollInterval = pollInterval;
+    this.retentionMillis = retentionMillis;
+    this.polledAt = System.currentTimeMillis();
+    // the buckets left behind when no node was polling are removed as well, within reason
+    this.purgedBucket = toBucket(polledAt - 2 * retentionMillis);
+  }
+
+  /**
+   * @param artifactId the ID of an Artifact series
+   * @return true if the series is one of the ones that store the messages
+   */
+  public static boolean isInvalidationChannel(UUID artifactId) {
+    return CHANNEL_ID.getMostSignificantBits() == artifactId.getMostSignificantBits();
+  }
+
+  /**
+   * @param timestamp a publication time
+   * @return the ID of the Artifact series that stores the messages published at that time
+   */
+  static UUID bucketId(long timestamp) {
+    return new UUID(CHANNEL_ID.getMostSignificantBits(), toBucket(timestamp));
+  }
+
+  private static long toBucket(long timestamp) {
+    return Math.floorDiv(timestamp, BUCKET_MILLIS);
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    String tag = String.format("%013d%s%s%s%d",
+        invalidation.getTimestamp(), TAG_SEPARATOR, nodeId, TAG_SEPARATOR,
+        counter.incrementAndGet());
+    var ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId.get(), bucketId(invalidation.getTimestamp()), tag,
+        invalidation.encode().getBytes(UTF_8));
+    if (!ans.isSuccess()) {
+      logger.warn("Unable to publish {}", invalidation);
+      return;
+    }
+    published.incrementAndGet();
+  }
+
+  @Override
+  public synchronized void subscribe(Consumer<CacheInvalidation> consumer) {
+    consumers.add(consumer);
+    if (pollInterval > 0 && poller == null) {
+      poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        var t = new Thread(r, "InvalidationChannelPoller");
+        t.setDaemon(true);
+        return t;
+      });
+      poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public void unsubscribe(Consumer<CacheInvalidation> consumer) {
+    consumers.remove(consumer);
+  }
+
+  /**
+   * Consumes the messages published by the other nodes since the last poll,
+   * in order of publication, then removes the expired messages
+   *
+   * @return the number of messages consumed
+   */
+  public synchronized int poll() {
+    int consumed = 0;
+    try {
+      long now = System.currentTimeMillis();
+      long since = polledAt - CLOCK_SKEW_TOLERANCE;
+      List<String> tags = LongStream
+          .rangeClosed(toBucket(since), toBucket(now + CLOCK_SKEW_TOLERANCE))
+          .mapToObj(bucket -> listBucket(bucket * BUCKET_MILLIS))
+          .flatMap(List::stream)
+          .filter(tag -> !seen.containsKey(tag))
+          .filter(tag -> toTimestamp(tag) >= since)
+          .sorted()
+          .collect(Collectors.toList());
+      for (String tag : tags) {
+        seen.put(tag, toTimestamp(tag));
+        if (!isOwn(tag)) {
+          consumed += consume(tag);
+        }
+      }
+      polledAt = now;
+      seen.values().removeIf(timestamp -> timestamp < since);
+      removeExpired(now - retentionMillis);
+    } catch (RuntimeException e) {
+      logger.error("Unable to poll the invalidation channel: {}", e.getMessage());
+    }
+    return consumed;
+  }
+
+  /**
+   * @param timestamp a time within a time bucket
+   * @return the tags of the messages stored in the bucket
+   */
+  private List<String> listBucket(long timestamp) {
+    return artifactApi.getKnowledgeArtifactSeries(repositoryId.get(), bucketId(timestamp))
+        .map(versions -> versions.stream()
+            .map(Pointer::getVersionTag)
+            .collect(Collectors.toList()))
+        .orElseGet(List::of);
+  }
+
+  private int consume(String tag) {
+    var message = artifactApi.getKnowledgeArtifactVersion(
+            repositoryId.get(), bucketId(toTimestamp(tag)), tag)
+        .flatOpt(bytes -> CacheInvalidation.decode(new String(bytes, UTF_8)))
+        .getOptionalValue();
+    if (message.isEmpty()) {
+      // removed (expired) in the meantime
+      logger.debug("Invalidation {} not available", tag);
+      return 0;
+    }
+    received.incrementAndGet();
+    consumers.forEach(consumer -> consumer.accept(message.get()));
+    return 1;
+  }
+
+  /**
+   * Removes the messages published before a given time, by whichever node: the time buckets that
+   * have expired as a whole are removed at once, while the expired messages in the latest
+   * (partially) expired bucket are removed one at a time
+   *
+   * @param threshold the publication time of the oldest message to be retained
+   */
+  private void removeExpired(long threshold) {
+    long last = toBucket(threshold);
+    for (; purgedBucket < last; purgedBucket++) {
+      artifactApi.deleteKnowledgeArtifact(
+          repositoryId.get(), bucketId(purgedBucket * BUCKET_MILLIS), true);
+    }
+    UUID bucketId = bucketId(threshold);
+    listBucket(threshold).stream()
+        .filter(tag -> toTimestamp(tag) <= threshold)
+        .forEach(tag ->
+            artifactApi.deleteKnowledgeArtifactVersion(repositoryId.get(), bucketId, tag, true));
+  }
+
+  private boolean isOwn(String tag) {
+    String[] parts = tag.split(TAG_SEPARATOR);
+    return parts.length == 3 && nodeId.equals(parts[1]);
+  }
+
+  private static long toTimestamp(String tag) {
+    try {
+      return Long.parseLong(tag.substring(0, tag.indexOf(TAG_SEPARATOR)));
+    } catch (RuntimeException e) {
+      return -1;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (poller != null) {
+      poller.shutdownNow();
+      poller = null;
+    }
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public long getPublishedCount() {
+    return published.get();
+  }
+
+  public long getReceivedCount() {
+    return received.get();
+  }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.cache;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A message that notifies the other nodes of a cluster that some content has changed, so that
+ * they can invalidate the (node-local) cached data derived from that content.
+ *
+ * The message carries the (version) IDs of the Assets and Artifacts that have changed,
+ * as well as the write generation of the Graph of the originating node, after the change.
+ * A message can also invalidate all the content, e.g. when the Repository is cleared.
+ */
+public class CacheInvalidation {
+
+  private static final String SEPARATOR = "\t";
+  private static final String ALL = "*";
+  private static final String ASSET = "A";
+  private static final String ARTIFACT = "R";
+
+  private final String origin;
+
+  private final long generation;
+
+  private final long timestamp;
+
+  private final boolean all;
+
+  private final Set<URI> assetVersions;
+
+  private final Set<URI> artifactVersions;
+
+  private CacheInvalidation(String origin, long generation, long timestamp, boolean all,
+      Set<URI> assetVersions, Set<URI> artifactVersions) {
+    this.origin = origin;
+    this.generation = generation;
+    this.timestamp = timestamp;
+    this.all = all;
+    this.assetVersions = Collections.unmodifiableSet(assetVersions);
+    this.artifactVersions = Collections.unmodifiableSet(artifactVersions);
+  }
+
+  /**
+   * @param origin           the ID of the node where the content has changed
+   * @param generation       the write generation of the Graph of that node, after the change
+   * @param assetVersions    the (version) IDs of the Assets that have changed
+   * @param artifactVersions the (version) IDs of the Artifacts that have changed
+   * @return a message that invalidates the given Assets and Artifacts
+   */
+  public static CacheInvalidation of(String origin, long generation,
+      Collection<URI> assetVersions, Collection<URI> artifactVersions) {
+    return new CacheInvalidation(origin, generation, System.currentTimeMillis(), false,
+        new LinkedHashSet<>(assetVersions), new LinkedHashSet<>(artifactVersions));
+  }
+
+  /**
+   * @param origin     the ID of the node where the content has changed
+   * @param generation the write generation of the Graph of that node, after the change
+   * @return a message that invalidates all the content
+   */
+  public static CacheInvalidation all(String origin, long generation) {
+    return new CacheInvalidation(origin, generation, System.currentTimeMillis(), true,
+        new LinkedHashSet<>(), new LinkedHashSet<>());
+  }
+
+  public String getOrigin() {
+    return origin;
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public boolean isAll() {
+    return all;
+  }
+
+  public Set<URI> getAssetVersions() {
+    return assetVersions;
+  }
+
+  public Set<URI> getArtifactVersions() {
+    return artifactVersions;
+  }
+
+  /**
+   * @return the message, as lines of tab-separated values: a header (origin, generation,
+   * timestamp and scope), followed by one line per Asset or Artifact version
+   * @see #decode(String)
+   */
+  public String encode() {
+    var sb = new StringBuilder()
+        .append(String.join(SEPARATOR,
+            origin, Long.toString(generation), Long.toString(timestamp), all ? ALL : ""));
+    assetVersions.forEach(id -> sb.append('\n').append(ASSET).append(SEPARATOR).append(id));
+    artifactVersions.forEach(id -> sb.append('\n').append(ARTIFACT).append(SEPARATOR).append(id));
+    return sb.toString();
+  }
+
+  /**
+   * @param text a message, encoded as lines of tab-separated values
+   * @return the decoded message, if well-formed
+   * @see #encode()
+   */
+  public static Optional<CacheInvalidation> decode(String text) {
+    String[] lines = text.split("\n");
+    String[] header = lines[0].split(SEPARATOR, -1);
+    if (header.length != 4) {
+      return Optional.empty();
+    }
+    try {
+      Set<URI> assets = new LinkedHashSet<>();
+      Set<URI> artifacts = new LinkedHashSet<>();
+      for (String line : Arrays.copyOfRange(lines, 1, lines.length)) {
+        String[] fields = line.split(SEPARATOR, -1);
+        if (fields.length != 2) {
+          return Optional.empty();
+        }
+        (ASSET.equals(fields[0]) ? assets : artifacts).add(URI.create(fields[1]));
+      }
+      return Optional.of(new CacheInvalidation(header[0], Long.parseLong(header[1]),
+          Long.parseLong(header[2]), ALL.equals(header[3]), assets, artifacts));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Invalidation from " + origin + "@" + generation + ": "
+        + (all ? ALL : assetVersions.size() + " Assets, " + artifactVersions.size() + " Artifacts");
+  }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation channel between the nodes (Repositories) that run within the same JVM,
+ * e.g. for testing. Messages are delivered synchronously, on the publishing thread.
+ */
+public class InMemoryInvalidationChannel implements InvalidationChannel {
+
+  private static final InMemoryInvalidationChannel SHARED = new InMemoryInvalidationChannel();
+
+  private final List<Consumer<CacheInvalidation>> consumers = new CopyOnWriteArrayList<>();
+
+  /**
+   * @return the channel shared by all the Repositories in this JVM
+   */
+  public static InMemoryInvalidationChannel shared() {
+    return SHARED;
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    consumers.forEach(consumer -> consumer.accept(invalidation));
+  }
+
+  @Override
+  public void subscribe(Consumer<CacheInvalidation> consumer) {
+    consumers.add(consumer);
+  }
+
+  @Override
+  public void unsubscribe(Consumer<CacheInvalidation> consumer) {
+    consumers.remove(consumer);
+  }
+
+  @Override
+  public void close() {
+    // the shared channel outlives any individual subscriber
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * A channel that broadcasts {@link CacheInvalidation} messages between the nodes of a cluster,
+ * which share the same Artifact Repository, so that the data cached by a node is invalidated
+ * when the underlying content is changed by another node.
+ *
+ * Delivery is best-effort, and may be delayed (e.g. by a poll interval): consumers may receive
+ * their own messages, and must tolerate duplicates.
+ */
+public interface InvalidationChannel extends AutoCloseable {
+
+  /**
+   * Broadcasts a message to the nodes of the cluster
+   *
+   * @param invalidation the message
+   */
+  void publish(CacheInvalidation invalidation);
+
+  /**
+   * Registers a consumer of the messages published by any node
+   *
+   * @param consumer the consumer
+   */
+  void subscribe(Consumer<CacheInvalidation> consumer);
+
+  /**
+   * Deregisters a consumer
+   *
+   * @param consumer a consumer that no longer needs to receive messages
+   */
+  void unsubscribe(Consumer<CacheInvalidation> consumer);
+
+  /**
+   * Stops the delivery of messages
+   */
+  @Override
+  void close();
+
+}
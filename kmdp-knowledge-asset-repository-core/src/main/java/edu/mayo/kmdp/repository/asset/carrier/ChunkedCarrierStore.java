@@ -0,0 +1,435 @@
+package edu.mayo.kmdp.repository.asset.carrier;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.BadRequest;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.InternalServerError;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import edu.mayo.kmdp.repository.asset.ContentCompression;
+import edu.mayo.kmdp.repository.asset.ContentDigest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores and retrieves (large) Carrier Artifacts as streams, with bounded memory use.
+ *
+ * Content that fits a single chunk is stored as-is, as the content of the Carrier Artifact
+ * (version). Larger content is split into fixed-size chunks, each stored as a version of
+ * a (derived) chunk Artifact, while the Carrier Artifact (version) stores a small manifest
+ * that lists the chunks. Chunks are written as they are read from the source stream,
+ * and read lazily as the client consumes the content.
+ *
+ * Each upload writes its chunks under a (random) salt of its own, recorded in the manifest,
+ * so that overwriting a chunked Carrier never touches the chunks the current manifest points to:
+ * the new chunks are written first, then the manifest is swapped, and only then are the chunks
+ * of the previous manifest removed. A failed upload only discards its own chunks.
+ *
+ * Chunked content remains available as a whole to the byte[] based operations,
+ * which reassemble the chunks (@see {@link #reassemble(String, ResourceIdentifier, byte[])}).
+ *
+ * Content and chunks are stored by means of a {@link ContentAddressedStore}, so that
+ * re-uploading (parts of) a content only writes references.
+ */
+public class ChunkedCarrierStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChunkedCarrierStore.class);
+
+  /**
+   * Header that identifies a chunk manifest, in place of the actual content
+   */
+  static final String MANIFEST_HEADER = "#kars-chunked-carrier/1\n";
+  private static final byte[] MANIFEST_HEADER_BYTES = MANIFEST_HEADER.getBytes(UTF_8);
+
+  private final ContentAddressedStore blobs;
+
+  private final int chunkSize;
+
+  /**
+   * @param blobs     the (content-addressed) store of the content
+   * @param chunkSize the max size of a chunk, in bytes
+   */
+  public ChunkedCarrierStore(ContentAddressedStore blobs, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+    this.blobs = blobs;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Stores the content of a Carrier Artifact version, reading it from a stream.
+   * At most one chunk is held in memory at any time.
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @param content      the content (not closed by this method)
+   * @return the stored content descriptor
+   */
+  public Answer<StoredCarrier> store(
+      String repositoryId, ResourceIdentifier carrierId, InputStream content) {
+    MessageDigest digester = ContentDigest.newDigester();
+    byte[] head;
+    try {
+      head = readChunk(content);
+    } catch (IOException e) {
+      return unreadable(e);
+    }
+    digester.update(head);
+    Optional<Manifest> previous = currentManifest(repositoryId, carrierId);
+    if (head.length < chunkSize) {
+      Answer<StoredCarrier> ans =
+          blobs.put(repositoryId, carrierId.getUuid(), carrierId.getVersionTag(), head)
+              .map(digest -> new StoredCarrier(head, head.length, 1, digest, null));
+      if (ans.isSuccess()) {
+        previous.ifPresent(prev -> discardChunks(repositoryId, carrierId, prev));
+      }
+      return ans;
+    }
+
+    String salt = UUID.randomUUID().toString();
+    long size = 0;
+    int numChunks = 0;
+    byte[] chunk = head;
+    try {
+      while (chunk.length > 0) {
+        Answer<String> ans = blobs.put(repositoryId, chunkId(carrierId, salt, numChunks),
+            carrierId.getVersionTag(), chunk);
+        if (!ans.isSuccess()) {
+          discardFailedUpload(repositoryId, carrierId, new Manifest(numChunks, salt));
+          return Answer.failed(ans);
+        }
+        size += chunk.length;
+        numChunks++;
+        if (chunk.length < chunkSize) {
+          break;
+        }
+        chunk = readChunk(content);
+        digester.update(chunk);
+      }
+    } catch (IOException e) {
+      discardFailedUpload(repositoryId, carrierId, new Manifest(numChunks, salt));
+      return unreadable(e);
+    }
+
+    var stored = new StoredCarrier(
+        head, size, numChunks, ContentDigest.toDigest(digester.digest()), salt);
+    logger.debug("STORE Carrier {}:{} in {} chunks ({} bytes)",
+        carrierId.getUuid(), carrierId.getVersionTag(), numChunks, size);
+    Answer<StoredCarrier> ans = blobs.put(
+            repositoryId, carrierId.getUuid(), carrierId.getVersionTag(),
+            stored.toManifest(), false)
+        .map(x -> stored);
+    if (!ans.isSuccess()) {
+      discardFailedUpload(repositoryId, carrierId, new Manifest(numChunks, salt));
+    } else {
+      // the previous chunks are no longer referenced
+      previous.ifPresent(prev -> discardChunks(repositoryId, carrierId, prev));
+    }
+    return ans;
+  }
+
+  /**
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @return the manifest currently stored for the Carrier Artifact version, if chunked
+   */
+  private Optional<Manifest> currentManifest(String repositoryId, ResourceIdentifier carrierId) {
+    return blobs.get(repositoryId, carrierId.getUuid(), carrierId.getVersionTag())
+        .flatOpt(this::readManifest)
+        .getOptionalValue();
+  }
+
+  /**
+   * Removes the chunks written by an upload that failed part-way,
+   * which would otherwise be left behind, unreferenced by any manifest.
+   * Since the upload wrote its chunks under its own salt, the chunks referenced by the
+   * current manifest (if any) are not affected
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @param written      the salt of the upload, and the number of chunks written so far
+   */
+  private void discardFailedUpload(String repositoryId, ResourceIdentifier carrierId,
+      Manifest written) {
+    logger.warn("DISCARD {} chunks of the failed upload of Carrier {}:{}",
+        written.numChunks, carrierId.getUuid(), carrierId.getVersionTag());
+    discardChunks(repositoryId, carrierId, written);
+  }
+
+  /**
+   * Removes the chunks listed in a manifest
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @param manifest     the manifest
+   * @return success status
+   */
+  private Answer<Void> discardChunks(String repositoryId, ResourceIdentifier carrierId,
+      Manifest manifest) {
+    Answer<Void> ans = Answer.succeed();
+    for (int j = 0; j < manifest.numChunks; j++) {
+      Answer<Void> removed = blobs.remove(
+          repositoryId, chunkId(carrierId, manifest.salt, j), carrierId.getVersionTag());
+      if (!removed.isSuccess()) {
+        logger.error("Unable to discard chunk {} of Carrier {}:{}",
+            j, carrierId.getUuid(), carrierId.getVersionTag());
+      }
+      ans = Answer.merge(ans, removed);
+    }
+    return ans;
+  }
+
+  private <T> Answer<T> unreadable(IOException e) {
+    return Answer.failed(new ServerSideException(BadRequest,
+        "Unable to read Carrier content: " + e.getMessage()));
+  }
+
+  /**
+   * Opens the content of a Carrier Artifact version as a stream.
+   * Chunked content is retrieved one chunk at a time, as the stream is consumed.
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @return the content, as a stream
+   */
+  public Answer<InputStream> open(String repositoryId, ResourceIdentifier carrierId) {
+    return blobs.get(repositoryId, carrierId.getUuid(), carrierId.getVersionTag())
+        .map(stored -> readManifest(stored)
+            .<InputStream>map(manifest ->
+                new ChunkInputStream(repositoryId, carrierId, manifest, false))
+            .orElseGet(() -> new ByteArrayInputStream(stored)));
+  }
+
+  /**
+   * Opens the content of a Carrier Artifact version as a GZIP-encoded stream.
+   * Content stored compressed is returned as-is, without decompressing it.
+   * Chunked content is returned as a sequence of GZIP members, one per chunk,
+   * which is itself a valid GZIP stream.
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @return the content, as a GZIP-encoded stream
+   */
+  public Answer<InputStream> openGzip(String repositoryId, ResourceIdentifier carrierId) {
+    return blobs.getStored(repositoryId, carrierId.getUuid(), carrierId.getVersionTag())
+        .map(stored -> readManifest(stored)
+            .<InputStream>map(manifest ->
+                new ChunkInputStream(repositoryId, carrierId, manifest, true))
+            .orElseGet(() -> new ByteArrayInputStream(ContentCompression.toGzip(stored))));
+  }
+
+  /**
+   * Reassembles chunked content, for clients that need the content as a whole
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @param stored       the content of a Carrier Artifact version, as retrieved
+   * @return the reassembled content, or the stored content if not chunked
+   */
+  public Answer<byte[]> reassemble(
+      String repositoryId, ResourceIdentifier carrierId, byte[] stored) {
+    Optional<Manifest> manifest = readManifest(stored);
+    if (manifest.isEmpty()) {
+      return Answer.of(stored);
+    }
+    try (var in = new ChunkInputStream(repositoryId, carrierId, manifest.get(), false)) {
+      return Answer.of(in.readAllBytes());
+    } catch (IOException e) {
+      return Answer.failed(new ServerSideException(InternalServerError,
+          "Unable to reassemble Carrier content: " + e.getMessage()));
+    }
+  }
+
+  /**
+   * Releases the content of a Carrier Artifact version, before the version is (hard) deleted,
+   * removing its chunks, if any, and releasing any shared content
+   *
+   * @param repositoryId the Artifact Repository
+   * @param carrierId    the Carrier Artifact version
+   * @return success status
+   */
+  public Answer<Void> release(String repositoryId, ResourceIdentifier carrierId) {
+    Answer<Void> ans = currentManifest(repositoryId, carrierId)
+        .map(manifest -> discardChunks(repositoryId, carrierId, manifest))
+        .orElseGet(Answer::succeed);
+    return Answer.merge(ans,
+        blobs.release(repositoryId, carrierId.getUuid(), carrierId.getVersionTag()));
+  }
+
+  /**
+   * @param stored the content of a Carrier Artifact version, as stored
+   * @return true if the content is a chunk manifest
+   */
+  public static boolean isChunked(byte[] stored) {
+    return stored != null
+        && stored.length > MANIFEST_HEADER_BYTES.length
+        && Arrays.equals(stored, 0, MANIFEST_HEADER_BYTES.length,
+        MANIFEST_HEADER_BYTES, 0, MANIFEST_HEADER_BYTES.length);
+  }
+
+  /**
+   * @param carrierId the Carrier Artifact version
+   * @param salt      the salt of the upload that wrote the chunk (null for chunks written
+   *                  before uploads were salted)
+   * @param index     the index of a chunk
+   * @return the (deterministic) ID of the Artifact that stores the chunk
+   */
+  static UUID chunkId(ResourceIdentifier carrierId, String salt, int index) {
+    String name = salt != null
+        ? carrierId.getUuid() + "/chunks/" + salt + "/" + index
+        : carrierId.getUuid() + "/chunks/" + index;
+    return UUID.nameUUIDFromBytes(name.getBytes(UTF_8));
+  }
+
+  private Optional<Manifest> readManifest(byte[] stored) {
+    if (!isChunked(stored)) {
+      return Optional.empty();
+    }
+    try {
+      var props = new Properties();
+      props.load(new StringReader(new String(stored, UTF_8)));
+      return Optional.of(new Manifest(
+          Integer.parseInt(props.getProperty("chunks")), props.getProperty("salt")));
+    } catch (IOException | RuntimeException e) {
+      logger.error("Invalid chunk manifest: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private byte[] readChunk(InputStream content) throws IOException {
+    byte[] buffer = new byte[chunkSize];
+    int n = content.readNBytes(buffer, 0, chunkSize);
+    return n == chunkSize ? buffer : Arrays.copyOf(buffer, n);
+  }
+
+  /**
+   * The chunks of a Carrier content: their number, and the salt of the upload that wrote them
+   */
+  private static final class Manifest {
+
+    private final int numChunks;
+    private final String salt;
+
+    private Manifest(int numChunks, String salt) {
+      this.numChunks = numChunks;
+      this.salt = salt;
+    }
+  }
+
+  /**
+   * Descriptor of a stored Carrier content
+   */
+  public static class StoredCarrier {
+
+    private final byte[] head;
+    private final long size;
+    private final int numChunks;
+    private final String digest;
+    private final String salt;
+
+    private StoredCarrier(byte[] head, long size, int numChunks, String digest, String salt) {
+      this.head = head;
+      this.size = size;
+      this.numChunks = numChunks;
+      this.digest = digest;
+      this.salt = salt;
+    }
+
+    /**
+     * @return the first chunk of the content, which can be used to detect its representation
+     */
+    public byte[] getHead() {
+      return head;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    public int getNumChunks() {
+      return numChunks;
+    }
+
+    public String getDigest() {
+      return digest;
+    }
+
+    private byte[] toManifest() {
+      return (MANIFEST_HEADER
+          + "chunks=" + numChunks + "\n"
+          + "size=" + size + "\n"
+          + "digest=" + digest + "\n"
+          + "salt=" + salt + "\n").getBytes(UTF_8);
+    }
+  }
+
+  /**
+   * Stream that retrieves the chunks of a Carrier lazily
+   */
+  private class ChunkInputStream extends InputStream {
+
+    private final String repositoryId;
+    private final ResourceIdentifier carrierId;
+    private final Manifest manifest;
+    private final boolean gzip;
+
+    private int next = 0;
+    private InputStream current = InputStream.nullInputStream();
+
+    private ChunkInputStream(String repositoryId, ResourceIdentifier carrierId,
+        Manifest manifest, boolean gzip) {
+      this.repositoryId = repositoryId;
+      this.carrierId = carrierId;
+      this.manifest = manifest;
+      this.gzip = gzip;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      int n = read(b, 0, 1);
+      return n < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      int n = current.read(b, off, len);
+      while (n < 0) {
+        if (next >= manifest.numChunks) {
+          return -1;
+        }
+        current = new ByteArrayInputStream(fetch(next++));
+        n = current.read(b, off, len);
+      }
+      return n;
+    }
+
+    private byte[] fetch(int index) throws IOException {
+      UUID chunkId = chunkId(carrierId, manifest.salt, index);
+      Answer<byte[]> chunk = gzip
+          ? blobs.getStored(repositoryId, chunkId, carrierId.getVersionTag())
+          .map(ContentCompression::toGzip)
+          : blobs.get(repositoryId, chunkId, carrierId.getVersionTag());
+      if (!chunk.isSuccess()) {
+        throw new IOException("Missing chunk " + index + " of Carrier "
+            + carrierId.getUuid() + ":" + carrierId.getVersionTag());
+      }
+      return chunk.get();
+    }
+  }
+
+}
@@ -0,0 +1,503 @@
+package edu.mayo.kmdp.repository.asset.carrier;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.InternalServerError;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.ContentCompression;
+import edu.mayo.kmdp.repository.asset.ContentDigest;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-addressed storage of Artifact content, which stores each distinct content once.
+ *
+ * Content is identified by its digest (@see {@link ContentDigest}), and stored as the content of
+ * a 'blob' Artifact, whose ID is derived from the digest. The Artifact (version) that carries
+ * the content stores a small reference to the blob, in place of the actual content.
+ * Storing a content that has been stored before only writes the reference.
+ *
+ * Content smaller than a reference is not worth sharing, and is stored as-is.
+ * Content seen for the first time is also stored as-is, since most content is never shared:
+ * the content is only moved to a blob when a second Artifact version stores the same content.
+ * The Artifact versions that store a content as-is are tracked in memory (up to a max number),
+ * so content first stored by another store, or forgotten, is not shared until stored again.
+ *
+ * Blobs are never overwritten. Each referring Artifact version is tracked as a (small) version
+ * of the blob Artifact, so that a blob can be removed once no Artifact refers to it anymore
+ * (@see {@link #release(String, UUID, String)}). Blobs referred to by archived (soft-deleted)
+ * Artifacts are retained.
+ *
+ * Content (but not references) can also be compressed (@see {@link ContentCompression}).
+ * Digests always refer to the uncompressed content.
+ *
+ * Stores that share the same Artifact Repository must be notified when a blob is released by
+ * another store (@see {@link #onRelease(Consumer)} and {@link #forget(UUID)}), so that the blob
+ * is no longer assumed to exist.
+ */
+public class ContentAddressedStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStore.class);
+
+  /**
+   * Header that identifies a blob reference, in place of the actual content
+   */
+  static final String REFERENCE_HEADER = "#kars-blob-ref/1\n";
+  private static final byte[] REFERENCE_HEADER_BYTES = REFERENCE_HEADER.getBytes(UTF_8);
+
+  /**
+   * Blobs are immutable, and have a single version
+   */
+  public static final String BLOB_VERSION = "1.0.0";
+
+  /**
+   * Content smaller than this size is stored as-is
+   */
+  static final int MIN_BLOB_SIZE = 256;
+
+  /**
+   * Max number of (distinct) contents stored as-is, which are tracked as candidates for sharing
+   */
+  static final int MAX_TRACKED_CONTENT = 10_000;
+
+  private final KnowledgeArtifactRepositoryService artifactApi;
+
+  private final boolean enabled;
+
+  private final int compressionThreshold;
+
+  /**
+   * Digests of the blobs known to exist, which do not need to be checked again
+   */
+  private final Set<String> knownBlobs = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The Artifact version that stores a content as-is, by the digest of the content,
+   * i.e. the content that would be moved to a blob if stored again
+   */
+  private final Map<String, Referrer> storedAsIs = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Referrer> eldest) {
+          return size() > MAX_TRACKED_CONTENT;
+        }
+      });
+
+  /**
+   * Striped locks, which serialize the (re)use and the release of any given blob
+   * (see {@link edu.mayo.kmdp.repository.asset.TaskExecutors} on locks)
+   */
+  private final ReentrantLock[] blobLocks = new ReentrantLock[64];
+
+  /**
+   * Notified of the IDs of the blobs removed by this store
+   */
+  private final List<Consumer<UUID>> releaseListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param artifactApi the Artifact Repository that stores the content
+   * @param enabled     if false, content is always stored in place
+   */
+  public ContentAddressedStore(KnowledgeArtifactRepositoryService artifactApi, boolean enabled) {
+    this(artifactApi, enabled, 0);
+  }
+
+  /**
+   * @param artifactApi          the Artifact Repository that stores the content
+   * @param enabled              if false, content is always stored in place
+   * @param compressionThreshold the min size of the content to be compressed,
+   *                             in bytes (0 to disable)
+   */
+  public ContentAddressedStore(KnowledgeArtifactRepositoryService artifactApi, boolean enabled,
+      int compressionThreshold) {
+    this.artifactApi = artifactApi;
+    this.enabled = enabled;
+    this.compressionThreshold = compressionThreshold;
+    Arrays.setAll(blobLocks, i -> new ReentrantLock());
+  }
+
+  /**
+   * Stores the content of an Artifact version, sharing the content with any other
+   * Artifact (version) that has the same content
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @param content      the content
+   * @return the digest of the content
+   */
+  public Answer<String> put(
+      String repositoryId, UUID artifactId, String versionTag, byte[] content) {
+    return put(repositoryId, artifactId, versionTag, content, true);
+  }
+
+  /**
+   * Stores the content of an Artifact version, sharing the content with any other
+   * Artifact (version) that has the same content
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @param content      the content
+   * @param compressible if false, the content is never compressed
+   * @return the digest of the content
+   */
+  public Answer<String> put(String repositoryId, UUID artifactId, String versionTag,
+      byte[] content, boolean compressible) {
+    int threshold = compressible ? compressionThreshold : 0;
+    String digest = ContentDigest.digest(content);
+    Optional<String> previous = enabled
+        ? currentReference(repositoryId, artifactId, versionTag)
+        : Optional.empty();
+    byte[] stored;
+
+    boolean shared = false;
+    if (enabled && content.length >= MIN_BLOB_SIZE) {
+      Answer<Boolean> ans = acquire(repositoryId, digest, artifactId, versionTag,
+          content, threshold);
+      if (!ans.isSuccess()) {
+        return Answer.failed(ans);
+      }
+      shared = ans.get();
+    }
+    stored = shared
+        ? toReference(digest, content.length)
+        : ContentCompression.compress(content, threshold);
+
+    Answer<Void> ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId, artifactId, versionTag, stored);
+    if (!ans.isSuccess()) {
+      if (shared && !previous.filter(digest::equals).isPresent()) {
+        // do not leave behind a referrer that does not actually refer to the blob
+        releaseBlob(repositoryId, digest, artifactId, versionTag);
+      }
+      return Answer.failed(ans);
+    }
+    // the content of the Artifact version has been replaced
+    previous.filter(prev -> !prev.equals(digest))
+        .ifPresent(prev -> releaseBlob(repositoryId, prev, artifactId, versionTag));
+    return Answer.of(digest);
+  }
+
+  /**
+   * Retrieves the content of an Artifact version, resolving a blob reference if needed
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @return the (decompressed) content
+   */
+  public Answer<byte[]> get(String repositoryId, UUID artifactId, String versionTag) {
+    return getStored(repositoryId, artifactId, versionTag)
+        .flatMap(ContentCompression::decompress);
+  }
+
+  /**
+   * Retrieves the content of an Artifact version, resolving a blob reference if needed,
+   * as stored - i.e. possibly compressed
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @return the content, as stored
+   */
+  public Answer<byte[]> getStored(String repositoryId, UUID artifactId, String versionTag) {
+    return artifactApi.getKnowledgeArtifactVersion(repositoryId, artifactId, versionTag)
+        .flatMap(stored -> resolve(repositoryId, stored));
+  }
+
+  /**
+   * @param repositoryId the Artifact Repository
+   * @param stored       the content of an Artifact version, as stored
+   * @return the referenced blob content, or the stored content if not a reference
+   */
+  private Answer<byte[]> resolve(String repositoryId, byte[] stored) {
+    Optional<String> digest = readReference(stored);
+    if (digest.isEmpty()) {
+      return Answer.of(stored);
+    }
+    Answer<byte[]> blob = artifactApi.getKnowledgeArtifactVersion(
+        repositoryId, blobId(digest.get()), BLOB_VERSION);
+    if (!blob.isSuccess()) {
+      return Answer.failed(new ServerSideException(InternalServerError,
+          "Missing content blob " + digest.get()));
+    }
+    return blob;
+  }
+
+  /**
+   * Releases the blob referred to by an Artifact version, if any, before the Artifact version
+   * is (hard) deleted. The blob is removed if no other Artifact version refers to it.
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @return success status
+   */
+  public Answer<Void> release(String repositoryId, UUID artifactId, String versionTag) {
+    return currentReference(repositoryId, artifactId, versionTag)
+        .map(digest -> releaseBlob(repositoryId, digest, artifactId, versionTag))
+        .orElseGet(Answer::succeed);
+  }
+
+  private Answer<Void> releaseBlob(String repositoryId, String digest,
+      UUID artifactId, String versionTag) {
+    UUID blobId = blobId(digest);
+    ReentrantLock lock = lockFor(digest);
+    lock.lock();
+    try {
+      Answer<Void> ans = artifactApi.deleteKnowledgeArtifactVersion(
+          repositoryId, blobId, referrerTag(artifactId, versionTag), true);
+      boolean referred = artifactApi.getKnowledgeArtifactSeries(repositoryId, blobId)
+          .map(versions -> versions.stream()
+              .map(Pointer::getVersionTag)
+              .anyMatch(tag -> !BLOB_VERSION.equals(tag)))
+          .orElseGet(() -> true);
+      if (!referred) {
+        logger.debug("RELEASE blob {}", digest);
+        knownBlobs.remove(digest);
+        ans = Answer.merge(ans,
+            artifactApi.deleteKnowledgeArtifact(repositoryId, blobId, true));
+        releaseListeners.forEach(listener -> listener.accept(blobId));
+      }
+      return ans;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Registers a listener, notified of the ID of each blob (Artifact) removed by this store
+   *
+   * @param listener the listener
+   */
+  public void onRelease(Consumer<UUID> listener) {
+    releaseListeners.add(listener);
+  }
+
+  /**
+   * Stops assuming that a blob exists, e.g. after it has been released by another store
+   *
+   * @param blobId the ID of the blob (Artifact)
+   */
+  public void forget(UUID blobId) {
+    knownBlobs.removeIf(digest -> blobId(digest).equals(blobId));
+  }
+
+  /**
+   * Stops assuming that any blob exists
+   */
+  public void forgetAll() {
+    knownBlobs.clear();
+  }
+
+  /**
+   * Releases the blob referred to by an Artifact version, if any, and (hard) deletes
+   * the Artifact version, as well as the Artifact, if no other version remains
+   *
+   * @param repositoryId the Artifact Repository
+   * @param artifactId   the Artifact
+   * @param versionTag   the Artifact version
+   * @return success status
+   */
+  public Answer<Void> remove(String repositoryId, UUID artifactId, String versionTag) {
+    Answer<Void> ans = Answer.merge(
+        release(repositoryId, artifactId, versionTag),
+        artifactApi.deleteKnowledgeArtifactVersion(repositoryId, artifactId, versionTag, true));
+    boolean empty = artifactApi.getKnowledgeArtifactSeries(repositoryId, artifactId)
+        .map(List::isEmpty)
+        .orElseGet(() -> false);
+    return empty
+        ? Answer.merge(ans, artifactApi.deleteKnowledgeArtifact(repositoryId, artifactId, true))
+        : ans;
+  }
+
+  /**
+   * @param stored the content of an Artifact version, as stored
+   * @return true if the content is a blob reference
+   */
+  public static boolean isReference(byte[] stored) {
+    return stored != null
+        && stored.length > REFERENCE_HEADER_BYTES.length
+        && Arrays.equals(stored, 0, REFERENCE_HEADER_BYTES.length,
+        REFERENCE_HEADER_BYTES, 0, REFERENCE_HEADER_BYTES.length);
+  }
+
+  /**
+   * @param digest the digest of a content
+   * @return the (deterministic) ID of the Artifact that stores the content
+   */
+  static UUID blobId(String digest) {
+    return UUID.nameUUIDFromBytes(("blobs/" + digest).getBytes(UTF_8));
+  }
+
+  /**
+   * @param artifactId the referring Artifact
+   * @param versionTag the referring Artifact version
+   * @return the version of a blob Artifact that tracks a referring Artifact version
+   */
+  static String referrerTag(UUID artifactId, String versionTag) {
+    return UUID.nameUUIDFromBytes((artifactId + ":" + versionTag).getBytes(UTF_8)).toString();
+  }
+
+  /**
+   * Determines whether a content is to be stored as a blob, i.e. if the blob exists already,
+   * or if the content is already stored as-is by another Artifact version, in which case
+   * the content is moved to a blob, and the other Artifact version is rewritten as a reference.
+   * The Artifact version is then tracked as one of the referrers of the blob.
+   *
+   * @return true if the Artifact version should store a reference to the blob,
+   * false if it should store the content as-is
+   */
+  private Answer<Boolean> acquire(String repositoryId, String digest,
+      UUID artifactId, String versionTag, byte[] content, int threshold) {
+    UUID blobId = blobId(digest);
+    ReentrantLock lock = lockFor(digest);
+    lock.lock();
+    try {
+      if (hasBlob(repositoryId, blobId, digest)) {
+        logger.debug("SHARE blob {} with Artifact {}:{}", digest, artifactId, versionTag);
+      } else {
+        Referrer first = storedAsIs.get(digest);
+        if (first == null || first.is(artifactId, versionTag)
+            || !storesAsIs(repositoryId, first, digest)) {
+          storedAsIs.put(digest, new Referrer(artifactId, versionTag));
+          return Answer.of(false);
+        }
+        Answer<Void> ans = promote(repositoryId, digest, first, content, threshold);
+        if (!ans.isSuccess()) {
+          return Answer.failed(ans);
+        }
+      }
+      return artifactApi.setKnowledgeArtifactVersion(
+              repositoryId, blobId, referrerTag(artifactId, versionTag),
+              (artifactId + ":" + versionTag).getBytes(UTF_8))
+          .map(x -> true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves a content stored as-is by an Artifact version to a (new) blob,
+   * rewriting the Artifact version as a reference to the blob
+   */
+  private Answer<Void> promote(String repositoryId, String digest, Referrer first,
+      byte[] content, int threshold) {
+    UUID blobId = blobId(digest);
+    logger.debug("SHARE content {} of Artifact {}:{} as blob",
+        digest, first.artifactId, first.versionTag);
+    Answer<Void> ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId, blobId, BLOB_VERSION, ContentCompression.compress(content, threshold));
+    if (!ans.isSuccess()) {
+      return ans;
+    }
+    knownBlobs.add(digest);
+    storedAsIs.remove(digest);
+    ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId, blobId, referrerTag(first.artifactId, first.versionTag),
+        (first.artifactId + ":" + first.versionTag).getBytes(UTF_8));
+    if (!ans.isSuccess()) {
+      return ans;
+    }
+    ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId, first.artifactId, first.versionTag, toReference(digest, content.length));
+    if (!ans.isSuccess()) {
+      releaseBlob(repositoryId, digest, first.artifactId, first.versionTag);
+    }
+    return ans;
+  }
+
+  /**
+   * @return true if the Artifact version still stores the content with the given digest, as-is
+   */
+  private boolean storesAsIs(String repositoryId, Referrer referrer, String digest) {
+    return artifactApi
+        .getKnowledgeArtifactVersion(repositoryId, referrer.artifactId, referrer.versionTag)
+        .getOptionalValue()
+        .filter(stored -> !isReference(stored))
+        .flatMap(stored -> ContentCompression.decompress(stored).getOptionalValue())
+        .map(ContentDigest::digest)
+        .filter(digest::equals)
+        .isPresent();
+  }
+
+  private Optional<String> currentReference(
+      String repositoryId, UUID artifactId, String versionTag) {
+    return artifactApi.getKnowledgeArtifactVersion(repositoryId, artifactId, versionTag)
+        .flatOpt(this::readReference)
+        .getOptionalValue();
+  }
+
+  private ReentrantLock lockFor(String digest) {
+    return blobLocks[Math.floorMod(digest.hashCode(), blobLocks.length)];
+  }
+
+  private boolean hasBlob(String repositoryId, UUID blobId, String digest) {
+    if (knownBlobs.contains(digest)) {
+      return true;
+    }
+    if (artifactApi.isKnowledgeArtifactSeries(repositoryId, blobId, false).isSuccess()) {
+      knownBlobs.add(digest);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * An Artifact version that stores (or refers to) a content
+   */
+  private static final class Referrer {
+
+    private final UUID artifactId;
+    private final String versionTag;
+
+    private Referrer(UUID artifactId, String versionTag) {
+      this.artifactId = artifactId;
+      this.versionTag = versionTag;
+    }
+
+    private boolean is(UUID otherArtifactId, String otherVersionTag) {
+      return artifactId.equals(otherArtifactId) && versionTag.equals(otherVersionTag);
+    }
+  }
+
+  private byte[] toReference(String digest, long size) {
+    return (REFERENCE_HEADER
+        + "digest=" + digest + "\n"
+        + "size=" + size + "\n").getBytes(UTF_8);
+  }
+
+  private Optional<String> readReference(byte[] stored) {
+    if (!isReference(stored)) {
+      return Optional.empty();
+    }
+    try {
+      var props = new Properties();
+      props.load(new StringReader(new String(stored, UTF_8)));
+      return Optional.ofNullable(props.getProperty("digest"));
+    } catch (IOException | RuntimeException e) {
+      logger.error("Invalid blob reference: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+}
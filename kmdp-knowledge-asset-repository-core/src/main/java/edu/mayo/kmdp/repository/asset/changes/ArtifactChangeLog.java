@@ -0,0 +1,432 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable change log, stored in the Artifact Repository.
+ *
+ * Each change is stored as a (small) version of a dedicated Artifact series, whose version tag is
+ * the sequence number of the change, so that the changes since a given sequence number are
+ * retrieved by direct lookups, in proportion to the number of changes.
+ *
+ * The log can be shared by multiple (writer) nodes. Sequence numbers are allocated by means of
+ * claims, stored as versions of a per-number Artifact series: a node that needs a sequence
+ * number writes a claim, and only takes the number if its claim is the only claim for that
+ * number, and no change has been recorded with that number, or after it, yet. Since the
+ * Artifact Repository does not support conditional writes, concurrent claims for the same number
+ * can all lose, in which case the number is skipped: sequence numbers are increasing, but not
+ * necessarily consecutive. Lost claims are retained (as such) for a while, so that the gaps they
+ * leave can be told apart from the end of the log. Consumers stop at a number that is claimed,
+ * but not recorded yet, until the claim is lost, or times out.
+ *
+ * The range of sequence numbers is cached, and extended by probing the numbers that follow the
+ * cached head, which may have been recorded (or claimed) by other nodes. The stored versions are
+ * listed in full only when the cache is first populated, or has not been refreshed for longer
+ * than a claim may be outstanding.
+ */
+public class ArtifactChangeLog implements ChangeLog {
+
+  private static final Logger logger = LoggerFactory.getLogger(ArtifactChangeLog.class);
+
+  /**
+   * The ID of the Artifact series that stores the changes
+   */
+  public static final UUID CHANGE_LOG_ID =
+      UUID.nameUUIDFromBytes("kars/changes".getBytes(UTF_8));
+
+  /**
+   * The base ID of the Artifact series that store the (transient) claims on the sequence numbers.
+   * The claims on a sequence number are stored in a series of their own, whose ID is derived from
+   * this one and the number itself (see {@link #claimsId(long)})
+   */
+  public static final UUID CLAIMS_ID =
+      UUID.nameUUIDFromBytes("kars/changes/claims".getBytes(UTF_8));
+
+  /**
+   * Max number of sequence numbers claimed in vain before giving up on recording a change
+   */
+  static final int MAX_CLAIMS = 16;
+
+  /**
+   * Time (ms) after which a claim on a sequence number is considered abandoned: the consumers stop
+   * at a claimed, but unrecorded, sequence number until its claims time out
+   */
+  static final long CLAIM_TIMEOUT = 30_000;
+
+  private static final String CLAIM_SEPARATOR = "-";
+
+  private static final String LOST_CLAIM = "-lost";
+
+  private final KnowledgeArtifactRepositoryService artifactApi;
+
+  private final Supplier<String> repositoryId;
+
+  /**
+   * Guards the range of sequence numbers
+   * (see {@link edu.mayo.kmdp.repository.asset.TaskExecutors} on locks)
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * The sequence number of the oldest change retained, 0 if none
+   */
+  private long first;
+
+  /**
+   * The sequence number of the latest change, 0 if none.
+   * Never decreases, even if the changes are removed, so that sequence numbers are not reused
+   */
+  private long head;
+
+  /**
+   * The first sequence number after the head that is neither recorded nor claimed, as last probed
+   */
+  private long frontier = 1;
+
+  /**
+   * When the range of sequence numbers was last refreshed, 0 if never
+   */
+  private long refreshedAt;
+
+  /**
+   * @param artifactApi  the Artifact Repository that stores the changes
+   * @param repositoryId the ID of the Artifact Repository, which may be resolved lazily
+   */
+  public ArtifactChangeLog(KnowledgeArtifactRepositoryService artifactApi,
+      Supplier<String> repositoryId) {
+    this.artifactApi = artifactApi;
+    this.repositoryId = repositoryId;
+  }
+
+  /**
+   * @param artifactId the ID of an Artifact series
+   * @return true if the series is one of the ones that store the changes, or the claims
+   */
+  public static boolean isChangeLog(UUID artifactId) {
+    return CHANGE_LOG_ID.equals(artifactId)
+        || CLAIMS_ID.getMostSignificantBits() == artifactId.getMostSignificantBits();
+  }
+
+  /**
+   * @param seq a sequence number
+   * @return the ID of the Artifact series that stores the claims on the sequence number
+   */
+  static UUID claimsId(long seq) {
+    return new UUID(CLAIMS_ID.getMostSignificantBits(), seq);
+  }
+
+  @Override
+  public ChangeEvent append(
+      ChangeType type, EntityKind kind, URI assetId, URI resourceId) {
+    lock.lock();
+    try {
+      return appendLocked(type, kind, assetId, resourceId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private ChangeEvent appendLocked(
+      ChangeType type, EntityKind kind, URI assetId, URI resourceId) {
+    refresh();
+    long seq = frontier - 1;
+    for (int j = 0; j < MAX_CLAIMS; j++) {
+      seq++;
+      String claim = claim(seq);
+      if (claim == null) {
+        backOff();
+        continue;
+      }
+      var change = new ChangeEvent(
+          seq, System.currentTimeMillis(), type, kind, assetId, resourceId);
+      Answer<Void> ans = artifactApi.setKnowledgeArtifactVersion(
+          repositoryId.get(), CHANGE_LOG_ID, Long.toString(seq),
+          change.encode().getBytes(UTF_8));
+      if (!ans.isSuccess()) {
+        abandon(seq, claim);
+        throw new IllegalStateException("Unable to record change " + change);
+      }
+      unclaim(seq, claim);
+      head = Math.max(head, seq);
+      frontier = Math.max(frontier, seq + 1);
+      if (first == 0) {
+        first = seq;
+      }
+      return change;
+    }
+    throw new IllegalStateException("Unable to allocate a sequence number after "
+        + MAX_CLAIMS + " attempts, for change " + type + " " + kind + " " + resourceId);
+  }
+
+  @Override
+  public ChangePage changesSince(long sequence, int limit) {
+    long from;
+    long to;
+    lock.lock();
+    try {
+      refresh();
+      // no change retained, if first is 0
+      from = first > 0 ? Math.max(sequence + 1, first) : head + 1;
+      to = head;
+    } finally {
+      lock.unlock();
+    }
+    List<ChangeEvent> page = new ArrayList<>();
+    long scanned = Math.max(sequence, from - 1);
+    long now = System.currentTimeMillis();
+    for (long seq = from; seq <= to && page.size() < limit; seq++) {
+      Optional<ChangeEvent> change = artifactApi.getKnowledgeArtifactVersion(
+              repositoryId.get(), CHANGE_LOG_ID, Long.toString(seq))
+          .flatOpt(bytes -> ChangeEvent.decode(new String(bytes, UTF_8)))
+          .getOptionalValue();
+      if (change.isEmpty() && isPending(seq, now)) {
+        // the change may still be recorded: resume from here
+        break;
+      }
+      // sequence numbers claimed in vain are skipped
+      change.ifPresent(page::add);
+      scanned = seq;
+    }
+    return new ChangePage(page, scanned, to);
+  }
+
+  @Override
+  public long getHeadSequence() {
+    lock.lock();
+    try {
+      refresh();
+      return head;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Forgets the changes, which are assumed to have been removed from the Artifact Repository
+   * (e.g. cleared), retaining the sequence number
+   */
+  @Override
+  public void reset() {
+    lock.lock();
+    try {
+      refresh();
+      first = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Claims a sequence number
+   *
+   * @param seq the sequence number
+   * @return the tag of this node's claim, if it is the only claim on the sequence number,
+   * and no change has been recorded with that number, or a later one, yet; null otherwise
+   */
+  private String claim(long seq) {
+    String tag = System.currentTimeMillis() + CLAIM_SEPARATOR + UUID.randomUUID();
+    Answer<Void> ans = artifactApi.setKnowledgeArtifactVersion(
+        repositoryId.get(), claimsId(seq), tag, tag.getBytes(UTF_8));
+    if (!ans.isSuccess()) {
+      throw new IllegalStateException("Unable to claim change sequence number " + seq);
+    }
+    // a change recorded after this number means that this node is behind:
+    // consumers may have skipped the number already
+    boolean free = getClaims(seq).equals(List.of(tag))
+        && !isRecorded(seq)
+        && !isRecordedAfter(seq);
+    if (!free) {
+      logger.debug("Lost claim on change sequence number {}", seq);
+      abandon(seq, tag);
+      return null;
+    }
+    return tag;
+  }
+
+  /**
+   * Marks a claim on a sequence number as lost, once lost, or once the change has failed to be
+   * recorded with that number. The lost claim is retained, to mark the gap in the sequence
+   *
+   * @param seq the sequence number
+   * @param tag the tag of the claim
+   */
+  private void abandon(long seq, String tag) {
+    String lost = tag + LOST_CLAIM;
+    artifactApi.setKnowledgeArtifactVersion(
+        repositoryId.get(), claimsId(seq), lost, lost.getBytes(UTF_8));
+    unclaim(seq, tag);
+  }
+
+  /**
+   * Removes a claim on a sequence number, once the change has been recorded with that number
+   *
+   * @param seq the sequence number
+   * @param tag the tag of the claim
+   */
+  private void unclaim(long seq, String tag) {
+    artifactApi.deleteKnowledgeArtifactVersion(repositoryId.get(), claimsId(seq), tag, true);
+  }
+
+  /**
+   * Determines whether a change may still be recorded with a sequence number that has not been
+   * recorded yet, i.e. whether a claim on the number is neither lost, nor timed out.
+   * Claims that have long timed out are removed, since the gaps they mark are no longer
+   * probed by any node
+   *
+   * @param seq the sequence number
+   * @param now the current time
+   * @return true if a claim on the number has not timed out yet
+   */
+  private boolean isPending(long seq, long now) {
+    List<String> claims = getClaims(seq);
+    if (claims.stream()
+        .anyMatch(tag -> !tag.endsWith(LOST_CLAIM) && now - claimTime(tag) < CLAIM_TIMEOUT)) {
+      return true;
+    }
+    claims.stream()
+        .filter(tag -> now - claimTime(tag) > 2 * CLAIM_TIMEOUT)
+        .forEach(tag -> unclaim(seq, tag));
+    return false;
+  }
+
+  /**
+   * @param seq a sequence number
+   * @return true if a change has been recorded with a later sequence number, which is found
+   * past the later numbers that are claimed
+   */
+  private boolean isRecordedAfter(long seq) {
+    for (long next = seq + 1; ; next++) {
+      if (isRecorded(next)) {
+        return true;
+      }
+      if (getClaims(next).isEmpty()) {
+        return false;
+      }
+    }
+  }
+
+  private boolean isRecorded(long seq) {
+    return artifactApi.getKnowledgeArtifactVersion(
+        repositoryId.get(), CHANGE_LOG_ID, Long.toString(seq)).isSuccess();
+  }
+
+  private List<String> getClaims(long seq) {
+    return artifactApi.getKnowledgeArtifactSeries(repositoryId.get(), claimsId(seq))
+        .map(versions -> versions.stream()
+            .map(Pointer::getVersionTag)
+            .collect(Collectors.toList()))
+        .orElseGet(Collections::emptyList);
+  }
+
+  private static long claimTime(String tag) {
+    try {
+      return Long.parseLong(tag.substring(0, tag.indexOf(CLAIM_SEPARATOR)));
+    } catch (RuntimeException e) {
+      return 0;
+    }
+  }
+
+  private void backOff() {
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(1, 20));
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while recording a change", ie);
+    }
+  }
+
+  /**
+   * Extends the range of sequence numbers, which may have been extended by other nodes.
+   * The range is re-read from the versions stored in the Artifact Repository if it has not been
+   * refreshed for longer than a claim can be outstanding, since the gaps left by the claims
+   * that have been lost in the meantime may no longer be marked
+   */
+  private void refresh() {
+    long now = System.currentTimeMillis();
+    if (refreshedAt == 0 || now - refreshedAt > CLAIM_TIMEOUT) {
+      reload();
+    }
+    probe();
+    refreshedAt = now;
+  }
+
+  /**
+   * Extends the range of sequence numbers by probing the numbers that follow the head, past the
+   * ones that have been claimed, up to the first number that is neither recorded nor claimed
+   */
+  private void probe() {
+    long next = head + 1;
+    while (true) {
+      if (isRecorded(next)) {
+        head = next;
+        if (first == 0) {
+          first = next;
+        }
+      } else if (getClaims(next).isEmpty()) {
+        break;
+      }
+      next++;
+    }
+    frontier = next;
+  }
+
+  /**
+   * Re-reads the range of sequence numbers from the versions stored in the Artifact Repository
+   */
+  private void reload() {
+    LongSummaryStatistics stored = artifactApi
+        .getKnowledgeArtifactSeries(repositoryId.get(), CHANGE_LOG_ID)
+        .map(versions -> versions.stream()
+            .map(Pointer::getVersionTag)
+            .mapToLong(ArtifactChangeLog::toSequence)
+            .filter(seq -> seq > 0)
+            .summaryStatistics())
+        .orElseGet(LongSummaryStatistics::new);
+    if (stored.getCount() > 0) {
+      first = stored.getMin();
+      head = Math.max(head, stored.getMax());
+    } else {
+      first = 0;
+    }
+  }
+
+  private static long toSequence(String versionTag) {
+    try {
+      return Long.parseLong(versionTag);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
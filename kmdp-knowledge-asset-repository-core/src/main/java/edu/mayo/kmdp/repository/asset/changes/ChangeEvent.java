@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * An entry of the change log: the creation, update or deletion of an Asset version,
+ * or of a Carrier or Surrogate (version) of an Asset version.
+ *
+ * The deletion of an Asset version implies the deletion of its Carriers and Surrogates,
+ * which are not recorded separately.
+ */
+public class ChangeEvent {
+
+  public enum ChangeType {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+
+  public enum EntityKind {
+    ASSET,
+    SURROGATE,
+    CARRIER,
+    /**
+     * The whole catalog (e.g. cleared): consumers should re-synchronize from scratch
+     */
+    CATALOG
+  }
+
+  private static final String SEPARATOR = "\t";
+
+  private final long sequence;
+
+  private final long timestamp;
+
+  private final ChangeType type;
+
+  private final EntityKind kind;
+
+  private final URI assetId;
+
+  private final URI resourceId;
+
+  /**
+   * @param sequence   the (unique, monotonically increasing) sequence number of the change
+   * @param timestamp  the time of the change, in ms since the epoch
+   * @param type       the type of change
+   * @param kind       the kind of entity changed
+   * @param assetId    the (version) ID of the Asset affected by the change, if any
+   * @param resourceId the (version) ID of the Asset, Carrier or Surrogate changed, if any
+   */
+  public ChangeEvent(long sequence, long timestamp, ChangeType type, EntityKind kind,
+      URI assetId, URI resourceId) {
+    this.sequence = sequence;
+    this.timestamp = timestamp;
+    this.type = type;
+    this.kind = kind;
+    this.assetId = assetId;
+    this.resourceId = resourceId;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public ChangeType getType() {
+    return type;
+  }
+
+  public EntityKind getKind() {
+    return kind;
+  }
+
+  public URI getAssetId() {
+    return assetId;
+  }
+
+  public URI getResourceId() {
+    return resourceId;
+  }
+
+  /**
+   * @return the change, as a single line of tab-separated values
+   * @see #decode(String)
+   */
+  public String encode() {
+    return String.join(SEPARATOR,
+        Long.toString(sequence),
+        Long.toString(timestamp),
+        type.name(),
+        kind.name(),
+        assetId != null ? assetId.toString() : "",
+        resourceId != null ? resourceId.toString() : "");
+  }
+
+  /**
+   * @param line a change, encoded as a line of tab-separated values
+   * @return the decoded change, if well-formed
+   * @see #encode()
+   */
+  public static Optional<ChangeEvent> decode(String line) {
+    String[] fields = line.trim().split(SEPARATOR, -1);
+    if (fields.length != 6) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new ChangeEvent(
+          Long.parseLong(fields[0]),
+          Long.parseLong(fields[1]),
+          ChangeType.valueOf(fields[2]),
+          EntityKind.valueOf(fields[3]),
+          fields[4].isEmpty() ? null : URI.create(fields[4]),
+          fields[5].isEmpty() ? null : URI.create(fields[5])));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "#" + sequence + " " + type + " " + kind + " " + (resourceId != null ? resourceId : "");
+  }
+}
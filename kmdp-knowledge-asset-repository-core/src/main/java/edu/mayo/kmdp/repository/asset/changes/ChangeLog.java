@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import java.net.URI;
+
+/**
+ * An ordered log of the changes to the content of the Repository, which allows consumers
+ * to synchronize incrementally, in proportion to the number of changes, rather than to the
+ * size of the catalog.
+ *
+ * Changes are assigned monotonically increasing sequence numbers, starting from 1. Sequence
+ * numbers may have gaps, which consumers should skip.
+ */
+public interface ChangeLog {
+
+  /**
+   * Records a change, assigning it a sequence number greater than the ones already assigned
+   *
+   * @param type       the type of change
+   * @param kind       the kind of entity changed
+   * @param assetId    the (version) ID of the Asset affected by the change, if any
+   * @param resourceId the (version) ID of the Asset, Carrier or Surrogate changed, if any
+   * @return the recorded change
+   */
+  ChangeEvent append(ChangeType type, EntityKind kind, URI assetId, URI resourceId);
+
+  /**
+   * Retrieves the changes recorded after a given sequence number, in order
+   *
+   * @param sequence the sequence number of the last change already processed (0 for all)
+   * @param limit    the max number of changes to be returned
+   * @return a page of changes
+   */
+  ChangePage changesSince(long sequence, int limit);
+
+  /**
+   * @return the sequence number of the latest change, 0 if none
+   */
+  long getHeadSequence();
+
+  /**
+   * Discards the recorded changes, e.g. when the Repository is cleared.
+   * Sequence numbers are not reused, so that consumers never miss the changes that follow.
+   */
+  void reset();
+
+}
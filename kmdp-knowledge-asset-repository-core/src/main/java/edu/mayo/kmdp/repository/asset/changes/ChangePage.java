@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of the change log, in order of sequence number.
+ *
+ * Consumers synchronize incrementally by requesting the changes since the last sequence number
+ * they have processed, until no more changes are available.
+ */
+public class ChangePage {
+
+  private final List<ChangeEvent> changes;
+
+  private final long lastSequence;
+
+  private final long headSequence;
+
+  /**
+   * @param changes      the changes in the page
+   * @param lastSequence the sequence number of the last change covered by the page, including
+   *                     any change no longer retained by the log
+   * @param headSequence the sequence number of the latest change in the log
+   */
+  public ChangePage(List<ChangeEvent> changes, long lastSequence, long headSequence) {
+    this.changes = Collections.unmodifiableList(changes);
+    this.lastSequence = lastSequence;
+    this.headSequence = headSequence;
+  }
+
+  public List<ChangeEvent> getChanges() {
+    return changes;
+  }
+
+  /**
+   * @return the sequence number to request the next page from
+   */
+  public long getLastSequence() {
+    return lastSequence;
+  }
+
+  /**
+   * @return the sequence number of the latest change in the log
+   */
+  public long getHeadSequence() {
+    return headSequence;
+  }
+
+  /**
+   * @return true if more changes are available after this page
+   */
+  public boolean isMoreAvailable() {
+    return lastSequence < headSequence;
+  }
+}
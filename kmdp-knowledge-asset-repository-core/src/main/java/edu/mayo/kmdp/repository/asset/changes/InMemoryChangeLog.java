@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change log that keeps the changes in memory, e.g. for testing.
+ * Changes are lost when the Repository is restarted.
+ */
+public class InMemoryChangeLog implements ChangeLog {
+
+  private final List<ChangeEvent> changes = new ArrayList<>();
+
+  private long head = 0;
+
+  @Override
+  public synchronized ChangeEvent append(
+      ChangeType type, EntityKind kind, URI assetId, URI resourceId) {
+    var change = new ChangeEvent(
+        head + 1, System.currentTimeMillis(), type, kind, assetId, resourceId);
+    changes.add(change);
+    head = change.getSequence();
+    return change;
+  }
+
+  @Override
+  public synchronized ChangePage changesSince(long sequence, int limit) {
+    List<ChangeEvent> page = new ArrayList<>();
+    // changes before the first retained one (if any) are no longer available
+    long first = changes.isEmpty() ? head + 1 : changes.get(0).getSequence();
+    long scanned = Math.max(sequence, first - 1);
+    for (long seq = scanned + 1; seq <= head && page.size() < limit; seq++) {
+      page.add(changes.get((int) (seq - first)));
+      scanned = seq;
+    }
+    return new ChangePage(page, scanned, head);
+  }
+
+  @Override
+  public synchronized long getHeadSequence() {
+    return head;
+  }
+
+  @Override
+  public synchronized void reset() {
+    changes.clear();
+  }
+}
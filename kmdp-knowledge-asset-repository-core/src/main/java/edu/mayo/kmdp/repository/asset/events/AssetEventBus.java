@@ -0,0 +1,226 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.events;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous publisher of the IDs of the Assets whose Surrogates or Carriers have changed.
+ *
+ * Each subscriber has its own bounded buffer, and receives the events on a dedicated executor,
+ * as fast as it requests them (@see {@link Flow.Subscription#request(long)}), so that slow
+ * subscribers do not delay the writers, nor the other subscribers.
+ * When the buffer of a subscriber is full, the event is dropped for that subscriber (DROP),
+ * or the writer waits for the subscriber to catch up, for up to a given time (BLOCK).
+ */
+public class AssetEventBus implements Flow.Publisher<ResourceIdentifier>, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AssetEventBus.class);
+
+  /**
+   * Behavior of the publisher when the buffer of a subscriber is full
+   */
+  public enum OverflowPolicy {
+    /**
+     * The event is dropped for the subscriber whose buffer is full
+     */
+    DROP,
+    /**
+     * The writer waits for space in the buffer (up to a timeout, if any), then drops the event
+     */
+    BLOCK
+  }
+
+  private final SubmissionPublisher<Event> publisher;
+
+  private final ExecutorService executor;
+
+  private final OverflowPolicy overflowPolicy;
+
+  private final long blockTimeoutMillis;
+
+  private final AtomicLong published = new AtomicLong(0);
+
+  private final AtomicLong delivered = new AtomicLong(0);
+
+  private final AtomicLong dropped = new AtomicLong(0);
+
+  private final AtomicLong totalLatencyNanos = new AtomicLong(0);
+
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * @param bufferSize         the max number of events buffered for each subscriber
+   * @param overflowPolicy     the behavior when the buffer of a subscriber is full
+   * @param blockTimeoutMillis the max time a writer waits for space in a full buffer,
+   *                           under the BLOCK policy (0 to wait indefinitely)
+   */
+  public AssetEventBus(int bufferSize, OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Event buffer size must be positive: " + bufferSize);
+    }
+    var threadCount = new AtomicInteger(0);
+    this.executor = Executors.newCachedThreadPool(r -> {
+      var t = new Thread(r, "AssetEventBus-" + threadCount.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    this.publisher = new SubmissionPublisher<>(executor, bufferSize);
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeoutMillis = blockTimeoutMillis;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ResourceIdentifier> subscriber) {
+    publisher.subscribe(new Delivery(subscriber));
+  }
+
+  /**
+   * Publishes the change of an Asset to the current subscribers, if any
+   *
+   * @param assetId the ID of the (version of the) Asset that has changed
+   */
+  public void publish(ResourceIdentifier assetId) {
+    if (publisher.isClosed() || !publisher.hasSubscribers()) {
+      return;
+    }
+    published.incrementAndGet();
+    var event = new Event(assetId);
+    try {
+      if (overflowPolicy == OverflowPolicy.BLOCK && blockTimeoutMillis <= 0) {
+        publisher.submit(event);
+      } else {
+        long timeout = overflowPolicy == OverflowPolicy.BLOCK ? blockTimeoutMillis : 0;
+        publisher.offer(event, timeout, TimeUnit.MILLISECONDS, (sub, ev) -> {
+          dropped.incrementAndGet();
+          logger.warn("DROP change event for Asset {}:{} - subscriber buffer is full",
+              assetId.getUuid(), assetId.getVersionTag());
+          return false;
+        });
+      }
+    } catch (IllegalStateException e) {
+      // closed concurrently
+      logger.debug("Change event for Asset {} not published: {}", assetId, e.getMessage());
+    }
+  }
+
+  /**
+   * Closes the bus, notifying the subscribers of the completion,
+   * once the events already buffered have been delivered
+   */
+  @Override
+  public void close() {
+    publisher.close();
+    executor.shutdown();
+  }
+
+  public int getSubscriberCount() {
+    return publisher.getNumberOfSubscribers();
+  }
+
+  public long getPublishedCount() {
+    return published.get();
+  }
+
+  public long getDeliveredCount() {
+    return delivered.get();
+  }
+
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * @return the (estimated) number of events not yet delivered to the slowest subscriber
+   */
+  public int getMaximumLag() {
+    return publisher.estimateMaximumLag();
+  }
+
+  /**
+   * @return the average time between the publication and the delivery of an event, in ms
+   */
+  public double getAverageLatencyMillis() {
+    long n = delivered.get();
+    return n > 0 ? totalLatencyNanos.get() / (n * 1_000_000.0) : 0.0;
+  }
+
+  /**
+   * @return the max time between the publication and the delivery of an event, in ms
+   */
+  public double getMaxLatencyMillis() {
+    return maxLatencyNanos.get() / 1_000_000.0;
+  }
+
+  /**
+   * A published change, timestamped to measure the delivery latency
+   */
+  private static class Event {
+
+    private final ResourceIdentifier assetId;
+    private final long publishedOn = System.nanoTime();
+
+    private Event(ResourceIdentifier assetId) {
+      this.assetId = assetId;
+    }
+  }
+
+  /**
+   * Adapts a subscriber of Asset IDs to the (timestamped) events,
+   * recording the delivery latency. Demand is controlled by the subscriber itself.
+   */
+  private class Delivery implements Flow.Subscriber<Event> {
+
+    private final Flow.Subscriber<? super ResourceIdentifier> subscriber;
+
+    private Delivery(Flow.Subscriber<? super ResourceIdentifier> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      subscriber.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(Event event) {
+      long latency = System.nanoTime() - event.publishedOn;
+      delivered.incrementAndGet();
+      totalLatencyNanos.addAndGet(latency);
+      maxLatencyNanos.accumulate(latency);
+      subscriber.onNext(event.assetId);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      subscriber.onComplete();
+    }
+  }
+
+}
@@ -25,7 +25,6 @@ import edu.mayo.kmdp.kbase.query.sparql.v1_1.JenaQuery;
 import edu.mayo.kmdp.knowledgebase.binders.sparql.v1_1.SparqlQueryBinder;
 import edu.mayo.kmdp.language.translators.surrogate.v2.SurrogateV2ToCcgEntry;
 import edu.mayo.kmdp.registry.Registry;
-import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
 import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryService;
 import edu.mayo.kmdp.util.FileUtil;
 import edu.mayo.kmdp.util.StreamUtil;
@@ -42,7 +41,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.omg.spec.api4kp._20200801.AbstractCarrier;
 import org.omg.spec.api4kp._20200801.Answer;
-import org.omg.spec.api4kp._20200801.api.repository.artifact.v4.server.KnowledgeArtifactApiInternal;
 import org.omg.spec.api4kp._20200801.api.repository.asset.v4.server.KnowledgeAssetCatalogApiInternal;
 import org.omg.spec.api4kp._20200801.datatypes.Bindings;
 import org.omg.spec.api4kp._20200801.id.IdentifierConstants;
@@ -50,7 +48,6 @@ import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
 import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
 import org.omg.spec.api4kp._20200801.id.Term;
 import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
-import org.omg.spec.api4kp._20200801.services.repository.KnowledgeArtifactRepository;
 import org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries;
 import org.omg.spec.api4kp._20200801.taxonomy.knowledgeassettype.KnowledgeAssetTypeSeries;
 import org.omg.spec.api4kp._20200801.taxonomy.knowledgeprocessingtechnique.KnowledgeProcessingTechnique;
@@ -75,17 +72,12 @@ public class KGraphConceptGlossaryLibrary implements GlossaryLibraryApiInternal
   protected final KnowledgeAssetCatalogApiInternal cat;
 
   /**
-   * The backing Artifact Repository, which may store some of the Operational Definitions
+   * The backing Asset Repository, when known, which may store some of the Operational Definitions
    */
-  protected final KnowledgeArtifactApiInternal artifactRepo;
+  protected final KnowledgeAssetRepositoryService kars;
 
   protected final TermsApiInternal terms;
 
-  /**
-   * The (default) Artifact repository Id where Operational Definitions are looked up
-   */
-  protected String artifactRepoId;
-
   /**
    * The SPARQL query used to build a Glossary
    */
@@ -94,33 +86,23 @@ public class KGraphConceptGlossaryLibrary implements GlossaryLibraryApiInternal
   /**
    * Constructor
    *
-   * @param kars         the Asset Repository
-   * @param artifactRepo the ArtifactRepository
-   * @param terms        the Terminology Provider
+   * @param kars  the Asset Repository, which also provides the stored Operational Definitions
+   * @param terms the Terminology Provider
    */
   public KGraphConceptGlossaryLibrary(
       KnowledgeAssetRepositoryService kars,
-      KnowledgeArtifactRepositoryService artifactRepo,
       TermsApiInternal terms) {
     this.cat = kars;
+    this.kars = kars;
     this.glossaryQuery = readQuery();
-    this.artifactRepo = artifactRepo;
     this.terms = terms;
-
-    this.artifactRepoId = artifactRepo.listKnowledgeArtifactRepositories()
-        .flatOpt(repos -> repos.stream()
-            .filter(KnowledgeArtifactRepository::isDefaultRepository)
-            .map(KnowledgeArtifactRepository::getName)
-            .findFirst())
-        .orElse("default");
   }
 
   public KGraphConceptGlossaryLibrary(
       KnowledgeAssetCatalogApiInternal cat,
       TermsApiInternal terms) {
     this.cat = cat;
-    this.artifactRepo = null;
-    this.artifactRepoId = null;
+    this.kars = null;
 
     this.glossaryQuery = readQuery();
     this.terms = terms;
@@ -407,10 +389,10 @@ public class KGraphConceptGlossaryLibrary implements GlossaryLibraryApiInternal
       return pe;
     }
 
-    if (artifactRepo != null &&
+    if (kars != null &&
         pe.partial.getDef().get(0).getComputableSpec().getInlinedExpr() == null) {
-      artifactRepo.getKnowledgeArtifactVersion(
-              artifactRepoId, pe.artifactId.getUuid(), pe.artifactId.getVersionTag())
+      // the stored content may be shared, compressed, or chunked: read it through the repository
+      kars.getStoredKnowledgeArtifact(pe.artifactId.getUuid(), pe.artifactId.getVersionTag())
           .map(String::new)
           .ifPresent(xpr -> pe.partial.getDef().get(0).getComputableSpec().inlinedExpr(xpr));
     }
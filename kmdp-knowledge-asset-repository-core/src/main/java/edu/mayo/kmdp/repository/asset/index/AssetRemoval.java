@@ -0,0 +1,99 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.index;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+
+/**
+ * The set of indexed entities affected by the removal of a set of Assets:
+ * the Asset series and versions, and the (versions of the) Carriers and Surrogates
+ * of those Asset versions. Asset versions that have been deleted (tombstoned), but not yet
+ * compacted, are collected without their series, which may have other versions.
+ *
+ * Collected from the Index in one pass, so that the Artifacts can be removed from the
+ * Artifact Repository, and the entities unregistered from the Index, without resolving
+ * (and decoding) the Surrogate of each Asset version
+ */
+public class AssetRemoval {
+
+  private final Set<URI> assetSeries = new LinkedHashSet<>();
+  private final Set<URI> assetVersions = new LinkedHashSet<>();
+  private final Set<URI> artifactSeries = new LinkedHashSet<>();
+  private final Map<URI, ResourceIdentifier> artifactVersions = new LinkedHashMap<>();
+
+  public void addAssetVersion(URI seriesId, URI versionId) {
+    assetSeries.add(seriesId);
+    assetVersions.add(versionId);
+  }
+
+  public void addAssetVersion(URI versionId) {
+    assetVersions.add(versionId);
+  }
+
+  public void addArtifactVersion(URI seriesId, ResourceIdentifier artifactVersionId) {
+    artifactSeries.add(seriesId);
+    artifactVersions.put(artifactVersionId.getVersionId(), artifactVersionId);
+  }
+
+  /**
+   * @return the URIs of the Asset series
+   */
+  public Set<URI> getAssetSeries() {
+    return Collections.unmodifiableSet(assetSeries);
+  }
+
+  /**
+   * @return the URIs of the Asset versions
+   */
+  public Set<URI> getAssetVersions() {
+    return Collections.unmodifiableSet(assetVersions);
+  }
+
+  /**
+   * @return the URIs of the Carrier and Surrogate series
+   */
+  public Set<URI> getArtifactSeries() {
+    return Collections.unmodifiableSet(artifactSeries);
+  }
+
+  /**
+   * @return the IDs of the Carrier and Surrogate versions
+   */
+  public Collection<ResourceIdentifier> getArtifactVersions() {
+    return Collections.unmodifiableCollection(artifactVersions.values());
+  }
+
+  /**
+   * @return the URIs of all the (versions of the) entities to be removed
+   */
+  public Set<URI> getAllIds() {
+    Set<URI> all = new LinkedHashSet<>(assetSeries);
+    all.addAll(assetVersions);
+    all.addAll(artifactSeries);
+    all.addAll(artifactVersions.keySet());
+    return all;
+  }
+
+  public boolean isEmpty() {
+    return assetVersions.isEmpty();
+  }
+
+}
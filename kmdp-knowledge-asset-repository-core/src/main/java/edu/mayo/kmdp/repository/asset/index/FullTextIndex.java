@@ -0,0 +1,367 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.index;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, inverted full-text index over the names of the Assets,
+ * and the (textual) inlined expressions of their Carriers.
+ *
+ * Documents are keyed by Asset version URI, and have two fields (label and expressions),
+ * the former being boosted over the latter. Queries are tokenized like the documents:
+ * a document matches if it contains all the query terms, where the last term of the query
+ * is also matched as a prefix (to support type-ahead lookups).
+ * Matches are ranked by BM25 relevance.
+ *
+ * The index is maintained incrementally as Assets and Carriers are (un)registered,
+ * so that lookups do not need to scan the literals in the Knowledge Graph.
+ */
+public class FullTextIndex {
+
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  /**
+   * Max number of terms indexed for any given expression
+   */
+  private static final int MAX_TERMS_PER_EXPRESSION = 10000;
+
+  /**
+   * BM25 parameters
+   */
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private static final double LABEL_BOOST = 3.0;
+  private static final double EXPRESSION_BOOST = 1.0;
+  private static final double PREFIX_PENALTY = 0.5;
+
+  /**
+   * The indexed documents, by Asset version URI
+   */
+  private final Map<URI, Document> documents = new HashMap<>();
+
+  /**
+   * term -> Asset version URIs of the documents that contain the term
+   */
+  private final TreeMap<String, Set<URI>> postings = new TreeMap<>();
+
+  private long totalLabelLength = 0;
+  private long totalExpressionLength = 0;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Indexes (or re-indexes) the name of an Asset
+   *
+   * @param assetVersionId the Asset version URI
+   * @param label          the name of the Asset
+   */
+  public void indexLabel(URI assetVersionId, String label) {
+    lock.writeLock().lock();
+    try {
+      Document doc = unlink(assetVersionId);
+      doc.label = new TermVector(tokenize(label, Integer.MAX_VALUE));
+      link(assetVersionId, doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes (or re-indexes) the inlined expression of one of the Carriers of an Asset
+   *
+   * @param assetVersionId    the Asset version URI
+   * @param artifactVersionId the Carrier version URI
+   * @param expression        the (textual) expression
+   */
+  public void indexExpression(URI assetVersionId, URI artifactVersionId, String expression) {
+    lock.writeLock().lock();
+    try {
+      Document doc = unlink(assetVersionId);
+      doc.expressions.put(artifactVersionId,
+          new TermVector(tokenize(expression, MAX_TERMS_PER_EXPRESSION)));
+      link(assetVersionId, doc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes an Asset version from the index
+   *
+   * @param assetVersionId the Asset version URI
+   */
+  public void remove(URI assetVersionId) {
+    lock.writeLock().lock();
+    try {
+      if (documents.containsKey(assetVersionId)) {
+        unlink(assetVersionId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all the versions of an Asset from the index
+   *
+   * @param assetSeriesId the Asset (series) URI
+   */
+  public void removeSeries(URI assetSeriesId) {
+    String prefix = assetSeriesId.toString() + "/";
+    lock.writeLock().lock();
+    try {
+      List<URI> versions = documents.keySet().stream()
+          .filter(v -> v.toString().startsWith(prefix))
+          .collect(Collectors.toList());
+      versions.forEach(this::unlink);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all the entries
+   */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      documents.clear();
+      postings.clear();
+      totalLabelLength = 0;
+      totalExpressionLength = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the index
+   *
+   * @param text  the query text
+   * @param limit the max number of results (non-positive for no limit)
+   * @return the URIs of the matching Asset versions, by descending relevance
+   */
+  public List<URI> search(String text, int limit) {
+    List<String> terms = tokenize(text, Integer.MAX_VALUE);
+    if (terms.isEmpty()) {
+      return Collections.emptyList();
+    }
+    lock.readLock().lock();
+    try {
+      int n = documents.size();
+      if (n == 0) {
+        return Collections.emptyList();
+      }
+      double avgLabel = Math.max(1.0, (double) totalLabelLength / n);
+      double avgExpr = Math.max(1.0, (double) totalExpressionLength / n);
+
+      Map<URI, Double> scores = null;
+      for (int j = 0; j < terms.size(); j++) {
+        boolean isLast = j == terms.size() - 1;
+        Map<URI, Double> termScores =
+            scoreTerm(terms.get(j), isLast, n, avgLabel, avgExpr);
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          // all the terms must match
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((doc, s) -> s + termScores.get(doc));
+        }
+        if (scores.isEmpty()) {
+          return Collections.emptyList();
+        }
+      }
+
+      return scores.entrySet().stream()
+          .sorted(Map.Entry.<URI, Double>comparingByValue(Comparator.reverseOrder())
+              .thenComparing(e -> e.getKey().toString()))
+          .limit(limit > 0 ? limit : Long.MAX_VALUE)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Scores the documents that match a query term, or (if the term is the last in the query)
+   * any term it is a prefix of
+   */
+  private Map<URI, Double> scoreTerm(
+      String term, boolean asPrefix, int n, double avgLabel, double avgExpr) {
+    Map<String, Set<URI>> candidates = asPrefix
+        ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+        : (postings.containsKey(term)
+            ? Collections.singletonMap(term, postings.get(term))
+            : Collections.emptyMap());
+
+    Map<URI, Double> scores = new HashMap<>();
+    candidates.forEach((t, docs) -> {
+      double idf = Math.log(1.0 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+      double weight = t.equals(term) ? 1.0 : PREFIX_PENALTY;
+      for (URI docId : docs) {
+        Document doc = documents.get(docId);
+        double s = weight * idf * (
+            LABEL_BOOST * bm25(doc.labelFrequency(t), doc.label.length, avgLabel)
+                + EXPRESSION_BOOST * bm25(doc.expressionFrequency(t), doc.expressionLength(),
+                avgExpr));
+        scores.merge(docId, s, Math::max);
+      }
+    });
+    return scores;
+  }
+
+  private static double bm25(int tf, int length, double avgLength) {
+    if (tf == 0) {
+      return 0.0;
+    }
+    return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+  }
+
+  /**
+   * Detaches a document from the postings, so that it can be updated
+   *
+   * @param assetVersionId the Asset version URI
+   * @return the (detached) document, or a new empty one
+   */
+  private Document unlink(URI assetVersionId) {
+    Document doc = documents.remove(assetVersionId);
+    if (doc == null) {
+      return new Document();
+    }
+    totalLabelLength -= doc.label.length;
+    totalExpressionLength -= doc.expressionLength();
+    for (String t : doc.terms()) {
+      Set<URI> docs = postings.get(t);
+      if (docs != null) {
+        docs.remove(assetVersionId);
+        if (docs.isEmpty()) {
+          postings.remove(t);
+        }
+      }
+    }
+    return doc;
+  }
+
+  private void link(URI assetVersionId, Document doc) {
+    documents.put(assetVersionId, doc);
+    totalLabelLength += doc.label.length;
+    totalExpressionLength += doc.expressionLength();
+    for (String t : doc.terms()) {
+      postings.computeIfAbsent(t, x -> new HashSet<>()).add(assetVersionId);
+    }
+  }
+
+  /**
+   * Splits a text into (lower case) alphanumeric terms
+   *
+   * @param text     the text
+   * @param maxTerms the max number of terms to extract
+   * @return the terms, in order of occurrence
+   */
+  static List<String> tokenize(String text, int maxTerms) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    for (String t : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+      if (!t.isEmpty()) {
+        terms.add(t);
+        if (terms.size() >= maxTerms) {
+          break;
+        }
+      }
+    }
+    return terms;
+  }
+
+  private static final class Document {
+
+    private TermVector label = new TermVector(Collections.emptyList());
+
+    private final Map<URI, TermVector> expressions = new LinkedHashMap<>();
+
+    private int labelFrequency(String term) {
+      return label.frequency(term);
+    }
+
+    private int expressionFrequency(String term) {
+      int tf = 0;
+      for (TermVector expr : expressions.values()) {
+        tf += expr.frequency(term);
+      }
+      return tf;
+    }
+
+    private int expressionLength() {
+      int len = 0;
+      for (TermVector expr : expressions.values()) {
+        len += expr.length;
+      }
+      return len;
+    }
+
+    private Set<String> terms() {
+      Set<String> terms = new HashSet<>(label.frequencies.keySet());
+      expressions.values().forEach(expr -> terms.addAll(expr.frequencies.keySet()));
+      return terms;
+    }
+  }
+
+  /**
+   * The term frequencies of an indexed text
+   */
+  private static final class TermVector {
+
+    private final Map<String, Integer> frequencies = new HashMap<>();
+
+    private final int length;
+
+    private TermVector(List<String> terms) {
+      terms.forEach(t -> frequencies.merge(t, 1, Integer::sum));
+      this.length = terms.size();
+    }
+
+    private int frequency(String term) {
+      return frequencies.getOrDefault(term, 0);
+    }
+  }
+
+}
@@ -15,11 +15,15 @@ package edu.mayo.kmdp.repository.asset.index;
 
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.id.ConceptIdentifier;
 import org.omg.spec.api4kp._20200801.id.Pointer;
 import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
@@ -56,6 +60,58 @@ public interface Index {
    */
   void unregisterAsset(ResourceIdentifier assetId);
 
+  /**
+   * Collects the versions of a set of Assets, and the versions of their Carriers and Surrogates,
+   * in one pass over the Index
+   *
+   * @param assetSeriesIds the IDs of the Assets (series)
+   * @return the entities affected by the removal of the Assets
+   */
+  AssetRemoval collectAssetRemoval(Collection<ResourceIdentifier> assetSeriesIds);
+
+  /**
+   * Unregisters all the entities affected by the removal of a set of Assets,
+   * as a single unit of work
+   *
+   * @param removal the entities to unregister
+   * @see #collectAssetRemoval(Collection)
+   */
+  void unregisterAssets(AssetRemoval removal);
+
+  /**
+   * Marks a version of an Asset as deleted (tombstone), hiding it from any further read,
+   * but retaining the links to its Carriers and Surrogates until it is compacted
+   *
+   * @param assetId the ID of the Asset version
+   * @see #collectTombstones(int)
+   */
+  void tombstoneAssetVersion(ResourceIdentifier assetId);
+
+  /**
+   * @param assetId the ID of the Asset version
+   * @return true if the Asset version has been deleted, but not yet compacted
+   */
+  boolean isTombstoned(ResourceIdentifier assetId);
+
+  /**
+   * Collects a batch of deleted (tombstoned) Asset versions, oldest first, with the versions
+   * of their Carriers and Surrogates, for compaction
+   *
+   * @param limit the max number of Asset versions in the batch
+   * @return the entities to be removed
+   * @see #unregisterAssets(AssetRemoval)
+   */
+  AssetRemoval collectTombstones(int limit);
+
+  /**
+   * Collects a deleted (tombstoned) Asset version, with the versions of its Carriers and
+   * Surrogates, for compaction
+   *
+   * @param assetId the ID of the Asset version
+   * @return the entities to be removed (empty if the Asset version is not tombstoned)
+   */
+  AssetRemoval collectTombstone(ResourceIdentifier assetId);
+
   /**
    * Link an Artifact to an Asset.
    *
@@ -67,6 +123,25 @@ public interface Index {
   void registerArtifactToAsset(ResourceIdentifier assetPointer, KnowledgeArtifact artifact,
       String mimeType);
 
+  /**
+   * Executes a unit of work, such that the changes it makes to the Index
+   * (e.g. registering an Asset, its Carriers and its Surrogates)
+   * are applied as a whole, and become visible to readers at once.
+   * Nested units of work join the outermost one.
+   *
+   * @param work the operations to execute
+   */
+  void inUnitOfWork(Runnable work);
+
+  /**
+   * Executes an action once the changes made by the current unit of work (if any) have been
+   * applied to the Index, and are visible to readers, or immediately if no unit of work is
+   * in progress, e.g. to notify the listeners of a change only once the change is visible.
+   *
+   * @param action the action to execute
+   */
+  void afterUnitOfWork(Runnable action);
+
 
   /**
    * Returns true if the given UUID is associated to an Asset
@@ -112,6 +187,23 @@ public interface Index {
   void registerSurrogateToAsset(ResourceIdentifier assetPointer,
       KnowledgeArtifact surrogate, String mimeType);
 
+  /**
+   * Records the digest of the (encoded) content of a Surrogate version,
+   * replacing any digest previously recorded for that version
+   *
+   * @param surrogateId the ID of the Surrogate version
+   * @param digest      the digest of the Surrogate's content
+   */
+  void registerSurrogateDigest(ResourceIdentifier surrogateId, String digest);
+
+  /**
+   * Retrieves the digest of the (encoded) content of a Surrogate version, if recorded
+   *
+   * @param surrogateId the ID of the Surrogate version
+   * @return the digest of the Surrogate's content
+   */
+  Optional<String> getSurrogateDigest(ResourceIdentifier surrogateId);
+
   /**
    * Retrieve a pointer to the Surrogate given an Asset.
    *
@@ -120,6 +212,17 @@ public interface Index {
    */
   Optional<ResourceIdentifier> getCanonicalSurrogateForAsset(ResourceIdentifier assetPointer);
 
+  /**
+   * Resolves a batch of Asset versions, and the versions of their canonical Surrogates,
+   * in one pass over the Index
+   *
+   * @param assetVersionIds the IDs (uuid and version tag) of the Asset versions
+   * @return the IDs of the Asset versions that are known, mapped to the versions of their
+   * canonical Surrogate
+   */
+  Map<ResourceIdentifier, List<Pointer>> resolveCanonicalSurrogateVersions(
+      Collection<ResourceIdentifier> assetVersionIds);
+
   /**
    * Get the storage location of an Asset/Artifact.
    *
@@ -168,6 +271,16 @@ public interface Index {
    */
   Set<ResourceIdentifier> getAllAssetIds();
 
+  /**
+   * Full-text search over the names of the Assets, and the inlined (textual) expressions
+   * of their Carriers.
+   *
+   * @param text  the search text
+   * @param limit the max number of results (non-positive for no limit)
+   * @return the IDs of the matching Asset versions, by descending relevance
+   */
+  List<ResourceIdentifier> searchAssets(String text, int limit);
+
   /**
    * Get the list of all Artifacts (carriers) for an Asset.
    * @param assetId
@@ -220,6 +333,20 @@ public interface Index {
    */
   List<Pointer> getCarrierVersions(UUID carrierSeriesId);
 
+  /**
+   * Rebuilds the Index from scratch, then replaces the current Index atomically.
+   * <p>
+   * The loader populates the new Index by means of the regular registration operations,
+   * submitting them, as units of work, to the sink it is given. The sink is thread safe,
+   * so that the loader can submit units of work from multiple threads.
+   * Units of work submitted to the sink affect only the new Index, while any other operation
+   * affects the current Index, until it is replaced.
+   *
+   * @param loader populates the new Index, submitting units of work to the given sink
+   * @return the outcome of the replacement of the current Index
+   */
+  Answer<Void> rebuild(Consumer<Consumer<Runnable>> loader);
+
   /**
    * Reset and clear the store.
    *
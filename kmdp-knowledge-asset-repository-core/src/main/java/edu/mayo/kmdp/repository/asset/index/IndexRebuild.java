@@ -0,0 +1,138 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.index;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Progress of a (re)build of the Index from the content of the Artifact Repository.
+ *
+ * Counters are thread safe, so that the Artifacts can be scanned by multiple threads.
+ * Progress is logged every time an additional 10% of the Artifacts has been scanned.
+ */
+public class IndexRebuild {
+
+  private static final Logger logger = LoggerFactory.getLogger(IndexRebuild.class);
+
+  private final int totalArtifacts;
+
+  private final AtomicInteger scannedArtifacts = new AtomicInteger(0);
+
+  private final AtomicInteger indexedSurrogates = new AtomicInteger(0);
+
+  private final AtomicInteger skippedVersions = new AtomicInteger(0);
+
+  private final AtomicInteger failedVersions = new AtomicInteger(0);
+
+  private final long startTime;
+
+  private volatile long endTime = -1;
+
+  /**
+   * @param totalArtifacts the number of Artifact series to be scanned
+   */
+  public IndexRebuild(int totalArtifacts) {
+    this.totalArtifacts = totalArtifacts;
+    this.startTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Records that all the versions of an Artifact series have been scanned
+   */
+  public void artifactScanned() {
+    int n = scannedArtifacts.incrementAndGet();
+    int step = Math.max(1, totalArtifacts / 10);
+    if (n % step == 0 || n == totalArtifacts) {
+      logger.info("REBUILD Index: {}", this);
+    }
+  }
+
+  /**
+   * Records that a canonical Surrogate version has been (re)indexed
+   */
+  public void surrogateIndexed() {
+    indexedSurrogates.incrementAndGet();
+  }
+
+  /**
+   * Records that an Artifact version has been scanned, but is not a canonical Surrogate
+   */
+  public void versionSkipped() {
+    skippedVersions.incrementAndGet();
+  }
+
+  /**
+   * Records that an Artifact version could not be retrieved
+   */
+  public void versionFailed() {
+    failedVersions.incrementAndGet();
+  }
+
+  /**
+   * Records the completion of the rebuild
+   */
+  public void complete() {
+    endTime = System.currentTimeMillis();
+    logger.info("REBUILD Index complete: {}", this);
+  }
+
+  public int getTotalArtifacts() {
+    return totalArtifacts;
+  }
+
+  public int getScannedArtifacts() {
+    return scannedArtifacts.get();
+  }
+
+  public int getIndexedSurrogates() {
+    return indexedSurrogates.get();
+  }
+
+  public int getSkippedVersions() {
+    return skippedVersions.get();
+  }
+
+  public int getFailedVersions() {
+    return failedVersions.get();
+  }
+
+  public boolean isComplete() {
+    return endTime >= 0;
+  }
+
+  /**
+   * @return the time spent rebuilding, so far, in milliseconds
+   */
+  public long getElapsedMillis() {
+    return (isComplete() ? endTime : System.currentTimeMillis()) - startTime;
+  }
+
+  /**
+   * @return the number of Surrogates indexed per second, so far
+   */
+  public double getThroughput() {
+    long elapsed = getElapsedMillis();
+    return elapsed > 0 ? indexedSurrogates.get() * 1000.0 / elapsed : 0.0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d/%d Artifacts scanned, %d Surrogates indexed, %d skipped, %d failed in %d ms (%.1f/s)",
+        getScannedArtifacts(), totalArtifacts, getIndexedSurrogates(), getSkippedVersions(),
+        getFailedVersions(), getElapsedMillis(), getThroughput());
+  }
+}
@@ -0,0 +1,396 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.index;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.ConceptIdentifier;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeArtifact;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.surrogate.Link;
+
+/**
+ * Decorates an {@link Index}, memoizing the results of the (point) lookups within the scope of
+ * a single logical operation, e.g. the retrieval of a Composite, which resolves the same Assets
+ * and Surrogates several times.
+ *
+ * The scope is bound to the current thread, and nested scopes join the outermost one.
+ * Outside of a scope, the lookups are delegated as they are. Since a scope is short-lived,
+ * the memoized results need no invalidation, except when the operation itself updates the Index,
+ * in which case the results memoized so far are discarded.
+ * The results are copied, so that callers can (and do) modify them, e.g. sorting.
+ */
+public class MemoizingIndex implements Index {
+
+  private final Index delegate;
+
+  private final boolean enabled;
+
+  private final ThreadLocal<Map<List<Object>, Object>> scope = new ThreadLocal<>();
+
+  private final AtomicLong lookups = new AtomicLong(0);
+
+  private final AtomicLong hits = new AtomicLong(0);
+
+  /**
+   * @param delegate the Index to decorate
+   * @param enabled  if false, lookups are always delegated, even within a scope
+   */
+  public MemoizingIndex(Index delegate, boolean enabled) {
+    this.delegate = delegate;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Executes an operation, memoizing the Index lookups it makes, unless already in a scope
+   *
+   * @param operation the operation
+   * @param <T>       the result of the operation
+   * @return the result of the operation
+   */
+  public <T> T inScope(Supplier<T> operation) {
+    if (!enabled || scope.get() != null) {
+      return operation.get();
+    }
+    scope.set(new HashMap<>());
+    try {
+      return operation.get();
+    } finally {
+      scope.remove();
+    }
+  }
+
+  public Index getDelegate() {
+    return delegate;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the number of lookups made within a scope
+   */
+  public long getLookups() {
+    return lookups.get();
+  }
+
+  /**
+   * @return the number of lookups made within a scope, answered without querying the Index
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T memo(Supplier<T> lookup, Object... key) {
+    var memo = scope.get();
+    if (memo == null) {
+      return lookup.get();
+    }
+    lookups.incrementAndGet();
+    List<Object> k = Arrays.asList(key);
+    if (memo.containsKey(k)) {
+      hits.incrementAndGet();
+      return (T) memo.get(k);
+    }
+    T value = lookup.get();
+    memo.put(k, value);
+    return value;
+  }
+
+  private <T> List<T> memoList(Supplier<List<T>> lookup, Object... key) {
+    List<T> value = memo(lookup, key);
+    return value != null && scope.get() != null ? new ArrayList<>(value) : value;
+  }
+
+  private <T> Set<T> memoSet(Supplier<Set<T>> lookup, Object... key) {
+    Set<T> value = memo(lookup, key);
+    return value != null && scope.get() != null ? new LinkedHashSet<>(value) : value;
+  }
+
+  private static Object key(ResourceIdentifier id) {
+    return id != null ? id.asKey() : null;
+  }
+
+  /**
+   * Discards the lookups memoized so far in the current scope, if any, before the Index changes
+   */
+  private void invalidate() {
+    var memo = scope.get();
+    if (memo != null) {
+      memo.clear();
+    }
+  }
+
+  /* ---------------------------------------------------------------------------------------- */
+
+  @Override
+  public void registerAssetByCanonicalSurrogate(KnowledgeAsset assetSurrogate,
+      ResourceIdentifier surrogateId, String surrogateMimeType) {
+    invalidate();
+    delegate.registerAssetByCanonicalSurrogate(assetSurrogate, surrogateId, surrogateMimeType);
+  }
+
+  @Override
+  public void unregisterAssetVersion(ResourceIdentifier assetId) {
+    invalidate();
+    delegate.unregisterAssetVersion(assetId);
+  }
+
+  @Override
+  public void unregisterAsset(ResourceIdentifier assetId) {
+    invalidate();
+    delegate.unregisterAsset(assetId);
+  }
+
+  @Override
+  public AssetRemoval collectAssetRemoval(Collection<ResourceIdentifier> assetSeriesIds) {
+    return delegate.collectAssetRemoval(assetSeriesIds);
+  }
+
+  @Override
+  public void unregisterAssets(AssetRemoval removal) {
+    invalidate();
+    delegate.unregisterAssets(removal);
+  }
+
+  @Override
+  public void tombstoneAssetVersion(ResourceIdentifier assetId) {
+    invalidate();
+    delegate.tombstoneAssetVersion(assetId);
+  }
+
+  @Override
+  public boolean isTombstoned(ResourceIdentifier assetId) {
+    return memo(() -> delegate.isTombstoned(assetId), "isTombstoned", key(assetId));
+  }
+
+  @Override
+  public AssetRemoval collectTombstones(int limit) {
+    return delegate.collectTombstones(limit);
+  }
+
+  @Override
+  public AssetRemoval collectTombstone(ResourceIdentifier assetId) {
+    return delegate.collectTombstone(assetId);
+  }
+
+  @Override
+  public void registerArtifactToAsset(ResourceIdentifier assetPointer, KnowledgeArtifact artifact,
+      String mimeType) {
+    invalidate();
+    delegate.registerArtifactToAsset(assetPointer, artifact, mimeType);
+  }
+
+  @Override
+  public void inUnitOfWork(Runnable work) {
+    invalidate();
+    delegate.inUnitOfWork(work);
+  }
+
+  @Override
+  public void afterUnitOfWork(Runnable action) {
+    delegate.afterUnitOfWork(() -> {
+      invalidate();
+      action.run();
+    });
+  }
+
+  @Override
+  public boolean isKnownAsset(ResourceIdentifier assetId) {
+    return memo(() -> delegate.isKnownAsset(assetId), "isKnownAsset", key(assetId));
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getRelatedAssets(ResourceIdentifier assetPointer) {
+    return memoSet(() -> delegate.getRelatedAssets(assetPointer),
+        "getRelatedAssets", key(assetPointer));
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getRelatedAssets(ResourceIdentifier assetPointer, URI relation) {
+    return memoSet(() -> delegate.getRelatedAssets(assetPointer, relation),
+        "getRelatedAssets", key(assetPointer), relation);
+  }
+
+  @Override
+  public List<Link> getNeighbourAssets(ResourceIdentifier assetPointer) {
+    return memoList(() -> delegate.getNeighbourAssets(assetPointer),
+        "getNeighbourAssets", key(assetPointer));
+  }
+
+  @Override
+  public void registerSurrogateToAsset(ResourceIdentifier assetPointer,
+      KnowledgeArtifact surrogate, String mimeType) {
+    invalidate();
+    delegate.registerSurrogateToAsset(assetPointer, surrogate, mimeType);
+  }
+
+  @Override
+  public void registerSurrogateDigest(ResourceIdentifier surrogateId, String digest) {
+    invalidate();
+    delegate.registerSurrogateDigest(surrogateId, digest);
+  }
+
+  @Override
+  public Optional<String> getSurrogateDigest(ResourceIdentifier surrogateId) {
+    return memo(() -> delegate.getSurrogateDigest(surrogateId),
+        "getSurrogateDigest", key(surrogateId));
+  }
+
+  @Override
+  public Optional<ResourceIdentifier> getCanonicalSurrogateForAsset(
+      ResourceIdentifier assetPointer) {
+    return memo(() -> delegate.getCanonicalSurrogateForAsset(assetPointer),
+        "getCanonicalSurrogateForAsset", key(assetPointer));
+  }
+
+  @Override
+  public Map<ResourceIdentifier, List<Pointer>> resolveCanonicalSurrogateVersions(
+      Collection<ResourceIdentifier> assetVersionIds) {
+    return delegate.resolveCanonicalSurrogateVersions(assetVersionIds);
+  }
+
+  @Override
+  public URI getLocation(ResourceIdentifier pointer) {
+    return memo(() -> delegate.getLocation(pointer), "getLocation", key(pointer));
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getAssetIdsByType(URI assetType) {
+    return delegate.getAssetIdsByType(assetType);
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getAssetIdsByAnnotationValue(URI annotationValue) {
+    return delegate.getAssetIdsByAnnotationValue(annotationValue);
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getAssetIdsByAnnotation(URI annotation) {
+    return delegate.getAssetIdsByAnnotation(annotation);
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getAssetIdsByAnnotation(URI annotation, URI value) {
+    return delegate.getAssetIdsByAnnotation(annotation, value);
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getAllAssetIds() {
+    return delegate.getAllAssetIds();
+  }
+
+  @Override
+  public List<ResourceIdentifier> searchAssets(String text, int limit) {
+    return delegate.searchAssets(text, limit);
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getArtifactsForAsset(ResourceIdentifier assetId) {
+    return memoSet(() -> delegate.getArtifactsForAsset(assetId),
+        "getArtifactsForAsset", key(assetId));
+  }
+
+  @Override
+  public Set<ResourceIdentifier> getSurrogatesForAsset(ResourceIdentifier assetId) {
+    return memoSet(() -> delegate.getSurrogatesForAsset(assetId),
+        "getSurrogatesForAsset", key(assetId));
+  }
+
+  @Override
+  public Optional<String> getAssetName(ResourceIdentifier assetId) {
+    return memo(() -> delegate.getAssetName(assetId), "getAssetName", key(assetId));
+  }
+
+  @Override
+  public List<ConceptIdentifier> getAssetTypes(ResourceIdentifier assetId) {
+    return memoList(() -> delegate.getAssetTypes(assetId), "getAssetTypes", key(assetId));
+  }
+
+  @Override
+  public List<ResourceIdentifier> getAssetVersions(UUID assetSeriesId) {
+    return memoList(() -> delegate.getAssetVersions(assetSeriesId),
+        "getAssetVersions", assetSeriesId);
+  }
+
+  @Override
+  public List<Pointer> getSurrogateVersions(UUID surrogateSeriesId) {
+    return memoList(() -> delegate.getSurrogateVersions(surrogateSeriesId),
+        "getSurrogateVersions", surrogateSeriesId);
+  }
+
+  @Override
+  public List<Pointer> getCarrierVersions(UUID carrierSeriesId) {
+    return memoList(() -> delegate.getCarrierVersions(carrierSeriesId),
+        "getCarrierVersions", carrierSeriesId);
+  }
+
+  @Override
+  public Answer<Void> rebuild(Consumer<Consumer<Runnable>> loader) {
+    invalidate();
+    return delegate.rebuild(loader);
+  }
+
+  @Override
+  public void reset() {
+    invalidate();
+    delegate.reset();
+  }
+
+  @Override
+  public Optional<ResourceIdentifier> resolveAsset(UUID assetId, String versionTag) {
+    return memo(() -> delegate.resolveAsset(assetId, versionTag),
+        "resolveAsset", assetId, versionTag);
+  }
+
+  @Override
+  public Optional<ResourceIdentifier> resolveAsset(UUID assetId) {
+    return memo(() -> delegate.resolveAsset(assetId), "resolveAsset", assetId);
+  }
+
+  @Override
+  public Optional<ResourceIdentifier> resolveArtifact(UUID artifactId, String versionTag) {
+    return memo(() -> delegate.resolveArtifact(artifactId, versionTag),
+        "resolveArtifact", artifactId, versionTag);
+  }
+
+  @Override
+  public Optional<ResourceIdentifier> resolveArtifact(UUID artifactId) {
+    return memo(() -> delegate.resolveArtifact(artifactId), "resolveArtifact", artifactId);
+  }
+
+  @Override
+  public Optional<Date> getEstablishmentDate(ResourceIdentifier resourceId) {
+    return memo(() -> delegate.getEstablishmentDate(resourceId),
+        "getEstablishmentDate", key(resourceId));
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.index;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background compactor of the Asset versions that have been deleted (tombstoned), but not yet
+ * physically removed from the Index and the Artifact Repository.
+ *
+ * Compaction is throttled: at most one batch of tombstones is compacted per interval, so that
+ * the I/O caused by the deletions is spread over time, rather than borne by the clients.
+ */
+public class TombstoneCompactor {
+
+  private static final Logger logger = LoggerFactory.getLogger(TombstoneCompactor.class);
+
+  /**
+   * Compacts (up to) a given number of tombstones, returning the number actually compacted
+   */
+  private final IntUnaryOperator compaction;
+
+  private final int batchSize;
+
+  private final int interval;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param compaction compacts (up to) a given number of tombstones, returning the number of
+   *                   tombstones actually compacted
+   * @param batchSize  the max number of tombstones compacted at a time
+   * @param interval   the time between two batches, in seconds (0 to disable the background
+   *                   compaction)
+   */
+  public TombstoneCompactor(IntUnaryOperator compaction, int batchSize, int interval) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Compaction batch size must be positive: " + batchSize);
+    }
+    this.compaction = compaction;
+    this.batchSize = batchSize;
+    this.interval = interval;
+  }
+
+  /**
+   * Starts compacting in the background, one batch per interval
+   */
+  public synchronized void start() {
+    if (interval <= 0 || scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "TombstoneCompactor");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::compactBatch, interval, interval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the background compaction. Tombstones not yet compacted are retained,
+   * and will be compacted once the compaction is restarted.
+   */
+  public synchronized void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Compacts one batch of tombstones
+   *
+   * @return the number of tombstones compacted
+   */
+  public int compactBatch() {
+    try {
+      int n = compaction.applyAsInt(batchSize);
+      if (n > 0) {
+        logger.info("COMPACTED {} deleted Asset versions", n);
+      }
+      return n;
+    } catch (RuntimeException e) {
+      logger.error("Unable to compact deleted Asset versions: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  /**
+   * Compacts all the tombstones, one batch at a time, e.g. on demand, or off-peak
+   *
+   * @return the number of tombstones compacted
+   */
+  public int compactAll() {
+    int total = 0;
+    int n;
+    do {
+      n = compactBatch();
+      total += n;
+    } while (n >= batchSize);
+    return total;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+}
@@ -1,6 +1,7 @@
 package edu.mayo.kmdp.repository.asset.index.sparql;
 
 import static edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphInfo.ASSET_URI;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.Conflict;
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.Forbidden;
 import static java.nio.charset.Charset.defaultCharset;
 import static org.apache.jena.rdf.model.ResourceFactory.createResource;
@@ -18,6 +19,8 @@ import static org.omg.spec.api4kp._20200801.taxonomy.parsinglevel.ParsingLevelSe
 import edu.mayo.kmdp.language.parsers.rdf.JenaRdfParser;
 import edu.mayo.kmdp.language.parsers.surrogate.v2.Surrogate2Parser;
 import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.ContentCompression;
+import edu.mayo.kmdp.repository.asset.ContentDigest;
 import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties;
 import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions;
 import edu.mayo.kmdp.util.NameUtils;
@@ -25,13 +28,22 @@ import edu.mayo.kmdp.util.concurrent.LatchedScheduleExecutor;
 import edu.mayo.kmdp.util.concurrent.Once;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.rdf.listeners.StatementListener;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
@@ -73,7 +85,18 @@ import org.springframework.stereotype.Component;
  *  -- persisted on an explicit command
  *  -- persisted after a period of time T from the latest Write to the graph
  *     (rescheduling if a new Write occurs before T, or canceling on an explicit write/reset)
+ *  -- persisted at the latest after a period of time S from the first unsaved Write,
+ *     bounding the staleness of the persisted Graph under a sustained Write load
+ *  -- automatic persistence is skipped if the Graph has not changed since the last save
+ *  -- persistence encodes a point-in-time copy of the Graph, maintained incrementally
+ *     by a {@link GraphSnapshotTracker}, so that Writes are not blocked while encoding
  *  -- persisted on Shutdown
+ * - maintain the predicate statistics used to optimize the queries against the Graph
+ *  -- collected on (re)load, and recollected after a period of time T from the latest Write
+ * - on a read-only (follower) node, replicate the Graph persisted by the node that accepts writes
+ *  -- Writes and persistence are rejected
+ *  -- the persisted Graph is polled periodically by a {@link GraphFollower}, and swapped in
+ *     atomically when changed
  */
 @Component
 public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._getKnowledgeBase,
@@ -115,7 +138,12 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
   /**
    * The Knowledge Graph
    */
-  private Model knowledgeGraph;
+  private volatile Model knowledgeGraph;
+
+  /**
+   * Tracker that maintains the point-in-time copy of the Graph used for persistence
+   */
+  private GraphSnapshotTracker snapshotTracker;
 
   /**
    * Knowledge Base API wrapper for the Knowledge Graph
@@ -138,6 +166,29 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    */
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
+  /**
+   * Write generation counter, incremented on every Write to the Graph,
+   * and on every (re)initialization of the Graph
+   */
+  private final AtomicLong graphGeneration = new AtomicLong(0);
+
+  /**
+   * Counter incremented every time the Graph is replaced as a whole
+   * (loaded, reset, rebuilt, or pulled from the Artifact Repository)
+   */
+  private final AtomicLong graphEpoch = new AtomicLong(0);
+
+  /**
+   * Flag that prevents concurrent rebuilds of the Graph
+   */
+  private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+  /**
+   * Serializes the replacement (reset, rebuild, pull) and the persistence of the Graph
+   * (see {@link edu.mayo.kmdp.repository.asset.TaskExecutors} on locks)
+   */
+  private final ReentrantLock holderLock = new ReentrantLock();
+
   /**
    * Delay between the last Graph Write Operation and its persistence
    */
@@ -148,6 +199,66 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    */
   private LatchedScheduleExecutor<Answer<Void>> saver;
 
+  /**
+   * Max time between the first unsaved Write operation and the persistence of the Graph,
+   * regardless of any subsequent Write (0 for no limit)
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.autoSaveMaxStaleness:60}")
+  private int autoSaveMaxStaleness = 60;
+  /**
+   * Scheduler that persists the Graph once the max staleness is reached
+   */
+  private ScheduledExecutorService stalenessGuard;
+  /**
+   * Atomic flag that marks whether a staleness-bound persistence is scheduled
+   */
+  private final AtomicBoolean stalenessDeadline = new AtomicBoolean(false);
+  /**
+   * The write generation of the Graph, as last persisted in the Artifact Repository
+   */
+  private final AtomicLong savedGeneration = new AtomicLong(-1);
+
+  /**
+   * Min size of the encoded Graph, and of the Graph's own Surrogate, to be stored compressed,
+   * in KB (0 to disable). The Carriers and Surrogates of the other Assets are compressed
+   * by the Asset Repository, which shares the same setting
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.compressionThreshold:8}")
+  private int compressionThreshold = 8;
+
+  /**
+   * Flag that enables the statistics-based optimization of the queries against the Graph
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.queryStatistics:true}")
+  private boolean useQueryStatistics = true;
+  /**
+   * The current statistics of the Graph
+   */
+  private volatile GraphStatistics statistics;
+  /**
+   * Latched Scheduler that recollects the statistics after the 'last' Write operation
+   */
+  private LatchedScheduleExecutor<Answer<Void>> statsCollector;
+
+  /**
+   * Flag that makes this Graph a read-only replica of the Graph persisted by another node
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.follower:false}")
+  private boolean follower = false;
+  /**
+   * Interval between the checks for a new persisted Graph, in seconds (0 on demand only)
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.followerPollInterval:30}")
+  private int followerPollInterval = 30;
+  /**
+   * Replicator of the persisted Graph, on follower nodes
+   */
+  private GraphFollower graphFollower;
+  /**
+   * The digest of the persisted Graph last loaded, on follower nodes
+   */
+  private String loadedSnapshotDigest;
+
 
   /**
    * Default constructor used with Component injection
@@ -187,6 +298,11 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
     kgh.artifactApi = artifactRepo;
     kgh.kgi = kgi;
     kgh.autoSaveDelay = cfg.getTyped(KnowledgeAssetRepositoryOptions.AUTOSAVE_DELAY);
+    kgh.autoSaveMaxStaleness = cfg.getTyped(KnowledgeAssetRepositoryOptions.AUTOSAVE_MAX_STALENESS);
+    kgh.useQueryStatistics = cfg.getTyped(KnowledgeAssetRepositoryOptions.QUERY_STATISTICS);
+    kgh.follower = cfg.getTyped(KnowledgeAssetRepositoryOptions.FOLLOWER);
+    kgh.followerPollInterval = cfg.getTyped(KnowledgeAssetRepositoryOptions.FOLLOWER_POLL_INTERVAL);
+    kgh.compressionThreshold = cfg.getTyped(KnowledgeAssetRepositoryOptions.COMPRESSION_THRESHOLD);
     kgh.initKnowledgeGraph();
     return kgh;
   }
@@ -201,8 +317,21 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
     this.defaultRepositoryId = validateArtifactRepositoryId();
     this.saver =
         new LatchedScheduleExecutor<>(autoSaveDelay,
-            this::persistKnowledgeGraphIntoArtifactRepository);
+            this::autoSaveKnowledgeGraph);
+    this.stalenessGuard = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "KnowledgeGraphStalenessGuard");
+      t.setDaemon(true);
+      return t;
+    });
+    this.statsCollector =
+        new LatchedScheduleExecutor<>(autoSaveDelay, this::refreshGraphStatistics);
+    if (follower) {
+      this.graphFollower = new GraphFollower(this::pullKnowledgeGraph, followerPollInterval);
+    }
     graphLoaded.executeIfNotDone();
+    if (graphFollower != null) {
+      graphFollower.start();
+    }
   }
 
   /**
@@ -214,6 +343,11 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
   public void shutdownKnowledgeGraph() {
     try {
       if (!shutdown.getAndSet(true)) {
+        if (graphFollower != null) {
+          graphFollower.shutdown();
+        }
+        statsCollector.shutdown();
+        stalenessGuard.shutdownNow();
         saver.shutdown();
       }
     } catch (InterruptedException e) {
@@ -251,12 +385,20 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    */
   @Override
   @Loggable(level = LogLevel.INFO)
-  public synchronized void resetGraph() {
-    cancelScheduledPersistGraph(true);
-    boolean success = reinitialize().isSuccess();
-    if (! success) {
-      var msg = "Unable to RESET a Knowledge Graph Successfully";
-      throw new IllegalStateException(msg);
+  public void resetGraph() {
+    holderLock.lock();
+    try {
+      if (follower) {
+        throw new IllegalStateException("Unable to RESET a read-only (follower) Knowledge Graph");
+      }
+      cancelScheduledPersistGraph(true);
+      boolean success = reinitialize().isSuccess();
+      if (! success) {
+        var msg = "Unable to RESET a Knowledge Graph Successfully";
+        throw new IllegalStateException(msg);
+      }
+    } finally {
+      holderLock.unlock();
     }
   }
 
@@ -273,17 +415,158 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
       logger.error(msg);
       throw new IllegalStateException(msg);
     }
+    if (follower) {
+      var msg = "Unable to WRITE to a read-only (follower) Knowledge Graph";
+      logger.error(msg);
+      throw new IllegalStateException(msg);
+    }
     var kg = getModel();
     kg.enterCriticalSection(Lock.WRITE);
+    while (kg != knowledgeGraph) {
+      // the Graph has been replaced (e.g. rebuilt) while waiting for the lock
+      kg.leaveCriticalSection();
+      kg = getModel();
+      kg.enterCriticalSection(Lock.WRITE);
+    }
     try {
       return graphMutator.apply(kg);
     } finally {
+      graphGeneration.incrementAndGet();
       logger.info("SCHEDULE persistence of the Knowledge Graph");
       saver.scheduleExecution();
+      scheduleStalenessDeadline();
+      if (useQueryStatistics) {
+        statsCollector.scheduleExecution();
+      }
       kg.leaveCriticalSection();
     }
   }
 
+  /**
+   * Applies the changes collected during a unit of work to the Graph,
+   * within a single Graph Write Lock, and with a single (re)scheduling of the persistence
+   * @param changes the Statement additions and removals
+   */
+  public void applyChanges(GraphChangeSet changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    writeContentToGraph(kg -> {
+      changes.applyTo(kg);
+      return null;
+    });
+  }
+
+  /**
+   * Rebuilds the Knowledge Graph from scratch, then replaces the current Graph atomically.
+   * <p>
+   * The builder populates a new Graph, which initially contains only the T-box triples,
+   * while the current Graph remains available to readers and writers.
+   * The changes written to the current Graph while the new Graph is being built are recorded,
+   * and replayed on the new Graph before the replacement, so that no write is lost.
+   * The builder is responsible for synchronizing any concurrent access to the new Graph.
+   * Once replaced, the new Graph is persisted in the Artifact Repository.
+   *
+   * @param builder Callback function that populates the new Graph
+   * @return the result of the persistence of the new Graph,
+   * CONFLICT if another rebuild is in progress, or the Graph has been reset while rebuilding,
+   * FORBIDDEN if the Graph has been shut down, or is read-only
+   */
+  @Loggable(level = LogLevel.INFO)
+  public Answer<Void> rebuildGraph(Consumer<Model> builder) {
+    if (shutdown.get() || follower) {
+      return Answer.failed(Forbidden);
+    }
+    if (rebuilding.getAndSet(true)) {
+      return Answer.failed(Conflict);
+    }
+    try {
+      var current = getModel();
+      var recorder = new ChangeRecorder();
+      current.register(recorder);
+      Model rebuilt;
+      try {
+        rebuilt = newEmptyGraph().as(Model.class)
+            .orElseThrow(IllegalStateException::new);
+        builder.accept(rebuilt);
+      } catch (RuntimeException e) {
+        current.unregister(recorder);
+        throw e;
+      }
+      if (!swapGraph(current, rebuilt, recorder)) {
+        return Answer.failed(Conflict);
+      }
+      cancelScheduledPersistGraph(false);
+      return persistKnowledgeGraphIntoArtifactRepository();
+    } finally {
+      rebuilding.set(false);
+    }
+  }
+
+  /**
+   * Replaces the current Graph with a rebuilt one, after replaying on the rebuilt Graph
+   * the changes written to the current Graph while rebuilding.
+   * Holds the Write Lock on the current Graph, so that no write can be lost in the process.
+   *
+   * @param current  the Graph being replaced
+   * @param rebuilt  the rebuilt Graph
+   * @param recorder the changes written to the current Graph while rebuilding
+   * @return false if the current Graph has been replaced by other means (e.g. reset)
+   * while rebuilding, or has been changed in a way that cannot be replayed
+   */
+  private boolean swapGraph(Model current, Model rebuilt, ChangeRecorder recorder) {
+    holderLock.lock();
+    try {
+      current.enterCriticalSection(Lock.WRITE);
+      try {
+        current.unregister(recorder);
+        if (current != this.knowledgeGraph || recorder.overflow) {
+          logger.warn("Knowledge Graph changed while rebuilding - Rebuild discarded");
+          return false;
+        }
+        logger.info("REPLAY {} changes on the rebuilt Knowledge Graph", recorder.changes.size());
+        recorder.changes.applyTo(rebuilt);
+        initializeKnowledgeResources(wrapGraph(rebuilt));
+        return true;
+      } finally {
+        current.leaveCriticalSection();
+      }
+    } finally {
+      holderLock.unlock();
+    }
+  }
+
+  /**
+   * Records the changes written to a Graph, in order
+   */
+  private static class ChangeRecorder extends StatementListener {
+
+    private final GraphChangeSet changes = new GraphChangeSet();
+
+    /**
+     * Set if a change could not be recorded (e.g. a bulk removal)
+     */
+    private volatile boolean overflow = false;
+
+    @Override
+    public void addedStatement(Statement s) {
+      changes.add(Collections.singletonList(s));
+    }
+
+    @Override
+    public void removedStatement(Statement s) {
+      changes.remove(Collections.singletonList(s));
+    }
+
+    @Override
+    public void notifyEvent(Model m, Object event) {
+      if (event instanceof GraphEvents
+          && event != GraphEvents.startRead && event != GraphEvents.finishRead) {
+        overflow = true;
+      }
+    }
+  }
+
   /**
    * Applies a client-provided function to read to the Graph,
    * wrapping it in a Graph Read Lock
@@ -291,6 +574,7 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    * @param <T> the return type of the read operation
    * @return T
    */
+  @Override
   public <T> T readGraphContent(Function<Model, T> graphReader) {
     var kg = getModel();
     kg.enterCriticalSection(Lock.READ);
@@ -316,6 +600,95 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
     }
   }
 
+  /**
+   * @return the current write generation of the Graph
+   */
+  @Override
+  public long getGraphGeneration() {
+    return graphGeneration.get();
+  }
+
+  /**
+   * @return the number of times the Graph has been replaced as a whole, so that any structure
+   * derived from the Graph can detect that it needs to be rebuilt
+   */
+  public long getGraphEpoch() {
+    return graphEpoch.get();
+  }
+
+  /**
+   * @return the statistics of the Graph, if collected
+   */
+  public Optional<GraphStatistics> getGraphStatistics() {
+    return Optional.ofNullable(statistics);
+  }
+
+  /**
+   * Recollects the statistics of the Graph, and updates the query optimizer accordingly
+   * @return success, unless the statistics are disabled, or the Graph has been shut down
+   */
+  public Answer<Void> refreshGraphStatistics() {
+    if (!useQueryStatistics || shutdown.get()) {
+      return Answer.failed(Forbidden);
+    }
+    readGraphContent(kg -> {
+      collectGraphStatistics(kg);
+      return null;
+    });
+    return Answer.succeed();
+  }
+
+  /**
+   * Collects the statistics of the Graph, registering them with the query optimizer
+   * Assumes that the caller holds (at least) a READ lock on the Graph
+   * @param kg the Graph
+   */
+  protected void collectGraphStatistics(Model kg) {
+    long t0 = System.currentTimeMillis();
+    var stats = GraphStatistics.collect(kg, graphGeneration.get());
+    StatisticsStageGenerator.register(kg.getGraph(), stats);
+    this.statistics = stats;
+    logger.debug("Collected Knowledge Graph statistics: {} triples, {} predicates, in {} ms",
+        stats.getCount(), stats.getPredicateCounts().size(), System.currentTimeMillis() - t0);
+  }
+
+  /**
+   * @return true if the Graph has been modified since it was last persisted
+   */
+  public boolean isDirty() {
+    return graphGeneration.get() != savedGeneration.get();
+  }
+
+  /**
+   * Persists the Graph, unless it has not changed since the last time it was persisted
+   * @return the Answer resulting from the persistence, success if the persistence is not needed
+   */
+  protected Answer<Void> autoSaveKnowledgeGraph() {
+    if (!isDirty()) {
+      logger.debug("SKIP persistence of the (unchanged) Knowledge Graph");
+      return Answer.succeed();
+    }
+    return persistKnowledgeGraphIntoArtifactRepository();
+  }
+
+  /**
+   * Ensures that the Graph will be persisted within the max staleness window
+   * from the first unsaved Write, even if further Writes keep postponing the autosave
+   */
+  private void scheduleStalenessDeadline() {
+    if (autoSaveMaxStaleness > 0 && !shutdown.get()
+        && stalenessDeadline.compareAndSet(false, true)) {
+      stalenessGuard.schedule(() -> {
+        stalenessDeadline.set(false);
+        if (isDirty()) {
+          logger.info("PERSIST Knowledge Graph (max staleness of {}s reached)",
+              autoSaveMaxStaleness);
+          autoSaveKnowledgeGraph();
+        }
+      }, autoSaveMaxStaleness, TimeUnit.SECONDS);
+    }
+  }
+
   /**
    * Cancels any currently scheduled persistence of the Knowledge Graph
    * @param withInterrupt if true, send an interrupt to the thread
@@ -347,6 +720,14 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    * @return true if the Graph is already loaded, or has been successfully loaded; false otherwise
    */
   protected boolean ensureGraphLoaded() {
+    if (graphFollower != null) {
+      // followers never create (nor persist) a Graph, but wait for one to be persisted
+      if (!graphFollower.poll() || knowledgeGraph == null) {
+        logger.warn("No Knowledge Graph to follow yet - starting with an empty Graph");
+        initializeKnowledgeResources(newEmptyGraph());
+      }
+      return true;
+    }
     Answer<KnowledgeCarrier> existing = reloadGraph();
     if (existing.isSuccess()) {
       return true;
@@ -398,6 +779,8 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
                 bin -> parser.applyLift(bin, Abstract_Knowledge_Expression, codedRep(OWL_2), null));
     if (graphCarrier.isSuccess()) {
       initializeKnowledgeResources(graphCarrier.get());
+      // the Graph is, by definition, in sync with its persisted copy
+      savedGeneration.set(graphGeneration.get());
     }
     return graphCarrier;
   }
@@ -409,6 +792,15 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
   @Loggable(level = LogLevel.INFO)
   @Failsafe(LogLevel.INFO)
   protected Answer<byte[]> retrieveEncodedGraphFromArtifactRepository() {
+    return retrieveStoredGraphFromArtifactRepository()
+        .flatMap(ContentCompression::decompress);
+  }
+
+  /**
+   * Reads the graph from the Artifact Repository, as stored (e.g. compressed)
+   * @return the stored binary
+   */
+  protected Answer<byte[]> retrieveStoredGraphFromArtifactRepository() {
     return artifactApi.getKnowledgeArtifactVersion(
         defaultRepositoryId,
         kgi.knowledgeGraphArtifactId().getUuid(),
@@ -416,12 +808,68 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
   }
 
   /**
-   * Serializes the Knowledge Graph, lowering from AST to Encoded level
+   * Replaces the Graph of a follower with the Graph persisted in the Artifact Repository,
+   * unless the persisted Graph has not changed since it was last loaded.
+   *
+   * The persisted Graph is parsed before the replacement, which is atomic:
+   * readers see either the previous Graph, or the new one, in full
+   * @return true if the Graph has been replaced, false if unchanged;
+   * FORBIDDEN if this Graph is not a follower, or has been shut down
+   */
+  public Answer<Boolean> pullKnowledgeGraph() {
+    holderLock.lock();
+    try {
+      if (!follower || shutdown.get()) {
+        return Answer.failed(Forbidden);
+      }
+      Answer<byte[]> stored = retrieveStoredGraphFromArtifactRepository();
+      if (!stored.isSuccess()) {
+        return Answer.failed(stored);
+      }
+      String digest = ContentDigest.digest(stored.get());
+      if (digest.equals(loadedSnapshotDigest)) {
+        return Answer.of(false);
+      }
+      Answer<KnowledgeCarrier> graphCarrier = stored
+          .flatMap(ContentCompression::decompress)
+          .map(this::wrapBinary)
+          .flatMap(
+              bin -> parser.applyLift(bin, Abstract_Knowledge_Expression, codedRep(OWL_2), null));
+      if (!graphCarrier.isSuccess()) {
+        return Answer.failed(graphCarrier);
+      }
+      initializeKnowledgeResources(graphCarrier.get());
+      savedGeneration.set(graphGeneration.get());
+      loadedSnapshotDigest = digest;
+      return Answer.of(true);
+    } finally {
+      holderLock.unlock();
+    }
+  }
+
+  /**
+   * @return true if this Graph is a read-only replica of the Graph persisted by another node
+   */
+  @Override
+  public boolean isReadOnly() {
+    return follower;
+  }
+
+  /**
+   * @return the replicator of the persisted Graph, if this Graph is a follower
+   */
+  public Optional<GraphFollower> getGraphFollower() {
+    return Optional.ofNullable(graphFollower);
+  }
+
+  /**
+   * Serializes a (snapshot of the) Knowledge Graph, lowering from AST to Encoded level
+   * @param graph the Graph
    * @return the binary serialization+encoding of the Knowledge Graph
    */
-  protected Answer<byte[]> encodeGraph() {
+  protected Answer<byte[]> encodeGraph(Model graph) {
     return parser.applyLower(
-        kBase.getManifestation(), Encoded_Knowledge_Expression,
+        wrapGraph(graph), Encoded_Knowledge_Expression,
         codedRep(OWL_2, XML_1_1, defaultCharset(), DEFAULT), null)
         .flatOpt(AbstractCarrier::asBinary);
   }
@@ -447,31 +895,60 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    */
   @Loggable(level = LogLevel.INFO)
   protected Answer<Void> persistKnowledgeGraphSurrogateIntoArtifactRepository() {
+    if (follower) {
+      return Answer.failed(Forbidden);
+    }
     return encodeGraphSurrogate()
         .flatMap(binary ->
             artifactApi.setKnowledgeArtifactVersion(
                 this.defaultRepositoryId,
                 kgi.knowledgeGraphSurrogateId().getUuid(),
                 kgi.knowledgeGraphSurrogateId().getVersionTag(),
-                binary));
+                ContentCompression.compress(binary, compressionThreshold * 1024)));
   }
 
   /**
    * Persists the Knowledge Graph in the Artifact Repository
-   * The operation is 'Forbidden' if the Graph has been shut down
+   * The operation is 'Forbidden' if the Graph has been shut down, or is read-only
+   *
+   * The changes to the Graph since the last snapshot are captured while holding a Read lock,
+   * which is released before the changes are applied to the point-in-time copy of the Graph,
+   * and before the (comparatively expensive) serialization of that copy
    * @return the result of the setKnowledgeArtifactVersion operation
    */
   @Loggable(level = LogLevel.INFO)
-  protected synchronized Answer<Void> persistKnowledgeGraphIntoArtifactRepository() {
-    if (shutdown.get()) {
-      return Answer.failed(Forbidden);
+  protected Answer<Void> persistKnowledgeGraphIntoArtifactRepository() {
+    holderLock.lock();
+    try {
+      if (shutdown.get() || follower) {
+        return Answer.failed(Forbidden);
+      }
+      var kg = this.knowledgeGraph;
+      GraphSnapshotTracker.PendingSnapshot pending;
+      long generation;
+      kg.enterCriticalSection(Lock.READ);
+      try {
+        generation = graphGeneration.get();
+        pending = snapshotTracker.capture(kg);
+      } finally {
+        kg.leaveCriticalSection();
+      }
+      logger.debug("SNAPSHOT Knowledge Graph at generation {} ({} changes)",
+          generation, pending.size());
+
+      Answer<Void> ans = encodeGraph(pending.complete())
+          .flatMap(binary -> artifactApi.setKnowledgeArtifactVersion(
+              this.defaultRepositoryId,
+              kgi.knowledgeGraphArtifactId().getUuid(),
+              kgi.knowledgeGraphArtifactId().getVersionTag(),
+              ContentCompression.compress(binary, compressionThreshold * 1024)));
+      if (ans.isSuccess()) {
+        savedGeneration.set(generation);
+      }
+      return ans;
+    } finally {
+      holderLock.unlock();
     }
-    return encodeGraph()
-        .flatMap(binary -> artifactApi.setKnowledgeArtifactVersion(
-            this.defaultRepositoryId,
-            kgi.knowledgeGraphArtifactId().getUuid(),
-            kgi.knowledgeGraphArtifactId().getVersionTag(),
-            binary));
   }
 
   /*
@@ -513,11 +990,30 @@ public class DefaultKnowledgeGraphHolder implements KnowledgeBaseApiInternal._ge
    * @param graph the Knowledge Graph data, wrapped in a {@link KnowledgeCarrier}
    */
   protected void initializeKnowledgeResources(KnowledgeCarrier graph) {
-    this.knowledgeGraph = graph.as(Model.class).orElse(null);
+    holderLock.lock();
+    try {
+      if (this.knowledgeGraph != null) {
+        StatisticsStageGenerator.unregister(this.knowledgeGraph.getGraph());
+        snapshotTracker.untrack(this.knowledgeGraph);
+      }
+      this.knowledgeGraph = graph.as(Model.class).orElse(null);
+      this.snapshotTracker = knowledgeGraph != null
+          ? GraphSnapshotTracker.track(knowledgeGraph)
+          : null;
 
-    this.kBase = new KnowledgeBase()
-        .withKbaseId(kgi.graphKnowledgeBaseId().toPointer())
-        .withManifestation(graph);
+      this.kBase = new KnowledgeBase()
+          .withKbaseId(kgi.graphKnowledgeBaseId().toPointer())
+          .withManifestation(graph);
+
+      graphGeneration.incrementAndGet();
+      graphEpoch.incrementAndGet();
+
+      if (useQueryStatistics && knowledgeGraph != null) {
+        collectGraphStatistics(knowledgeGraph);
+      }
+    } finally {
+      holderLock.unlock();
+    }
   }
 
   /**
@@ -0,0 +1,109 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Statement;
+
+/**
+ * Ordered set of Statement additions and removals, collected during a unit of work
+ * (e.g. the registration of an Asset, with its Carriers and Surrogates),
+ * to be applied to the Knowledge Graph within a single Write critical section.
+ *
+ * Changes are applied in the order they were recorded, so that a removal followed by
+ * an addition of the same Statement (and vice versa) has the same effect as if the two
+ * operations had been applied directly.
+ *
+ * Change sets are not thread safe, and are meant to be confined to the thread
+ * that executes the unit of work.
+ */
+public class GraphChangeSet {
+
+  /**
+   * The recorded changes, in order
+   */
+  private final List<Change> changes = new ArrayList<>();
+
+  /**
+   * Actions to be executed after the changes have been applied to the Graph
+   */
+  private final List<Runnable> onApplied = new ArrayList<>();
+
+  /**
+   * Records the addition of a list of Statements
+   * @param statements the Statements to add
+   */
+  public void add(List<Statement> statements) {
+    if (!statements.isEmpty()) {
+      changes.add(new Change(true, statements));
+    }
+  }
+
+  /**
+   * Records the removal of a list of Statements
+   * @param statements the Statements to remove
+   */
+  public void remove(List<Statement> statements) {
+    if (!statements.isEmpty()) {
+      changes.add(new Change(false, statements));
+    }
+  }
+
+  /**
+   * Registers an action to be executed once the changes have been applied,
+   * e.g. to update derived structures that should be consistent with the Graph
+   * @param action the action
+   */
+  public void onApplied(Runnable action) {
+    onApplied.add(action);
+  }
+
+  /**
+   * @return true if no addition or removal has been recorded
+   */
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  /**
+   * @return the number of Statements added or removed
+   */
+  public int size() {
+    return changes.stream().mapToInt(c -> c.statements.size()).sum();
+  }
+
+  /**
+   * Applies the recorded changes to a Graph.
+   * Assumes that the caller holds a WRITE lock on the Graph
+   * @param kg the Graph
+   */
+  public void applyTo(Model kg) {
+    for (Change change : changes) {
+      if (change.addition) {
+        kg.add(change.statements);
+      } else {
+        kg.remove(change.statements);
+      }
+    }
+  }
+
+  /**
+   * @return the actions to be executed after the changes have been applied
+   */
+  public List<Runnable> getOnApplied() {
+    return Collections.unmodifiableList(onApplied);
+  }
+
+  private static class Change {
+
+    private final boolean addition;
+    private final List<Statement> statements;
+
+    private Change(boolean addition, List<Statement> statements) {
+      this.addition = addition;
+      this.statements = statements;
+    }
+  }
+
+}
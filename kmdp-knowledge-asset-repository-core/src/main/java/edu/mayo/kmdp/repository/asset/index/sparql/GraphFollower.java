@@ -0,0 +1,148 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the Knowledge Graph of a read-only (follower) node in sync with the snapshot of the
+ * Graph persisted in the (shared) Artifact Repository by the (leader) node that accepts writes.
+ *
+ * The follower polls the snapshot periodically, and tracks the replication lag, i.e. the time
+ * elapsed since the Graph was last known to be in sync with the persisted snapshot.
+ * The lag does not include the delay with which the leader persists its changes
+ * (@see autoSaveDelay and autoSaveMaxStaleness)
+ */
+public class GraphFollower {
+
+  private static final Logger logger = LoggerFactory.getLogger(GraphFollower.class);
+
+  /**
+   * Pulls the latest snapshot, returning true if the Graph has been replaced,
+   * false if the snapshot was unchanged
+   */
+  private final Supplier<Answer<Boolean>> puller;
+
+  private final int pollInterval;
+
+  private ScheduledExecutorService poller;
+
+  private final AtomicLong polls = new AtomicLong(0);
+
+  private final AtomicLong snapshotsLoaded = new AtomicLong(0);
+
+  private final AtomicLong failedPolls = new AtomicLong(0);
+
+  private volatile long lastSyncTime = -1;
+
+  private volatile long lastLoadMillis = 0;
+
+  /**
+   * @param puller       pulls the latest snapshot into the Graph, if changed
+   * @param pollInterval the interval between polls, in seconds (0 to poll on demand only)
+   */
+  public GraphFollower(Supplier<Answer<Boolean>> puller, int pollInterval) {
+    this.puller = puller;
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Starts polling the persisted snapshot periodically, if a poll interval is set
+   */
+  public synchronized void start() {
+    if (pollInterval <= 0 || poller != null) {
+      return;
+    }
+    poller = Executors.newSingleThreadScheduledExecutor(r -> {
+      var t = new Thread(r, "KnowledgeGraphFollower");
+      t.setDaemon(true);
+      return t;
+    });
+    poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops polling
+   */
+  public synchronized void shutdown() {
+    if (poller != null) {
+      poller.shutdownNow();
+      poller = null;
+    }
+  }
+
+  /**
+   * Pulls the latest snapshot, replacing the Graph if the snapshot has changed
+   * @return true if the Graph is in sync with the persisted snapshot
+   */
+  public boolean poll() {
+    long start = System.currentTimeMillis();
+    polls.incrementAndGet();
+    Answer<Boolean> pulled;
+    try {
+      pulled = puller.get();
+    } catch (RuntimeException e) {
+      logger.error("Unable to pull the Knowledge Graph snapshot: {}", e.getMessage());
+      pulled = Answer.failed();
+    }
+    if (!pulled.isSuccess()) {
+      failedPolls.incrementAndGet();
+      logger.warn("Knowledge Graph snapshot not available - replication lag {} ms",
+          getReplicationLagMillis());
+      return false;
+    }
+    // the Graph is at least as recent as the snapshot found when the poll started
+    lastSyncTime = start;
+    if (Boolean.TRUE.equals(pulled.get())) {
+      snapshotsLoaded.incrementAndGet();
+      lastLoadMillis = System.currentTimeMillis() - start;
+      logger.info("LOADED Knowledge Graph snapshot in {} ms", lastLoadMillis);
+    }
+    return true;
+  }
+
+  /**
+   * @return the time since the Graph was last known to be in sync with the persisted snapshot,
+   * in ms, or -1 if never in sync
+   */
+  public long getReplicationLagMillis() {
+    long synced = lastSyncTime;
+    return synced >= 0 ? System.currentTimeMillis() - synced : -1;
+  }
+
+  /**
+   * @return the time the Graph was last known to be in sync, in ms since the epoch, or -1
+   */
+  public long getLastSyncTime() {
+    return lastSyncTime;
+  }
+
+  public long getPolls() {
+    return polls.get();
+  }
+
+  public long getSnapshotsLoaded() {
+    return snapshotsLoaded.get();
+  }
+
+  public long getFailedPolls() {
+    return failedPolls.get();
+  }
+
+  /**
+   * @return the time spent pulling, parsing and swapping in the latest snapshot loaded, in ms
+   */
+  public long getLastLoadMillis() {
+    return lastLoadMillis;
+  }
+
+  public int getPollInterval() {
+    return pollInterval;
+  }
+
+}
@@ -0,0 +1,159 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.listeners.StatementListener;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Statement;
+
+/**
+ * Maintains a point-in-time copy of a Knowledge Graph, used to persist the Graph
+ * without holding a lock on the live Graph while the copy is encoded.
+ *
+ * The tracker listens to the changes to the live Graph, and records them as an ordered
+ * log of additions and removals. Taking a snapshot only requires swapping that log
+ * (O(changes), rather than O(size of the Graph)), while holding a lock on the live Graph.
+ * The log is then replayed onto the private copy, outside of the lock.
+ *
+ * Bulk changes that are not notified triple by triple (e.g. removeAll) cause the copy to be
+ * rebuilt from the live Graph on the next snapshot.
+ *
+ * The copy is only ever accessed by the (single) thread that holds the persistence monitor.
+ */
+public class GraphSnapshotTracker extends StatementListener {
+
+  /**
+   * The changes to the live Graph, since the last snapshot
+   */
+  private List<Delta> pending = new ArrayList<>();
+
+  /**
+   * Flag that marks that the copy needs to be rebuilt from scratch
+   */
+  private boolean resync = true;
+
+  /**
+   * The point-in-time copy of the Graph
+   */
+  private Model copy = ModelFactory.createDefaultModel();
+
+  /**
+   * Registers a new tracker with a live Graph
+   * @param liveGraph the Graph to track
+   * @return the tracker
+   */
+  public static GraphSnapshotTracker track(Model liveGraph) {
+    var tracker = new GraphSnapshotTracker();
+    liveGraph.register(tracker);
+    return tracker;
+  }
+
+  /**
+   * Stops tracking a live Graph
+   * @param liveGraph the Graph
+   */
+  public void untrack(Model liveGraph) {
+    liveGraph.unregister(this);
+  }
+
+  @Override
+  public synchronized void addedStatement(Statement s) {
+    if (!resync) {
+      pending.add(new Delta(true, s.asTriple()));
+    }
+  }
+
+  @Override
+  public synchronized void removedStatement(Statement s) {
+    if (!resync) {
+      pending.add(new Delta(false, s.asTriple()));
+    }
+  }
+
+  @Override
+  public synchronized void notifyEvent(Model m, Object event) {
+    if (event instanceof GraphEvents
+        && event != GraphEvents.startRead && event != GraphEvents.finishRead) {
+      resync = true;
+      pending = new ArrayList<>();
+    }
+  }
+
+  /**
+   * Captures the changes to the live Graph since the last snapshot.
+   * Assumes that the caller holds (at least) a READ lock on the live Graph,
+   * so that the Graph is not modified concurrently
+   * @param liveGraph the live Graph
+   * @return a pending snapshot, to be completed outside of the lock
+   */
+  public synchronized PendingSnapshot capture(Model liveGraph) {
+    if (resync) {
+      resync = false;
+      pending = new ArrayList<>();
+      var full = ModelFactory.createDefaultModel();
+      full.setNsPrefixes(liveGraph.getNsPrefixMap());
+      full.add(liveGraph);
+      return new PendingSnapshot(full, null);
+    }
+    List<Delta> changes = pending;
+    pending = new ArrayList<>();
+    return new PendingSnapshot(null, changes);
+  }
+
+  /**
+   * A snapshot, either as a full copy of the Graph, or as the changes to be applied
+   * to the previous snapshot
+   */
+  public class PendingSnapshot {
+
+    private final Model full;
+    private final List<Delta> changes;
+
+    private PendingSnapshot(Model full, List<Delta> changes) {
+      this.full = full;
+      this.changes = changes;
+    }
+
+    /**
+     * Completes the snapshot, replaying the changes onto the copy of the Graph
+     * @return the point-in-time copy of the Graph
+     */
+    public Model complete() {
+      if (full != null) {
+        copy = full;
+      } else {
+        var graph = copy.getGraph();
+        for (Delta d : changes) {
+          if (d.addition) {
+            graph.add(d.triple);
+          } else {
+            graph.delete(d.triple);
+          }
+        }
+      }
+      return copy;
+    }
+
+    /**
+     * @return the number of changes captured by this snapshot, or -1 for a full copy
+     */
+    public int size() {
+      return full != null ? -1 : changes.size();
+    }
+  }
+
+  private static class Delta {
+
+    private final boolean addition;
+    private final Triple triple;
+
+    private Delta(boolean addition, Triple triple) {
+      this.addition = addition;
+      this.triple = triple;
+    }
+  }
+
+}
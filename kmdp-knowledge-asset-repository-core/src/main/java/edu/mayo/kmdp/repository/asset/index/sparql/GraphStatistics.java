@@ -0,0 +1,132 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.engine.optimizer.StatsMatcher;
+import org.apache.jena.sparql.engine.optimizer.reorder.ReorderTransformation;
+import org.apache.jena.sparql.engine.optimizer.reorder.ReorderWeighted;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.sparql.util.FmtUtils;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * Predicate frequency statistics of a Knowledge Graph, used to choose the join order
+ * of the basic graph patterns in the queries against that Graph.
+ *
+ * The statistics are collected with a single scan of the Graph, and are expressed
+ * in the ARQ stats (SSE) format, which drives a weighted reorder transformation:
+ * - the number of triples for each predicate
+ * - the number of instances of each rdf:type
+ *
+ * Statistics are a snapshot, which becomes (gradually) outdated as the Graph changes.
+ */
+public class GraphStatistics {
+
+  private final long generation;
+
+  private final long count;
+
+  private final Map<Node, Long> predicateCounts;
+
+  private final Map<Node, Long> typeCounts;
+
+  private final ReorderTransformation reorder;
+
+  private GraphStatistics(
+      long generation, long count, Map<Node, Long> predicateCounts, Map<Node, Long> typeCounts) {
+    this.generation = generation;
+    this.count = count;
+    this.predicateCounts = Collections.unmodifiableMap(predicateCounts);
+    this.typeCounts = Collections.unmodifiableMap(typeCounts);
+    this.reorder = new ReorderWeighted(new StatsMatcher(SSE.parse(toSSE())));
+  }
+
+  /**
+   * Collects the statistics of a Graph.
+   * Assumes that the caller holds (at least) a READ lock on the Graph
+   *
+   * @param model      the Graph
+   * @param generation the write generation of the Graph
+   * @return the statistics
+   */
+  public static GraphStatistics collect(Model model, long generation) {
+    Graph graph = model.getGraph();
+    Map<Node, Long> predicates = new HashMap<>();
+    Map<Node, Long> types = new HashMap<>();
+    long count = 0;
+
+    ExtendedIterator<Triple> triples = graph.find(Node.ANY, Node.ANY, Node.ANY);
+    try {
+      while (triples.hasNext()) {
+        Triple t = triples.next();
+        count++;
+        predicates.merge(t.getPredicate(), 1L, Long::sum);
+        if (RDF.type.asNode().equals(t.getPredicate()) && t.getObject().isURI()) {
+          types.merge(t.getObject(), 1L, Long::sum);
+        }
+      }
+    } finally {
+      triples.close();
+    }
+    return new GraphStatistics(generation, count, predicates, types);
+  }
+
+  /**
+   * @return the statistics, in the ARQ stats format
+   */
+  public String toSSE() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("(stats\n");
+    sb.append("  (meta (count ").append(count).append("))\n");
+    typeCounts.forEach((type, n) -> sb.append("  ((VAR ")
+        .append(FmtUtils.stringForNode(RDF.type.asNode()))
+        .append(" ")
+        .append(FmtUtils.stringForNode(type))
+        .append(") ").append(n).append(")\n"));
+    predicateCounts.forEach((pred, n) -> {
+      if (pred.isURI()) {
+        sb.append("  (").append(FmtUtils.stringForNode(pred)).append(" ").append(n).append(")\n");
+      }
+    });
+    // predicates not in the graph
+    sb.append("  (other 0)\n");
+    sb.append(")");
+    return sb.toString();
+  }
+
+  /**
+   * @return the join reorder transformation driven by these statistics
+   */
+  public ReorderTransformation getReorderTransformation() {
+    return reorder;
+  }
+
+  /**
+   * @return the write generation of the Graph when the statistics were collected
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @return the number of triples in the Graph
+   */
+  public long getCount() {
+    return count;
+  }
+
+  public Map<Node, Long> getPredicateCounts() {
+    return predicateCounts;
+  }
+
+  public Map<Node, Long> getTypeCounts() {
+    return typeCounts;
+  }
+
+}
@@ -1,5 +1,7 @@
 package edu.mayo.kmdp.repository.asset.index.sparql;
 
+import java.util.function.Function;
+import org.apache.jena.rdf.model.Model;
 import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.aspects.LogLevel;
 import org.omg.spec.api4kp._20200801.aspects.Loggable;
@@ -14,4 +16,27 @@ public interface KnowledgeGraphHolder {
   void resetGraph();
 
   KnowledgeCarrier getKnowledgeGraph();
+
+  /**
+   * The write generation of the Graph, a counter that changes every time
+   * the content of the Graph is modified (or the Graph is reset/reloaded)
+   * @return the current generation of the Graph
+   */
+  long getGraphGeneration();
+
+  /**
+   * @return true if the Graph is a read-only replica, which does not accept writes
+   */
+  default boolean isReadOnly() {
+    return false;
+  }
+
+  /**
+   * Applies a client-provided function to read to the Graph,
+   * wrapping it in a Graph Read Lock
+   * @param graphReader Callback function to the client's read operations
+   * @param <T> the return type of the read operation
+   * @return T
+   */
+  <T> T readGraphContent(Function<Model, T> graphReader);
 }
@@ -0,0 +1,84 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.query.ARQ;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.main.StageBuilder;
+import org.apache.jena.sparql.engine.main.StageGenerator;
+import org.apache.jena.sparql.engine.main.StageGeneratorGeneric;
+import org.apache.jena.sparql.engine.optimizer.reorder.ReorderTransformation;
+
+/**
+ * ARQ stage generator that evaluates the basic graph patterns of the queries
+ * against a Knowledge Graph in the join order chosen by the Graph's {@link GraphStatistics}.
+ *
+ * The generator is installed (once) in the global ARQ context, and applies to any Graph
+ * that has registered its statistics. Queries against other Graphs, and patterns
+ * that consist of a single triple, are delegated to the previously installed generator,
+ * which uses ARQ's default fixed reordering.
+ */
+public class StatisticsStageGenerator implements StageGenerator {
+
+  /**
+   * The reorder transformations, by (registered) Graph
+   */
+  private static final Map<Graph, ReorderTransformation> reorderings =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private static boolean installed = false;
+
+  private final StageGenerator fallback;
+
+  private StatisticsStageGenerator(StageGenerator fallback) {
+    this.fallback = fallback;
+  }
+
+  /**
+   * Registers (or updates) the statistics of a Graph, installing the generator if needed
+   *
+   * @param graph the Graph
+   * @param stats the statistics of the Graph
+   */
+  public static void register(Graph graph, GraphStatistics stats) {
+    install();
+    reorderings.put(graph, stats.getReorderTransformation());
+  }
+
+  /**
+   * Unregisters a Graph, reverting its queries to the default (fixed) reordering
+   *
+   * @param graph the Graph
+   */
+  public static void unregister(Graph graph) {
+    reorderings.remove(graph);
+  }
+
+  private static synchronized void install() {
+    if (!installed) {
+      StageGenerator current = StageBuilder.getGenerator(ARQ.getContext());
+      if (current == null) {
+        current = new StageGeneratorGeneric();
+      }
+      StageBuilder.setGenerator(ARQ.getContext(), new StatisticsStageGenerator(current));
+      installed = true;
+    }
+  }
+
+  @Override
+  public QueryIterator execute(
+      BasicPattern pattern, QueryIterator input, ExecutionContext execCxt) {
+    ReorderTransformation reorder = pattern.size() > 1
+        ? reorderings.get(execCxt.getActiveGraph())
+        : null;
+    if (reorder == null) {
+      return fallback.execute(pattern, input, execCxt);
+    }
+    return StageBuilder.executeInline.execute(reorder.reorder(pattern), input, execCxt);
+  }
+
+}
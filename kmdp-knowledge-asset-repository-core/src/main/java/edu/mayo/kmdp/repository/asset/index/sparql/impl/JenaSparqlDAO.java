@@ -5,27 +5,34 @@ import static edu.mayo.kmdp.repository.asset.index.sparql.impl.SparqlIndex.Inter
 import static org.apache.jena.rdf.model.ResourceFactory.createResource;
 
 import edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder;
+import edu.mayo.kmdp.repository.asset.index.sparql.GraphChangeSet;
+import edu.mayo.kmdp.repository.asset.query.QueryLane;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.QueryCancelledException;
 import org.apache.jena.query.QueryExecutionFactory;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
-import org.apache.jena.rdf.model.SimpleSelector;
 import org.apache.jena.rdf.model.Statement;
+import org.omg.spec.api4kp._20200801.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -40,6 +47,29 @@ public class JenaSparqlDAO {
   @Autowired
   DefaultKnowledgeGraphHolder knowledgeGraphHolder;
 
+  /**
+   * Timeout for internal (index) queries, in seconds
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.internalQueryTimeout:120}")
+  private int internalQueryTimeout = 120;
+
+  /**
+   * Max number of internal (index) queries evaluated concurrently
+   */
+  @Value("${edu.mayo.kmdp.repository.asset.graph.internalQueryConcurrency:16}")
+  private int internalQueryConcurrency = 16;
+
+  /**
+   * The lane where internal queries are evaluated, with permits of its own, which are not
+   * shared with client queries (@see GraphQueryGovernor)
+   */
+  private QueryLane internalLane = newInternalLane();
+
+  /**
+   * The changes collected by the unit of work (if any) executed by the current thread
+   */
+  private final ThreadLocal<GraphChangeSet> unitOfWork = new ThreadLocal<>();
+
   /**
    * Default constructor
    */
@@ -55,6 +85,24 @@ public class JenaSparqlDAO {
     this.knowledgeGraphHolder = graphHolder;
   }
 
+  @PostConstruct
+  void initInternalLane() {
+    internalLane = newInternalLane();
+  }
+
+  private QueryLane newInternalLane() {
+    // internal lookups wait for a permit, rather than being rejected
+    return new QueryLane("internal", internalQueryConcurrency, Integer.MAX_VALUE,
+        TimeUnit.SECONDS.toMillis(internalQueryTimeout));
+  }
+
+  /**
+   * @return the lane where internal queries are evaluated
+   */
+  public QueryLane getInternalLane() {
+    return internalLane;
+  }
+
   /**
    * Resets the underlying Graph
    */
@@ -70,6 +118,71 @@ public class JenaSparqlDAO {
     knowledgeGraphHolder.shutdownKnowledgeGraph();
   }
 
+  /**
+   * Executes a unit of work, collecting the Statements stored and removed by the work,
+   * then applying them to the Graph as a whole, within a single Write critical section.
+   * <p>
+   * Nested units of work join the outermost one.
+   * Reads executed within a unit of work see the Graph as it was before the unit of work;
+   * the changes are discarded if the work fails.
+   *
+   * @param work the unit of work
+   */
+  public void inUnitOfWork(Runnable work) {
+    if (unitOfWork.get() != null) {
+      work.run();
+      return;
+    }
+    var changes = new GraphChangeSet();
+    unitOfWork.set(changes);
+    try {
+      work.run();
+    } finally {
+      unitOfWork.remove();
+    }
+    knowledgeGraphHolder.applyChanges(changes);
+    changes.getOnApplied().forEach(Runnable::run);
+  }
+
+  /**
+   * Executes a unit of work, collecting the Statements stored and removed by the work,
+   * but returning them to the caller rather than applying them to the Graph,
+   * e.g. to apply them to a Graph that is being rebuilt.
+   * <p>
+   * The actions that would have been executed after the changes were applied are discarded.
+   *
+   * @param work the unit of work
+   * @return the changes collected during the unit of work
+   */
+  public GraphChangeSet captureUnitOfWork(Runnable work) {
+    if (unitOfWork.get() != null) {
+      throw new IllegalStateException("Unable to capture a nested unit of work");
+    }
+    var changes = new GraphChangeSet();
+    unitOfWork.set(changes);
+    try {
+      work.run();
+    } finally {
+      unitOfWork.remove();
+    }
+    return changes;
+  }
+
+  /**
+   * Executes an action once the changes made by the current unit of work have been applied
+   * to the Graph, or immediately if there is no unit of work in progress
+   *
+   * @param action the action
+   */
+  public void afterWrite(Runnable action) {
+    var changes = unitOfWork.get();
+    if (changes != null) {
+      changes.onApplied(action);
+    } else {
+      action.run();
+    }
+  }
+
   /**
    * Store a single RDF triple S,P,O. Used in testing only
    *
@@ -83,7 +196,7 @@ public class JenaSparqlDAO {
         ResourceFactory.createProperty(predicate.toString()),
         createResource(object.toString()));
 
-    knowledgeGraphHolder.writeContentToGraph(kg -> kg.add(s));
+    store(Collections.singletonList(s));
   }
 
   /**
@@ -92,6 +205,11 @@ public class JenaSparqlDAO {
    * @param statements the triples to store
    */
   public void store(List<Statement> statements) {
+    var changes = unitOfWork.get();
+    if (changes != null) {
+      changes.add(statements);
+      return;
+    }
     knowledgeGraphHolder.writeContentToGraph(kg -> kg.add(statements));
   }
 
@@ -101,6 +219,11 @@ public class JenaSparqlDAO {
    * @param statements the triples to remove
    */
   public void remove(List<Statement> statements) {
+    var changes = unitOfWork.get();
+    if (changes != null) {
+      changes.remove(statements);
+      return;
+    }
     knowledgeGraphHolder.writeContentToGraph(kg -> kg.remove(statements));
   }
 
@@ -110,18 +233,7 @@ public class JenaSparqlDAO {
    * @param subjectURI the subject S* such that any triple <S* P O> will be removed
    */
   public void removeBySubject(String subjectURI) {
-    List<Statement> stats = knowledgeGraphHolder.readGraphContent(kg -> {
-      List<Statement> ss = new LinkedList<>();
-      kg.listStatements(
-          new SimpleSelector() {
-            @Override
-            public boolean test(Statement s) {
-              return s.getSubject().getURI().equals(subjectURI);
-            }
-          }).forEachRemaining(ss::add);
-      return ss;
-    });
-    remove(stats);
+    removeBySubjects(Collections.singleton(subjectURI));
   }
 
   /**
@@ -130,23 +242,31 @@ public class JenaSparqlDAO {
    * @param subjectURIs the subjects S* such that any triple <S* P O> will be removed
    */
   public void removeBySubjects(Set<String> subjectURIs) {
-    List<Statement> stats = knowledgeGraphHolder.readGraphContent(kg -> {
-      List<Statement> ss = new LinkedList<>();
-      kg.listStatements(
-          new SimpleSelector() {
-            @Override
-            public boolean test(Statement s) {
-              return subjectURIs.stream().anyMatch(id -> s.getSubject().getURI().equals(id));
-            }
-          }).forEachRemaining(ss::add);
+    remove(readBySubjects(subjectURIs));
+  }
+
+  /**
+   * Read all the statements that share any one of a common set of subjects
+   *
+   * @param subjectURIs the subjects S* such that any triple <S* P O> will be returned
+   * @return the statements
+   */
+  public List<Statement> readBySubjects(Set<String> subjectURIs) {
+    return knowledgeGraphHolder.readGraphContent(kg -> {
+      List<Statement> ss = new ArrayList<>();
+      // one (indexed) lookup per subject, rather than a scan of the whole graph
+      subjectURIs.forEach(id ->
+          kg.listStatements(createResource(id), null, (RDFNode) null).forEachRemaining(ss::add));
       return ss;
     });
-    remove(stats);
   }
 
   /**
    * Run a custom SPARQL query.
-   * The query is expected to be a READ query
+   * The query is expected to be a READ query.
+   *
+   * Used for internal lookups, which are evaluated in the internal lane: they are not queued
+   * behind client queries, and are bound by the internal query timeout
    *
    * @param pss      the parametric query
    * @param params   the query's parameters
@@ -161,13 +281,24 @@ public class JenaSparqlDAO {
     literalParams.forEach(pss::setLiteral);
 
     logger.trace("Executing SPARQL query {}", pss);
-    knowledgeGraphHolder.processGraphContent(kg -> {
-      var qexec = QueryExecutionFactory.create(pss.asQuery(), kg);
-      ResultSet rs = qexec.execSelect();
-      rs.forEachRemaining(consumer);
-    });
-
-    pss.clearParams();
+    Answer<Void> ans;
+    try {
+      ans = internalLane.submit(remaining -> {
+        knowledgeGraphHolder.processGraphContent(kg -> {
+          try (var qexec = QueryExecutionFactory.create(pss.asQuery(), kg)) {
+            QueryLane.applyTimeout(qexec, remaining);
+            ResultSet rs = qexec.execSelect();
+            rs.forEachRemaining(consumer);
+          }
+        });
+        return Answer.succeed();
+      });
+    } finally {
+      pss.clearParams();
+    }
+    if (!ans.isSuccess()) {
+      throw new QueryCancelledException();
+    }
   }
 
   /**
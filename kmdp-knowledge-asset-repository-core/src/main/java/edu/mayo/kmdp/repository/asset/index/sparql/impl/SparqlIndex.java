@@ -18,7 +18,10 @@ import static org.omg.spec.api4kp._20200801.taxonomy.publicationstatus.Publicati
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import edu.mayo.kmdp.repository.asset.index.AssetRemoval;
+import edu.mayo.kmdp.repository.asset.index.FullTextIndex;
 import edu.mayo.kmdp.repository.asset.index.Index;
+import edu.mayo.kmdp.repository.asset.index.sparql.GraphChangeSet;
 import edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphInfo;
 import edu.mayo.kmdp.util.DateTimeUtil;
 import edu.mayo.kmdp.util.StreamUtil;
@@ -27,11 +30,13 @@ import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,6 +44,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.jena.query.ParameterizedSparqlString;
@@ -47,9 +54,11 @@ import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.sparql.util.FmtUtils;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.aspects.LogLevel;
 import org.omg.spec.api4kp._20200801.aspects.Loggable;
 import org.omg.spec.api4kp._20200801.id.ConceptIdentifier;
@@ -147,6 +156,12 @@ public class SparqlIndex implements Index {
   public static final String USES_METHOD = "uses-method";
   public static final URI USES_METHOD_URI = URI.create(API4KP + USES_METHOD);
 
+  public static final String HAS_DIGEST = "hasContentDigest";
+  public static final URI HAS_DIGEST_URI = URI.create(KMD + HAS_DIGEST);
+
+  public static final String TOMBSTONED_ON = "tombstonedOn";
+  public static final URI TOMBSTONED_ON_URI = URI.create(KMD + TOMBSTONED_ON);
+
   public static final String HAS_EXPRESSION = "hasExpression";
   public static final URI HAS_EXPRESSION_URI = URI.create(API4KP + HAS_EXPRESSION);
   public static final String PLAYS_ROLE = "hasExpression";
@@ -161,6 +176,18 @@ public class SparqlIndex implements Index {
   @Autowired
   protected KnowledgeGraphInfo kgi;
 
+  /**
+   * Full-text index over the Asset names and inlined Carrier expressions.
+   * Loaded from the Knowledge Graph on first use, then maintained as Assets are (un)registered
+   */
+  protected final FullTextIndex textIndex = new FullTextIndex();
+  private final ReentrantLock textIndexLock = new ReentrantLock();
+  private volatile boolean textIndexLoaded = false;
+  /**
+   * The epoch of the Graph the full-text index has been loaded from
+   */
+  private volatile long textIndexEpoch = -1;
+
   public SparqlIndex() {
     // empty constructor
   }
@@ -175,28 +202,74 @@ public class SparqlIndex implements Index {
   @Override
   public void reset() {
     this.jenaSparqlDao.reinitialize();
+    textIndexLock.lock();
+    try {
+      textIndex.clear();
+      textIndexLoaded = false;
+    } finally {
+      textIndexLock.unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the Knowledge Graph, capturing the units of work submitted by the loader, and
+   * applying them to the new Graph, then resets the full-text index, which will be reloaded
+   * from the new Graph on first use
+   *
+   * @param loader populates the new Index, submitting units of work to the given sink
+   * @return the outcome of the replacement of the Knowledge Graph
+   */
+  @Override
+  public Answer<Void> rebuild(Consumer<Consumer<Runnable>> loader) {
+    Answer<Void> ans = jenaSparqlDao.getKnowledgeGraphHolder().rebuildGraph(newGraph ->
+        loader.accept(work -> {
+          GraphChangeSet changes = jenaSparqlDao.captureUnitOfWork(work);
+          synchronized (newGraph) {
+            changes.applyTo(newGraph);
+          }
+        }));
+    textIndexLock.lock();
+    try {
+      textIndex.clear();
+      textIndexLoaded = false;
+    } finally {
+      textIndexLock.unlock();
+    }
+    return ans;
   }
 
   @Override
   @Loggable
   public void registerAssetByCanonicalSurrogate(KnowledgeAsset assetSurrogate,
       ResourceIdentifier surrogateId, String surrogateMimeType) {
-    registerAsset(
-        assetSurrogate,
-        surrogateId,
-        surrogateMimeType);
-    assetSurrogate.getCarriers()
-        .forEach(ka -> registerArtifactToAsset(
-            assetSurrogate.getAssetId(),
-            ka,
-            Util.coalesce(ModelMIMECoder.encode(ka.getRepresentation()), ka.getMimeType())));
-    // exclude the canonical surrogate, which is processed by 'registerAsset'
-    assetSurrogate.getSurrogate().stream()
-        .filter(surr -> !surr.getArtifactId().sameAs(surrogateId))
-        .forEach(surr -> registerSurrogateToAsset(
-            assetSurrogate.getAssetId(),
-            surr,
-            ModelMIMECoder.encode(surr.getRepresentation())));
+    inUnitOfWork(() -> {
+      registerAsset(
+          assetSurrogate,
+          surrogateId,
+          surrogateMimeType);
+      assetSurrogate.getCarriers()
+          .forEach(ka -> registerArtifactToAsset(
+              assetSurrogate.getAssetId(),
+              ka,
+              Util.coalesce(ModelMIMECoder.encode(ka.getRepresentation()), ka.getMimeType())));
+      // exclude the canonical surrogate, which is processed by 'registerAsset'
+      assetSurrogate.getSurrogate().stream()
+          .filter(surr -> !surr.getArtifactId().sameAs(surrogateId))
+          .forEach(surr -> registerSurrogateToAsset(
+              assetSurrogate.getAssetId(),
+              surr,
+              ModelMIMECoder.encode(surr.getRepresentation())));
+    });
+  }
+
+  @Override
+  public void inUnitOfWork(Runnable work) {
+    this.jenaSparqlDao.inUnitOfWork(work);
+  }
+
+  @Override
+  public void afterUnitOfWork(Runnable action) {
+    this.jenaSparqlDao.afterWrite(action);
   }
 
   /**
@@ -542,6 +615,10 @@ public class SparqlIndex implements Index {
             asset.getFormalType(), asset.getRole(), asset.getAnnotation(),
             asset.getLinks(), asset.getLifecycle(), asset.getProcessingMethod(),
             asset.getMemberOf()));
+
+    if (!Util.isEmpty(asset.getName())) {
+      updateTextIndex(txt -> txt.indexLabel(asset.getAssetId().getVersionId(), asset.getName()));
+    }
   }
 
 
@@ -553,6 +630,7 @@ public class SparqlIndex implements Index {
     }
     var assetId = asset.getResourceId().toString();
     jenaSparqlDao.removeBySubject(assetId);
+    updateTextIndex(txt -> txt.removeSeries(asset.getResourceId()));
   }
 
   @Override
@@ -581,11 +659,132 @@ public class SparqlIndex implements Index {
               ids.add(carrV.getVersionId().toString()));
     });
 
-    jenaSparqlDao.removeBySubjects(ids);
-    jenaSparqlDao.remove(singletonList(objA(
-        asset.getResourceId().toString(),
-        HAS_VERSION_URI.toString(),
-        asset.getVersionId().toString())));
+    inUnitOfWork(() -> {
+      jenaSparqlDao.removeBySubjects(ids);
+      jenaSparqlDao.remove(singletonList(objA(
+          asset.getResourceId().toString(),
+          HAS_VERSION_URI.toString(),
+          asset.getVersionId().toString())));
+    });
+    updateTextIndex(txt -> txt.remove(asset.getVersionId()));
+  }
+
+  @Override
+  public AssetRemoval collectAssetRemoval(Collection<ResourceIdentifier> assetSeriesIds) {
+    Set<String> seriesUris = assetSeriesIds.stream()
+        .filter(id -> !kgi.isKnowledgeGraphAsset(id.getUuid()))
+        .map(id -> id.getResourceId().toString())
+        .collect(Collectors.toSet());
+    var removal = new AssetRemoval();
+    if (seriesUris.isEmpty()) {
+      return removal;
+    }
+
+    this.jenaSparqlDao.runSparql(
+        new ParameterizedSparqlString(InternalQueryManager.assetContentsSelect(seriesUris)),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        querySolution -> {
+          String asset = querySolution.getResource("?asset").getURI();
+          removal.addAssetVersion(
+              URI.create(asset), URI.create(querySolution.getResource("?version").getURI()));
+          if (querySolution.contains("?artifactVersion")) {
+            removal.addArtifactVersion(
+                URI.create(querySolution.getResource("?artifact").getURI()),
+                SemanticIdentifier.newVersionIdAsPointer(
+                    URI.create(querySolution.getResource("?artifactVersion").getURI())));
+          }
+        });
+    return removal;
+  }
+
+  @Override
+  @Loggable(level = LogLevel.INFO)
+  public void unregisterAssets(AssetRemoval removal) {
+    if (removal.isEmpty()) {
+      return;
+    }
+    Set<String> ids = removal.getAllIds().stream()
+        .map(URI::toString)
+        .collect(Collectors.toSet());
+    inUnitOfWork(() -> jenaSparqlDao.removeBySubjects(ids));
+    updateTextIndex(txt -> removal.getAssetVersions().forEach(txt::remove));
+  }
+
+  /**
+   * Hides an Asset version from the Index, removing the triples that describe it and its link
+   * to its series, in a single unit of work. Only the links to its Carriers and Surrogates are
+   * retained, together with the tombstone, until the version is compacted.
+   *
+   * @param asset the ID of the Asset version
+   */
+  @Override
+  @Loggable(level = LogLevel.INFO)
+  public void tombstoneAssetVersion(ResourceIdentifier asset) {
+    if (kgi.isKnowledgeGraphAsset(asset.getUuid())) {
+      throw new IllegalArgumentException("Unable remove the Knowledge Graph from the Index");
+    }
+    String versionId = asset.getVersionId().toString();
+    List<Statement> hidden = jenaSparqlDao.readBySubjects(singleton(versionId)).stream()
+        .filter(st -> !isArtifactLink(st))
+        .collect(Collectors.toList());
+
+    inUnitOfWork(() -> {
+      jenaSparqlDao.remove(hidden);
+      jenaSparqlDao.remove(singletonList(objA(
+          asset.getResourceId().toString(),
+          HAS_VERSION_URI.toString(),
+          versionId)));
+      jenaSparqlDao.store(singletonList(toLongValueStatement(
+          asset.getVersionId(), TOMBSTONED_ON_URI, System.currentTimeMillis())));
+    });
+    updateTextIndex(txt -> txt.remove(asset.getVersionId()));
+  }
+
+  private boolean isArtifactLink(Statement st) {
+    String predicate = st.getPredicate().getURI();
+    return HAS_CARRIER_URI.toString().equals(predicate)
+        || HAS_SURROGATE_URI.toString().equals(predicate);
+  }
+
+  @Override
+  public boolean isTombstoned(ResourceIdentifier asset) {
+    return !jenaSparqlDao
+        .readValueBySubjectAndPredicate(asset.getVersionId(), TOMBSTONED_ON_URI)
+        .isEmpty();
+  }
+
+  @Override
+  public AssetRemoval collectTombstones(int limit) {
+    return collectTombstones(Collections.emptyMap(), limit);
+  }
+
+  @Override
+  public AssetRemoval collectTombstone(ResourceIdentifier asset) {
+    return collectTombstones(Collections.singletonMap("?version", asset.getVersionId()), 1);
+  }
+
+  private AssetRemoval collectTombstones(Map<String, URI> params, int limit) {
+    var removal = new AssetRemoval();
+    this.jenaSparqlDao.runSparql(
+        new ParameterizedSparqlString(InternalQueryManager.TOMBSTONES_SELECT),
+        params,
+        Collections.emptyMap(),
+        querySolution -> {
+          URI version = URI.create(querySolution.getResource("?version").getURI());
+          if (!removal.getAssetVersions().contains(version)
+              && removal.getAssetVersions().size() >= limit) {
+            return;
+          }
+          removal.addAssetVersion(version);
+          if (querySolution.contains("?artifactVersion")) {
+            removal.addArtifactVersion(
+                URI.create(querySolution.getResource("?artifact").getURI()),
+                SemanticIdentifier.newVersionIdAsPointer(
+                    URI.create(querySolution.getResource("?artifactVersion").getURI())));
+          }
+        });
+    return removal;
   }
 
   @Override
@@ -624,15 +823,23 @@ public class SparqlIndex implements Index {
                 artifactId.getUuid() + "/versions/" + artifactId.getVersionTag());
     statements.add(toStatement(artifactId.getVersionId(), LOCATOR_URI, accessURL));
 
-    if (artifact.getInlinedExpression() != null
+    boolean hasTextualExpression = artifact.getInlinedExpression() != null
         && TXT.sameAs(artifact.getRepresentation().getFormat())
-        && !HTML.sameAs(artifact.getRepresentation().getLanguage())) {
+        && !HTML.sameAs(artifact.getRepresentation().getLanguage());
+    if (hasTextualExpression) {
       statements.add(toStringValueStatement(
           artifact.getArtifactId().getVersionId(),
           HAS_EXPRESSION_URI,
           artifact.getInlinedExpression()));
     }
     this.jenaSparqlDao.store(statements);
+
+    if (hasTextualExpression) {
+      updateTextIndex(txt -> txt.indexExpression(
+          assetPointer.getVersionId(),
+          artifactId.getVersionId(),
+          artifact.getInlinedExpression()));
+    }
   }
 
   private Long getEstablishedOn(Publication lifecycle, ResourceIdentifier resourceId) {
@@ -692,6 +899,34 @@ public class SparqlIndex implements Index {
     this.jenaSparqlDao.store(statements);
   }
 
+  @Override
+  public void registerSurrogateDigest(ResourceIdentifier surrogateId, String digest) {
+    if (kgi.isKnowledgeGraphSurrogate(surrogateId.getUuid())) {
+      return;
+    }
+    List<Statement> existing = this.jenaSparqlDao
+        .readValueBySubjectAndPredicate(surrogateId.getVersionId(), HAS_DIGEST_URI).stream()
+        .map(lit -> toStringValueStatement(
+            surrogateId.getVersionId(), HAS_DIGEST_URI, lit.getString()))
+        .collect(Collectors.toList());
+    inUnitOfWork(() -> {
+      this.jenaSparqlDao.remove(existing);
+      this.jenaSparqlDao.store(singletonList(
+          toStringValueStatement(surrogateId.getVersionId(), HAS_DIGEST_URI, digest)));
+    });
+  }
+
+  @Override
+  public Optional<String> getSurrogateDigest(ResourceIdentifier surrogateId) {
+    if (kgi.isKnowledgeGraphSurrogate(surrogateId.getUuid())) {
+      return Optional.empty();
+    }
+    return this.jenaSparqlDao
+        .readValueBySubjectAndPredicate(surrogateId.getVersionId(), HAS_DIGEST_URI).stream()
+        .map(Literal::getString)
+        .findFirst();
+  }
+
   @Override
   public Optional<ResourceIdentifier> getCanonicalSurrogateForAsset(
       ResourceIdentifier assetPointer) {
@@ -705,6 +940,42 @@ public class SparqlIndex implements Index {
         .findFirst();
   }
 
+  @Override
+  public Map<ResourceIdentifier, List<Pointer>> resolveCanonicalSurrogateVersions(
+      Collection<ResourceIdentifier> assetVersionIds) {
+    Map<String, Set<String>> requested = new HashMap<>();
+    assetVersionIds.stream()
+        .filter(id -> id.getUuid() != null && id.getVersionTag() != null)
+        .filter(id -> !kgi.isKnowledgeGraphAsset(id.getUuid()))
+        .forEach(id -> requested
+            .computeIfAbsent(id.getUuid().toString(), tag -> new HashSet<>())
+            .add(id.getVersionTag()));
+    Map<ResourceIdentifier, List<Pointer>> resolved = new LinkedHashMap<>();
+    if (requested.isEmpty()) {
+      return resolved;
+    }
+
+    Map<String, ResourceIdentifier> assetVersions = new HashMap<>();
+    this.jenaSparqlDao.runSparql(
+        new ParameterizedSparqlString(
+            InternalQueryManager.canonicalSurrogateVersionsSelect(requested)),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        querySolution -> {
+          Resource version = querySolution.getResource("?version");
+          ResourceIdentifier assetVersion = assetVersions.computeIfAbsent(
+              version.getURI(), uri -> resourceToResourceIdentifier(version));
+          resolved.computeIfAbsent(assetVersion, av -> new ArrayList<>())
+              .add(this.versionInfoToPointer(
+                  querySolution.getResource("?surrogate"),
+                  querySolution.getResource("?sVersion"),
+                  querySolution.getLiteral("?svTag"),
+                  querySolution.getLiteral("?svTimestamp"),
+                  querySolution.getLiteral("?format")));
+        });
+    return resolved;
+  }
+
   @Override
   public URI getLocation(ResourceIdentifier pointer) {
     if (pointer instanceof Pointer) {
@@ -1037,6 +1308,88 @@ public class SparqlIndex implements Index {
   }
 
 
+  /**
+   * Full-text search over the names of the Assets, and the inlined expressions of their Carriers
+   *
+   * @param text  the search text
+   * @param limit the max number of results (non-positive for no limit)
+   * @return the IDs of the matching Asset versions, by descending relevance
+   */
+  @Override
+  public List<ResourceIdentifier> searchAssets(String text, int limit) {
+    if (!textIndexLoaded || textIndexEpoch != graphEpoch()) {
+      // not loaded yet, or the Graph has been replaced (e.g. pulled by a follower)
+      loadTextIndex();
+    }
+    return textIndex.search(text, limit).stream()
+        .map(uri -> newVersionId(uri))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Applies an incremental update to the full-text index.
+   * Updates are skipped while the index is not loaded, since the index will be (re)built from
+   * the Graph, but are serialized with any concurrent (re)build, so that no update is lost.
+   * Within a unit of work, updates are deferred until the work's changes are applied to the Graph
+   *
+   * @param update the update
+   */
+  private void updateTextIndex(Consumer<FullTextIndex> update) {
+    jenaSparqlDao.afterWrite(() -> applyTextIndexUpdate(update));
+  }
+
+  private void applyTextIndexUpdate(Consumer<FullTextIndex> update) {
+    if (textIndexLoaded) {
+      update.accept(textIndex);
+      return;
+    }
+    textIndexLock.lock();
+    try {
+      if (textIndexLoaded) {
+        update.accept(textIndex);
+      }
+    } finally {
+      textIndexLock.unlock();
+    }
+  }
+
+  /**
+   * (Re)builds the full-text index from the labels and expressions in the Knowledge Graph
+   */
+  private void loadTextIndex() {
+    textIndexLock.lock();
+    try {
+      long epoch = graphEpoch();
+      if (textIndexLoaded && textIndexEpoch == epoch) {
+        return;
+      }
+      textIndex.clear();
+      textIndexEpoch = epoch;
+      this.jenaSparqlDao.runSparql(
+          new ParameterizedSparqlString(InternalQueryManager.ASSET_LABELS_SELECT),
+          Collections.emptyMap(),
+          Collections.emptyMap(),
+          qs -> textIndex.indexLabel(
+              URI.create(qs.getResource("?asset").getURI()),
+              qs.getLiteral("?label").getString()));
+      this.jenaSparqlDao.runSparql(
+          new ParameterizedSparqlString(InternalQueryManager.CARRIER_EXPRESSIONS_SELECT),
+          Collections.emptyMap(),
+          Collections.emptyMap(),
+          qs -> textIndex.indexExpression(
+              URI.create(qs.getResource("?asset").getURI()),
+              URI.create(qs.getResource("?version").getURI()),
+              qs.getLiteral("?expr").getString()));
+      textIndexLoaded = true;
+    } finally {
+      textIndexLock.unlock();
+    }
+  }
+
+  private long graphEpoch() {
+    return jenaSparqlDao.getKnowledgeGraphHolder().getGraphEpoch();
+  }
+
   protected ResourceIdentifier resourceToResourceIdentifier(Resource resource) {
     return newVersionId(URI.create(resource.getURI()));
   }
@@ -1124,6 +1477,35 @@ public class SparqlIndex implements Index {
             + "} \n"
             + "ORDER BY DESC(?vTimestamp)";
 
+    private static final String CANONICAL_SURROGATE_VERSIONS_SELECT =
+        PREAMBLE
+            + "SELECT ?tag ?version ?vTag ?surrogate ?sVersion ?svTag ?svTimestamp ?format \n"
+            + "WHERE { \n"
+            + "  VALUES (?tag ?vTag) { %s } \n"
+            + "  ?asset kmd:" + TAG_ID + " ?tag ; \n"
+            + "     api4kp-series:" + HAS_VERSION + " ?version . \n"
+            + "  ?version kmd:" + HAS_VERSION_TAG + " ?vTag ; \n"
+            + "     kmd:" + HAS_CANONICAL_SURROGATE + " ?surrogate . \n"
+            + "  ?surrogate api4kp-series:" + HAS_VERSION + " ?sVersion . \n"
+            + "     OPTIONAL { ?surrogate dc:" + FORMAT + " ?format } \n"
+            + "  ?sVersion  \n"
+            + "     kmd:" + HAS_VERSION_TAG + " ?svTag ; \n"
+            + "     api4kp-series:" + ESTABLISHED + " ?svTimestamp . \n"
+            + "}";
+
+    /**
+     * @param versionTags the version tags of the Asset versions, by tag (UUID) of the Asset
+     * @return a query that selects the given versions of the Assets,
+     * with the versions of their canonical Surrogates
+     */
+    static String canonicalSurrogateVersionsSelect(Map<String, Set<String>> versionTags) {
+      return String.format(CANONICAL_SURROGATE_VERSIONS_SELECT, versionTags.entrySet().stream()
+          .flatMap(e -> e.getValue().stream()
+              .map(vTag -> "(\"" + UUID.fromString(e.getKey()) + "\" "
+                  + FmtUtils.stringForString(vTag) + ")"))
+          .collect(Collectors.joining(" ")));
+    }
+
     static final String ASSET_VERSIONS_SELECT =
         PREAMBLE
             + "SELECT ?asset ?version ?vTag ?vTimestamp \n"
@@ -1136,6 +1518,65 @@ public class SparqlIndex implements Index {
             + "} \n"
             + "ORDER BY DESC(?vTimestamp)";
 
+    private static final String ASSET_CONTENTS_SELECT =
+        PREAMBLE
+            + "SELECT ?asset ?version ?artifact ?artifactVersion \n"
+            + "WHERE { \n"
+            + "  VALUES ?asset { %s } \n"
+            + "  ?asset api4kp-series:" + HAS_VERSION + " ?version . \n"
+            + "  ?version rdf:type api4kp:" + ASSET + " . \n"
+            + "  OPTIONAL { \n"
+            + "    { ?version api4kp:" + HAS_CARRIER + " ?artifact } \n"
+            + "    UNION \n"
+            + "    { ?version api4kp:" + HAS_SURROGATE + " ?artifact } \n"
+            + "    ?artifact api4kp-series:" + HAS_VERSION + " ?artifactVersion . \n"
+            + "  } \n"
+            + "}";
+
+    /**
+     * @param seriesUris the (series) URIs of the Assets
+     * @return a query that selects the versions of the Assets with the given URIs,
+     * with the versions of their Carriers and Surrogates
+     */
+    static String assetContentsSelect(Collection<String> seriesUris) {
+      return String.format(ASSET_CONTENTS_SELECT, seriesUris.stream()
+          .map(URI::create)
+          .map(uri -> "<" + uri + ">")
+          .collect(Collectors.joining(" ")));
+    }
+
+    static final String ASSET_LABELS_SELECT =
+        PREAMBLE
+            + "SELECT ?asset ?label \n"
+            + "WHERE { \n"
+            + "  ?asset rdf:type api4kp:" + ASSET + " ; \n"
+            + "     rdfs:label ?label . \n"
+            + "}";
+
+    static final String CARRIER_EXPRESSIONS_SELECT =
+        PREAMBLE
+            + "SELECT ?asset ?version ?expr \n"
+            + "WHERE { \n"
+            + "  ?asset api4kp:" + HAS_CARRIER + " ?carrier . \n"
+            + "  ?carrier api4kp-series:" + HAS_VERSION + " ?version . \n"
+            + "  ?version api4kp:" + HAS_EXPRESSION + " ?expr . \n"
+            + "  FILTER NOT EXISTS { ?asset kmd:" + TOMBSTONED_ON + " ?deleted } \n"
+            + "}";
+
+    static final String TOMBSTONES_SELECT =
+        PREAMBLE
+            + "SELECT ?version ?artifact ?artifactVersion \n"
+            + "WHERE { \n"
+            + "  ?version kmd:" + TOMBSTONED_ON + " ?deleted . \n"
+            + "  OPTIONAL { \n"
+            + "    { ?version api4kp:" + HAS_CARRIER + " ?artifact } \n"
+            + "    UNION \n"
+            + "    { ?version api4kp:" + HAS_SURROGATE + " ?artifact } \n"
+            + "    ?artifact api4kp-series:" + HAS_VERSION + " ?artifactVersion . \n"
+            + "  } \n"
+            + "} \n"
+            + "ORDER BY ?deleted ?version";
+
     static final String TRANSITIVE_CLOSURE_SELECT =
         "SELECT ?o \n" +
             "WHERE { \n" +
@@ -10,6 +10,7 @@ import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeReprese
 
 import edu.mayo.kmdp.language.TransrepresentationExecutor;
 import edu.mayo.kmdp.repository.asset.index.Index;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateProjection.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.omg.spec.api4kp._20200801.services.transrepresentation.Transrepresent
 import org.omg.spec.api4kp._20200801.surrogate.Derivative;
 import org.omg.spec.api4kp._20200801.surrogate.KnowledgeArtifact;
 import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.surrogate.Link;
 
 /**
  * Temporary helper class that augments a {@link KnowledgeAsset} with graph and server-specific
@@ -46,19 +48,70 @@ public final class SurrogateEnricher {
       TransxionApiInternal translator,
       Index index,
       boolean withInverses) {
+    return enrichSurrogate(asset, hrefBuilder, translator, index, withInverses,
+        SurrogateProjection.FULL);
+  }
+
+  /**
+   * Variant of {@link #enrichSurrogate(KnowledgeAsset, KARSHrefBuilder, TransxionApiInternal,
+   * Index, boolean)} that only runs the stages that contribute to the properties selected by a
+   * projection: in particular, the Index is not queried unless the Links are selected, and
+   * the translators are not scanned unless the ephemeral Carriers/Surrogates are selected
+   *
+   * @param projection the properties of the Surrogate the client is interested in
+   */
+  public static KnowledgeAsset enrichSurrogate(
+      KnowledgeAsset asset,
+      KARSHrefBuilder hrefBuilder,
+      TransxionApiInternal translator,
+      Index index,
+      boolean withInverses,
+      SurrogateProjection projection) {
+    boolean withCarriers = projection.includes(Field.CARRIERS);
+    boolean withSurrogates = projection.includes(Field.SURROGATE);
     if (hrefBuilder != null) {
-      addDefaultCarrierLocators(asset, hrefBuilder);
-      addDefaultSurrogateLocators(asset, hrefBuilder);
+      if (withCarriers) {
+        addDefaultCarrierLocators(asset, hrefBuilder);
+      }
+      if (withSurrogates) {
+        addDefaultSurrogateLocators(asset, hrefBuilder);
+      }
     }
 
-    if (index != null && withInverses) {
+    if (index != null && withInverses && projection.includes(Field.LINKS)) {
       rewriteLinks(asset, index);
     }
 
-    if (hrefBuilder != null && translator != null) {
-      addEphemeralTranslations(asset, translator, hrefBuilder);
+    if (hrefBuilder != null && translator instanceof TransrepresentationExecutor
+        && projection.includes(Field.EPHEMERAL)) {
+      var executor = (TransrepresentationExecutor) translator;
+      if (withSurrogates) {
+        addTranslatableSurrogates(asset, executor, hrefBuilder);
+      }
+      if (withCarriers) {
+        addTranslatableCarriers(asset, executor, hrefBuilder);
+      }
+    }
+    return projection.project(asset);
+  }
+
+  /**
+   * Variant of {@link #enrichSurrogate(KnowledgeAsset, KARSHrefBuilder, TransxionApiInternal,
+   * Index, boolean)} that uses the Links to and from the Asset, if already retrieved from the
+   * Index (e.g. concurrently with the Surrogate itself)
+   *
+   * @param neighbours the Links to and from the Asset, or null to keep the Links in the Surrogate
+   */
+  public static KnowledgeAsset enrichSurrogate(
+      KnowledgeAsset asset,
+      KARSHrefBuilder hrefBuilder,
+      TransxionApiInternal translator,
+      List<Link> neighbours) {
+    if (neighbours != null) {
+      replaceLinks(asset, neighbours);
     }
-    return asset;
+    return enrichSurrogate(asset, hrefBuilder, translator, null, false,
+        SurrogateProjection.FULL);
   }
 
 
@@ -66,7 +119,10 @@ public final class SurrogateEnricher {
 
 
   private static void rewriteLinks(KnowledgeAsset asset, Index index) {
-    var fullLinks = index.getNeighbourAssets(asset.getAssetId());
+    replaceLinks(asset, index.getNeighbourAssets(asset.getAssetId()));
+  }
+
+  private static void replaceLinks(KnowledgeAsset asset, List<Link> fullLinks) {
     var oldLinks = new ArrayList<>(asset.getLinks());
 
     assert oldLinks.stream().allMatch(oldL -> fullLinks.stream().anyMatch(
@@ -79,23 +135,6 @@ public final class SurrogateEnricher {
 
   /* ---------------------------------------------------------------------------------------- */
 
-  private static void addEphemeralTranslations(
-      KnowledgeAsset asset,
-      TransxionApiInternal translator,
-      KARSHrefBuilder hrefBuilder) {
-    if (translator instanceof TransrepresentationExecutor) {
-      addEphemeralTranslations(asset, (TransrepresentationExecutor) translator, hrefBuilder);
-    }
-  }
-
-  private static void addEphemeralTranslations(
-      KnowledgeAsset asset,
-      TransrepresentationExecutor translator,
-      KARSHrefBuilder hrefBuilder) {
-    addTranslatableSurrogates(asset, translator, hrefBuilder);
-    addTranslatableCarriers(asset, translator, hrefBuilder);
-  }
-
   private static void addTranslatableCarriers(
       KnowledgeAsset asset,
       TransrepresentationExecutor translator,
@@ -0,0 +1,155 @@
+package edu.mayo.kmdp.repository.asset.negotiation;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.BadRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+/**
+ * A sparse fieldset of a {@link KnowledgeAsset} Surrogate, i.e. the (top level) properties of a
+ * Surrogate that a client is interested in.
+ * <p>
+ * The projection controls which enrichment stages are applied to the Surrogate
+ * (@see SurrogateEnricher): the Links to and from the Asset are only retrieved from the Index
+ * if 'links' are selected, and the translators are only scanned for ephemeral Carriers
+ * and Surrogates if 'ephemeral' is selected.
+ * The projection also trims the Surrogate returned to the client, which always retains the
+ * Asset ID.
+ * Projections apply to the operations that return Surrogates: the list operations return
+ * Pointers, which have no Surrogate properties to select.
+ */
+public final class SurrogateProjection {
+
+  public enum Field {
+    NAME("name", (src, tgt) -> tgt.withName(src.getName())),
+    DESCRIPTION("description", (src, tgt) -> tgt.withDescription(src.getDescription())),
+    SECONDARY_ID("secondaryId", (src, tgt) -> tgt.withSecondaryId(src.getSecondaryId())),
+    FORMAL_CATEGORY("formalCategory",
+        (src, tgt) -> tgt.withFormalCategory(src.getFormalCategory())),
+    FORMAL_TYPE("formalType", (src, tgt) -> tgt.withFormalType(src.getFormalType())),
+    ROLE("role", (src, tgt) -> tgt.withRole(src.getRole())),
+    PROCESSING_METHOD("processingMethod",
+        (src, tgt) -> tgt.withProcessingMethod(src.getProcessingMethod())),
+    ANNOTATION("annotation", (src, tgt) -> tgt.withAnnotation(src.getAnnotation())),
+    LIFECYCLE("lifecycle", (src, tgt) -> tgt.withLifecycle(src.getLifecycle())),
+    CARRIERS("carriers", (src, tgt) -> tgt.withCarriers(src.getCarriers())),
+    SURROGATE("surrogate", (src, tgt) -> tgt.withSurrogate(src.getSurrogate())),
+    LINKS("links", (src, tgt) -> tgt.withLinks(src.getLinks())),
+    /**
+     * Not a property: the ephemeral (translated) variants of the selected Carriers and Surrogates
+     */
+    EPHEMERAL("ephemeral", (src, tgt) -> {
+    });
+
+    private final String tag;
+
+    private final BiConsumer<KnowledgeAsset, KnowledgeAsset> copier;
+
+    Field(String tag, BiConsumer<KnowledgeAsset, KnowledgeAsset> copier) {
+      this.tag = tag;
+      this.copier = copier;
+    }
+
+    public String getTag() {
+      return tag;
+    }
+
+    static Optional<Field> resolve(String tag) {
+      return Arrays.stream(values())
+          .filter(f -> f.tag.equalsIgnoreCase(tag))
+          .findFirst();
+    }
+  }
+
+  /**
+   * The projection that selects the whole (enriched) Surrogate
+   */
+  public static final SurrogateProjection FULL =
+      new SurrogateProjection(EnumSet.allOf(Field.class), true);
+
+  private final Set<Field> fields;
+
+  private final boolean full;
+
+  private SurrogateProjection(Set<Field> fields, boolean full) {
+    this.fields = Collections.unmodifiableSet(fields);
+    this.full = full;
+  }
+
+  /**
+   * Parses a sparse fieldset
+   *
+   * @param fieldList a comma-separated list of Surrogate properties,
+   *                  e.g. "name,formalType,carriers"
+   * @return the projection on the listed properties, FULL if no properties are listed, or
+   * BadRequest if a property is not supported
+   */
+  public static Answer<SurrogateProjection> parse(String fieldList) {
+    if (fieldList == null || fieldList.isBlank()) {
+      return Answer.of(FULL);
+    }
+    List<String> tags = Arrays.stream(fieldList.split(","))
+        .map(String::trim)
+        .filter(tag -> !tag.isEmpty())
+        .collect(Collectors.toList());
+    List<String> unknown = tags.stream()
+        .filter(tag -> Field.resolve(tag).isEmpty())
+        .collect(Collectors.toList());
+    if (!unknown.isEmpty()) {
+      return Answer.failed(new ServerSideException(BadRequest,
+          "Unsupported Surrogate field(s): " + String.join(",", unknown)));
+    }
+    Set<Field> selected = EnumSet.noneOf(Field.class);
+    tags.forEach(tag -> Field.resolve(tag).ifPresent(selected::add));
+    return Answer.of(of(selected));
+  }
+
+  /**
+   * @param fields the selected Surrogate properties
+   * @return the projection on the selected properties
+   */
+  public static SurrogateProjection of(Set<Field> fields) {
+    return fields.containsAll(FULL.fields)
+        ? FULL
+        : new SurrogateProjection(
+            fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields), false);
+  }
+
+  public boolean includes(Field field) {
+    return fields.contains(field);
+  }
+
+  public boolean isFull() {
+    return full;
+  }
+
+  public Set<Field> getFields() {
+    return fields;
+  }
+
+  /**
+   * Trims a Surrogate to the selected properties
+   *
+   * @param asset the (enriched) Surrogate
+   * @return the same Surrogate, if FULL, or a new Surrogate with the Asset ID and the selected
+   * properties only
+   */
+  public KnowledgeAsset project(KnowledgeAsset asset) {
+    if (full) {
+      return asset;
+    }
+    var projected = new KnowledgeAsset().withAssetId(asset.getAssetId());
+    fields.forEach(f -> f.copier.accept(asset, projected));
+    return projected;
+  }
+
+}
@@ -0,0 +1,175 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_MAX_CONCURRENCY;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_MAX_QUEUED;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_MAX_ROWS;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_TIMEOUT;
+
+import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.omg.spec.api4kp._20200801.AbstractCarrier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.datatypes.Bindings;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for client-submitted Knowledge Graph queries.
+ *
+ * Client queries are executed in a dedicated {@link QueryLane}, which is bounded in concurrency:
+ * at most N queries are evaluated at the same time, while at most M additional queries
+ * are allowed to wait for admission. Queries beyond that are rejected with a
+ * SERVICE_UNAVAILABLE response, while admitted queries that exceed the timeout are aborted
+ * with a GATEWAY_TIMEOUT response.
+ * Internal index lookups (see JenaSparqlDAO) run in a lane of their own, with reserved permits,
+ * and are thus never queued behind client queries.
+ *
+ * Admitted queries are further constrained:
+ * - the admission and the evaluation, together, are aborted after a timeout, which is set
+ *   on each client QueryExecution (@see QueryLane#applyTimeout)
+ * - textual SELECT queries are rewritten with a LIMIT, and the results are truncated
+ *   to a maximum number of rows
+ */
+public class GraphQueryGovernor {
+
+  private static final Logger logger = LoggerFactory.getLogger(GraphQueryGovernor.class);
+
+  /**
+   * Max number of rows returned by a client query
+   */
+  private final int maxRows;
+
+  /**
+   * The lane where client queries are evaluated
+   */
+  private final QueryLane clientLane;
+
+  private final AtomicLong truncated = new AtomicLong();
+
+  public GraphQueryGovernor(KnowledgeAssetRepositoryServerProperties cfg) {
+    this(cfg.getTyped(QUERY_TIMEOUT),
+        cfg.getTyped(QUERY_MAX_ROWS),
+        cfg.getTyped(QUERY_MAX_CONCURRENCY),
+        cfg.getTyped(QUERY_MAX_QUEUED));
+  }
+
+  /**
+   * @param timeoutSeconds max admission and evaluation time, in seconds (0 for no timeout)
+   * @param maxRows        max number of results (0 for no limit)
+   * @param maxConcurrency max number of concurrent client queries
+   * @param maxQueued      max number of client queries waiting for admission
+   */
+  public GraphQueryGovernor(int timeoutSeconds, int maxRows, int maxConcurrency, int maxQueued) {
+    this.maxRows = Math.max(0, maxRows);
+    this.clientLane = new QueryLane("client", maxConcurrency, maxQueued,
+        TimeUnit.SECONDS.toMillis(Math.max(0, timeoutSeconds)));
+  }
+
+  /**
+   * Evaluates a client query, subject to admission control, timeout and row limits
+   *
+   * @param graphQuery the query
+   * @param executor   the function that actually evaluates the query, given the time left
+   *                   to evaluate it, in ms (0 if unbounded)
+   * @return the (possibly truncated) query results, SERVICE_UNAVAILABLE if the query
+   * could not be admitted, or GATEWAY_TIMEOUT if it timed out
+   */
+  public Answer<List<Bindings>> execute(
+      KnowledgeCarrier graphQuery,
+      BiFunction<KnowledgeCarrier, Long, Answer<List<Bindings>>> executor) {
+    return submit(remaining -> executor.apply(limit(graphQuery), remaining)
+        .map(this::truncate));
+  }
+
+  /**
+   * Evaluates a generic client query task, subject to admission control and timeout
+   *
+   * @param task the query task, given the time left to evaluate the query, in ms
+   *             (0 if unbounded)
+   * @param <T>  the type of the query results
+   * @return the query results, SERVICE_UNAVAILABLE if the query
+   * could not be admitted, or GATEWAY_TIMEOUT if it timed out
+   */
+  public <T> Answer<T> submit(LongFunction<Answer<T>> task) {
+    return clientLane.submit(task);
+  }
+
+  /**
+   * Rewrites textual SELECT queries, so that at most maxRows (+1, to detect truncation)
+   * results are computed
+   *
+   * @param graphQuery the client query
+   * @return the rewritten query, or the original query if no rewrite is possible/needed
+   */
+  protected KnowledgeCarrier limit(KnowledgeCarrier graphQuery) {
+    if (maxRows <= 0 || !(graphQuery.getExpression() instanceof String)) {
+      return graphQuery;
+    }
+    try {
+      Query q = QueryFactory.create((String) graphQuery.getExpression());
+      if (!q.isSelectType() || (q.hasLimit() && q.getLimit() <= maxRows)) {
+        return graphQuery;
+      }
+      q.setLimit(maxRows + 1L);
+      return AbstractCarrier.of(q.serialize())
+          .withAssetId(graphQuery.getAssetId())
+          .withArtifactId(graphQuery.getArtifactId())
+          .withRepresentation(graphQuery.getRepresentation());
+    } catch (Exception e) {
+      // let the query executor deal with (and report) any parse error
+      return graphQuery;
+    }
+  }
+
+  private List<Bindings> truncate(List<Bindings> results) {
+    if (maxRows <= 0 || results.size() <= maxRows) {
+      return results;
+    }
+    truncated.incrementAndGet();
+    logger.warn("Knowledge Graph query results truncated to {} rows", maxRows);
+    return new ArrayList<>(results.subList(0, maxRows));
+  }
+
+  /**
+   * @return the max number of rows returned by a client query (0 if unbounded)
+   */
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * @return the lane where client queries are evaluated
+   */
+  public QueryLane getClientLane() {
+    return clientLane;
+  }
+
+  public int getAvailablePermits() {
+    return clientLane.getAvailablePermits();
+  }
+
+  public int getQueueLength() {
+    return clientLane.getQueueLength();
+  }
+
+  public long getRejectedCount() {
+    return clientLane.getRejectedCount();
+  }
+
+  public long getTimedOutCount() {
+    return clientLane.getTimedOutCount();
+  }
+
+  public long getTruncatedCount() {
+    return truncated.get();
+  }
+
+}
@@ -0,0 +1,103 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.RDFNode;
+import org.omg.spec.api4kp._20200801.datatypes.Bindings;
+
+/**
+ * A page of results of a (SELECT) Knowledge Graph query.
+ *
+ * Pages are materialized while holding the Graph READ lock, but are consumed after the lock
+ * has been released. Subsequent pages can be retrieved using the (opaque) cursor,
+ * as long as the Graph has not been modified in the meantime.
+ */
+public class GraphQueryPage {
+
+  /**
+   * The projected variables of the query
+   */
+  private final List<String> vars;
+
+  /**
+   * The query solutions in this page
+   */
+  private final List<QuerySolution> solutions;
+
+  /**
+   * The cursor to the next page, null if this page is the last one
+   */
+  private final String nextCursor;
+
+  /**
+   * The generation of the Graph the page was computed against
+   */
+  private final long generation;
+
+  public GraphQueryPage(
+      List<String> vars, List<QuerySolution> solutions, String nextCursor, long generation) {
+    this.vars = Collections.unmodifiableList(vars);
+    this.solutions = Collections.unmodifiableList(solutions);
+    this.nextCursor = nextCursor;
+    this.generation = generation;
+  }
+
+  public List<String> getVars() {
+    return vars;
+  }
+
+  public List<QuerySolution> getSolutions() {
+    return solutions;
+  }
+
+  public Optional<String> getNextCursor() {
+    return Optional.ofNullable(nextCursor);
+  }
+
+  public boolean isLast() {
+    return nextCursor == null;
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  public int size() {
+    return solutions.size();
+  }
+
+  /**
+   * @return the query solutions, as variable/value {@link Bindings}
+   */
+  public List<Bindings> toBindings() {
+    List<Bindings> bindings = new ArrayList<>(solutions.size());
+    solutions.forEach(sol -> bindings.add(toBindings(sol)));
+    return bindings;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Bindings<String, String> toBindings(QuerySolution sol) {
+    Bindings<String, String> b = new Bindings<>();
+    vars.forEach(v -> {
+      RDFNode node = sol.get(v);
+      if (node != null) {
+        b.put(v, toValue(node));
+      }
+    });
+    return b;
+  }
+
+  /**
+   * @param node an RDF node bound to a query variable
+   * @return the lexical form of literals, or the URI/label of resources
+   */
+  public static String toValue(RDFNode node) {
+    return node.isLiteral()
+        ? node.asLiteral().getLexicalForm()
+        : node.toString();
+  }
+
+}
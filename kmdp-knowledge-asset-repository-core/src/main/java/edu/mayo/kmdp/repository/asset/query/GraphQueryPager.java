@@ -0,0 +1,384 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.BadRequest;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.Conflict;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphHolder;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.syntax.ElementFilter;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementSubQuery;
+import org.apache.jena.sparql.util.FmtUtils;
+import org.apache.jena.sparql.util.NodeFactoryExtra;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+
+/**
+ * Evaluates SELECT queries against the Knowledge Graph one page at a time.
+ *
+ * Each page is evaluated and materialized under a short READ lock, which is released before
+ * the page is returned to the client, so that writers (and the autosave) are not blocked while
+ * a client consumes a large result set. Queries that do not specify an ORDER BY are ordered by
+ * their projected variables, so that consecutive pages neither overlap nor skip results.
+ * Clients that need the whole result set at once should use {@link #select} instead, which
+ * evaluates the query only once.
+ *
+ * Pages are resumed by key (keyset pagination): the cursor carries the values of the sort
+ * variables in the last solution of a page, and the next page is restricted to the solutions
+ * that sort after it (@see KeysetFilter), so that the cost of a page does not grow with
+ * the number of pages already read. Since identical solutions share the same key, the cursor
+ * also carries the number of solutions equal to the key that have already been returned.
+ * Queries with an explicit OFFSET/LIMIT, or that are ordered by expressions other than
+ * projected variables, are paged by OFFSET/LIMIT instead.
+ *
+ * The in-memory Graph does not support snapshots: consistency across pages is
+ * ensured by validation instead. Cursors carry the write generation of the Graph,
+ * and a cursor is rejected (CONFLICT) if the Graph has been modified since the
+ * cursor was issued, in which case the client is expected to restart the query.
+ */
+public class GraphQueryPager {
+
+  private static final String SEPARATOR = "\n";
+
+  private static final String UNBOUND = "";
+
+  private final KnowledgeGraphHolder kGraphHolder;
+
+  public GraphQueryPager(KnowledgeGraphHolder kGraphHolder) {
+    this.kGraphHolder = kGraphHolder;
+  }
+
+  /**
+   * Evaluates a page of a SELECT query
+   *
+   * @param graphQuery    the query, as a Knowledge Artifact
+   * @param cursor        the cursor returned with the previous page, null for the first page
+   * @param pageSize      the max number of results in the page
+   * @param timeoutMillis the max time to evaluate the page, in ms (0 for no limit)
+   * @return the page of results
+   */
+  public Answer<GraphQueryPage> page(KnowledgeCarrier graphQuery, String cursor, int pageSize,
+      long timeoutMillis) {
+    Optional<Query> query = toQuery(graphQuery);
+    if (query.isEmpty() || !query.get().isSelectType()) {
+      return Answer.failed(new ServerSideException(BadRequest,
+          "Paged query evaluation requires a SPARQL SELECT query"));
+    }
+    if (pageSize <= 0) {
+      return Answer.failed(new ServerSideException(BadRequest,
+          "Page size must be a positive number"));
+    }
+    Query q = query.get();
+    int queryHash = q.hashCode();
+    List<SortCondition> sortKeys = toSortKeys(q);
+
+    Position position = cursor != null
+        ? Position.decode(cursor, queryHash, sortKeys != null ? sortKeys.size() : 0)
+        : Position.FIRST;
+    if (position == null) {
+      return Answer.failed(new ServerSideException(BadRequest, "Invalid query cursor"));
+    }
+
+    return kGraphHolder.readGraphContent(kg -> {
+      long generation = kGraphHolder.getGraphGeneration();
+      if (position.generation >= 0 && position.generation != generation) {
+        return Answer.failed(new ServerSideException(Conflict,
+            "The Knowledge Graph has changed since the cursor was issued"));
+      }
+      Query pageQuery = sortKeys != null
+          ? toKeysetPageQuery(q, sortKeys, position, pageSize)
+          : toPageQuery(q, position.count, pageSize);
+      List<QuerySolution> solutions = new ArrayList<>(pageSize + 1);
+      if (pageQuery != null) {
+        try (var qexec = QueryExecutionFactory.create(pageQuery, kg)) {
+          QueryLane.applyTimeout(qexec, timeoutMillis);
+          ResultSet rs = qexec.execSelect();
+          while (rs.hasNext()) {
+            solutions.add(rs.next());
+          }
+        }
+      }
+      if (sortKeys != null) {
+        // the solutions equal to the key, already returned with the previous pages
+        solutions = solutions.subList((int) Math.min(position.count, solutions.size()),
+            solutions.size());
+      }
+      String next = null;
+      if (solutions.size() > pageSize) {
+        solutions = solutions.subList(0, pageSize);
+        next = sortKeys != null
+            ? nextKeyset(solutions, sortKeys, position).encode(generation, queryHash)
+            : new Position(generation, position.count + pageSize, List.of())
+                .encode(generation, queryHash);
+      }
+      return Answer.of(new GraphQueryPage(
+          q.getResultVars(), new ArrayList<>(solutions), next, generation));
+    });
+  }
+
+  /**
+   * Evaluates a SELECT query as a whole, in a single evaluation
+   *
+   * @param graphQuery    the query, as a Knowledge Artifact
+   * @param timeoutMillis the max time to evaluate the query, in ms (0 for no limit)
+   * @return all the results of the query, as a single (last) page
+   */
+  public Answer<GraphQueryPage> select(KnowledgeCarrier graphQuery, long timeoutMillis) {
+    return select(graphQuery, 0, timeoutMillis);
+  }
+
+  /**
+   * Evaluates a SELECT query as a whole, in a single evaluation, up to a max number of results
+   *
+   * @param graphQuery    the query, as a Knowledge Artifact
+   * @param maxRows       the max number of results (0 for no limit)
+   * @param timeoutMillis the max time to evaluate the query, in ms (0 for no limit)
+   * @return the (first maxRows) results of the query, as a single (last) page
+   */
+  public Answer<GraphQueryPage> select(KnowledgeCarrier graphQuery, int maxRows,
+      long timeoutMillis) {
+    Optional<Query> query = toQuery(graphQuery);
+    if (query.isEmpty() || !query.get().isSelectType()) {
+      return Answer.failed(new ServerSideException(BadRequest,
+          "Query evaluation requires a SPARQL SELECT query"));
+    }
+    Query q = query.get();
+    if (maxRows > 0 && (!q.hasLimit() || q.getLimit() > maxRows)) {
+      q.setLimit(maxRows);
+    }
+    return kGraphHolder.readGraphContent(kg -> {
+      List<QuerySolution> solutions = new ArrayList<>();
+      try (var qexec = QueryExecutionFactory.create(q, kg)) {
+        QueryLane.applyTimeout(qexec, timeoutMillis);
+        qexec.execSelect().forEachRemaining(solutions::add);
+      }
+      return Answer.of(new GraphQueryPage(
+          q.getResultVars(), solutions, null, kGraphHolder.getGraphGeneration()));
+    });
+  }
+
+  /**
+   * Determines the keys used to page through a query: the variables in the ORDER BY clause
+   * (if any), followed by the other projected variables, so that only identical
+   * solutions share the same key
+   *
+   * @param query the original query
+   * @return the sort keys, or null if the query cannot be paged by key
+   */
+  private static List<SortCondition> toSortKeys(Query query) {
+    if (query.hasLimit() || query.hasOffset()) {
+      return null;
+    }
+    List<SortCondition> keys = new ArrayList<>();
+    Set<String> keyVars = new HashSet<>();
+    if (query.hasOrderBy()) {
+      for (SortCondition sc : query.getOrderBy()) {
+        if (!sc.getExpression().isVariable()
+            || !query.getResultVars().contains(sc.getExpression().getVarName())) {
+          return null;
+        }
+        keys.add(sc);
+        keyVars.add(sc.getExpression().getVarName());
+      }
+    }
+    query.getResultVars().stream()
+        .filter(keyVars::add)
+        .forEach(v -> keys.add(new SortCondition(Var.alloc(v), Query.ORDER_DEFAULT)));
+    return keys;
+  }
+
+  /**
+   * Restricts a query to the solutions that follow a key, wrapping the original query
+   * as a sub-query, so that the restriction applies to its (possibly aggregated) results.
+   * The page includes the solutions equal to the key that have already been returned,
+   * which the caller is expected to skip, and one more result, used to detect further pages
+   *
+   * @param query    the original query
+   * @param sortKeys the keys the query is paged by
+   * @param position the position of the last solution returned
+   * @param pageSize the size of the page
+   * @return the page query
+   */
+  private static Query toKeysetPageQuery(Query query, List<SortCondition> sortKeys,
+      Position position, int pageSize) {
+    Query inner = query.cloneQuery();
+    if (inner.getOrderBy() != null) {
+      inner.getOrderBy().clear();
+    }
+    ElementGroup body = new ElementGroup();
+    body.addElement(new ElementSubQuery(inner));
+    if (!position.key.isEmpty()) {
+      body.addElementFilter(
+          new ElementFilter(KeysetFilter.after(sortKeys, position.key, position.count > 0)));
+    }
+    Query pageQuery = new Query();
+    pageQuery.setQuerySelectType();
+    pageQuery.setPrefixMapping(query.getPrefixMapping());
+    pageQuery.setQueryPattern(body);
+    query.getResultVars().forEach(pageQuery::addResultVar);
+    sortKeys.forEach(pageQuery::addOrderBy);
+    pageQuery.setLimit(position.count + pageSize + 1L);
+    return pageQuery;
+  }
+
+  /**
+   * @param page     the solutions returned in the current page
+   * @param sortKeys the keys the query is paged by
+   * @param previous the position the current page was resumed from
+   * @return the position of the last solution of the page
+   */
+  private static Position nextKeyset(List<QuerySolution> page, List<SortCondition> sortKeys,
+      Position previous) {
+    List<Node> key = toKey(page.get(page.size() - 1), sortKeys);
+    long count = 0;
+    for (int j = page.size() - 1; j >= 0 && key.equals(toKey(page.get(j), sortKeys)); j--) {
+      count++;
+    }
+    if (count == page.size() && key.equals(previous.key)) {
+      // a run of identical solutions that spans more than one page
+      count += previous.count;
+    }
+    return new Position(previous.generation, count, key);
+  }
+
+  private static List<Node> toKey(QuerySolution solution, List<SortCondition> sortKeys) {
+    List<Node> key = new ArrayList<>(sortKeys.size());
+    for (SortCondition sc : sortKeys) {
+      RDFNode node = solution.get(sc.getExpression().getVarName());
+      key.add(node != null ? node.asNode() : null);
+    }
+    return key;
+  }
+
+  /**
+   * Restricts a query to a page (plus one result, used to detect further pages),
+   * honoring any OFFSET/LIMIT set in the original query.
+   * Unordered queries are ordered by their projected variables, since the order of the
+   * solutions is otherwise not guaranteed to be the same across evaluations
+   *
+   * @param query    the original query
+   * @param start    the index of the first result of the page
+   * @param pageSize the size of the page
+   * @return the page query, or null if the page is past the end of the (limited) query
+   */
+  private static Query toPageQuery(Query query, long start, int pageSize) {
+    Query pageQuery = query.cloneQuery();
+    long baseOffset = query.hasOffset() ? query.getOffset() : 0;
+    long fetch = pageSize + 1L;
+    if (query.hasLimit()) {
+      long remaining = query.getLimit() - start;
+      if (remaining <= 0) {
+        return null;
+      }
+      fetch = Math.min(fetch, remaining);
+    }
+    if (!pageQuery.hasOrderBy()) {
+      pageQuery.getResultVars()
+          .forEach(v -> pageQuery.addOrderBy(Var.alloc(v), Query.ORDER_DEFAULT));
+    }
+    pageQuery.setOffset(baseOffset + start);
+    pageQuery.setLimit(fetch);
+    return pageQuery;
+  }
+
+  /**
+   * Parses a query carrier into a Jena query
+   *
+   * @param graphQuery the query, either as a String, or an AST
+   * @return the Jena query, if the carrier can be interpreted as such
+   */
+  public static Optional<Query> toQuery(KnowledgeCarrier graphQuery) {
+    if (graphQuery == null || graphQuery.getExpression() == null) {
+      return Optional.empty();
+    }
+    Object expr = graphQuery.getExpression();
+    try {
+      if (expr instanceof Query) {
+        return Optional.of(((Query) expr).cloneQuery());
+      } else if (expr instanceof ParameterizedSparqlString) {
+        return Optional.of(((ParameterizedSparqlString) expr).asQuery());
+      }
+      return graphQuery.asString()
+          .map(QueryFactory::create);
+    } catch (Exception e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * The position of a paged query: the generation of the Graph, the key of the last solution
+   * returned (if paged by key), and either the number of solutions returned so far (if paged by
+   * offset), or the number of the solutions equal to the key that have been returned
+   */
+  private static final class Position {
+
+    private static final Position FIRST = new Position(-1, 0, List.of());
+
+    private final long generation;
+    private final long count;
+    private final List<Node> key;
+
+    private Position(long generation, long count, List<Node> key) {
+      this.generation = generation;
+      this.count = count;
+      this.key = key;
+    }
+
+    private String encode(long generation, int queryHash) {
+      StringBuilder token = new StringBuilder()
+          .append(generation).append(SEPARATOR)
+          .append(count).append(SEPARATOR)
+          .append(queryHash);
+      key.forEach(node -> token.append(SEPARATOR)
+          .append(node != null ? FmtUtils.stringForNode(node) : UNBOUND));
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(token.toString().getBytes(UTF_8));
+    }
+
+    /**
+     * @param cursor    an encoded cursor
+     * @param queryHash the hash of the query the cursor is supposed to belong to
+     * @param keySize   the number of sort keys, if the query is paged by key (0 otherwise)
+     * @return the position, or null if the cursor is not valid
+     */
+    private static Position decode(String cursor, int queryHash, int keySize) {
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8)
+            .split(SEPARATOR, -1);
+        if (parts.length != 3 + keySize || Integer.parseInt(parts[2]) != queryHash) {
+          return null;
+        }
+        long generation = Long.parseLong(parts[0]);
+        long count = Long.parseLong(parts[1]);
+        if (generation < 0 || count < 0) {
+          return null;
+        }
+        List<Node> key = new ArrayList<>(keySize);
+        for (int j = 3; j < parts.length; j++) {
+          key.add(UNBOUND.equals(parts[j]) ? null : NodeFactoryExtra.parseNode(parts[j]));
+        }
+        return new Position(generation, count, key);
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import java.util.List;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.sparql.ARQInternalErrorException;
+import org.apache.jena.sparql.expr.E_Coalesce;
+import org.apache.jena.sparql.expr.E_Function;
+import org.apache.jena.sparql.expr.Expr;
+import org.apache.jena.sparql.expr.ExprList;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.sparql.function.FunctionBase;
+import org.apache.jena.sparql.function.FunctionRegistry;
+
+/**
+ * A SPARQL filter function that selects the solutions that sort after (or with) a given key,
+ * used to resume a paged query where the previous page left off (keyset pagination).
+ *
+ * The function compares the values of the sort variables of a solution with the key, using the
+ * same ordering ARQ uses for ORDER BY (unbound values first, then
+ * {@link NodeValue#compareAlways}), so that the filter is consistent with the sort.
+ * Unbound values are passed to the function as a reserved IRI, since unbound arguments would
+ * otherwise fail the evaluation of the filter.
+ *
+ * Arguments: a flags literal (one direction, A or D, per sort variable, followed by '=' if
+ * solutions equal to the key are to be selected as well), the (coalesced) sort variables, and
+ * the key values, in the same order.
+ */
+public final class KeysetFilter extends FunctionBase {
+
+  public static final String URI = "urn:kars:query:keyset-after";
+
+  private static final Node UNBOUND = NodeFactory.createURI("urn:kars:query:unbound");
+
+  private static final char INCLUSIVE = '=';
+
+  static {
+    FunctionRegistry.get().put(URI, KeysetFilter.class);
+  }
+
+  /**
+   * Builds a filter expression that selects the solutions that sort after a key
+   *
+   * @param sortConditions the sort conditions, which must be variables
+   * @param key            the values of the sort variables in the last solution returned (null
+   *                       if unbound)
+   * @param inclusive      true if the solutions equal to the key are to be selected as well
+   * @return the filter expression
+   */
+  static Expr after(List<SortCondition> sortConditions, List<Node> key, boolean inclusive) {
+    StringBuilder flags = new StringBuilder();
+    ExprList args = new ExprList();
+    ExprList values = new ExprList();
+    for (int j = 0; j < sortConditions.size(); j++) {
+      SortCondition sc = sortConditions.get(j);
+      flags.append(sc.getDirection() == Query.ORDER_DESCENDING ? 'D' : 'A');
+      args.add(new E_Coalesce(
+          new ExprList(List.of(sc.getExpression(), NodeValue.makeNode(UNBOUND)))));
+      values.add(NodeValue.makeNode(key.get(j) != null ? key.get(j) : UNBOUND));
+    }
+    if (inclusive) {
+      flags.append(INCLUSIVE);
+    }
+    ExprList all = new ExprList(NodeValue.makeString(flags.toString()));
+    all.addAll(args);
+    all.addAll(values);
+    return new E_Function(URI, all);
+  }
+
+  @Override
+  public void checkBuild(String uri, ExprList args) {
+    if (args.size() < 3 || args.size() % 2 == 0) {
+      throw new ARQInternalErrorException("Invalid keyset filter: " + args);
+    }
+  }
+
+  @Override
+  public NodeValue exec(List<NodeValue> args) {
+    String flags = args.get(0).getString();
+    int n = (args.size() - 1) / 2;
+    for (int j = 0; j < n; j++) {
+      int x = compare(args.get(1 + j), args.get(1 + n + j));
+      if (flags.charAt(j) == 'D') {
+        x = -x;
+      }
+      if (x != Expr.CMP_EQUAL) {
+        return NodeValue.makeBoolean(x > 0);
+      }
+    }
+    return NodeValue.makeBoolean(flags.indexOf(INCLUSIVE) >= 0);
+  }
+
+  private static int compare(NodeValue nv1, NodeValue nv2) {
+    boolean unbound1 = UNBOUND.equals(nv1.asNode());
+    boolean unbound2 = UNBOUND.equals(nv2.asNode());
+    if (unbound1 || unbound2) {
+      return Boolean.compare(!unbound1, !unbound2);
+    }
+    return Integer.signum(NodeValue.compareAlways(nv1, nv2));
+  }
+
+}
@@ -0,0 +1,205 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.GatewayTimeout;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.InternalServerError;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.ServiceUnavailable;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import org.apache.jena.query.QueryCancelledException;
+import org.apache.jena.query.QueryExecution;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.ServerSideException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded 'lane' for the evaluation of Knowledge Graph queries.
+ *
+ * At most N queries are evaluated in the lane at the same time, while at most M additional
+ * queries are allowed to wait for admission. Queries beyond that, or queries that are not admitted
+ * before the timeout expires, are rejected with a SERVICE_UNAVAILABLE response, while admitted
+ * queries that do not complete in time are aborted with a GATEWAY_TIMEOUT response.
+ * Lanes do not share permits: the queries in one lane are never queued behind the queries
+ * in another.
+ *
+ * The time spent waiting for admission counts against the query timeout: the query is only
+ * allowed to run for the time left, which the lane passes to the query task, so that the task
+ * can set it on its QueryExecution (@see #applyTimeout). Queries nested in a query already
+ * admitted to the lane (by the same thread) run under the permit, and deadline, of the outer one.
+ */
+public class QueryLane {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryLane.class);
+
+  private final String name;
+
+  /**
+   * Max time to admit and evaluate a query, in ms (0 for no limit)
+   */
+  private final long timeoutMillis;
+
+  /**
+   * Max number of queries waiting for admission
+   */
+  private final int maxQueued;
+
+  private final Semaphore permits;
+
+  /**
+   * The deadline of the query admitted to the lane by the current thread, if any
+   */
+  private final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong timedOut = new AtomicLong();
+
+  /**
+   * @param name           the name of the lane, for logging purposes
+   * @param maxConcurrency max number of queries evaluated concurrently
+   * @param maxQueued      max number of queries waiting for admission
+   * @param timeoutMillis  max time to admit and evaluate a query, in ms (0 for no limit)
+   */
+  public QueryLane(String name, int maxConcurrency, int maxQueued, long timeoutMillis) {
+    this.name = name;
+    this.timeoutMillis = Math.max(0, timeoutMillis);
+    this.maxQueued = Math.max(0, maxQueued);
+    this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+  }
+
+  /**
+   * Evaluates a query task, subject to admission control and timeout
+   *
+   * @param task the query task, which is given the time left to evaluate the query, in ms
+   *             (0 if unbounded)
+   * @param <T>  the type of the query results
+   * @return the query results, SERVICE_UNAVAILABLE if the query could not be admitted,
+   * or GATEWAY_TIMEOUT if it was admitted, but timed out
+   */
+  public <T> Answer<T> submit(LongFunction<Answer<T>> task) {
+    Long outer = deadline.get();
+    if (outer != null) {
+      return evaluate(task, outer);
+    }
+    long start = System.currentTimeMillis();
+    if (!admit()) {
+      return rejected();
+    }
+    long end = timeoutMillis > 0 ? start + timeoutMillis : Long.MAX_VALUE;
+    if (end <= System.currentTimeMillis()) {
+      // the whole timeout was spent waiting for admission: the query never ran
+      permits.release();
+      return rejected();
+    }
+    deadline.set(end);
+    try {
+      return evaluate(task, end);
+    } finally {
+      deadline.remove();
+      permits.release();
+    }
+  }
+
+  private <T> Answer<T> evaluate(LongFunction<Answer<T>> task, long end) {
+    long remaining = 0;
+    if (end != Long.MAX_VALUE) {
+      remaining = end - System.currentTimeMillis();
+      if (remaining <= 0) {
+        return timedOut();
+      }
+    }
+    try {
+      return task.apply(remaining);
+    } catch (QueryCancelledException qce) {
+      // thrown by ARQ when the timeout set on the QueryExecution expires
+      return timedOut();
+    } catch (RuntimeException re) {
+      logger.error("Knowledge Graph query failed in the {} lane: {}", name, re.getMessage());
+      return Answer.failed(new ServerSideException(InternalServerError, re.getMessage()));
+    }
+  }
+
+  private <T> Answer<T> rejected() {
+    rejected.incrementAndGet();
+    logger.warn("Knowledge Graph query rejected by the {} lane: too many concurrent queries",
+        name);
+    return Answer.failed(new ServerSideException(ServiceUnavailable,
+        "Knowledge Graph query rejected: too many concurrent queries, please retry later"));
+  }
+
+  private <T> Answer<T> timedOut() {
+    timedOut.incrementAndGet();
+    logger.warn("Knowledge Graph query timed out in the {} lane after {} ms", name, timeoutMillis);
+    return Answer.failed(new ServerSideException(GatewayTimeout,
+        "Knowledge Graph query timed out after " + timeoutMillis + " ms"));
+  }
+
+  /**
+   * Acquires a permit to evaluate a query, waiting in queue (up to the timeout) if necessary
+   *
+   * @return true if the permit was acquired
+   */
+  private boolean admit() {
+    if (permits.tryAcquire()) {
+      return true;
+    }
+    if (queued.incrementAndGet() > maxQueued) {
+      queued.decrementAndGet();
+      return false;
+    }
+    try {
+      if (timeoutMillis > 0) {
+        return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+      }
+      permits.acquire();
+      return true;
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  /**
+   * Sets the time left to evaluate a query on its (not yet executed) QueryExecution
+   *
+   * @param qexec           the query execution
+   * @param remainingMillis the time left, in ms, as given to the query task (0 if unbounded)
+   */
+  public static void applyTimeout(QueryExecution qexec, long remainingMillis) {
+    if (remainingMillis > 0) {
+      qexec.setTimeout(remainingMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getQueueLength() {
+    return queued.get();
+  }
+
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+
+  public long getTimedOutCount() {
+    return timedOut.get();
+  }
+
+}
@@ -0,0 +1,245 @@
+package edu.mayo.kmdp.repository.asset.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.omg.spec.api4kp._20200801.datatypes.Bindings;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory-bounded, LRU cache of Knowledge Graph query results.
+ *
+ * Entries are keyed by the (whitespace-normalized) text of the query, and by the write
+ * generation of the Knowledge Graph the query was evaluated against.
+ * As soon as a newer generation is observed, all the entries computed against
+ * older generations are discarded, so that any Write to the Graph invalidates the cache.
+ *
+ * The memory footprint of the entries is estimated, and entries are evicted
+ * (least recently used first) when the total estimate exceeds the configured bound.
+ */
+public class QueryResultCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /**
+   * Approximate overhead of a cache entry, list and map nodes (in bytes)
+   */
+  private static final long ENTRY_OVERHEAD = 128;
+  private static final long BINDING_OVERHEAD = 64;
+  private static final long VALUE_OVERHEAD = 48;
+
+  /**
+   * Max estimated size of the cached results, in bytes
+   */
+  private final long maxWeight;
+
+  /**
+   * The cached results, in access order
+   */
+  private final LinkedHashMap<String, CachedResult> entries =
+      new LinkedHashMap<>(64, 0.75f, true);
+
+  /**
+   * The most recent Graph generation observed by this cache
+   */
+  private long generation = Long.MIN_VALUE;
+
+  private long weight = 0;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * @param maxWeightInMB the max estimated memory footprint of the cache, in MB
+   */
+  public QueryResultCache(int maxWeightInMB) {
+    this.maxWeight = Math.max(0, maxWeightInMB) * 1024L * 1024L;
+  }
+
+  /**
+   * @return true if the cache is configured to hold any entry
+   */
+  public boolean isEnabled() {
+    return maxWeight > 0;
+  }
+
+  /**
+   * Normalizes a query into a cache key
+   *
+   * @param query the query, as a Knowledge Artifact
+   * @return the normalized text of the query, if it can be determined
+   */
+  public static Optional<String> toKey(KnowledgeCarrier query) {
+    if (query == null || query.getExpression() == null) {
+      return Optional.empty();
+    }
+    String text = query.asString()
+        .orElseGet(() -> query.getExpression().toString());
+    return Optional.of(WHITESPACE.matcher(text).replaceAll(" ").trim());
+  }
+
+  /**
+   * Looks up the results of a query, evaluated against a given generation of the Graph
+   *
+   * @param key        the normalized query
+   * @param generation the current generation of the Graph
+   * @return a copy of the cached results, if present
+   */
+  public synchronized Optional<List<Bindings>> get(String key, long generation) {
+    advance(generation);
+    CachedResult cached = entries.get(key);
+    if (cached == null || cached.generation != generation) {
+      misses.incrementAndGet();
+      return Optional.empty();
+    }
+    hits.incrementAndGet();
+    return Optional.of(copy(cached.results));
+  }
+
+  /**
+   * Caches the results of a query, evaluated against a given generation of the Graph
+   *
+   * @param key        the normalized query
+   * @param generation the generation of the Graph the query was evaluated against
+   * @param results    the query results
+   */
+  public synchronized void put(String key, long generation, List<Bindings> results) {
+    advance(generation);
+    if (generation != this.generation) {
+      // results computed on an outdated graph
+      return;
+    }
+    long w = estimateWeight(key, results);
+    if (w > maxWeight) {
+      logger.debug("Query results too large to be cached ({} bytes)", w);
+      return;
+    }
+    CachedResult prev = entries.put(key, new CachedResult(generation, copy(results), w));
+    if (prev != null) {
+      weight -= prev.weight;
+    }
+    weight += w;
+    evict();
+  }
+
+  /**
+   * Discards all cached results
+   */
+  public synchronized void invalidate() {
+    if (!entries.isEmpty()) {
+      invalidations.incrementAndGet();
+    }
+    entries.clear();
+    weight = 0;
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  public long getInvalidationCount() {
+    return invalidations.get();
+  }
+
+  /**
+   * @return the ratio of lookups that were served from the cache (0 if no lookup was performed)
+   */
+  public double getHitRatio() {
+    long h = hits.get();
+    long total = h + misses.get();
+    return total == 0 ? 0.0 : (double) h / total;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the estimated memory footprint of the cached results, in bytes
+   */
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Tracks the Graph generation, discarding the entries when the Graph has changed
+   *
+   * @param newGeneration the latest observed Graph generation
+   */
+  private void advance(long newGeneration) {
+    if (newGeneration > this.generation) {
+      this.generation = newGeneration;
+      invalidate();
+    }
+  }
+
+  /**
+   * Removes the least recently used entries, until the memory bound is satisfied
+   */
+  private void evict() {
+    Iterator<Map.Entry<String, CachedResult>> iter = entries.entrySet().iterator();
+    while (weight > maxWeight && iter.hasNext()) {
+      weight -= iter.next().getValue().weight;
+      iter.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Bindings> copy(List<Bindings> results) {
+    List<Bindings> copy = new ArrayList<>(results.size());
+    for (Bindings b : results) {
+      Bindings c = new Bindings();
+      c.putAll(b);
+      copy.add(c);
+    }
+    return copy;
+  }
+
+  private static long estimateWeight(String key, List<Bindings> results) {
+    long w = ENTRY_OVERHEAD + 2L * key.length();
+    for (Bindings<?, ?> b : results) {
+      w += BINDING_OVERHEAD;
+      for (Map.Entry<?, ?> e : b.entrySet()) {
+        w += VALUE_OVERHEAD
+            + 2L * String.valueOf(e.getKey()).length()
+            + 2L * String.valueOf(e.getValue()).length();
+      }
+    }
+    return w;
+  }
+
+  private static final class CachedResult {
+
+    private final long generation;
+    private final List<Bindings> results;
+    private final long weight;
+
+    private CachedResult(long generation, List<Bindings> results, long weight) {
+      this.generation = generation;
+      this.results = Objects.requireNonNull(results);
+      this.weight = weight;
+    }
+  }
+
+}
@@ -15,6 +15,7 @@ package edu.mayo.kmdp.repository.asset;
 
 import static edu.mayo.kmdp.util.Util.uuid;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
 import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
@@ -28,6 +29,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.jena.rdf.model.Statement;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -90,6 +92,31 @@ class AssetRemovalTest extends RepositoryTestBase {
             .orElseGet(Assertions::fail));
   }
 
+  @Test
+  void testDeleteByAssetTypeRemovesArtifacts() {
+    String repoId = artifactCfg.getTyped(KnowledgeArtifactRepositoryOptions.DEFAULT_REPOSITORY_ID);
+    List<UUID> surrogateIds = Stream.of("1.0.0", "2.0.0")
+        .map(v -> semanticRepository.getKnowledgeAsset(uuid("foo"), v)
+            .orElseGet(Assertions::fail))
+        .flatMap(ax -> ax.getSurrogate().stream())
+        .map(surr -> surr.getArtifactId().getUuid())
+        .collect(Collectors.toList());
+    assertFalse(surrogateIds.isEmpty());
+
+    assertTrue(semanticRepository.deleteKnowledgeAssets(Care_Process_Model.getTag(), null, null)
+        .isSuccess());
+
+    assertTrue(semanticRepository.listKnowledgeAssetVersions(uuid("foo")).isNotFound());
+    assertTrue(semanticRepository.listKnowledgeAssetVersions(uuid("foo2")).isNotFound());
+    surrogateIds.forEach(surrId -> assertFalse(
+        artifactRepository.isKnowledgeArtifactSeries(repoId, surrId, false).isSuccess()));
+
+    assertEquals("Example C",
+        semanticRepository.getKnowledgeAsset(uuid("foo3"), "1.0.0")
+            .map(KnowledgeAsset::getName)
+            .orElseGet(Assertions::fail));
+  }
+
   @Test
   void testDeleteByTypeWithNoContent() {
     assertTrue(semanticRepository.deleteKnowledgeAssets(Formal_Ontology.getTag(), null, null)
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AssetWriteLocksTest {
+
+  @Test
+  void testWritesToTheSameAssetAreSerialized() throws Exception {
+    var locks = new AssetWriteLocks(16);
+    UUID assetId = UUID.randomUUID();
+    var active = new AtomicInteger(0);
+    var maxActive = new AtomicInteger(0);
+
+    ExecutorService exec = Executors.newFixedThreadPool(8);
+    try {
+      var futures = IntStream.range(0, 64)
+          .mapToObj(i -> exec.submit(() -> locks.withLock(assetId, () -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(1);
+            return active.decrementAndGet();
+          })))
+          .collect(Collectors.toList());
+      for (Future<Integer> f : futures) {
+        f.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      exec.shutdownNow();
+    }
+
+    assertEquals(1, maxActive.get());
+    assertEquals(64, locks.getAcquisitions());
+    assertTrue(locks.getContentions() > 0);
+  }
+
+  @Test
+  void testWritesToDifferentAssetsProceedInParallel() throws Exception {
+    var locks = new AssetWriteLocks(16);
+    // mapped to different stripes
+    UUID asset1 = new UUID(0, 1);
+    UUID asset2 = new UUID(0, 2);
+    var bothActive = new CountDownLatch(2);
+
+    ExecutorService exec = Executors.newFixedThreadPool(2);
+    try {
+      var f1 = exec.submit(() -> locks.withLock(asset1, () -> awaitOther(bothActive)));
+      var f2 = exec.submit(() -> locks.withLock(asset2, () -> awaitOther(bothActive)));
+      // each write completes only while the other one holds its own lock
+      assertTrue(f1.get(10, TimeUnit.SECONDS));
+      assertTrue(f2.get(10, TimeUnit.SECONDS));
+    } finally {
+      exec.shutdownNow();
+    }
+    assertEquals(0, locks.getContentions());
+  }
+
+  @Test
+  void testLocksAreReentrant() {
+    var locks = new AssetWriteLocks(16);
+    UUID assetId = UUID.randomUUID();
+
+    assertEquals("done", locks.withLock(assetId, () -> locks.withLock(assetId, () -> "done")));
+    assertEquals(0, locks.getContentions());
+  }
+
+  @Test
+  void testNoStripes() {
+    var locks = new AssetWriteLocks(0);
+    assertEquals("done", locks.withLock(UUID.randomUUID(), () -> "done"));
+    assertEquals(0, locks.getAcquisitions());
+    assertThrows(IllegalArgumentException.class, () -> new AssetWriteLocks(-1));
+  }
+
+  private static boolean awaitOther(CountDownLatch latch) {
+    latch.countDown();
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomArtifactId;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomAssetId;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Clinical_Rule;
+import static org.omg.spec.api4kp._20200801.taxonomy.dependencyreltype.DependencyTypeSeries.Depends_On;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetrole.KnowledgeAssetRoleSeries.Composite_Knowledge_Asset;
+import static org.omg.spec.api4kp._20200801.taxonomy.structuralreltype.StructuralPartTypeSeries.Has_Structural_Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.services.CompositeKnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.surrogate.Component;
+import org.omg.spec.api4kp._20200801.surrogate.Dependency;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class AsyncKnowledgeAssetRepositoryTest extends RepositoryTestBase {
+
+  private static final long DELAY_MILLIS = 200;
+
+  @Test
+  void testAsyncSurrogateMatchesSync() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Foo")
+        .withFormalType(Care_Process_Model)
+        .withLinks(new Dependency().withRel(Depends_On).withHref(id2)));
+    register(new KnowledgeAsset()
+        .withAssetId(id2)
+        .withName("Bar"));
+
+    KnowledgeAsset sync = semanticRepository
+        .getKnowledgeAssetVersion(id2.getUuid(), id2.getVersionTag())
+        .orElseGet(Assertions::fail);
+    KnowledgeAsset async = await(semanticRepository.async()
+        .getKnowledgeAssetVersion(id2.getUuid(), id2.getVersionTag()))
+        .orElseGet(Assertions::fail);
+
+    assertEquals(sync.getAssetId().asKey(), async.getAssetId().asKey());
+    assertEquals(sync.getName(), async.getName());
+    assertEquals(sync.getSurrogate().size(), async.getSurrogate().size());
+    // the inverse Link is retrieved from the Index
+    assertEquals(1, async.getLinks().size());
+    assertEquals(sync.getLinks().size(), async.getLinks().size());
+  }
+
+  @Test
+  void testAsyncSurrogateNotFound() {
+    Answer<KnowledgeAsset> ans = await(semanticRepository.async()
+        .getKnowledgeAssetVersion(UUID.randomUUID(), "1.0.0"));
+    assertFalse(ans.isSuccess());
+    assertTrue(ans.isNotFound());
+  }
+
+  @Test
+  void testAsyncCarrierMatchesSync() {
+    ResourceIdentifier assetId = randomAssetId();
+    ResourceIdentifier artifactId = randomArtifactId();
+    register(new KnowledgeAsset()
+        .withAssetId(assetId)
+        .withName("Foo")
+        .withFormalType(Care_Process_Model));
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+            assetId.getUuid(), assetId.getVersionTag(),
+            artifactId.getUuid(), artifactId.getVersionTag(),
+            "test".getBytes())
+        .isSuccess());
+
+    KnowledgeCarrier sync = semanticRepository.getKnowledgeAssetCarrierVersion(
+            assetId.getUuid(), assetId.getVersionTag(),
+            artifactId.getUuid(), artifactId.getVersionTag())
+        .orElseGet(Assertions::fail);
+    KnowledgeCarrier async = await(semanticRepository.async().getKnowledgeAssetCarrierVersion(
+        assetId.getUuid(), assetId.getVersionTag(),
+        artifactId.getUuid(), artifactId.getVersionTag(), null))
+        .orElseGet(Assertions::fail);
+
+    assertEquals(sync.getArtifactId().asKey(), async.getArtifactId().asKey());
+    assertEquals(sync.getLabel(), async.getLabel());
+    assertArrayEquals("test".getBytes(), async.asBinary().orElseGet(Assertions::fail));
+
+    Answer<KnowledgeCarrier> missing = await(semanticRepository.async()
+        .getKnowledgeAssetCarrierVersion(
+            assetId.getUuid(), assetId.getVersionTag(), UUID.randomUUID(), "1.0.0", null));
+    assertTrue(missing.isNotFound());
+  }
+
+  @Test
+  void testAsyncCompositeMatchesSync() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    ResourceIdentifier id3 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withFormalType(Clinical_Rule)
+        .withRole(Composite_Knowledge_Asset)
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id2))
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id3)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(id3).withName("Bar"));
+
+    CompositeKnowledgeCarrier sync = semanticRepository
+        .getCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail);
+    CompositeKnowledgeCarrier async = await(semanticRepository.async()
+        .getCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag(), null))
+        .orElseGet(Assertions::fail);
+
+    assertEquals(id1, async.getAssetId());
+    assertEquals(sync.getComponent().size(), async.getComponent().size());
+    assertEquals(componentIds(sync), componentIds(async));
+  }
+
+  @Test
+  void testAsyncList() {
+    register(new KnowledgeAsset().withAssetId(randomAssetId()).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(randomAssetId()).withName("Bar"));
+
+    List<Pointer> sync = semanticRepository.listKnowledgeAssets()
+        .orElseGet(Assertions::fail);
+    List<Pointer> async = await(semanticRepository.async()
+        .listKnowledgeAssets(null, null, null, null, null))
+        .orElseGet(Assertions::fail);
+    assertEquals(2, async.size());
+    assertEquals(
+        sync.stream().map(Pointer::asKey).collect(Collectors.toSet()),
+        async.stream().map(Pointer::asKey).collect(Collectors.toSet()));
+  }
+
+  @Test
+  void testAsyncLookupsOverlap() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    ResourceIdentifier id3 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withFormalType(Clinical_Rule)
+        .withRole(Composite_Knowledge_Asset)
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id2))
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id3)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(id3).withName("Bar"));
+
+    // each read from the Artifact Repository is delayed, tracking the reads in progress
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        AsyncKnowledgeAssetRepositoryTest.class
+            .getResourceAsStream("/application.test.properties"));
+    SemanticKnowledgeAssetRepository delayed = newObservedRepository(cfg, method -> {
+      if (method.startsWith("get")) {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(DELAY_MILLIS);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      }
+    });
+
+    delayed.getCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail);
+    assertEquals(1, maxInFlight.get());
+
+    maxInFlight.set(0);
+    CompositeKnowledgeCarrier async = await(delayed.async()
+        .getCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag(), null))
+        .orElseGet(Assertions::fail);
+    assertEquals(2, async.getComponent().size());
+    // the Surrogates of the Composite and of its components are read concurrently
+    assertTrue(maxInFlight.get() > 1);
+  }
+
+  private void register(KnowledgeAsset surrogate) {
+    ResourceIdentifier assetId = surrogate.getAssetId();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surrogate)
+        .isSuccess());
+  }
+
+  private static Set<String> componentIds(CompositeKnowledgeCarrier ckc) {
+    return ckc.getComponent().stream()
+        .map(kc -> kc.getAssetId() != null ? kc.getAssetId().asKey().toString() : "")
+        .collect(Collectors.toSet());
+  }
+
+  private static <T> Answer<T> await(CompletableFuture<Answer<T>> future) {
+    try {
+      return future.get(10, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      return Assertions.fail(e);
+    }
+  }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.BATCH_READ_LIMIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newId;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomAssetId;
+import static org.omg.spec.api4kp._20200801.taxonomy.dependencyreltype.DependencyTypeSeries.Depends_On;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.Dependency;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class BatchSurrogateReadTest extends RepositoryTestBase {
+
+  @BeforeAll
+  static void limitBatches() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        BatchSurrogateReadTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(BATCH_READ_LIMIT.getName(), "3");
+    semanticRepository = newRepository(cfg);
+  }
+
+  @Test
+  void testBatchPreservesOrderAndSkipsUnknown() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(id1).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+
+    List<KnowledgeAsset> surrogates = semanticRepository.getKnowledgeAssetVersions(List.of(
+            newId(id2.getUuid(), id2.getVersionTag()),
+            newId(UUID.randomUUID(), "1.0.0"),
+            newId(id1.getUuid(), id1.getVersionTag())))
+        .orElseGet(Assertions::fail);
+
+    assertEquals(List.of("Bar", "Foo"),
+        surrogates.stream().map(KnowledgeAsset::getName).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testBatchMatchesSingleReads() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Foo")
+        .withLinks(new Dependency().withRel(Depends_On).withHref(id2)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+
+    List<ResourceIdentifier> ids = List.of(id1, id2);
+    List<KnowledgeAsset> batch = semanticRepository.getKnowledgeAssetVersions(ids)
+        .orElseGet(Assertions::fail);
+    assertEquals(2, batch.size());
+    for (int j = 0; j < ids.size(); j++) {
+      KnowledgeAsset single = semanticRepository
+          .getKnowledgeAssetVersion(ids.get(j).getUuid(), ids.get(j).getVersionTag())
+          .orElseGet(Assertions::fail);
+      assertEquals(single.getAssetId().asKey(), batch.get(j).getAssetId().asKey());
+      assertEquals(single.getName(), batch.get(j).getName());
+      assertEquals(single.getLinks().size(), batch.get(j).getLinks().size());
+      assertEquals(single.getSurrogate().size(), batch.get(j).getSurrogate().size());
+    }
+  }
+
+  @Test
+  void testBatchIncludesKnowledgeGraph() {
+    ResourceIdentifier kgId = kgi.knowledgeGraphAssetId();
+    List<KnowledgeAsset> surrogates = semanticRepository
+        .getKnowledgeAssetVersions(List.of(kgId))
+        .orElseGet(Assertions::fail);
+    assertEquals(1, surrogates.size());
+    assertEquals(kgId.getUuid(), surrogates.get(0).getAssetId().getUuid());
+  }
+
+  @Test
+  void testBatchIsStreamed() {
+    ResourceIdentifier id1 = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(id1).withName("Foo"));
+
+    List<KnowledgeAsset> streamed = new ArrayList<>();
+    assertTrue(semanticRepository.streamKnowledgeAssetVersions(List.of(id1), streamed::add)
+        .isSuccess());
+    assertEquals(1, streamed.size());
+    assertEquals("Foo", streamed.get(0).getName());
+  }
+
+  @Test
+  void testBatchLimit() {
+    List<ResourceIdentifier> ids = List.of(
+        randomAssetId(), randomAssetId(), randomAssetId(), randomAssetId());
+    Answer<List<KnowledgeAsset>> ans = semanticRepository.getKnowledgeAssetVersions(ids);
+    assertFalse(ans.isSuccess());
+    assertEquals(3, semanticRepository.getBatchReadLimit());
+  }
+
+  @Test
+  void testIndexResolvesBatch() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(id1).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+
+    Map<ResourceIdentifier, List<Pointer>> resolved = index.resolveCanonicalSurrogateVersions(
+        List.of(id1, id2, newId(id1.getUuid(), "9.9.9")));
+    assertEquals(2, resolved.size());
+    resolved.forEach((assetVersion, surrogates) -> {
+      assertTrue(assetVersion.asKey().equals(id1.asKey())
+          || assetVersion.asKey().equals(id2.asKey()));
+      assertEquals(1, surrogates.size());
+    });
+  }
+
+  private void register(KnowledgeAsset surrogate) {
+    ResourceIdentifier assetId = surrogate.getAssetId();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surrogate)
+        .isSuccess());
+  }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.CHANGE_LOG;
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import edu.mayo.kmdp.repository.asset.changes.ChangePage;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class ChangeFeedTest extends RepositoryTestBase {
+
+  @BeforeAll
+  static void enableChangeLog() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        ChangeFeedTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(CHANGE_LOG.getName(), "ARTIFACT");
+    semanticRepository = newRepository(cfg);
+  }
+
+  @Test
+  void testChangesAreRecordedInOrder() {
+    long since = head();
+
+    register("foo", "1.0.0", "Example A");
+    List<String> changes = describe(changesSince(since, null));
+    assertEquals(List.of("CREATE ASSET", "CREATE SURROGATE"), changes);
+
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+        uuid("foo"), "1.0.0", uuid("foo-art"), "1.0.0", "Example".getBytes()).isSuccess());
+    changes = describe(changesSince(since, null));
+    assertEquals("CREATE CARRIER", changes.get(changes.size() - 1));
+
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+        uuid("foo"), "1.0.0", uuid("foo-art"), "1.0.0", "Example 2".getBytes()).isSuccess());
+    changes = describe(changesSince(since, null));
+    assertEquals("UPDATE CARRIER", changes.get(changes.size() - 1));
+
+    assertTrue(semanticRepository.deleteKnowledgeAssetVersion(uuid("foo"), "1.0.0").isSuccess());
+    ChangePage page = changesSince(since, null);
+    ChangeEvent last = page.getChanges().get(page.getChanges().size() - 1);
+    assertEquals(ChangeType.DELETE, last.getType());
+    assertEquals(EntityKind.ASSET, last.getKind());
+    assertEquals(SemanticIdentifier.newId(uuid("foo"), "1.0.0").getVersionId(), last.getAssetId());
+
+    // sequence numbers are contiguous and increasing
+    long expected = since;
+    for (ChangeEvent change : page.getChanges()) {
+      assertEquals(++expected, change.getSequence());
+    }
+    assertEquals(expected, page.getHeadSequence());
+  }
+
+  @Test
+  void testChangesArePaged() {
+    long since = head();
+    register("foo", "1.0.0", "Example A");
+    register("bar", "1.0.0", "Example B");
+    register("baz", "1.0.0", "Example C");
+
+    ChangePage page = changesSince(since, 4);
+    assertEquals(4, page.getChanges().size());
+    assertTrue(page.isMoreAvailable());
+
+    page = changesSince(page.getLastSequence(), 4);
+    assertEquals(2, page.getChanges().size());
+    assertFalse(page.isMoreAvailable());
+    assertEquals(since + 6, page.getLastSequence());
+  }
+
+  @Test
+  void testClearIsRecorded() {
+    register("foo", "1.0.0", "Example A");
+    long since = head();
+
+    assertTrue(semanticRepository.clearKnowledgeAssetCatalog().isSuccess());
+
+    ChangePage page = changesSince(since, null);
+    assertEquals(1, page.getChanges().size());
+    ChangeEvent change = page.getChanges().get(0);
+    assertEquals(ChangeType.DELETE, change.getType());
+    assertEquals(EntityKind.CATALOG, change.getKind());
+    assertEquals(since + 1, change.getSequence());
+  }
+
+  @Test
+  void testUnrecordedChangesAreRecordedOnRetry() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        ChangeFeedTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(CHANGE_LOG.getName(), "ARTIFACT");
+    AtomicBoolean unavailable = new AtomicBoolean(false);
+    var repo = newObservedRepository(cfg, method -> {
+      // the change log lists the claims on the sequence numbers, unlike the Surrogate writes
+      if (unavailable.get() && "getKnowledgeArtifactSeries".equals(method)) {
+        throw new IllegalStateException("Change log unavailable");
+      }
+    });
+    long since = repo.listChanges(0L, null).orElseGet(Assertions::fail).getHeadSequence();
+
+    var assetId = SemanticIdentifier.newId(uuid("foo"), "1.0.0");
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName("Example A", "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+
+    unavailable.set(true);
+    assertFalse(repo.setKnowledgeAssetVersion(
+        assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+    unavailable.set(false);
+
+    // the identical re-submission is not skipped, since its changes were not recorded
+    assertTrue(repo.setKnowledgeAssetVersion(
+        assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+    ChangePage page = repo.listChanges(since, null).orElseGet(Assertions::fail);
+    assertEquals(List.of("UPDATE ASSET", "UPDATE SURROGATE"), describe(page));
+  }
+
+  private long head() {
+    return changesSince(0L, null).getHeadSequence();
+  }
+
+  private ChangePage changesSince(long since, Integer limit) {
+    return semanticRepository.listChanges(since, limit)
+        .orElseGet(Assertions::fail);
+  }
+
+  private static List<String> describe(ChangePage page) {
+    return page.getChanges().stream()
+        .map(change -> change.getType() + " " + change.getKind())
+        .collect(Collectors.toList());
+  }
+
+  private void register(String id, String versionTag, String name) {
+    var assetId = SemanticIdentifier.newId(uuid(id), versionTag);
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName(name, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+  }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class ConcurrentAssetWriteTest extends RepositoryTestBase {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentAssetWriteTest.class);
+
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+  private static final int WRITES_PER_RUN = 256;
+
+  @Test
+  void testConcurrentCarriersOfTheSameAssetAreNotLost() {
+    register(uuid("foo"), "1.0.0");
+    int carriers = 8;
+
+    List<Answer<Void>> results = runConcurrently(carriers, IntStream.range(0, carriers)
+        .<Callable<Answer<Void>>>mapToObj(j -> () ->
+            semanticRepository.setKnowledgeAssetCarrierVersion(
+                uuid("foo"), "1.0.0", uuid("foo-art-" + j), "1.0.0",
+                ("Example " + j).getBytes(StandardCharsets.UTF_8)))
+        .collect(Collectors.toList()));
+    results.forEach(ans -> assertTrue(ans.isSuccess()));
+
+    // each carrier was attached to the latest version of the Surrogate
+    KnowledgeAsset surrogate = semanticRepository.getKnowledgeAsset(uuid("foo"), "1.0.0")
+        .orElseGet(Assertions::fail);
+    assertEquals(carriers, surrogate.getCarriers().size());
+  }
+
+  @Test
+  void testConcurrentWritesToDifferentAssets() {
+    List<UUID> assetIds = IntStream.range(0, 16)
+        .mapToObj(j -> UUID.randomUUID())
+        .collect(Collectors.toList());
+
+    runConcurrently(8, assetIds.stream()
+        .<Callable<Answer<Void>>>map(assetId -> () -> register(assetId, "1.0.0"))
+        .collect(Collectors.toList()))
+        .forEach(ans -> assertTrue(ans.isSuccess()));
+
+    assertEquals(assetIds.size(), semanticRepository.listKnowledgeAssets()
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+  }
+
+  @Test
+  @Disabled("Benchmark - run manually")
+  void benchmarkWriteScaling() {
+    for (int threads : THREAD_COUNTS) {
+      reset();
+      long contentions = semanticRepository.getWriteLocks().getContentions();
+      long start = System.nanoTime();
+
+      runConcurrently(threads, IntStream.range(0, WRITES_PER_RUN)
+          .<Callable<Answer<Void>>>mapToObj(j -> () -> register(UUID.randomUUID(), "1.0.0"))
+          .collect(Collectors.toList()))
+          .forEach(ans -> assertTrue(ans.isSuccess()));
+
+      double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+      assertEquals(WRITES_PER_RUN, semanticRepository.listKnowledgeAssets()
+          .map(List::size)
+          .orElseGet(Assertions::fail));
+      logger.info("Write scaling, {} threads: {} writes/s ({} contentions)",
+          threads, Math.round(WRITES_PER_RUN / seconds),
+          semanticRepository.getWriteLocks().getContentions() - contentions);
+    }
+  }
+
+  private Answer<Void> register(UUID assetId, String versionTag) {
+    var id = SemanticIdentifier.newId(assetId, versionTag);
+    KnowledgeAsset surr = newSurrogate(id)
+        .withName("Example " + assetId, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    return semanticRepository.setKnowledgeAssetVersion(assetId, versionTag, surr);
+  }
+
+  private <X> List<X> runConcurrently(int threads, List<Callable<X>> tasks) {
+    ExecutorService execs = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<X>> futures = tasks.stream()
+          .map(execs::submit)
+          .collect(Collectors.toList());
+      return futures.stream()
+          .map(this::collectResult)
+          .collect(Collectors.toList());
+    } finally {
+      execs.shutdown();
+    }
+  }
+
+  private <X> X collectResult(Future<X> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      fail(e);
+      return null;
+    }
+  }
+
+}
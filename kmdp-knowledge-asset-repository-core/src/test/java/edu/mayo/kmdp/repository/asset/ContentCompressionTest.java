@@ -0,0 +1,57 @@
+package edu.mayo.kmdp.repository.asset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ContentCompressionTest {
+
+  @Test
+  void testCompressionRoundTrip() {
+    byte[] content = "<owl:Class rdf:about=\"http://a.tst/A\"/>\n".repeat(200).getBytes(UTF_8);
+
+    byte[] stored = ContentCompression.compress(content, 1024);
+    assertTrue(ContentCompression.isCompressed(stored));
+    assertTrue(stored.length < content.length / 5);
+
+    assertArrayEquals(content,
+        ContentCompression.decompress(stored).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testCompressionThreshold() {
+    byte[] small = "<owl:Class/>".repeat(10).getBytes(UTF_8);
+    byte[] random = new byte[4096];
+    new Random(42).nextBytes(random);
+
+    assertSame(small, ContentCompression.compress(small, 1024));
+    assertSame(small, ContentCompression.compress(small, 0));
+    // incompressible content is stored as-is
+    assertSame(random, ContentCompression.compress(random, 1024));
+    assertFalse(ContentCompression.isCompressed(random));
+    assertSame(random, ContentCompression.decompress(random).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testGzipPassThrough() throws IOException {
+    byte[] content = "{ \"name\" : \"Foo\" }\n".repeat(500).getBytes(UTF_8);
+    byte[] stored = ContentCompression.compress(content, 1024);
+
+    for (byte[] bytes : new byte[][]{stored, content}) {
+      try (var in = new GZIPInputStream(
+          new ByteArrayInputStream(ContentCompression.toGzip(bytes)))) {
+        assertArrayEquals(content, in.readAllBytes());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.FOLLOWER;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.FOLLOWER_POLL_INTERVAL;
+import static edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder.newKnowledgeGraphHolder;
+import static edu.mayo.kmdp.repository.asset.index.sparql.impl.SparqlIndex.newSparqlIndex;
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder;
+import edu.mayo.kmdp.repository.asset.index.sparql.GraphFollower;
+import edu.mayo.kmdp.repository.asset.index.sparql.impl.JenaSparqlDAO;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class GraphFollowerTest extends RepositoryTestBase {
+
+  private static DefaultKnowledgeGraphHolder followerGraph;
+
+  private static SemanticKnowledgeAssetRepository follower;
+
+  @BeforeAll
+  static void setUpFollower() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        GraphFollowerTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(FOLLOWER.getName(), "true");
+    cfg.setProperty(FOLLOWER_POLL_INTERVAL.getName(), "0");
+    followerGraph = newKnowledgeGraphHolder(artifactRepository, kgi, cfg);
+    follower = newRepository(cfg,
+        followerGraph, newSparqlIndex(new JenaSparqlDAO(followerGraph), kgi));
+  }
+
+  @AfterAll
+  static void tearDownFollower() {
+    followerGraph.shutdownKnowledgeGraph();
+  }
+
+  @Test
+  void testFollowerReplicatesPersistedGraph() {
+    register("foo", "1.0.0", "Example Alpha");
+    assertTrue(kgHolder.saveKnowledgeGraph().isSuccess());
+
+    assertTrue(followerGraph.pullKnowledgeGraph().orElseGet(Assertions::fail));
+    assertEquals("Example Alpha", follower.getKnowledgeAsset(uuid("foo"), "1.0.0")
+        .map(KnowledgeAsset::getName)
+        .orElseGet(Assertions::fail));
+    assertEquals(1, follower.searchKnowledgeAssets("alpha", null)
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+
+    // unchanged snapshot
+    long generation = followerGraph.getGraphGeneration();
+    assertFalse(followerGraph.pullKnowledgeGraph().orElseGet(Assertions::fail));
+    assertEquals(generation, followerGraph.getGraphGeneration());
+
+    register("bar", "1.0.0", "Example Beta");
+    assertTrue(kgHolder.saveKnowledgeGraph().isSuccess());
+    assertEquals(0, follower.searchKnowledgeAssets("beta", null)
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+
+    assertTrue(followerGraph.pullKnowledgeGraph().orElseGet(Assertions::fail));
+    assertEquals(2, follower.listKnowledgeAssets().map(List::size)
+        .orElseGet(Assertions::fail));
+    assertEquals(1, follower.searchKnowledgeAssets("beta", null)
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testFollowerRejectsWrites() {
+    assertTrue(followerGraph.isReadOnly());
+    assertFalse(kgHolder.isReadOnly());
+
+    var assetId = SemanticIdentifier.newId(uuid("foo"), "1.0.0");
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName("Example Alpha", "")
+        .get();
+    assertFalse(follower.setKnowledgeAssetVersion(uuid("foo"), "1.0.0", surr).isSuccess());
+    assertFalse(follower.clearKnowledgeAssetCatalog().isSuccess());
+    assertFalse(follower.rebuildIndex().isSuccess());
+    assertFalse(followerGraph.saveKnowledgeGraph().isSuccess());
+    assertThrows(IllegalStateException.class, followerGraph::resetGraph);
+
+    assertFalse(semanticRepository.getKnowledgeAsset(uuid("foo"), "1.0.0").isSuccess());
+  }
+
+  @Test
+  void testReplicationLag() {
+    GraphFollower replication = followerGraph.getGraphFollower()
+        .orElseGet(Assertions::fail);
+    long loaded = replication.getSnapshotsLoaded();
+
+    register("foo", "1.0.0", "Example Alpha");
+    assertTrue(kgHolder.saveKnowledgeGraph().isSuccess());
+
+    assertTrue(replication.poll());
+    assertEquals(loaded + 1, replication.getSnapshotsLoaded());
+    assertTrue(replication.getReplicationLagMillis() >= 0);
+    assertTrue(replication.getReplicationLagMillis() < 60_000);
+
+    assertTrue(replication.poll());
+    assertEquals(loaded + 1, replication.getSnapshotsLoaded());
+    assertEquals(0, replication.getFailedPolls());
+  }
+
+  private void register(String id, String versionTag, String name) {
+    var assetId = SemanticIdentifier.newId(uuid(id), versionTag);
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName(name, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+  }
+
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_MAX_CONCURRENCY;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.QUERY_MAX_QUEUED;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.GatewayTimeout;
+import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.ServiceUnavailable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.AbstractCarrier.rep;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomAssetId;
+import static org.omg.spec.api4kp._20200801.taxonomy.krformat.SerializationFormatSeries.TXT;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.SPARQL_1_1;
+
+import edu.mayo.kmdp.repository.asset.query.GraphQueryGovernor;
+import edu.mayo.kmdp.repository.asset.query.QueryLane;
+import java.nio.charset.Charset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.AbstractCarrier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class GraphQueryGovernorTest extends RepositoryTestBase {
+
+  private ExecutorService clients;
+
+  private CountDownLatch release;
+
+  @BeforeEach
+  void initClients() {
+    clients = Executors.newCachedThreadPool();
+    release = new CountDownLatch(1);
+  }
+
+  @AfterEach
+  void shutdownClients() {
+    release.countDown();
+    clients.shutdownNow();
+  }
+
+  @Test
+  void testRejectedWhenSaturated() throws Exception {
+    var governor = new GraphQueryGovernor(5, 0, 1, 0);
+    Future<Answer<Void>> busy = occupy(governor.getClientLane());
+
+    Answer<Object> ans = governor.submit(remaining -> Answer.of(new Object()));
+    assertFalse(ans.isSuccess());
+    assertEquals(ServiceUnavailable.getTag(), ans.getOutcomeType().getTag());
+    assertEquals(1, governor.getRejectedCount());
+    assertEquals(0, governor.getTimedOutCount());
+
+    release.countDown();
+    assertTrue(busy.get(5, TimeUnit.SECONDS).isSuccess());
+    assertTrue(governor.submit(remaining -> Answer.of(new Object())).isSuccess());
+  }
+
+  @Test
+  void testAdmissionWaitCountsAgainstTimeout() throws Exception {
+    var lane = new QueryLane("test", 1, 1, 1000);
+    Future<Answer<Void>> busy = occupy(lane);
+    clients.submit(() -> {
+      Thread.sleep(400);
+      release.countDown();
+      return null;
+    });
+
+    long remaining = lane.submit(left -> Answer.of(left)).orElseGet(Assertions::fail);
+    assertTrue(remaining > 0);
+    assertTrue(remaining <= 650, "Admission wait not deducted: " + remaining);
+    assertTrue(busy.get(5, TimeUnit.SECONDS).isSuccess());
+  }
+
+  @Test
+  void testQueryTimeout() {
+    Model model = ModelFactory.createDefaultModel();
+    for (int j = 0; j < 300; j++) {
+      model.add(ResourceFactory.createResource("http://test/s" + j),
+          ResourceFactory.createProperty("http://test/p"),
+          ResourceFactory.createResource("http://test/o" + j));
+    }
+    var lane = new QueryLane("test", 1, 0, 200);
+
+    Answer<Integer> ans = lane.submit(remaining -> {
+      try (var qexec = QueryExecutionFactory.create(
+          "SELECT * WHERE { ?a ?b ?c . ?d ?e ?f . ?g ?h ?i }", model)) {
+        QueryLane.applyTimeout(qexec, remaining);
+        int[] count = {0};
+        qexec.execSelect().forEachRemaining(sol -> count[0]++);
+        return Answer.of(count[0]);
+      }
+    });
+    assertFalse(ans.isSuccess());
+    assertEquals(GatewayTimeout.getTag(), ans.getOutcomeType().getTag());
+    assertEquals(1, lane.getTimedOutCount());
+    assertEquals(0, lane.getRejectedCount());
+  }
+
+  @Test
+  void testRejectedWhenNotAdmittedInTime() throws Exception {
+    var lane = new QueryLane("test", 1, 1, 200);
+    Future<Answer<Void>> busy = occupy(lane);
+
+    Answer<Object> ans = lane.submit(remaining -> Answer.of(new Object()));
+    assertFalse(ans.isSuccess());
+    assertEquals(ServiceUnavailable.getTag(), ans.getOutcomeType().getTag());
+    assertEquals(1, lane.getRejectedCount());
+    assertEquals(0, lane.getTimedOutCount());
+
+    release.countDown();
+    assertTrue(busy.get(5, TimeUnit.SECONDS).isSuccess());
+  }
+
+  @Test
+  void testQueryFailureIsReported() {
+    var lane = new QueryLane("test", 1, 0, 0);
+    Answer<Object> ans = lane.submit(remaining -> {
+      throw new IllegalStateException("broken");
+    });
+    assertFalse(ans.isSuccess());
+    assertEquals(1, lane.getAvailablePermits());
+  }
+
+  @Test
+  void testNestedQueriesShareThePermit() {
+    var lane = new QueryLane("test", 1, 0, 0);
+    Answer<String> ans = lane.submit(outer -> lane.submit(inner -> Answer.of("nested")));
+    assertEquals("nested", ans.orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testInternalLookupsUseTheirOwnLane() throws Exception {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        GraphQueryGovernorTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(QUERY_MAX_CONCURRENCY.getName(), "1");
+    cfg.setProperty(QUERY_MAX_QUEUED.getName(), "0");
+    var repo = newRepository(cfg);
+
+    ResourceIdentifier assetId = randomAssetId();
+    assertTrue(repo.setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(),
+        new KnowledgeAsset().withAssetId(assetId).withName("Foo")).isSuccess());
+
+    Future<Answer<Void>> busy = occupy(repo.getQueryGovernor().getClientLane());
+
+    // client queries are rejected...
+    KnowledgeCarrier query = AbstractCarrier.of("select ?s where { ?s a ?o . }")
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+    assertFalse(repo.queryKnowledgeAssetGraph(query).isSuccess());
+    // ...while the internal lookups are not
+    long internal = jenaSparqlDao.getInternalLane().getRejectedCount();
+    assertEquals("Foo", repo.getKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag())
+        .orElseGet(Assertions::fail).getName());
+    assertEquals(internal, jenaSparqlDao.getInternalLane().getRejectedCount());
+
+    release.countDown();
+    assertTrue(busy.get(5, TimeUnit.SECONDS).isSuccess());
+    assertFalse(repo.queryKnowledgeAssetGraph(query).orElseGet(Assertions::fail).isEmpty());
+  }
+
+  /**
+   * Holds a permit of a lane until released
+   */
+  private Future<Answer<Void>> occupy(QueryLane lane) throws InterruptedException {
+    var admitted = new CountDownLatch(1);
+    Future<Answer<Void>> busy = clients.submit(() -> lane.submit(remaining -> {
+      admitted.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return Answer.succeed();
+    }));
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+    return busy;
+  }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import edu.mayo.kmdp.repository.asset.index.IndexRebuild;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class IndexRebuildTest extends RepositoryTestBase {
+
+  @Test
+  void testRebuildRestoresLostIndex() {
+    register("foo", "1.0.0", "Example Alpha");
+    register("foo", "2.0.0", "Example Beta");
+    register("bar", "1.0.0", "Example Gamma");
+    var surrogateId = semanticRepository.getKnowledgeAsset(uuid("bar"), "1.0.0")
+        .map(ax -> ax.getSurrogate().get(0).getArtifactId())
+        .orElseGet(Assertions::fail);
+
+    kgHolder.resetGraph();
+    assertTrue(semanticRepository.listKnowledgeAssets().map(List::isEmpty)
+        .orElseGet(Assertions::fail));
+
+    IndexRebuild rebuild = semanticRepository.rebuildIndex()
+        .orElseGet(Assertions::fail);
+    assertTrue(rebuild.isComplete());
+    assertEquals(3, rebuild.getIndexedSurrogates());
+    assertEquals(0, rebuild.getFailedVersions());
+    assertEquals(rebuild.getTotalArtifacts(), rebuild.getScannedArtifacts());
+
+    assertEquals(2, semanticRepository.listKnowledgeAssets().map(List::size)
+        .orElseGet(Assertions::fail));
+    assertEquals(2, semanticRepository.listKnowledgeAssetVersions(uuid("foo")).map(List::size)
+        .orElseGet(Assertions::fail));
+    assertEquals("Example Alpha", semanticRepository.getKnowledgeAsset(uuid("foo"), "1.0.0")
+        .map(KnowledgeAsset::getName)
+        .orElseGet(Assertions::fail));
+    assertTrue(index.getSurrogateDigest(surrogateId).isPresent());
+    assertEquals(1, semanticRepository.searchKnowledgeAssets("gamma", null)
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+    assertTrue(semanticRepository.getIndexRebuild().isPresent());
+  }
+
+  @Test
+  void testWritesDuringRebuildAreNotLost() {
+    register("foo", "1.0.0", "Example Alpha");
+
+    // rebuild an empty Index, while registering another Asset
+    assertTrue(index.rebuild(sink -> register("bar", "1.0.0", "Example Beta"))
+        .isSuccess());
+
+    assertFalse(index.resolveAsset(uuid("foo"), "1.0.0").isPresent());
+    assertEquals("Example Beta", semanticRepository.getKnowledgeAsset(uuid("bar"), "1.0.0")
+        .map(KnowledgeAsset::getName)
+        .orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testConcurrentRebuildIsRejected() {
+    register("foo", "1.0.0", "Example Alpha");
+
+    assertTrue(index.rebuild(sink ->
+        assertFalse(semanticRepository.rebuildIndex().isSuccess())).isSuccess());
+  }
+
+  private void register(String id, String versionTag, String name) {
+    var assetId = SemanticIdentifier.newId(uuid(id), versionTag);
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName(name, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+  }
+
+}
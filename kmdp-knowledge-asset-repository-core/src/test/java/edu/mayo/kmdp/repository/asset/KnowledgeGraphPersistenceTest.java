@@ -1,5 +1,8 @@
 package edu.mayo.kmdp.repository.asset;
 
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.AUTOSAVE_DELAY;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.AUTOSAVE_MAX_STALENESS;
+import static edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder.newKnowledgeGraphHolder;
 import static org.apache.jena.rdf.model.ResourceFactory.createResource;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -13,12 +16,18 @@ import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeReprese
 import static org.omg.spec.api4kp._20200801.taxonomy.parsinglevel.ParsingLevelSeries.Abstract_Knowledge_Expression;
 
 import edu.mayo.kmdp.language.parsers.rdf.JenaRdfParser;
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepository;
+import edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder;
 import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -107,6 +116,22 @@ class KnowledgeGraphPersistenceTest extends RepositoryTestBase {
             .contains(createResource(axId.getVersionId().toString()), RDF.type));
   }
 
+  @Test
+  void testDirtyTracking() {
+    ResourceIdentifier axId = randomAssetId();
+    KnowledgeAsset asset = SurrogateBuilder.newSurrogate(axId).get();
+
+    assertTrue(
+        semanticRepository.setKnowledgeAssetVersion(
+            axId.getUuid(), axId.getVersionTag(), asset).isSuccess());
+    assertTrue(kgHolder.isDirty());
+
+    assertTrue(kgHolder.saveKnowledgeGraph().isSuccess());
+    assertFalse(kgHolder.isDirty());
+    assertTrue(readGraphFromArtifactRepo()
+        .contains(createResource(axId.getVersionId().toString()), RDF.type));
+  }
+
   @Test
   void testWriteThenClear() {
     ResourceIdentifier axId =
@@ -135,9 +160,56 @@ class KnowledgeGraphPersistenceTest extends RepositoryTestBase {
         .contains(createResource(axId.getVersionId().toString()), RDF.type));
   }
 
+  @Test
+  void testMaxStalenessUnderContinuousWrites() throws InterruptedException {
+    KnowledgeAssetRepositoryServerProperties cfg = new KnowledgeAssetRepositoryServerProperties(
+        KnowledgeGraphPersistenceTest.class.getResourceAsStream("/application.test.properties"));
+    // writes keep coming faster than the autosave delay, which would postpone the save forever
+    cfg.setProperty(AUTOSAVE_DELAY.getName(), "30");
+    cfg.setProperty(AUTOSAVE_MAX_STALENESS.getName(), "1");
+    KnowledgeArtifactRepositoryService isolatedRepo =
+        new JPAKnowledgeArtifactRepository(getDataSource(), artifactCfg);
+    DefaultKnowledgeGraphHolder holder = newKnowledgeGraphHolder(isolatedRepo, kgi, cfg);
+
+    Resource first = createResource("urn:uuid:" + UUID.randomUUID());
+    AtomicBoolean writing = new AtomicBoolean(true);
+    Thread writer = new Thread(() -> {
+      holder.writeContentToGraph(kg -> kg.add(first, RDF.type, OWL.Thing));
+      while (writing.get()) {
+        holder.writeContentToGraph(kg -> kg.add(
+            createResource("urn:uuid:" + UUID.randomUUID()), RDF.type, OWL.Thing));
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    });
+
+    try {
+      writer.start();
+      await()
+          .atMost(10, TimeUnit.SECONDS)
+          .pollInterval(250, TimeUnit.MILLISECONDS)
+          .until(() -> readGraphFromArtifactRepo(isolatedRepo).contains(first, RDF.type));
+      // the Graph has been persisted while the writes were still going on
+      assertTrue(writer.isAlive());
+    } finally {
+      writing.set(false);
+      writer.join();
+      holder.shutdownKnowledgeGraph();
+    }
+  }
+
   private Model readGraphFromArtifactRepo() {
+    return readGraphFromArtifactRepo(artifactRepository);
+  }
+
+  private Model readGraphFromArtifactRepo(KnowledgeArtifactRepositoryService artifactRepo) {
     byte[] graphBinary =
-        artifactRepository.getKnowledgeArtifactVersion("default", GRAPH_CARR_UUID, VERSION_ZERO)
+        artifactRepo.getKnowledgeArtifactVersion("default", GRAPH_CARR_UUID, VERSION_ZERO)
+            .flatMap(ContentCompression::decompress)
             .orElseGet(Assertions::fail);
     Model graph = ModelFactory.createDefaultModel();
     graph.read(new ByteArrayInputStream(graphBinary), null);
@@ -0,0 +1,188 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomAssetId;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomArtifactId;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Clinical_Rule;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetrole.KnowledgeAssetRoleSeries.Composite_Knowledge_Asset;
+import static org.omg.spec.api4kp._20200801.taxonomy.dependencyreltype.DependencyTypeSeries.Depends_On;
+import static org.omg.spec.api4kp._20200801.taxonomy.structuralreltype.StructuralPartTypeSeries.Has_Structural_Component;
+
+import edu.mayo.kmdp.repository.asset.index.MemoizingIndex;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.services.CompositeKnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.surrogate.Component;
+import org.omg.spec.api4kp._20200801.surrogate.Dependency;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class MemoizingIndexTest extends RepositoryTestBase {
+
+  @Test
+  void testLookupsAreMemoizedWithinScope() {
+    ResourceIdentifier assetId = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(assetId).withName("Foo"));
+    var memo = new MemoizingIndex(index, true);
+
+    memo.resolveAsset(assetId.getUuid(), assetId.getVersionTag());
+    assertEquals(0, memo.getLookups());
+
+    memo.inScope(() -> {
+      var first = memo.getAssetVersions(assetId.getUuid());
+      first.clear();
+      var second = memo.getAssetVersions(assetId.getUuid());
+      assertEquals(1, second.size());
+      return memo.inScope(() -> memo.getAssetVersions(assetId.getUuid()));
+    });
+    assertEquals(3, memo.getLookups());
+    assertEquals(2, memo.getHits());
+  }
+
+  @Test
+  void testWritesDiscardMemoizedLookups() {
+    ResourceIdentifier assetId = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(assetId).withName("Foo"));
+    var memo = new MemoizingIndex(index, true);
+
+    memo.inScope(() -> {
+      assertFalse(memo.isTombstoned(assetId));
+      memo.tombstoneAssetVersion(assetId);
+      assertTrue(memo.isTombstoned(assetId));
+      return null;
+    });
+    assertEquals(0, memo.getHits());
+  }
+
+  @Test
+  void testDisabledMemoDelegates() {
+    ResourceIdentifier assetId = randomAssetId();
+    var memo = new MemoizingIndex(index, false);
+
+    memo.inScope(() -> memo.getAssetVersions(assetId.getUuid()));
+    assertEquals(0, memo.getLookups());
+  }
+
+  @Test
+  void testCompositeReadReusesLookups() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    ResourceIdentifier id3 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withFormalType(Clinical_Rule)
+        .withRole(Composite_Knowledge_Asset)
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id2))
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id3)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Foo"));
+    register(new KnowledgeAsset().withAssetId(id3).withName("Bar"));
+
+    MemoizingIndex memo = semanticRepository.getIndexMemo();
+    long lookups = memo.getLookups();
+    long hits = memo.getHits();
+
+    CompositeKnowledgeCarrier ckc = semanticRepository
+        .getCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail);
+    assertEquals(id1, ckc.getAssetId());
+
+    long queries = (memo.getLookups() - lookups) - (memo.getHits() - hits);
+    assertTrue(memo.getHits() > hits);
+    assertTrue(queries < memo.getLookups() - lookups);
+  }
+
+  @Test
+  void testCompositeCarrierReadReusesLookups() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    ResourceIdentifier id3 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Comp")
+        .withRole(Composite_Knowledge_Asset)
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id2))
+        .withLinks(new Component().withRel(Has_Structural_Component).withHref(id3)));
+    for (ResourceIdentifier id : List.of(id2, id3)) {
+      register(new KnowledgeAsset().withAssetId(id).withName("Foo"));
+      ResourceIdentifier artId = randomArtifactId();
+      assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+              id.getUuid(), id.getVersionTag(), artId.getUuid(), artId.getVersionTag(),
+              "Foo".getBytes())
+          .isSuccess());
+    }
+
+    // the same reads, each in its own scope
+    long partHits = countHits(() -> {
+      semanticRepository.getKnowledgeAssetVersion(id1.getUuid(), id1.getVersionTag());
+      semanticRepository.getKnowledgeAssetVersionCanonicalCarrier(
+          id2.getUuid(), id2.getVersionTag());
+      semanticRepository.getKnowledgeAssetVersionCanonicalCarrier(
+          id3.getUuid(), id3.getVersionTag());
+    });
+    long compositeHits = countHits(() -> assertEquals(2, semanticRepository
+        .getCompositeKnowledgeAssetCarrier(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail)
+        .getComponent().size()));
+
+    assertTrue(compositeHits > partHits,
+        "Composite " + compositeHits + " vs parts " + partHits + " memoized lookups");
+  }
+
+  @Test
+  void testAnonymousCompositeReadReusesLookups() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Foo")
+        .withLinks(new Dependency().withRel(Depends_On).withHref(id2)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+
+    // the same reads, each in its own scope
+    long partHits = countHits(() -> {
+      semanticRepository.getKnowledgeAssetVersion(id1.getUuid(), id1.getVersionTag());
+      semanticRepository.getKnowledgeAssetVersion(id2.getUuid(), id2.getVersionTag());
+    });
+    long compositeHits = countHits(() -> assertEquals(2, semanticRepository
+        .getAnonymousCompositeKnowledgeAssetSurrogate(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail)
+        .getComponent().size()));
+
+    assertTrue(compositeHits > partHits,
+        "Composite " + compositeHits + " vs parts " + partHits + " memoized lookups");
+  }
+
+  /**
+   * @return the number of Index lookups served by the memo while running the reads
+   */
+  private long countHits(Runnable reads) {
+    MemoizingIndex memo = semanticRepository.getIndexMemo();
+    long hits = memo.getHits();
+    reads.run();
+    return memo.getHits() - hits;
+  }
+
+  private void register(KnowledgeAsset surrogate) {
+    ResourceIdentifier assetId = surrogate.getAssetId();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surrogate)
+        .isSuccess());
+  }
+
+}
@@ -22,10 +22,15 @@ import edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder;
 import edu.mayo.kmdp.repository.asset.index.sparql.impl.JenaSparqlDAO;
 import edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphInfo;
 import edu.mayo.kmdp.repository.asset.index.sparql.impl.SparqlIndex;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -89,21 +94,79 @@ abstract class RepositoryTestBase {
 
     index = newSparqlIndex(jenaSparqlDao, kgi);
 
-    semanticRepository = new SemanticKnowledgeAssetRepository(
-        artifactRepository,
+    semanticRepository = newRepository(assetCfg);
+
+    ensureInitialized();
+  }
+
+  /**
+   * @param cfg the configuration of the Asset Repository
+   * @return a new Asset Repository, on top of the (shared) Artifact Repository and Index
+   */
+  static SemanticKnowledgeAssetRepository newRepository(
+      KnowledgeAssetRepositoryServerProperties cfg) {
+    return newRepository(cfg, kgHolder, index);
+  }
+
+  /**
+   * @param cfg         the configuration of the Asset Repository
+   * @param graphHolder the Knowledge Graph of the Asset Repository
+   * @param graphIndex  the Index over the Knowledge Graph
+   * @return a new Asset Repository, on top of the (shared) Artifact Repository
+   */
+  static SemanticKnowledgeAssetRepository newRepository(
+      KnowledgeAssetRepositoryServerProperties cfg,
+      DefaultKnowledgeGraphHolder graphHolder,
+      SparqlIndex graphIndex) {
+    return newRepository(cfg, artifactRepository, graphHolder, graphIndex);
+  }
+
+  /**
+   * @param cfg      the configuration of the Asset Repository
+   * @param observer notified (with the method name) before each call to the Artifact Repository,
+   *                 in the calling thread
+   * @return a new Asset Repository, on top of the (shared) Index and the (shared) Artifact
+   * Repository, whose calls to the Artifact Repository are observed
+   */
+  static SemanticKnowledgeAssetRepository newObservedRepository(
+      KnowledgeAssetRepositoryServerProperties cfg,
+      Consumer<String> observer) {
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> c = artifactRepository.getClass(); c != null; c = c.getSuperclass()) {
+      interfaces.addAll(Arrays.asList(c.getInterfaces()));
+    }
+    KnowledgeArtifactRepositoryService observed = (KnowledgeArtifactRepositoryService)
+        Proxy.newProxyInstance(RepositoryTestBase.class.getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            (proxy, method, args) -> {
+              observer.accept(method.getName());
+              try {
+                return method.invoke(artifactRepository, args);
+              } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+              }
+            });
+    return newRepository(cfg, observed, kgHolder, index);
+  }
+
+  private static SemanticKnowledgeAssetRepository newRepository(
+      KnowledgeAssetRepositoryServerProperties cfg,
+      KnowledgeArtifactRepositoryService artifactRepo,
+      DefaultKnowledgeGraphHolder graphHolder,
+      SparqlIndex graphIndex) {
+    return new SemanticKnowledgeAssetRepository(
+        artifactRepo,
         new LanguageDeSerializer(
             Arrays.asList(new Surrogate2Parser(), new JenaOwlParser())),
         new LanguageDetector(Collections.emptyList()),
         new LanguageValidator(Collections.emptyList()),
         new TransrepresentationExecutor(
             Arrays.asList(new SurrogateV2toHTMLTranslator(), new SurrogateV2Transcriptor())),
-        new JenaQuery(kgHolder),
-        index,
-        kgHolder,
-        new KARSHrefBuilder(assetCfg),
-        assetCfg);
-
-    ensureInitialized();
+        new JenaQuery(graphHolder),
+        graphIndex,
+        graphHolder,
+        new KARSHrefBuilder(cfg),
+        cfg);
   }
 
   private static void ensureInitialized() {
@@ -15,6 +15,8 @@ package edu.mayo.kmdp.repository.asset;
 
 import static edu.mayo.kmdp.util.Util.uuid;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.omg.spec.api4kp._20200801.AbstractCarrier.rep;
@@ -24,14 +26,20 @@ import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeReprese
 import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.SPARQL_1_1;
 import static org.omg.spec.api4kp._20200801.taxonomy.krserialization.KnowledgeRepresentationLanguageSerializationSeries.RDF_XML_Syntax;
 
+import edu.mayo.kmdp.repository.asset.query.GraphQueryPage;
+import edu.mayo.kmdp.repository.asset.query.QueryResultCache;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.omg.spec.api4kp._20200801.AbstractCarrier;
 import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.datatypes.Bindings;
+import org.omg.spec.api4kp._20200801.id.Pointer;
 import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
 import org.omg.spec.api4kp._20200801.services.transrepresentation.ModelMIMECoder;
 import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
@@ -69,6 +77,151 @@ class SemanticRepositoryQueryTest extends RepositoryTestBase {
     assertEquals(2, binds.size());
   }
 
+  @Test
+  void testQueryCache() {
+    String query = "" +
+        "select ?s where { ?s a ?o . }" +
+        "";
+    KnowledgeCarrier queryCarrier = AbstractCarrier.of(query)
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+    KnowledgeCarrier sameQueryCarrier = AbstractCarrier.of("select ?s \n where {\n ?s a ?o . }")
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+
+    QueryResultCache cache = semanticRepository.getQueryResultCache();
+    long hits = cache.getHitCount();
+
+    assertEquals(2, semanticRepository.queryKnowledgeAssetGraph(queryCarrier)
+        .orElse(Collections.emptyList()).size());
+    assertEquals(2, semanticRepository.queryKnowledgeAssetGraph(sameQueryCarrier)
+        .orElse(Collections.emptyList()).size());
+    assertEquals(hits + 1, cache.getHitCount());
+
+    // a write to the graph invalidates the cached results
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(uuid("foo3"), "1",
+            new KnowledgeAsset().withFormalType(Care_Process_Model)).isSuccess());
+    assertEquals(3, semanticRepository.queryKnowledgeAssetGraph(queryCarrier)
+        .orElse(Collections.emptyList()).size());
+    assertEquals(hits + 1, cache.getHitCount());
+  }
+
+  @Test
+  void testPagedQuery() {
+    KnowledgeCarrier queryCarrier = AbstractCarrier.of("select ?s where { ?s a ?o . }")
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+
+    GraphQueryPage page1 = semanticRepository.queryKnowledgeAssetGraphPage(queryCarrier, null, 1)
+        .orElseGet(Assertions::fail);
+    assertEquals(1, page1.size());
+    assertFalse(page1.isLast());
+
+    GraphQueryPage page2 = semanticRepository
+        .queryKnowledgeAssetGraphPage(queryCarrier, page1.getNextCursor().orElseThrow(), 1)
+        .orElseGet(Assertions::fail);
+    assertEquals(1, page2.size());
+    assertTrue(page2.isLast());
+    assertNotEquals(page1.toBindings().get(0).get("s"), page2.toBindings().get(0).get("s"));
+
+    // a cursor is no longer valid once the graph changes
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(uuid("foo3"), "1",
+            new KnowledgeAsset().withFormalType(Care_Process_Model)).isSuccess());
+    assertTrue(semanticRepository
+        .queryKnowledgeAssetGraphPage(queryCarrier, page1.getNextCursor().orElseThrow(), 1)
+        .isFailure());
+  }
+
+  @Test
+  void testPagesCoverSingleEvaluation() {
+    KnowledgeCarrier queryCarrier = AbstractCarrier.of("select ?s ?p ?o where { ?s ?p ?o . }")
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+
+    List<String> all = semanticRepository.queryKnowledgeAssetGraphResults(queryCarrier)
+        .orElseGet(Assertions::fail)
+        .toBindings().stream()
+        .map(Object::toString)
+        .sorted()
+        .collect(Collectors.toList());
+    assertTrue(all.size() > 3);
+
+    List<String> paged = new ArrayList<>();
+    String cursor = null;
+    do {
+      GraphQueryPage page = semanticRepository
+          .queryKnowledgeAssetGraphPage(queryCarrier, cursor, 3)
+          .orElseGet(Assertions::fail);
+      page.toBindings().forEach(b -> paged.add(b.toString()));
+      cursor = page.getNextCursor().orElse(null);
+    } while (cursor != null);
+
+    // unordered queries are ordered, so that pages neither overlap nor skip results
+    assertEquals(all, paged.stream().sorted().collect(Collectors.toList()));
+  }
+
+  @Test
+  void testPagesResumeByKey() {
+    // ordered, with many identical solutions, and unbound values
+    KnowledgeCarrier queryCarrier = AbstractCarrier.of(
+            "select ?p ?t where { ?s ?p ?o . optional { ?o a ?t . } } order by desc(?p)")
+        .withRepresentation(rep(SPARQL_1_1, TXT, Charset.defaultCharset()));
+
+    List<Bindings> all = semanticRepository.queryKnowledgeAssetGraphResults(queryCarrier)
+        .orElseGet(Assertions::fail)
+        .toBindings();
+    assertTrue(all.size() > 4);
+
+    List<Bindings> paged = new ArrayList<>();
+    String cursor = null;
+    do {
+      GraphQueryPage page = semanticRepository
+          .queryKnowledgeAssetGraphPage(queryCarrier, cursor, 2)
+          .orElseGet(Assertions::fail);
+      paged.addAll(page.toBindings());
+      cursor = page.getNextCursor().orElse(null);
+    } while (cursor != null);
+
+    assertEquals(sorted(all), sorted(paged));
+    List<String> preds = paged.stream()
+        .map(b -> (String) b.get("p"))
+        .collect(Collectors.toList());
+    List<String> descending = new ArrayList<>(preds);
+    descending.sort(Collections.reverseOrder());
+    assertEquals(descending, preds);
+  }
+
+  private List<String> sorted(List<Bindings> bindings) {
+    return bindings.stream()
+        .map(Object::toString)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void testFullTextSearch() {
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(uuid("htn"), "1",
+            new KnowledgeAsset().withFormalType(Care_Process_Model)
+                .withName("Hypertension Care Process")).isSuccess());
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(uuid("dm"), "1",
+            new KnowledgeAsset().withFormalType(Care_Process_Model)
+                .withName("Diabetes Mellitus Care Process")).isSuccess());
+
+    List<Pointer> both = semanticRepository.searchKnowledgeAssets("care process", null)
+        .orElse(Collections.emptyList());
+    assertEquals(2, both.size());
+
+    List<Pointer> prefix = semanticRepository.searchKnowledgeAssets("hyper", null)
+        .orElse(Collections.emptyList());
+    assertEquals(1, prefix.size());
+    assertEquals(uuid("htn"), prefix.get(0).getUuid());
+    assertEquals("Hypertension Care Process", prefix.get(0).getName());
+
+    assertTrue(semanticRepository.searchKnowledgeAssets("diabetes hypertension", null)
+        .orElse(Collections.emptyList()).isEmpty());
+    assertTrue(semanticRepository.searchKnowledgeAssets(" ", null).isFailure());
+  }
+
   @Test
   void testGraph() {
     Answer<KnowledgeCarrier> graphAns =
@@ -24,6 +24,7 @@ import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.C
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.NoContent;
 import static edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries.NotFound;
 import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -66,16 +67,19 @@ import com.github.zafarkhaja.semver.Version;
 import edu.mayo.kmdp.comparator.Contrastor.Comparison;
 import edu.mayo.kmdp.language.parsers.surrogate.v2.Surrogate2Parser;
 import edu.mayo.kmdp.registry.Registry;
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties.KnowledgeArtifactRepositoryOptions;
 import edu.mayo.kmdp.util.DateTimeUtil;
 import edu.mayo.ontology.taxonomies.ws.responsecodes.ResponseCodeSeries;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.omg.spec.api4kp._20200801.AbstractCarrier;
@@ -521,6 +525,45 @@ class SemanticRepositoryTest extends RepositoryTestBase {
     assertTrue(Predictive_Model.sameAs(assetResult.getFormalType().get(0)));
   }
 
+  @Test
+  void testSetVersionedAssetUnchangedIsIgnored() {
+    ResourceIdentifier assetId = randomAssetId(testAssetNS());
+    KnowledgeAsset asset = new KnowledgeAsset()
+        .withAssetId(assetId)
+        .withName("Unchanged")
+        .withFormalType(Care_Process_Model);
+    Answer<Void> response1 = semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), asset);
+    assertEquals(NoContent, response1.getOutcomeType());
+
+    KnowledgeAsset stored = semanticRepository
+        .getKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag())
+        .orElseGet(Assertions::fail);
+    ResourceIdentifier surrogateId = getCanonicalSurrogateId(stored)
+        .orElseGet(Assertions::fail);
+    String digest = index.getSurrogateDigest(surrogateId)
+        .orElseGet(Assertions::fail);
+
+    AtomicInteger artifactWrites = new AtomicInteger();
+    SemanticKnowledgeAssetRepository observed = newObservedRepository(assetCfg, method -> {
+      if (method.startsWith("set") || method.startsWith("delete")) {
+        artifactWrites.incrementAndGet();
+      }
+    });
+    long generation = kgHolder.getGraphGeneration();
+
+    Answer<Void> response2 = observed
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), stored);
+    assertEquals(NoContent, response2.getOutcomeType());
+    // neither the Artifact Repository nor the Index have been written to
+    assertEquals(0, artifactWrites.get());
+    assertEquals(generation, kgHolder.getGraphGeneration());
+    assertEquals(digest, index.getSurrogateDigest(surrogateId).orElseGet(Assertions::fail));
+    assertEquals(1, semanticRepository
+        .listKnowledgeAssetSurrogates(assetId.getUuid(), assetId.getVersionTag())
+        .orElseGet(Assertions::fail).size());
+  }
+
   @Test
   void testIncrementalAdditiveChanges() {
     ResourceIdentifier assetId = randomAssetId(testAssetNS());
@@ -889,6 +932,38 @@ class SemanticRepositoryTest extends RepositoryTestBase {
     assertEquals(1, artifacts.size());
   }
 
+  @Test
+  void testSharedCarrierContentIsResolved() {
+    byte[] content = "define \"Dizzy\": exists [Condition: \"Dizziness\"]\n".repeat(20)
+        .getBytes();
+    ResourceIdentifier assetId = assetId(DID_URN_URI, uuid("foo"), "1.0.0");
+    ResourceIdentifier art1 = artifactId(DID_URN_URI, uuid("q1"), "1.0.0");
+    ResourceIdentifier art2 = artifactId(DID_URN_URI, uuid("q2"), "1.0.0");
+
+    assertTrue(semanticRepository.setKnowledgeAssetVersion(
+        assetId.getUuid(), assetId.getVersionTag(),
+        new KnowledgeAsset().withAssetId(assetId).withFormalType(Care_Process_Model))
+        .isSuccess());
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+        assetId.getUuid(), assetId.getVersionTag(),
+        art1.getUuid(), art1.getVersionTag(), content).isSuccess());
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+        assetId.getUuid(), assetId.getVersionTag(),
+        art2.getUuid(), art2.getVersionTag(), content).isSuccess());
+
+    // the second carrier shares the content of the first: both raw Artifacts are references
+    String repoId = artifactCfg.getTyped(KnowledgeArtifactRepositoryOptions.DEFAULT_REPOSITORY_ID);
+    for (ResourceIdentifier art : List.of(art1, art2)) {
+      byte[] raw = semanticRepository.getInnerArtifactRepository()
+          .getKnowledgeArtifactVersion(repoId, art.getUuid(), art.getVersionTag())
+          .orElseGet(Assertions::fail);
+      assertFalse(Arrays.equals(content, raw));
+      assertArrayEquals(content,
+          semanticRepository.getStoredKnowledgeArtifact(art.getUuid(), art.getVersionTag())
+              .orElseGet(Assertions::fail));
+    }
+  }
+
 
   private ConceptIdentifier dizziness = Term.newTerm(
       URI.create("urn:foo:dizzy"),
@@ -0,0 +1,152 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomArtifactId;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomAssetId;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.dependencyreltype.DependencyTypeSeries.Depends_On;
+
+import edu.mayo.kmdp.repository.asset.index.MemoizingIndex;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateEnricher;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateProjection;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateProjection.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.Dependency;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class SurrogateProjectionTest extends RepositoryTestBase {
+
+  @Test
+  void testParseFields() {
+    assertSame(SurrogateProjection.FULL,
+        SurrogateProjection.parse(null).orElseGet(Assertions::fail));
+    assertSame(SurrogateProjection.FULL,
+        SurrogateProjection.parse(" ").orElseGet(Assertions::fail));
+
+    SurrogateProjection projection = SurrogateProjection.parse("name, formalType,carriers")
+        .orElseGet(Assertions::fail);
+    assertFalse(projection.isFull());
+    assertTrue(projection.includes(Field.NAME));
+    assertTrue(projection.includes(Field.CARRIERS));
+    assertFalse(projection.includes(Field.LINKS));
+
+    Answer<SurrogateProjection> bad = SurrogateProjection.parse("name,foo");
+    assertFalse(bad.isSuccess());
+  }
+
+  @Test
+  void testProjectedSurrogate() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    ResourceIdentifier artifactId = randomArtifactId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Foo")
+        .withDescription("Lorem ipsum")
+        .withFormalType(Care_Process_Model)
+        .withLinks(new Dependency().withRel(Depends_On).withHref(id2)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+    assertTrue(semanticRepository.setKnowledgeAssetCarrierVersion(
+            id1.getUuid(), id1.getVersionTag(),
+            artifactId.getUuid(), artifactId.getVersionTag(),
+            "test".getBytes())
+        .isSuccess());
+
+    KnowledgeAsset full = semanticRepository
+        .getKnowledgeAssetVersion(id1.getUuid(), id1.getVersionTag())
+        .orElseGet(Assertions::fail);
+    KnowledgeAsset sparse = semanticRepository
+        .getKnowledgeAssetVersion(id1.getUuid(), id1.getVersionTag(), null,
+            "name,formalType,carriers")
+        .orElseGet(Assertions::fail);
+
+    assertEquals(full.getAssetId().asKey(), sparse.getAssetId().asKey());
+    assertEquals("Foo", sparse.getName());
+    assertNull(sparse.getDescription());
+    assertEquals(1, sparse.getFormalType().size());
+    assertTrue(sparse.getLinks().isEmpty());
+    assertTrue(sparse.getSurrogate().isEmpty());
+    // stored Carriers only
+    assertEquals(1, sparse.getCarriers().size());
+
+    KnowledgeAsset fullAgain = semanticRepository
+        .getKnowledgeAsset(id1.getUuid(), null, "")
+        .orElseGet(Assertions::fail);
+    assertEquals(full.getLinks().size(), fullAgain.getLinks().size());
+
+    assertFalse(semanticRepository
+        .getKnowledgeAsset(id1.getUuid(), null, "name,foo")
+        .isSuccess());
+  }
+
+  @Test
+  void testProjectionSkipsNeighbourQuery() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset()
+        .withAssetId(id1)
+        .withName("Foo")
+        .withLinks(new Dependency().withRel(Depends_On).withHref(id2)));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar"));
+    var memo = new MemoizingIndex(index, true);
+
+    memo.inScope(() -> SurrogateEnricher.enrichSurrogate(
+        new KnowledgeAsset().withAssetId(id1).withName("Foo"),
+        null, null, memo, true,
+        SurrogateProjection.parse("name").orElseGet(Assertions::fail)));
+    assertEquals(0, memo.getLookups());
+
+    KnowledgeAsset enriched = memo.inScope(() -> SurrogateEnricher.enrichSurrogate(
+        new KnowledgeAsset().withAssetId(id1).withName("Foo")
+            .withLinks(new Dependency().withRel(Depends_On).withHref(id2)),
+        null, null, memo, true,
+        SurrogateProjection.FULL));
+    assertEquals(1, memo.getLookups());
+    assertEquals(1, enriched.getLinks().size());
+  }
+
+  @Test
+  void testProjectedBatch() {
+    ResourceIdentifier id1 = randomAssetId();
+    ResourceIdentifier id2 = randomAssetId();
+    register(new KnowledgeAsset().withAssetId(id1).withName("Foo").withDescription("Lorem"));
+    register(new KnowledgeAsset().withAssetId(id2).withName("Bar").withDescription("Ipsum"));
+
+    List<KnowledgeAsset> surrogates = semanticRepository
+        .getKnowledgeAssetVersions(List.of(id1, id2), "name")
+        .orElseGet(Assertions::fail);
+    assertEquals(List.of("Foo", "Bar"),
+        surrogates.stream().map(KnowledgeAsset::getName).collect(Collectors.toList()));
+    assertTrue(surrogates.stream().allMatch(ka -> ka.getDescription() == null));
+  }
+
+  private void register(KnowledgeAsset surrogate) {
+    ResourceIdentifier assetId = surrogate.getAssetId();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surrogate)
+        .isSuccess());
+  }
+
+}
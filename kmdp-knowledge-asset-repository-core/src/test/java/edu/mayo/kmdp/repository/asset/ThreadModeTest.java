@@ -0,0 +1,199 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.THREAD_MODE;
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import edu.mayo.kmdp.repository.asset.TaskExecutors.ThreadMode;
+import edu.mayo.kmdp.repository.asset.index.IndexRebuild;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class ThreadModeTest extends RepositoryTestBase {
+
+  private static final Logger logger = LoggerFactory.getLogger(ThreadModeTest.class);
+
+  /**
+   * Default max number of (platform) request threads in Tomcat
+   */
+  private static final int PLATFORM_POOL_SIZE = 200;
+
+  private static final int REQUESTS = 2000;
+
+  /**
+   * Simulated latency of the blocking calls made by each request (e.g. an external fetch)
+   */
+  private static final long BLOCKING_MILLIS = 20;
+
+  @BeforeAll
+  static void enableVirtualThreads() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        ThreadModeTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(THREAD_MODE.getName(), ThreadMode.VIRTUAL.name());
+    semanticRepository = newRepository(cfg);
+  }
+
+  @Test
+  void testRebuildWithVirtualThreads() {
+    IntStream.range(0, 5).forEach(j -> register(uuid("asset" + j)));
+
+    kgHolder.resetGraph();
+    IndexRebuild rebuild = semanticRepository.rebuildIndex()
+        .orElseGet(Assertions::fail);
+
+    assertTrue(rebuild.isComplete());
+    assertEquals(5, rebuild.getIndexedSurrogates());
+    assertEquals(5, semanticRepository.listKnowledgeAssets()
+        .map(List::size)
+        .orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testTaskExecutors() throws Exception {
+    for (ThreadMode mode : ThreadMode.values()) {
+      ExecutorService exec = TaskExecutors.newTaskExecutor("test", mode);
+      try {
+        assertEquals(mode.name(), exec.submit(mode::name).get(5, TimeUnit.SECONDS));
+      } finally {
+        exec.shutdown();
+      }
+    }
+    ExecutorService bounded = TaskExecutors.newTaskExecutor("test", ThreadMode.PLATFORM, 2);
+    try {
+      assertEquals(2, ((ThreadPoolExecutor) bounded).getMaximumPoolSize());
+    } finally {
+      bounded.shutdown();
+    }
+    assertEquals(ThreadMode.VIRTUAL, ThreadMode.parse(" virtual"));
+    assertEquals(ThreadMode.PLATFORM, ThreadMode.PLATFORM.effective());
+    assertEquals(TaskExecutors.isVirtualThreadSupported() ? ThreadMode.VIRTUAL : ThreadMode.PLATFORM,
+        ThreadMode.VIRTUAL.effective());
+    assertThrows(IllegalArgumentException.class, () -> ThreadMode.parse("GREEN"));
+  }
+
+  @Test
+  void testRequestLoad() {
+    List<UUID> assetIds = IntStream.range(0, 100)
+        .mapToObj(j -> UUID.randomUUID())
+        .peek(this::register)
+        .collect(Collectors.toList());
+
+    double platformThroughput;
+    ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+    try {
+      platformThroughput = load(ThreadMode.PLATFORM, platform, assetIds);
+    } finally {
+      platform.shutdown();
+    }
+    double virtualThroughput;
+    ExecutorService virtual = TaskExecutors.newTaskExecutor("load", ThreadMode.VIRTUAL);
+    try {
+      virtualThroughput = load(ThreadMode.VIRTUAL.effective(), virtual, assetIds);
+    } finally {
+      virtual.shutdown();
+    }
+
+    if (TaskExecutors.isVirtualThreadSupported()) {
+      // the blocked requests no longer queue for one of the pooled threads
+      assertTrue(virtualThroughput > platformThroughput,
+          "Virtual " + virtualThroughput + " vs platform " + platformThroughput + " requests/s");
+    } else {
+      // VIRTUAL falls back to a pool of platform threads, as large as the one compared with
+      assertTrue(virtualThroughput > 0.5 * platformThroughput,
+          "Fallback " + virtualThroughput + " vs platform " + platformThroughput + " requests/s");
+    }
+  }
+
+  /**
+   * @return the throughput, in requests/s
+   */
+  private double load(ThreadMode mode, ExecutorService executor, List<UUID> assetIds) {
+    var random = new Random(42);
+    long start = System.nanoTime();
+    List<Future<Long>> requests = IntStream.range(0, REQUESTS)
+        .mapToObj(j -> assetIds.get(random.nextInt(assetIds.size())))
+        .map(assetId -> executor.submit(() -> request(assetId)))
+        .collect(Collectors.toList());
+
+    List<Long> latencies = new ArrayList<>(REQUESTS);
+    for (Future<Long> request : requests) {
+      latencies.add(collectResult(request));
+    }
+    double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+    Collections.sort(latencies);
+    double throughput = REQUESTS / seconds;
+    logger.info("{} : {} requests/s, p50 {} ms, p99 {} ms",
+        mode, String.format("%.1f", throughput),
+        latencies.get(REQUESTS / 2), latencies.get(REQUESTS * 99 / 100));
+    return throughput;
+  }
+
+  /**
+   * @return the latency of the request, in ms
+   */
+  private long request(UUID assetId) throws InterruptedException {
+    long start = System.nanoTime();
+    Answer<KnowledgeAsset> ans = semanticRepository.getKnowledgeAsset(assetId, "1.0.0");
+    assertTrue(ans.isSuccess());
+    Thread.sleep(BLOCKING_MILLIS);
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+
+  private void register(UUID assetId) {
+    var id = SemanticIdentifier.newId(assetId, "1.0.0");
+    KnowledgeAsset surr = newSurrogate(id)
+        .withName("Example " + assetId, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId, "1.0.0", surr).isSuccess());
+  }
+
+  private <X> X collectResult(Future<X> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      fail(e);
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.COMPACTION_BATCH_SIZE;
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.TOMBSTONE_DELETE;
+import static edu.mayo.kmdp.util.Util.uuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.newSurrogate;
+import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Care_Process_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassetcategory.KnowledgeAssetCategorySeries.Plans_Processes_Pathways_And_Protocol_Definitions;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties.KnowledgeArtifactRepositoryOptions;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.jena.rdf.model.Statement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+
+class TombstoneDeleteTest extends RepositoryTestBase {
+
+  @BeforeAll
+  static void enableTombstones() {
+    var cfg = new KnowledgeAssetRepositoryServerProperties(
+        TombstoneDeleteTest.class.getResourceAsStream("/application.test.properties"));
+    cfg.setProperty(TOMBSTONE_DELETE.getName(), "true");
+    cfg.setProperty(COMPACTION_BATCH_SIZE.getName(), "2");
+    semanticRepository = newRepository(cfg);
+  }
+
+  @Test
+  void testDeletedVersionIsHiddenUntilCompacted() {
+    String repoId = artifactCfg.getTyped(KnowledgeArtifactRepositoryOptions.DEFAULT_REPOSITORY_ID);
+    register("foo", "1.0.0", "Example A");
+    register("foo", "2.0.0", "Example Ax");
+    Pointer v1 = semanticRepository.listKnowledgeAssetVersions(uuid("foo"))
+        .orElseGet(Assertions::fail).stream()
+        .filter(ptr -> "1.0.0".equals(ptr.getVersionTag()))
+        .findFirst()
+        .orElseGet(Assertions::fail);
+    UUID surrogateId = surrogateOf("foo", "1.0.0");
+
+    assertTrue(semanticRepository.deleteKnowledgeAssetVersion(uuid("foo"), "1.0.0").isSuccess());
+
+    assertTrue(semanticRepository.getKnowledgeAsset(uuid("foo"), "1.0.0").isNotFound());
+    assertEquals(1, semanticRepository.listKnowledgeAssetVersions(uuid("foo")).map(List::size)
+        .orElseGet(Assertions::fail));
+    assertEquals("2.0.0", semanticRepository.getKnowledgeAsset(uuid("foo"))
+        .map(ax -> ax.getAssetId().getVersionTag())
+        .orElseGet(Assertions::fail));
+    assertTrue(index.isTombstoned(v1));
+    assertTrue(artifactRepository.isKnowledgeArtifactSeries(repoId, surrogateId, false)
+        .isSuccess());
+
+    assertEquals(1, semanticRepository.getTombstoneCompactor().compactAll());
+
+    assertFalse(index.isTombstoned(v1));
+    assertFalse(artifactRepository.isKnowledgeArtifactSeries(repoId, surrogateId, false)
+        .isSuccess());
+    assertEquals("2.0.0", semanticRepository.getKnowledgeAsset(uuid("foo"))
+        .map(ax -> ax.getAssetId().getVersionTag())
+        .orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testCompactionInBatches() {
+    String repoId = artifactCfg.getTyped(KnowledgeArtifactRepositoryOptions.DEFAULT_REPOSITORY_ID);
+    IntStream.range(0, 5).forEach(j -> register("bar" + j, "1.0.0", "Example " + j));
+
+    IntStream.range(0, 5).forEach(j ->
+        assertTrue(semanticRepository.deleteKnowledgeAsset(uuid("bar" + j)).isSuccess()));
+    assertTrue(semanticRepository.listKnowledgeAssets().map(List::isEmpty)
+        .orElseGet(Assertions::fail));
+
+    var compactor = semanticRepository.getTombstoneCompactor();
+    assertEquals(2, compactor.compactBatch());
+    assertEquals(3, compactor.compactAll());
+    assertEquals(0, compactor.compactBatch());
+
+    List<Statement> triples = jenaSparqlDao.readAll().stream()
+        .filter(this::isInstanceTriple)
+        .collect(Collectors.toList());
+    assertTrue(triples.isEmpty());
+    List<Pointer> ptrs = artifactRepository.listKnowledgeArtifacts(repoId)
+        .orElseGet(Assertions::fail);
+    assertEquals(2, ptrs.size());
+  }
+
+  @Test
+  void testDeletedVersionCanBeRegisteredAgain() {
+    register("foo", "1.0.0", "Example A");
+    assertTrue(semanticRepository.deleteKnowledgeAssetVersion(uuid("foo"), "1.0.0").isSuccess());
+
+    register("foo", "1.0.0", "Example B");
+    assertEquals(0, semanticRepository.getTombstoneCompactor().compactAll());
+
+    assertEquals("Example B", semanticRepository.getKnowledgeAsset(uuid("foo"), "1.0.0")
+        .map(KnowledgeAsset::getName)
+        .orElseGet(Assertions::fail));
+  }
+
+  private void register(String id, String versionTag, String name) {
+    var assetId = SemanticIdentifier.newId(uuid(id), versionTag);
+    KnowledgeAsset surr = newSurrogate(assetId)
+        .withName(name, "")
+        .withFormalType(Plans_Processes_Pathways_And_Protocol_Definitions, Care_Process_Model)
+        .get();
+    assertTrue(semanticRepository
+        .setKnowledgeAssetVersion(assetId.getUuid(), assetId.getVersionTag(), surr).isSuccess());
+  }
+
+  private UUID surrogateOf(String id, String versionTag) {
+    return semanticRepository.getKnowledgeAsset(uuid(id), versionTag)
+        .map(ax -> ax.getSurrogate().get(0).getArtifactId().getUuid())
+        .orElseGet(Assertions::fail);
+  }
+
+  private boolean isInstanceTriple(Statement s) {
+    return !s.getSubject().getURI().startsWith("https://www.omg.org/spec")
+        && !s.getSubject().getURI().startsWith("http://ontology.mayo.edu/");
+  }
+
+}
@@ -0,0 +1,126 @@
+package edu.mayo.kmdp.repository.asset.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepository;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepositoryService;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+
+class ArtifactInvalidationChannelTest {
+
+  private static final String REPO_ID = "default";
+
+  KnowledgeArtifactRepositoryServerProperties cfg =
+      new KnowledgeArtifactRepositoryServerProperties(
+          ArtifactInvalidationChannelTest.class.getResourceAsStream(
+              "/application.test.properties"));
+
+  JPAKnowledgeArtifactRepository artifactRepo =
+      new JPAKnowledgeArtifactRepository(JPAKnowledgeArtifactRepositoryService.inMemoryDataSource(),
+          cfg);
+
+  @Test
+  void testEncodeDecode() {
+    URI asset = SemanticIdentifier.newId(UUID.randomUUID(), "1.0.0").getVersionId();
+    URI artifact = SemanticIdentifier.newId(UUID.randomUUID(), "2.0.0").getVersionId();
+    var message = CacheInvalidation.of("node1", 42, List.of(asset), List.of(artifact));
+
+    var decoded = CacheInvalidation.decode(message.encode())
+        .orElseGet(Assertions::fail);
+    assertEquals("node1", decoded.getOrigin());
+    assertEquals(42, decoded.getGeneration());
+    assertEquals(message.getTimestamp(), decoded.getTimestamp());
+    assertFalse(decoded.isAll());
+    assertEquals(Set.of(asset), decoded.getAssetVersions());
+    assertEquals(Set.of(artifact), decoded.getArtifactVersions());
+
+    assertTrue(CacheInvalidation.decode(CacheInvalidation.all("node2", 3).encode())
+        .map(CacheInvalidation::isAll)
+        .orElse(false));
+    assertTrue(CacheInvalidation.decode("not a message").isEmpty());
+  }
+
+  @Test
+  void testMessagesAreDeliveredToOtherNodes() {
+    var node1 = channel("node1", 60_000);
+    var node2 = channel("node2", 60_000);
+    List<CacheInvalidation> received1 = new ArrayList<>();
+    List<CacheInvalidation> received2 = new ArrayList<>();
+    node1.subscribe(received1::add);
+    node2.subscribe(received2::add);
+
+    URI asset = SemanticIdentifier.newId(UUID.randomUUID(), "1.0.0").getVersionId();
+    node1.publish(CacheInvalidation.of("node1", 1, List.of(asset), List.of()));
+    node1.publish(CacheInvalidation.all("node1", 2));
+
+    assertEquals(2, node2.poll());
+    assertEquals(2, received2.size());
+    assertEquals(Set.of(asset), received2.get(0).getAssetVersions());
+    assertTrue(received2.get(1).isAll());
+
+    // each message is consumed once, and never by the publishing node
+    assertEquals(0, node2.poll());
+    assertEquals(0, node1.poll());
+    assertTrue(received1.isEmpty());
+    assertEquals(2, node1.getPublishedCount());
+    assertEquals(2, node2.getReceivedCount());
+  }
+
+  @Test
+  void testExpiredMessagesAreRemoved() {
+    var node1 = channel("node1", 0);
+    var node2 = channel("node2", 0);
+    var message = CacheInvalidation.all("node1", 1);
+    node1.publish(message);
+    assertEquals(1, bucket(message).size());
+
+    // expired messages are removed by any node, not only by the publishing one
+    node2.poll();
+    assertTrue(bucket(message).isEmpty());
+    assertEquals(0, node1.poll());
+  }
+
+  @Test
+  void testMessagesAreStoredInTimeBuckets() {
+    var node1 = channel("node1", 60_000);
+    var node2 = channel("node2", 60_000);
+    var message = CacheInvalidation.all("node1", 1);
+    node1.publish(message);
+
+    UUID bucketId = ArtifactInvalidationChannel.bucketId(message.getTimestamp());
+    assertTrue(ArtifactInvalidationChannel.isInvalidationChannel(bucketId));
+    assertEquals(1, bucket(message).size());
+    assertTrue(artifactRepo.getKnowledgeArtifactSeries(REPO_ID,
+        ArtifactInvalidationChannel.CHANNEL_ID).orElseGet(List::of).isEmpty());
+    assertEquals(1, node2.poll());
+  }
+
+  @Test
+  void testInvalidNodeId() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> channel(UUID.randomUUID().toString(), 0));
+  }
+
+  private ArtifactInvalidationChannel channel(String nodeId, long retentionMillis) {
+    return new ArtifactInvalidationChannel(artifactRepo, () -> REPO_ID, nodeId, 0,
+        retentionMillis);
+  }
+
+  private List<?> bucket(CacheInvalidation message) {
+    return artifactRepo
+        .getKnowledgeArtifactSeries(REPO_ID,
+            ArtifactInvalidationChannel.bucketId(message.getTimestamp()))
+        .orElseGet(List::of);
+  }
+
+}
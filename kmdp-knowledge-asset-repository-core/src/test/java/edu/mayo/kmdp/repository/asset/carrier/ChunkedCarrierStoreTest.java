@@ -0,0 +1,199 @@
+package edu.mayo.kmdp.repository.asset.carrier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.surrogate.SurrogateBuilder.randomArtifactId;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepository;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.ContentDigest;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+
+class ChunkedCarrierStoreTest {
+
+  private static final String REPO_ID = "default";
+
+  KnowledgeArtifactRepositoryServerProperties cfg =
+      new KnowledgeArtifactRepositoryServerProperties(
+          ChunkedCarrierStoreTest.class.getResourceAsStream("/application.test.properties"));
+
+  JPAKnowledgeArtifactRepository artifactRepo =
+      new JPAKnowledgeArtifactRepository(JPAKnowledgeArtifactRepositoryService.inMemoryDataSource(),
+          cfg);
+
+  ChunkedCarrierStore store = new ChunkedCarrierStore(
+      new ContentAddressedStore(artifactRepo, true), 1024);
+
+  @Test
+  void testSmallContentIsNotChunked() throws IOException {
+    ResourceIdentifier carrierId = randomArtifactId();
+    byte[] content = randomBytes(100);
+
+    var stored = store.store(REPO_ID, carrierId, new ByteArrayInputStream(content))
+        .orElseGet(Assertions::fail);
+    assertEquals(1, stored.getNumChunks());
+    assertEquals(ContentDigest.digest(content), stored.getDigest());
+
+    byte[] raw = artifactRepo.getKnowledgeArtifactVersion(
+        REPO_ID, carrierId.getUuid(), carrierId.getVersionTag()).orElseGet(Assertions::fail);
+    assertFalse(ChunkedCarrierStore.isChunked(raw));
+    assertArrayEquals(content, raw);
+
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testLargeContentIsChunked() throws IOException {
+    ResourceIdentifier carrierId = randomArtifactId();
+    byte[] content = randomBytes(10 * 1024 + 17);
+
+    var stored = store.store(REPO_ID, carrierId, new ByteArrayInputStream(content))
+        .orElseGet(Assertions::fail);
+    assertEquals(11, stored.getNumChunks());
+    assertEquals(content.length, stored.getSize());
+    assertEquals(ContentDigest.digest(content), stored.getDigest());
+
+    byte[] raw = artifactRepo.getKnowledgeArtifactVersion(
+        REPO_ID, carrierId.getUuid(), carrierId.getVersionTag()).orElseGet(Assertions::fail);
+    assertTrue(ChunkedCarrierStore.isChunked(raw));
+
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+    assertArrayEquals(content,
+        store.reassemble(REPO_ID, carrierId, raw).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testExactMultipleOfChunkSize() throws IOException {
+    ResourceIdentifier carrierId = randomArtifactId();
+    byte[] content = randomBytes(2 * 1024);
+
+    var stored = store.store(REPO_ID, carrierId, new ByteArrayInputStream(content))
+        .orElseGet(Assertions::fail);
+    assertEquals(2, stored.getNumChunks());
+
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testCompressedContentIsServedAsGzip() throws IOException {
+    ChunkedCarrierStore compressing = new ChunkedCarrierStore(
+        new ContentAddressedStore(artifactRepo, true, 512), 1024);
+    ResourceIdentifier carrierId = randomArtifactId();
+    byte[] content = "<xml>Lorem ipsum dolor sit amet</xml>\n".repeat(100).getBytes(UTF_8);
+
+    compressing.store(REPO_ID, carrierId, new ByteArrayInputStream(content))
+        .orElseGet(Assertions::fail);
+
+    try (InputStream in = compressing.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+    try (InputStream in = new GZIPInputStream(
+        compressing.openGzip(REPO_ID, carrierId).orElseGet(Assertions::fail))) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testFailedUploadDiscardsChunks() {
+    ResourceIdentifier carrierId = randomArtifactId();
+    int artifacts = countArtifacts();
+
+    // the upload fails after the first 3 chunks have been read (and written)
+    assertTrue(store.store(REPO_ID, carrierId, failingAfter(randomBytes(3 * 1024), 3 * 1024))
+        .isFailure());
+
+    assertEquals(artifacts, countArtifacts());
+    assertFalse(artifactRepo.getKnowledgeArtifactVersion(
+        REPO_ID, carrierId.getUuid(), carrierId.getVersionTag()).isSuccess());
+  }
+
+  @Test
+  void testFailedOverwriteKeepsCurrentContent() throws IOException {
+    ResourceIdentifier carrierId = randomArtifactId();
+    byte[] content = randomBytes(5 * 1024 + 100);
+    store.store(REPO_ID, carrierId, new ByteArrayInputStream(content))
+        .orElseGet(Assertions::fail);
+    int artifacts = countArtifacts();
+
+    byte[] update = new byte[6 * 1024];
+    new Random(7).nextBytes(update);
+    assertTrue(store.store(REPO_ID, carrierId, failingAfter(update, 3 * 1024)).isFailure());
+
+    // the current manifest, and the chunks it points to, are untouched
+    assertEquals(artifacts, countArtifacts());
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testOverwriteReleasesPreviousChunks() throws IOException {
+    ResourceIdentifier carrierId = randomArtifactId();
+    int artifacts = countArtifacts();
+    store.store(REPO_ID, carrierId, new ByteArrayInputStream(randomBytes(5 * 1024 + 100)))
+        .orElseGet(Assertions::fail);
+
+    // a smaller, still chunked, content
+    byte[] smaller = new byte[2 * 1024 + 10];
+    new Random(7).nextBytes(smaller);
+    store.store(REPO_ID, carrierId, new ByteArrayInputStream(smaller))
+        .orElseGet(Assertions::fail);
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(smaller, in.readAllBytes());
+    }
+    // the carrier, and its 3 chunks: no trailing chunk of the previous content is left behind
+    assertEquals(artifacts + 4, countArtifacts());
+
+    // a content that fits a single chunk
+    byte[] small = randomBytes(100);
+    store.store(REPO_ID, carrierId, new ByteArrayInputStream(small))
+        .orElseGet(Assertions::fail);
+    try (InputStream in = store.open(REPO_ID, carrierId).orElseGet(Assertions::fail)) {
+      assertArrayEquals(small, in.readAllBytes());
+    }
+    assertEquals(artifacts + 1, countArtifacts());
+  }
+
+  private InputStream failingAfter(byte[] content, int length) {
+    return new SequenceInputStream(
+        new ByteArrayInputStream(content, 0, length),
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("Connection reset");
+          }
+        });
+  }
+
+  private int countArtifacts() {
+    return artifactRepo.listKnowledgeArtifacts(REPO_ID)
+        .map(List::size)
+        .orElse(0);
+  }
+
+  private byte[] randomBytes(int n) {
+    byte[] bytes = new byte[n];
+    new Random(42).nextBytes(bytes);
+    return bytes;
+  }
+
+}
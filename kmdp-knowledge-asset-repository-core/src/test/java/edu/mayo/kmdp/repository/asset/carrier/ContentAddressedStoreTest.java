@@ -0,0 +1,177 @@
+package edu.mayo.kmdp.repository.asset.carrier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepository;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.ContentDigest;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ContentAddressedStoreTest {
+
+  private static final String REPO_ID = "default";
+  private static final String VERSION = "1.0.0";
+
+  KnowledgeArtifactRepositoryServerProperties cfg =
+      new KnowledgeArtifactRepositoryServerProperties(
+          ContentAddressedStoreTest.class.getResourceAsStream("/application.test.properties"));
+
+  JPAKnowledgeArtifactRepository artifactRepo =
+      new JPAKnowledgeArtifactRepository(JPAKnowledgeArtifactRepositoryService.inMemoryDataSource(),
+          cfg);
+
+  ContentAddressedStore store = new ContentAddressedStore(artifactRepo, true);
+
+  @Test
+  void testIdenticalContentIsStoredOnce() {
+    byte[] content = randomBytes(4096);
+    String digest = ContentDigest.digest(content);
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+
+    assertEquals(digest, store.put(REPO_ID, a1, VERSION, content).orElseGet(Assertions::fail));
+    assertEquals(digest, store.put(REPO_ID, a2, VERSION, content).orElseGet(Assertions::fail));
+
+    byte[] raw1 = artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a1, VERSION)
+        .orElseGet(Assertions::fail);
+    byte[] raw2 = artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a2, VERSION)
+        .orElseGet(Assertions::fail);
+    assertTrue(ContentAddressedStore.isReference(raw1));
+    assertArrayEquals(raw1, raw2);
+    assertTrue(raw1.length < content.length);
+
+    byte[] blob = artifactRepo.getKnowledgeArtifactVersion(
+            REPO_ID, ContentAddressedStore.blobId(digest), ContentAddressedStore.BLOB_VERSION)
+        .orElseGet(Assertions::fail);
+    assertArrayEquals(content, blob);
+
+    assertArrayEquals(content, store.get(REPO_ID, a1, VERSION).orElseGet(Assertions::fail));
+    assertArrayEquals(content, store.get(REPO_ID, a2, VERSION).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testFirstSeenContentIsStoredAsIs() {
+    byte[] content = randomBytes(5000);
+    UUID blobId = ContentAddressedStore.blobId(ContentDigest.digest(content));
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+
+    store.put(REPO_ID, a1, VERSION, content);
+    assertArrayEquals(content, artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a1, VERSION)
+        .orElseGet(Assertions::fail));
+    assertFalse(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+
+    // storing the same content again moves it to a blob, shared by both Artifacts
+    store.put(REPO_ID, a2, VERSION, content);
+    assertTrue(ContentAddressedStore.isReference(
+        artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a1, VERSION)
+            .orElseGet(Assertions::fail)));
+    assertTrue(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+    assertArrayEquals(content, store.get(REPO_ID, a1, VERSION).orElseGet(Assertions::fail));
+    assertArrayEquals(content, store.get(REPO_ID, a2, VERSION).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testBlobIsDetectedAcrossInstances() {
+    byte[] content = randomBytes(1024);
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+
+    store.put(REPO_ID, a1, VERSION, content);
+    new ContentAddressedStore(artifactRepo, true).put(REPO_ID, a2, VERSION, content);
+
+    assertArrayEquals(content, store.get(REPO_ID, a2, VERSION).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testBlobIsRemovedWithItsLastReferrer() {
+    byte[] content = randomBytes(3000);
+    UUID blobId = ContentAddressedStore.blobId(ContentDigest.digest(content));
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+
+    store.put(REPO_ID, a1, VERSION, content);
+    store.put(REPO_ID, a2, VERSION, content);
+
+    assertTrue(store.remove(REPO_ID, a1, VERSION).isSuccess());
+    assertTrue(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+    assertArrayEquals(content, store.get(REPO_ID, a2, VERSION).orElseGet(Assertions::fail));
+
+    assertTrue(store.remove(REPO_ID, a2, VERSION).isSuccess());
+    assertFalse(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+  }
+
+  @Test
+  void testBlobReleasedByAnotherInstanceIsForgotten() {
+    byte[] content = randomBytes(2000);
+    UUID blobId = ContentAddressedStore.blobId(ContentDigest.digest(content));
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+    UUID a3 = UUID.randomUUID();
+    var other = new ContentAddressedStore(artifactRepo, true);
+    other.onRelease(store::forget);
+
+    // one instance creates the blob, then the other instance releases it
+    store.put(REPO_ID, a1, VERSION, content);
+    store.put(REPO_ID, a2, VERSION, content);
+    assertTrue(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+    assertTrue(other.remove(REPO_ID, a1, VERSION).isSuccess());
+    assertTrue(other.remove(REPO_ID, a2, VERSION).isSuccess());
+    assertFalse(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId, false).isSuccess());
+
+    // the content is stored again, rather than referenced
+    store.put(REPO_ID, a3, VERSION, content);
+    assertFalse(ContentAddressedStore.isReference(
+        artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a3, VERSION)
+            .orElseGet(Assertions::fail)));
+    assertArrayEquals(content, store.get(REPO_ID, a3, VERSION).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testReplacedContentIsReleased() {
+    byte[] content1 = randomBytes(1500);
+    byte[] content2 = randomBytes(2500);
+    UUID blobId1 = ContentAddressedStore.blobId(ContentDigest.digest(content1));
+    UUID a1 = UUID.randomUUID();
+
+    store.put(REPO_ID, a1, VERSION, content1);
+    store.put(REPO_ID, a1, VERSION, content2);
+
+    assertFalse(artifactRepo.isKnowledgeArtifactSeries(REPO_ID, blobId1, false).isSuccess());
+    assertArrayEquals(content2, store.get(REPO_ID, a1, VERSION).orElseGet(Assertions::fail));
+  }
+
+  @Test
+  void testSmallOrDisabledContentIsStoredAsIs() {
+    byte[] small = randomBytes(ContentAddressedStore.MIN_BLOB_SIZE - 1);
+    byte[] large = randomBytes(2048);
+    UUID a1 = UUID.randomUUID();
+    UUID a2 = UUID.randomUUID();
+
+    store.put(REPO_ID, a1, VERSION, small);
+    new ContentAddressedStore(artifactRepo, false).put(REPO_ID, a2, VERSION, large);
+
+    byte[] raw1 = artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a1, VERSION)
+        .orElseGet(Assertions::fail);
+    byte[] raw2 = artifactRepo.getKnowledgeArtifactVersion(REPO_ID, a2, VERSION)
+        .orElseGet(Assertions::fail);
+    assertFalse(ContentAddressedStore.isReference(raw1));
+    assertArrayEquals(small, raw1);
+    assertArrayEquals(large, raw2);
+    assertArrayEquals(large, store.get(REPO_ID, a2, VERSION).orElseGet(Assertions::fail));
+  }
+
+  private byte[] randomBytes(int n) {
+    byte[] bytes = new byte[n];
+    new Random(n).nextBytes(bytes);
+    return bytes;
+  }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.changes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepository;
+import edu.mayo.kmdp.repository.artifact.jpa.JPAKnowledgeArtifactRepositoryService;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.ChangeType;
+import edu.mayo.kmdp.repository.asset.changes.ChangeEvent.EntityKind;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ArtifactChangeLogTest {
+
+  private static final String REPO_ID = "default";
+
+  KnowledgeArtifactRepositoryServerProperties cfg =
+      new KnowledgeArtifactRepositoryServerProperties(
+          ArtifactChangeLogTest.class.getResourceAsStream("/application.test.properties"));
+
+  JPAKnowledgeArtifactRepository artifactRepo =
+      new JPAKnowledgeArtifactRepository(JPAKnowledgeArtifactRepositoryService.inMemoryDataSource(),
+          cfg);
+
+  ChangeLog changeLog = new ArtifactChangeLog(artifactRepo, () -> REPO_ID);
+
+  @Test
+  void testChangesArePagedInOrder() {
+    append(changeLog, 5);
+
+    ChangePage p1 = changeLog.changesSince(0, 2);
+    assertEquals(List.of(1L, 2L), sequences(p1));
+    assertTrue(p1.isMoreAvailable());
+
+    ChangePage p2 = changeLog.changesSince(p1.getLastSequence(), 2);
+    assertEquals(List.of(3L, 4L), sequences(p2));
+
+    ChangePage p3 = changeLog.changesSince(p2.getLastSequence(), 2);
+    assertEquals(List.of(5L), sequences(p3));
+    assertFalse(p3.isMoreAvailable());
+    assertEquals(5, p3.getHeadSequence());
+
+    ChangeEvent change = p3.getChanges().get(0);
+    assertEquals(ChangeType.UPDATE, change.getType());
+    assertEquals(EntityKind.CARRIER, change.getKind());
+    assertEquals(URI.create("urn:test:5"), change.getResourceId());
+
+    assertTrue(changeLog.changesSince(5, 10).getChanges().isEmpty());
+  }
+
+  @Test
+  void testSequenceIsRecoveredFromArtifactRepository() {
+    append(changeLog, 3);
+
+    ChangeLog recovered = new ArtifactChangeLog(artifactRepo, () -> REPO_ID);
+    assertEquals(3, recovered.getHeadSequence());
+    assertEquals(List.of(2L, 3L), sequences(recovered.changesSince(1, 10)));
+
+    recovered.append(ChangeType.CREATE, EntityKind.ASSET, null, null);
+    assertEquals(List.of(4L), sequences(recovered.changesSince(3, 10)));
+  }
+
+  @Test
+  void testSequenceIsNotReusedAfterReset() {
+    append(changeLog, 3);
+    artifactRepo.clear();
+    changeLog.reset();
+
+    assertTrue(changeLog.changesSince(0, 10).getChanges().isEmpty());
+    assertEquals(3, changeLog.changesSince(0, 10).getLastSequence());
+
+    changeLog.append(ChangeType.DELETE, EntityKind.CATALOG, null, null);
+    assertEquals(List.of(4L), sequences(changeLog.changesSince(0, 10)));
+  }
+
+  @Test
+  void testSequencesAreUniqueAcrossNodes() throws Exception {
+    ChangeLog other = new ArtifactChangeLog(artifactRepo, () -> REPO_ID);
+    int n = 10;
+
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    List<Future<List<Long>>> appended = new ArrayList<>();
+    try {
+      for (ChangeLog log : List.of(changeLog, other)) {
+        appended.add(pool.submit(() -> {
+          List<Long> seqs = new ArrayList<>();
+          for (int j = 0; j < n; j++) {
+            seqs.add(log.append(ChangeType.UPDATE, EntityKind.ASSET, null, null).getSequence());
+          }
+          return seqs;
+        }));
+      }
+      List<Long> all = new ArrayList<>();
+      for (Future<List<Long>> f : appended) {
+        all.addAll(f.get());
+      }
+      assertEquals(2 * n, new HashSet<>(all).size());
+
+      long head = all.stream().mapToLong(Long::longValue).max().orElse(0);
+      assertEquals(head, changeLog.getHeadSequence());
+      assertEquals(head, other.getHeadSequence());
+      assertEquals(2 * n, changeLog.changesSince(0, 10 * n).getChanges().size());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testConsumersStopAtOutstandingClaims() {
+    append(changeLog, 2);
+    // another node claims the next number, but has not recorded its change yet
+    String claim = System.currentTimeMillis() + "-" + UUID.randomUUID();
+    artifactRepo.setKnowledgeArtifactVersion(
+        REPO_ID, ArtifactChangeLog.claimsId(3), claim, claim.getBytes(UTF_8));
+    changeLog.append(ChangeType.CREATE, EntityKind.ASSET, null, null);
+    assertEquals(4, changeLog.getHeadSequence());
+
+    ChangePage page = changeLog.changesSince(0, 10);
+    assertEquals(List.of(1L, 2L), sequences(page));
+    assertEquals(2, page.getLastSequence());
+    assertTrue(page.isMoreAvailable());
+
+    // the other node records its change, and releases the claim
+    var change = new ChangeEvent(
+        3, System.currentTimeMillis(), ChangeType.UPDATE, EntityKind.ASSET, null, null);
+    artifactRepo.setKnowledgeArtifactVersion(
+        REPO_ID, ArtifactChangeLog.CHANGE_LOG_ID, "3", change.encode().getBytes(UTF_8));
+    artifactRepo.deleteKnowledgeArtifactVersion(
+        REPO_ID, ArtifactChangeLog.claimsId(3), claim, true);
+
+    ChangePage next = changeLog.changesSince(page.getLastSequence(), 10);
+    assertEquals(List.of(3L, 4L), sequences(next));
+    assertFalse(next.isMoreAvailable());
+  }
+
+  @Test
+  void testTimedOutClaimsAreSkipped() {
+    append(changeLog, 2);
+    String claim = (System.currentTimeMillis() - ArtifactChangeLog.CLAIM_TIMEOUT - 1)
+        + "-" + UUID.randomUUID();
+    artifactRepo.setKnowledgeArtifactVersion(
+        REPO_ID, ArtifactChangeLog.claimsId(3), claim, claim.getBytes(UTF_8));
+    changeLog.append(ChangeType.CREATE, EntityKind.ASSET, null, null);
+
+    ChangePage page = changeLog.changesSince(0, 10);
+    assertEquals(List.of(1L, 2L, 4L), sequences(page));
+    assertEquals(4, page.getLastSequence());
+  }
+
+  private static void append(ChangeLog log, int n) {
+    for (int j = 1; j <= n; j++) {
+      URI id = URI.create("urn:test:" + j);
+      log.append(ChangeType.UPDATE, EntityKind.CARRIER, id, id);
+    }
+  }
+
+  private static List<Long> sequences(ChangePage page) {
+    return page.getChanges().stream()
+        .map(ChangeEvent::getSequence)
+        .collect(Collectors.toList());
+  }
+
+}
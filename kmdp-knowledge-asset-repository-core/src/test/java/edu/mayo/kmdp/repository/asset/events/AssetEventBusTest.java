@@ -0,0 +1,155 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.repository.asset.events.AssetEventBus.OverflowPolicy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+
+class AssetEventBusTest {
+
+  @Test
+  void testEventsAreDeliveredInOrder() throws InterruptedException {
+    List<ResourceIdentifier> ids = ids(5);
+    try (var bus = new AssetEventBus(16, OverflowPolicy.BLOCK, 0)) {
+      var sub = new CollectingSubscriber(Long.MAX_VALUE, ids.size());
+      bus.subscribe(sub);
+      ids.forEach(bus::publish);
+
+      assertTrue(sub.done.await(5, TimeUnit.SECONDS));
+      assertEquals(ids, sub.received);
+      assertEquals(5, bus.getPublishedCount());
+      assertEquals(5, bus.getDeliveredCount());
+      assertEquals(0, bus.getDroppedCount());
+      assertTrue(bus.getMaxLatencyMillis() >= bus.getAverageLatencyMillis());
+    }
+  }
+
+  @Test
+  void testSlowSubscriberDoesNotBlockPublisher() throws InterruptedException {
+    List<ResourceIdentifier> ids = ids(20);
+    try (var bus = new AssetEventBus(4, OverflowPolicy.DROP, 0)) {
+      var gate = new CountDownLatch(1);
+      var sub = new CollectingSubscriber(Long.MAX_VALUE, 1) {
+        @Override
+        public void onNext(ResourceIdentifier item) {
+          try {
+            gate.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          super.onNext(item);
+        }
+      };
+      bus.subscribe(sub);
+
+      ids.forEach(bus::publish);
+      assertTrue(bus.getDroppedCount() > 0);
+
+      gate.countDown();
+      assertTrue(sub.done.await(5, TimeUnit.SECONDS));
+      waitFor(() -> sub.received.size() + bus.getDroppedCount() == ids.size());
+      assertEquals(ids.size(), sub.received.size() + bus.getDroppedCount());
+    }
+  }
+
+  @Test
+  void testDeliveryFollowsDemand() throws InterruptedException {
+    List<ResourceIdentifier> ids = ids(3);
+    try (var bus = new AssetEventBus(16, OverflowPolicy.BLOCK, 0)) {
+      var sub = new CollectingSubscriber(1, 1);
+      bus.subscribe(sub);
+      ids.forEach(bus::publish);
+
+      assertTrue(sub.done.await(5, TimeUnit.SECONDS));
+      assertEquals(1, sub.received.size());
+      assertTrue(bus.getMaximumLag() >= 2);
+
+      sub.subscription.request(2);
+      waitFor(() -> sub.received.size() == 3);
+      assertEquals(ids, sub.received);
+    }
+  }
+
+  @Test
+  void testNoSubscribers() {
+    try (var bus = new AssetEventBus(16, OverflowPolicy.DROP, 0)) {
+      ids(3).forEach(bus::publish);
+      assertEquals(0, bus.getPublishedCount());
+      assertEquals(0, bus.getSubscriberCount());
+    }
+  }
+
+  private static List<ResourceIdentifier> ids(int n) {
+    return IntStream.range(0, n)
+        .mapToObj(j -> SemanticIdentifier.newId(UUID.randomUUID(), "1.0." + j))
+        .collect(Collectors.toList());
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static class CollectingSubscriber implements Flow.Subscriber<ResourceIdentifier> {
+
+    final List<ResourceIdentifier> received = new CopyOnWriteArrayList<>();
+    final CountDownLatch done;
+    final long initialDemand;
+    Flow.Subscription subscription;
+
+    CollectingSubscriber(long initialDemand, int expected) {
+      this.initialDemand = initialDemand;
+      this.done = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(initialDemand);
+    }
+
+    @Override
+    public void onNext(ResourceIdentifier item) {
+      received.add(item);
+      done.countDown();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      // not expected
+    }
+
+    @Override
+    public void onComplete() {
+      // nothing to do
+    }
+  }
+
+}
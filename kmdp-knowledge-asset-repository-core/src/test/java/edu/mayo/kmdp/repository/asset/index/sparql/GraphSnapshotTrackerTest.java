@@ -0,0 +1,56 @@
+package edu.mayo.kmdp.repository.asset.index.sparql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+
+class GraphSnapshotTrackerTest {
+
+  @Test
+  void testSnapshotIsIsolatedFromLaterChanges() {
+    Model live = ModelFactory.createDefaultModel();
+    Resource a = live.createResource("http://a.tst/a");
+    Resource b = live.createResource("http://a.tst/b");
+    live.add(a, RDFS.label, "A");
+
+    GraphSnapshotTracker tracker = GraphSnapshotTracker.track(live);
+    GraphSnapshotTracker.PendingSnapshot first = tracker.capture(live);
+    assertEquals(-1, first.size());
+
+    live.add(b, RDFS.label, "B");
+    Model snapshot = first.complete();
+    assertEquals(1, snapshot.size());
+    assertFalse(snapshot.contains(b, RDFS.label));
+  }
+
+  @Test
+  void testSnapshotReplaysChanges() {
+    Model live = ModelFactory.createDefaultModel();
+    Resource a = live.createResource("http://a.tst/a");
+    Resource b = live.createResource("http://a.tst/b");
+
+    GraphSnapshotTracker tracker = GraphSnapshotTracker.track(live);
+    tracker.capture(live).complete();
+
+    live.add(a, RDFS.label, "A");
+    live.add(b, RDFS.label, "B");
+    live.remove(live.createStatement(a, RDFS.label, "A"));
+    live.add(a, RDFS.comment, "A");
+
+    GraphSnapshotTracker.PendingSnapshot pending = tracker.capture(live);
+    assertEquals(4, pending.size());
+    Model snapshot = pending.complete();
+    assertTrue(snapshot.isIsomorphicWith(live));
+
+    live.removeAll();
+    Model resynced = tracker.capture(live).complete();
+    assertTrue(resynced.isEmpty());
+  }
+
+}
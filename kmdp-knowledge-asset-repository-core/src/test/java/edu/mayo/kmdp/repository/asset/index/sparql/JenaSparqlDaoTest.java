@@ -4,6 +4,7 @@ package edu.mayo.kmdp.repository.asset.index.sparql;
 import static edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder.newKnowledgeGraphHolder;
 import static edu.mayo.kmdp.repository.asset.index.sparql.KnowledgeGraphInfo.newKnowledgeGraphInfo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.collect.Lists;
 import edu.mayo.kmdp.repository.artifact.KnowledgeArtifactRepositoryServerProperties;
@@ -127,6 +128,42 @@ class JenaSparqlDaoTest {
     assertEquals("http://a.tst/test1", results.get(0).getURI());
   }
 
+  @Test
+  void testUnitOfWork() {
+    JenaSparqlDAO dao = this.dao;
+    int tBoxSize = dao.getKnowledgeGraphHolder().getTBoxTriples().size();
+    long generation = kgHolder.getGraphGeneration();
+
+    dao.inUnitOfWork(() -> {
+      dao.store(URI.create("http://a.tst/test1"), URI.create("http://a.tst/test2"),
+          URI.create("http://a.tst/test3"));
+      dao.store(URI.create("http://a.tst/test4"), URI.create("http://a.tst/test2"),
+          URI.create("http://a.tst/test3"));
+      dao.inUnitOfWork(() ->
+          dao.store(URI.create("http://a.tst/test5"), URI.create("http://a.tst/test2"),
+              URI.create("http://a.tst/test3")));
+      // not visible until the unit of work is complete
+      assertEquals(tBoxSize, kgHolder.testGetModel().size());
+    });
+
+    assertEquals(3 + tBoxSize, kgHolder.testGetModel().size());
+    assertEquals(generation + 1, kgHolder.getGraphGeneration());
+  }
+
+  @Test
+  void testUnitOfWorkDiscardedOnFailure() {
+    JenaSparqlDAO dao = this.dao;
+    int tBoxSize = dao.getKnowledgeGraphHolder().getTBoxTriples().size();
+
+    assertThrows(IllegalStateException.class, () -> dao.inUnitOfWork(() -> {
+      dao.store(URI.create("http://a.tst/test1"), URI.create("http://a.tst/test2"),
+          URI.create("http://a.tst/test3"));
+      throw new IllegalStateException();
+    }));
+
+    assertEquals(tBoxSize, kgHolder.testGetModel().size());
+  }
+
   @Test
   void testTruncate() {
     JenaSparqlDAO dao = this.dao;
@@ -0,0 +1,201 @@
+/**
+ * Copyright © 2018 Mayo Clinic (RSTKNOWLEDGEMGMT@mayo.edu)
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package edu.mayo.kmdp.repository.asset.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.repository.asset.index.sparql.GraphStatistics;
+import edu.mayo.kmdp.repository.asset.index.sparql.StatisticsStageGenerator;
+import edu.mayo.kmdp.util.FileUtil;
+import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the evaluation of the glossary and (anonymous) composite structure queries
+ * with ARQ's default (fixed) join ordering, and with the statistics-based ordering.
+ */
+class GraphStatisticsBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(GraphStatisticsBenchmarkTest.class);
+
+  private static final String API4KP = "https://www.omg.org/spec/API4KP/api4kp/";
+  private static final String API4KP_REL = "https://www.omg.org/spec/API4KP/api4kp-rel/";
+  private static final String API4KP_SERIES = "https://www.omg.org/spec/API4KP/api4kp-series/";
+  private static final String LCC = "https://www.omg.org/spec/LCC/Languages/LanguageRepresentation/";
+  private static final String DC = "http://purl.org/dc/elements/1.1/";
+  private static final String BASE = "https://clinicalknowledgemanagement.mayo.edu/";
+
+  private static final int ITERATIONS = 20;
+
+  @Test
+  void testSameResultsWithStatistics() {
+    Model kg = buildGraph(200);
+    Query glossary = glossaryQuery();
+    Query anonStruct = anonStructQuery(50);
+
+    int glossaryDefault = count(glossary, kg);
+    int anonStructDefault = count(anonStruct, kg);
+    assertTrue(glossaryDefault > 0);
+    assertTrue(anonStructDefault > 0);
+
+    StatisticsStageGenerator.register(kg.getGraph(), GraphStatistics.collect(kg, 0));
+    try {
+      assertEquals(glossaryDefault, count(glossary, kg));
+      assertEquals(anonStructDefault, count(anonStruct, kg));
+    } finally {
+      StatisticsStageGenerator.unregister(kg.getGraph());
+    }
+  }
+
+  @Test
+  @Disabled("Benchmark - run manually")
+  void benchmarkGlossaryQuery() {
+    benchmark("glossary", glossaryQuery(), buildGraph(5000));
+  }
+
+  @Test
+  @Disabled("Benchmark - run manually")
+  void benchmarkCompositeQuery() {
+    benchmark("anonStruct", anonStructQuery(100), buildGraph(5000));
+  }
+
+  private void benchmark(String name, Query query, Model kg) {
+    int expected = count(query, kg);
+    long before = time(query, kg);
+
+    long t0 = System.currentTimeMillis();
+    GraphStatistics stats = GraphStatistics.collect(kg, 0);
+    logger.info("Statistics collected in {} ms", System.currentTimeMillis() - t0);
+    StatisticsStageGenerator.register(kg.getGraph(), stats);
+    try {
+      assertEquals(expected, count(query, kg));
+      long after = time(query, kg);
+      logger.info("{} default order : {} ms/query", name, before);
+      logger.info("{} stats order   : {} ms/query", name, after);
+    } finally {
+      StatisticsStageGenerator.unregister(kg.getGraph());
+    }
+  }
+
+  private long time(Query query, Model kg) {
+    // warm up
+    count(query, kg);
+    long t0 = System.currentTimeMillis();
+    for (int j = 0; j < ITERATIONS; j++) {
+      count(query, kg);
+    }
+    return (System.currentTimeMillis() - t0) / ITERATIONS;
+  }
+
+  private int count(Query query, Model kg) {
+    try (var qexec = QueryExecutionFactory.create(query, kg)) {
+      return ResultSetFormatter.consume(qexec.execSelect());
+    }
+  }
+
+  private Query glossaryQuery() {
+    return new ParameterizedSparqlString(readQuery("/glossary.sparql")).asQuery();
+  }
+
+  private Query anonStructQuery(int rootIndex) {
+    var pss = new ParameterizedSparqlString(readQuery("/anonStruct.sparql"));
+    pss.setIri("root", asset(rootIndex).getURI());
+    return pss.asQuery();
+  }
+
+  private String readQuery(String path) {
+    return FileUtil.read(GraphStatisticsBenchmarkTest.class.getResourceAsStream(path))
+        .orElseThrow(() -> new IllegalStateException("Unable to load " + path));
+  }
+
+  /**
+   * Builds a synthetic Knowledge Graph, shaped like the graphs built by the Index:
+   * Assets that are members of collections, define concepts, have carriers (some with
+   * inlined expressions), and depend on / import other Assets
+   *
+   * @param n the number of Assets
+   * @return the Graph
+   */
+  private Model buildGraph(int n) {
+    Model kg = ModelFactory.createDefaultModel();
+    Property memberOf = kg.createProperty(LCC + "isMemberOf");
+    Property defines = kg.createProperty(API4KP + "defines");
+    Property usesMethod = kg.createProperty(API4KP + "uses-method");
+    Property carriedBy = kg.createProperty(API4KP + "isCarriedBy");
+    Property hasExpression = kg.createProperty(API4KP + "hasExpression");
+    Property accessURL = kg.createProperty(API4KP + "accessURL");
+    Property dependsOn = kg.createProperty(API4KP + "dependsOn");
+    Property imports = kg.createProperty(API4KP_REL + "imports");
+    Property hasVersion = kg.createProperty(API4KP_SERIES + "hasVersion");
+    Property format = kg.createProperty(DC + "format");
+    Resource assetClass = kg.createResource(API4KP + "KnowledgeAsset");
+
+    int numTypes = 10;
+    for (int j = 0; j < numTypes; j++) {
+      kg.add(type(j), RDFS.subClassOf, assetClass);
+    }
+
+    for (int j = 0; j < n; j++) {
+      Resource asset = asset(j);
+      Resource carrier = kg.createResource(BASE + "artifacts/" + j);
+      Resource artifact = kg.createResource(BASE + "artifacts/" + j + "/versions/1.0.0");
+
+      kg.add(asset, RDF.type, assetClass);
+      kg.add(asset, RDF.type, type(j % numTypes));
+      kg.add(asset, RDFS.label, "Asset " + j);
+      kg.add(asset, memberOf, kg.createResource(BASE + "collections/" + (j % 20)));
+      kg.add(asset, defines, kg.createResource(BASE + "concepts/" + j));
+      kg.add(asset, usesMethod, kg.createResource(BASE + "methods/" + (j % 3)));
+      kg.add(asset, carriedBy, carrier);
+      kg.add(carrier, hasVersion, artifact);
+      kg.add(carrier, format, "text/plain");
+      kg.add(artifact, accessURL, kg.createResource(artifact.getURI() + "/content"));
+      if (j % 2 == 0) {
+        kg.add(artifact, hasExpression, "Expression of asset " + j);
+      }
+      if (j > 0) {
+        kg.add(asset, dependsOn, asset(j - 1));
+      }
+      if (j % 5 != 0) {
+        kg.add(asset, imports, asset(j - 1));
+      }
+    }
+    return kg;
+  }
+
+  private Resource asset(int j) {
+    return ResourceFactory
+        .createResource(BASE + "assets/" + j + "/versions/1.0.0");
+  }
+
+  private Resource type(int j) {
+    return ResourceFactory
+        .createResource(BASE + "types/" + j);
+  }
+
+}
@@ -101,9 +101,18 @@ public class KnowledgeAssetRepositoryComponentConfig {
       .getLogger(KnowledgeAssetRepositoryComponentConfig.class);
 
   @Bean
-  public KnowledgeAssetRepositoryServerProperties defaultConfiguration() {
-    return KnowledgeAssetRepositoryServerProperties.emptyProperties()
-        .with(KnowledgeAssetRepositoryOptions.ASSET_NAMESPACE, assetNamespace);
+  public KnowledgeAssetRepositoryServerProperties defaultConfiguration(
+      @Autowired ConfigurableEnvironment env) {
+    KnowledgeAssetRepositoryServerProperties assetConfig =
+        KnowledgeAssetRepositoryServerProperties.emptyProperties()
+            .with(KnowledgeAssetRepositoryOptions.ASSET_NAMESPACE, assetNamespace);
+
+    Arrays.stream(KnowledgeAssetRepositoryOptions.values())
+        .map(KnowledgeAssetRepositoryOptions::getName)
+        .filter(env::containsProperty)
+        .forEach(propName -> assetConfig.setProperty(propName, env.getProperty(propName)));
+
+    return assetConfig;
   }
 
   @Bean
@@ -201,7 +210,7 @@ public class KnowledgeAssetRepositoryComponentConfig {
   public GlossaryLibraryApiInternal ccgl(
       @Autowired @KPServer KnowledgeAssetRepositoryService kars,
       @Autowired TermsApiInternal terms) {
-    return new KGraphConceptGlossaryLibrary(kars, kars.getInnerArtifactRepository(), terms);
+    return new KGraphConceptGlossaryLibrary(kars, terms);
   }
 
   @Bean
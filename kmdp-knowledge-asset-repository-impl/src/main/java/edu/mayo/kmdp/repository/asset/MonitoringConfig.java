@@ -5,6 +5,12 @@ import edu.mayo.kmdp.health.datatype.ApplicationComponent;
 import edu.mayo.kmdp.health.datatype.MiscProperties;
 import edu.mayo.kmdp.health.datatype.Status;
 import edu.mayo.kmdp.health.utils.MonitorUtil;
+import edu.mayo.kmdp.repository.asset.cache.ArtifactInvalidationChannel;
+import edu.mayo.kmdp.repository.asset.events.AssetEventBus;
+import edu.mayo.kmdp.repository.asset.index.MemoizingIndex;
+import edu.mayo.kmdp.repository.asset.index.sparql.DefaultKnowledgeGraphHolder;
+import edu.mayo.kmdp.repository.asset.query.GraphQueryGovernor;
+import edu.mayo.kmdp.repository.asset.query.QueryResultCache;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.function.Predicate;
@@ -55,6 +61,174 @@ public class MonitoringConfig {
     };
   }
 
+  @Bean
+  Supplier<ApplicationComponent> graphQueryCache(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      QueryResultCache cache = kars.getQueryResultCache();
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Knowledge Graph Query Cache");
+      MiscProperties details = new MiscProperties();
+      details.put("enabled", Boolean.toString(cache.isEnabled()));
+      details.put("entries", Integer.toString(cache.size()));
+      details.put("weight", Long.toString(cache.getWeight()));
+      details.put("hits", Long.toString(cache.getHitCount()));
+      details.put("misses", Long.toString(cache.getMissCount()));
+      details.put("hitRatio", String.format("%.3f", cache.getHitRatio()));
+      details.put("evictions", Long.toString(cache.getEvictionCount()));
+      details.put("invalidations", Long.toString(cache.getInvalidationCount()));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> graphQueryGovernor(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      GraphQueryGovernor governor = kars.getQueryGovernor();
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Knowledge Graph Query Admission");
+      MiscProperties details = new MiscProperties();
+      details.put("availablePermits", Integer.toString(governor.getAvailablePermits()));
+      details.put("queued", Integer.toString(governor.getQueueLength()));
+      details.put("rejected", Long.toString(governor.getRejectedCount()));
+      details.put("timedOut", Long.toString(governor.getTimedOutCount()));
+      details.put("truncated", Long.toString(governor.getTruncatedCount()));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> assetEventBus(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      AssetEventBus bus = kars.getEventBus();
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Knowledge Asset Change Events");
+      MiscProperties details = new MiscProperties();
+      details.put("subscribers", Integer.toString(bus.getSubscriberCount()));
+      details.put("published", Long.toString(bus.getPublishedCount()));
+      details.put("delivered", Long.toString(bus.getDeliveredCount()));
+      details.put("dropped", Long.toString(bus.getDroppedCount()));
+      details.put("maxLag", Integer.toString(bus.getMaximumLag()));
+      details.put("avgLatencyMillis", String.format("%.3f", bus.getAverageLatencyMillis()));
+      details.put("maxLatencyMillis", String.format("%.3f", bus.getMaxLatencyMillis()));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> indexRebuild(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Knowledge Graph Index Rebuild");
+      MiscProperties details = new MiscProperties();
+      kars.getIndexRebuild().ifPresentOrElse(rebuild -> {
+        details.put("complete", Boolean.toString(rebuild.isComplete()));
+        details.put("artifacts", Integer.toString(rebuild.getTotalArtifacts()));
+        details.put("scanned", Integer.toString(rebuild.getScannedArtifacts()));
+        details.put("indexed", Integer.toString(rebuild.getIndexedSurrogates()));
+        details.put("skipped", Integer.toString(rebuild.getSkippedVersions()));
+        details.put("failed", Integer.toString(rebuild.getFailedVersions()));
+        details.put("elapsedMillis", Long.toString(rebuild.getElapsedMillis()));
+        details.put("throughput", String.format("%.1f", rebuild.getThroughput()));
+      }, () -> details.put("complete", "n/a"));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> assetWriteLocks(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Asset Write Locks");
+      MiscProperties details = new MiscProperties();
+      AssetWriteLocks locks = kars.getWriteLocks();
+      details.put("stripes", Integer.toString(locks.getStripeCount()));
+      details.put("acquisitions", Long.toString(locks.getAcquisitions()));
+      details.put("contentions", Long.toString(locks.getContentions()));
+      details.put("waitMillis", Long.toString(locks.getWaitMillis()));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> indexMemoization(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Index Memoization");
+      MiscProperties details = new MiscProperties();
+      MemoizingIndex memo = kars.getIndexMemo();
+      details.put("enabled", Boolean.toString(memo.isEnabled()));
+      details.put("lookups", Long.toString(memo.getLookups()));
+      details.put("hits", Long.toString(memo.getHits()));
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> cacheInvalidation(
+      @Autowired SemanticKnowledgeAssetRepository kars) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Cache Invalidation Channel");
+      MiscProperties details = new MiscProperties();
+      details.put("enabled", Boolean.toString(kars.getInvalidationChannel().isPresent()));
+      details.put("received", Long.toString(kars.getReceivedInvalidations()));
+      kars.getInvalidationChannel()
+          .filter(ArtifactInvalidationChannel.class::isInstance)
+          .map(ArtifactInvalidationChannel.class::cast)
+          .ifPresent(channel -> {
+            details.put("nodeId", channel.getNodeId());
+            details.put("published", Long.toString(channel.getPublishedCount()));
+          });
+      c.setDetails(details);
+      c.setStatus(Status.UP);
+      return c;
+    };
+  }
+
+  @Bean
+  Supplier<ApplicationComponent> graphReplication(
+      @Autowired DefaultKnowledgeGraphHolder kgHolder) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Knowledge Graph Replication");
+      MiscProperties details = new MiscProperties();
+      details.put("readOnly", Boolean.toString(kgHolder.isReadOnly()));
+      c.setStatus(Status.UP);
+      kgHolder.getGraphFollower().ifPresent(follower -> {
+        details.put("lagMillis", Long.toString(follower.getReplicationLagMillis()));
+        details.put("pollInterval", Integer.toString(follower.getPollInterval()));
+        details.put("polls", Long.toString(follower.getPolls()));
+        details.put("failedPolls", Long.toString(follower.getFailedPolls()));
+        details.put("snapshotsLoaded", Long.toString(follower.getSnapshotsLoaded()));
+        details.put("lastLoadMillis", Long.toString(follower.getLastLoadMillis()));
+        if (follower.getLastSyncTime() < 0) {
+          // never in sync with the Graph persisted by the leader
+          c.setStatus(Status.DOWN);
+        }
+      });
+      c.setDetails(details);
+      return c;
+    };
+  }
+
   @Bean
   @Qualifier("flag")
   public Predicate<String> featureFlags() {
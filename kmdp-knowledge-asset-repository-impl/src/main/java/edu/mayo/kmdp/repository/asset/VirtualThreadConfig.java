@@ -0,0 +1,67 @@
+package edu.mayo.kmdp.repository.asset;
+
+import static edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions.THREAD_MODE;
+import static edu.mayo.kmdp.repository.asset.TaskExecutors.ThreadMode.VIRTUAL;
+
+import edu.mayo.kmdp.repository.asset.TaskExecutors.ThreadMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Runs the request handling on virtual threads, rather than on Tomcat's pool of platform
+ * threads, when 'edu.mayo.kmdp.repository.asset.threads' is set to VIRTUAL (case-insensitive,
+ * as interpreted by the Repository itself).
+ *
+ * The requests spend most of their time blocked on the Artifact Repository (DB), on the
+ * external locations of the Artifacts, or on the Knowledge Graph locks, and a virtual thread
+ * does not hold a platform thread while blocked.
+ * The asynchronous (streamed) responses are written on virtual threads as well.
+ * On Java runtimes that do not support virtual threads, VIRTUAL falls back to PLATFORM
+ * (@see ThreadMode#effective), and the requests are handled by Tomcat's own pool.
+ */
+@Configuration
+@Conditional(VirtualThreadConfig.VirtualThreadMode.class)
+public class VirtualThreadConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+  @Bean
+  TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+    logger.info("Request handling on {} threads", VIRTUAL);
+    return protocolHandler ->
+        protocolHandler.setExecutor(TaskExecutors.newTaskExecutor("http-request", VIRTUAL));
+  }
+
+  @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+  AsyncTaskExecutor virtualThreadTaskExecutor() {
+    return new TaskExecutorAdapter(TaskExecutors.newTaskExecutor("mvc-async", VIRTUAL));
+  }
+
+  /**
+   * Matches if the thread mode is VIRTUAL, parsed as the Repository does (@see ThreadMode#parse),
+   * and supported by the Java runtime
+   */
+  static class VirtualThreadMode implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+      String mode = context.getEnvironment().getProperty(THREAD_MODE.getName());
+      try {
+        return mode != null && ThreadMode.parse(mode).effective() == VIRTUAL;
+      } catch (IllegalArgumentException e) {
+        // rejected by the Repository itself
+        return false;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import org.omg.spec.api4kp._20200801.Answer;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Maps the outcome of an {@link Answer} to the HTTP status returned by the (hand-written)
+ * controllers of this server
+ */
+final class AnswerStatus {
+
+  private AnswerStatus() {
+    // static functions only
+  }
+
+  /**
+   * @param answer a (failed) Answer
+   * @return the HTTP status corresponding to the Answer's outcome,
+   * or INTERNAL_SERVER_ERROR if the outcome is not an HTTP response code
+   */
+  static HttpStatus toStatus(Answer<?> answer) {
+    try {
+      return HttpStatus.valueOf(Integer.parseInt(answer.getOutcomeType().getTag()));
+    } catch (RuntimeException e) {
+      return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+  }
+
+}
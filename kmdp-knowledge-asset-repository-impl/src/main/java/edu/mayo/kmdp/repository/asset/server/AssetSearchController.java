@@ -0,0 +1,39 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import java.util.List;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Full-text (name and keyword) lookup of Knowledge Assets, backed by the in-memory
+ * full-text index, rather than by a scan of the literals in the Knowledge Graph.
+ */
+@RestController
+public class AssetSearchController {
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @GetMapping(
+      path = "/cat/search",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<Pointer>> searchKnowledgeAssets(
+      @RequestParam(value = "q") String searchText,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    Answer<List<Pointer>> ans = kars.searchKnowledgeAssets(searchText, limit);
+    if (!ans.isSuccess()) {
+      return ResponseEntity.status(toStatus(ans)).build();
+    }
+    return ResponseEntity.ok(ans.get());
+  }
+
+}
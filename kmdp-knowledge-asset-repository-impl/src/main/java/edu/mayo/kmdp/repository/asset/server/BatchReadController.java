@@ -0,0 +1,94 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+import static edu.mayo.kmdp.repository.asset.server.GraphQueryStreamController.NDJSON;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import edu.mayo.kmdp.repository.asset.negotiation.SurrogateProjection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Retrieves the canonical Surrogates of a batch of Asset versions, in one request.
+ *
+ * The Surrogates are returned in the order of the requested (assetId, versionTag) pairs,
+ * either together, as a JSON array, or (stream=true) as newline-delimited JSON,
+ * flushing each Surrogate to the client as soon as it is available.
+ * Asset versions that are not known are omitted from the response.
+ * The optional 'fields' parameter restricts the Surrogates to a sparse fieldset
+ * (@see SurrogateProjection).
+ */
+@RestController
+public class BatchReadController {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchReadController.class);
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @PostMapping(
+      path = "/cat/assets/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+  public ResponseEntity<?> getKnowledgeAssetVersions(
+      @RequestBody List<ResourceIdentifier> assetVersionIds,
+      @RequestParam(value = "stream", required = false, defaultValue = "false") boolean stream,
+      @RequestParam(value = "fields", required = false) String fields) {
+    if (!stream) {
+      Answer<List<KnowledgeAsset>> ans = kars.getKnowledgeAssetVersions(assetVersionIds, fields);
+      return ans.isSuccess()
+          ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ans.get())
+          : ResponseEntity.status(toStatus(ans)).build();
+    }
+
+    // the headers are sent before the first Surrogate: validate the batch upfront
+    if (assetVersionIds.size() > kars.getBatchReadLimit()
+        || !SurrogateProjection.parse(fields).isSuccess()) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+    StreamingResponseBody body = out -> {
+      Answer<Void> ans;
+      try {
+        ans = kars.streamKnowledgeAssetVersions(assetVersionIds, fields, surrogate -> {
+          try {
+            out.write(objectMapper.writeValueAsBytes(surrogate));
+            out.write('\n');
+            out.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      if (!ans.isSuccess()) {
+        // the headers have already been sent: abort the response
+        logger.warn("Aborting streamed Surrogates: {}", ans.getOutcomeType());
+        throw new IOException("Unable to retrieve the batch of Surrogates");
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(NDJSON))
+        .body(body);
+  }
+
+}
@@ -0,0 +1,97 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Uploads and downloads (large) Carrier Artifacts as streams, without materializing
+ * the whole Artifact in memory, as the byte[] based Carrier operations do.
+ *
+ * Clients that accept a GZIP Content-Encoding receive Artifacts stored compressed as-is.
+ */
+@RestController
+public class CarrierStreamController {
+
+  private static final String CARRIER_STREAM_PATH =
+      "/cat/assets/{assetId}/versions/{versionTag}/carriers/{artifactId}/versions/{artifactVersionTag}/stream";
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @GetMapping(
+      path = CARRIER_STREAM_PATH,
+      produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<StreamingResponseBody> getKnowledgeAssetCarrierVersionStream(
+      @PathVariable("assetId") UUID assetId,
+      @PathVariable("versionTag") String versionTag,
+      @PathVariable("artifactId") UUID artifactId,
+      @PathVariable("artifactVersionTag") String artifactVersionTag,
+      @RequestHeader(value = "X-Accept", required = false) String xAccept,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
+    boolean gzip = acceptsGzip(acceptEncoding);
+    Answer<InputStream> ans = kars.getKnowledgeAssetCarrierVersionStream(
+        assetId, versionTag, artifactId, artifactVersionTag, xAccept, gzip);
+    if (!ans.isSuccess()) {
+      return ResponseEntity.status(toStatus(ans)).build();
+    }
+    StreamingResponseBody body = out -> {
+      try (InputStream in = ans.get()) {
+        in.transferTo(out);
+      }
+    };
+    var response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    return response.body(body);
+  }
+
+  @PutMapping(
+      path = CARRIER_STREAM_PATH,
+      consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<Void> setKnowledgeAssetCarrierVersionStream(
+      @PathVariable("assetId") UUID assetId,
+      @PathVariable("versionTag") String versionTag,
+      @PathVariable("artifactId") UUID artifactId,
+      @PathVariable("artifactVersionTag") String artifactVersionTag,
+      InputStream content) throws IOException {
+    try (content) {
+      Answer<Void> ans = kars.setKnowledgeAssetCarrierVersionStream(
+          assetId, versionTag, artifactId, artifactVersionTag, content);
+      return ResponseEntity.status(toStatus(ans)).build();
+    }
+  }
+
+  private boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if ("gzip".equalsIgnoreCase(parts[0].trim())
+          && (parts.length < 2 || !parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?"))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,39 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import edu.mayo.kmdp.repository.asset.changes.ChangePage;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Ordered feed of the changes to the Knowledge Assets, their Surrogates and Carriers,
+ * which allows clients to synchronize incrementally, polling for the changes after the
+ * last sequence number they have processed.
+ */
+@RestController
+public class ChangeFeedController {
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @GetMapping(
+      path = "/cat/changes",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ChangePage> listChanges(
+      @RequestParam(value = "since", required = false, defaultValue = "0") Long since,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    Answer<ChangePage> ans = kars.listChanges(since, limit);
+    if (!ans.isSuccess()) {
+      return ResponseEntity.status(toStatus(ans)).build();
+    }
+    return ResponseEntity.ok(ans.get());
+  }
+
+}
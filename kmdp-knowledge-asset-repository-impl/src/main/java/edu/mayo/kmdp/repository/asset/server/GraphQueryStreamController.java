@@ -0,0 +1,189 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+import static org.omg.spec.api4kp._20200801.AbstractCarrier.rep;
+import static org.omg.spec.api4kp._20200801.taxonomy.krformat.SerializationFormatSeries.TXT;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.SPARQL_1_1;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import edu.mayo.kmdp.repository.asset.query.GraphQueryPage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.RDFNode;
+import org.omg.spec.api4kp._20200801.AbstractCarrier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams the results of (SELECT) Knowledge Graph queries to HTTP clients,
+ * either as newline-delimited JSON (one JSON object per solution), or as SPARQL 1.1 JSON results.
+ *
+ * The results (up to the configured max number of rows) are pulled lazily, one page at a time:
+ * each page is admitted, and evaluated, under a short Graph READ lock, which is released before
+ * the page is written and flushed to the client, so that neither the whole result set is
+ * materialized, nor writers are blocked while a slow client consumes it.
+ * Pages are resumed by key (@see GraphQueryPager): should the Graph change while the results
+ * are being streamed, the stream is aborted, and the client is expected to restart the query.
+ */
+@RestController
+public class GraphQueryStreamController {
+
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String SPARQL_RESULTS_JSON = "application/sparql-results+json";
+
+  /**
+   * JSON factory, configured not to separate root-level values (NDJSON uses line breaks instead)
+   */
+  private static final JsonFactory jsonFactory = new JsonFactory().setRootValueSeparator(null);
+
+  /**
+   * Number of solutions evaluated, and written, between two flushes of the response
+   */
+  private static final int PAGE_SIZE = 1000;
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @PostMapping(
+      path = "/cat/graph/stream",
+      consumes = {"application/sparql-query", MediaType.TEXT_PLAIN_VALUE},
+      produces = {NDJSON, SPARQL_RESULTS_JSON})
+  public ResponseEntity<StreamingResponseBody> streamKnowledgeAssetGraphQuery(
+      @RequestBody String query,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    KnowledgeCarrier graphQuery = AbstractCarrier.of(query)
+        .withRepresentation(rep(SPARQL_1_1, TXT, StandardCharsets.UTF_8));
+    boolean sparqlJson = accept != null && accept.contains(SPARQL_RESULTS_JSON);
+
+    Answer<GraphQueryPage> first = kars.queryKnowledgeAssetGraphPage(graphQuery, null, PAGE_SIZE);
+    if (!first.isSuccess()) {
+      return ResponseEntity.status(toStatus(first)).build();
+    }
+    int maxRows = kars.getQueryGovernor().getMaxRows();
+
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+        GraphQueryPage page = first.get();
+        if (sparqlJson) {
+          writeSparqlJsonHead(gen, page);
+        }
+        long written = 0;
+        while (true) {
+          written += writePage(gen, out, page, sparqlJson,
+              maxRows > 0 ? maxRows - written : Long.MAX_VALUE);
+          Optional<String> next = page.getNextCursor();
+          if (next.isEmpty() || (maxRows > 0 && written >= maxRows)) {
+            break;
+          }
+          Answer<GraphQueryPage> nextPage =
+              kars.queryKnowledgeAssetGraphPage(graphQuery, next.get(), PAGE_SIZE);
+          if (!nextPage.isSuccess()) {
+            throw new IOException("Knowledge Graph query results stream aborted: "
+                + toStatus(nextPage));
+          }
+          page = nextPage.get();
+        }
+        if (sparqlJson) {
+          writeSparqlJsonTail(gen);
+        }
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(sparqlJson ? SPARQL_RESULTS_JSON : NDJSON))
+        .body(body);
+  }
+
+  /**
+   * Writes (up to a max number of) the solutions in a page, and flushes them to the client
+   *
+   * @return the number of solutions written
+   */
+  private int writePage(JsonGenerator gen, OutputStream out, GraphQueryPage page,
+      boolean sparqlJson, long max) throws IOException {
+    int written = 0;
+    for (QuerySolution sol : page.getSolutions()) {
+      if (written >= max) {
+        break;
+      }
+      gen.writeStartObject();
+      for (String v : page.getVars()) {
+        RDFNode node = sol.get(v);
+        if (node == null) {
+          continue;
+        }
+        if (sparqlJson) {
+          gen.writeObjectFieldStart(v);
+          writeSparqlJsonTerm(gen, node);
+          gen.writeEndObject();
+        } else {
+          gen.writeStringField(v, GraphQueryPage.toValue(node));
+        }
+      }
+      gen.writeEndObject();
+      if (!sparqlJson) {
+        gen.flush();
+        out.write('\n');
+      }
+      written++;
+    }
+    gen.flush();
+    out.flush();
+    return written;
+  }
+
+  private void writeSparqlJsonHead(JsonGenerator gen, GraphQueryPage page) throws IOException {
+    gen.writeStartObject();
+    gen.writeObjectFieldStart("head");
+    gen.writeArrayFieldStart("vars");
+    for (String v : page.getVars()) {
+      gen.writeString(v);
+    }
+    gen.writeEndArray();
+    gen.writeEndObject();
+    gen.writeObjectFieldStart("results");
+    gen.writeArrayFieldStart("bindings");
+  }
+
+  private void writeSparqlJsonTail(JsonGenerator gen) throws IOException {
+    gen.writeEndArray();
+    gen.writeEndObject();
+    gen.writeEndObject();
+  }
+
+  private void writeSparqlJsonTerm(JsonGenerator gen, RDFNode node) throws IOException {
+    if (node.isLiteral()) {
+      Literal lit = node.asLiteral();
+      gen.writeStringField("type", "literal");
+      gen.writeStringField("value", lit.getLexicalForm());
+      if (!lit.getLanguage().isEmpty()) {
+        gen.writeStringField("xml:lang", lit.getLanguage());
+      } else if (lit.getDatatypeURI() != null) {
+        gen.writeStringField("datatype", lit.getDatatypeURI());
+      }
+    } else if (node.isAnon()) {
+      gen.writeStringField("type", "bnode");
+      gen.writeStringField("value", node.toString());
+    } else {
+      gen.writeStringField("type", "uri");
+      gen.writeStringField("value", node.asResource().getURI());
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+package edu.mayo.kmdp.repository.asset.server;
+
+import static edu.mayo.kmdp.repository.asset.server.AnswerStatus.toStatus;
+
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
+import java.util.UUID;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Returns sparse fieldsets of canonical Surrogates,
+ * e.g. GET /cat/assets/{assetId}?fields=name,formalType,carriers
+ *
+ * The mappings only apply to requests with a 'fields' parameter: other requests are handled by
+ * the (generated) Knowledge Asset Catalog API, which returns the fully enriched Surrogate.
+ */
+@RestController
+public class SurrogateProjectionController {
+
+  @Autowired
+  private SemanticKnowledgeAssetRepository kars;
+
+  @GetMapping(
+      path = "/cat/assets/{assetId}",
+      params = "fields",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<KnowledgeAsset> getKnowledgeAsset(
+      @PathVariable("assetId") UUID assetId,
+      @RequestParam("fields") String fields,
+      @RequestHeader(value = "X-Accept", required = false) String xAccept) {
+    return toResponse(kars.getKnowledgeAsset(assetId, xAccept, fields));
+  }
+
+  @GetMapping(
+      path = "/cat/assets/{assetId}/versions/{versionTag}",
+      params = "fields",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<KnowledgeAsset> getKnowledgeAssetVersion(
+      @PathVariable("assetId") UUID assetId,
+      @PathVariable("versionTag") String versionTag,
+      @RequestParam("fields") String fields,
+      @RequestHeader(value = "X-Accept", required = false) String xAccept) {
+    return toResponse(kars.getKnowledgeAssetVersion(assetId, versionTag, xAccept, fields));
+  }
+
+  private ResponseEntity<KnowledgeAsset> toResponse(Answer<KnowledgeAsset> ans) {
+    if (!ans.isSuccess()) {
+      return ResponseEntity.status(toStatus(ans)).build();
+    }
+    return ResponseEntity.ok(ans.get());
+  }
+
+}
@@ -16,11 +16,19 @@ import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeReprese
 import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.HTML;
 
 import edu.mayo.kmdp.api.terminology.v4.server.TermsApiInternal;
+import edu.mayo.kmdp.ccg.model.GlossaryEntry;
+import edu.mayo.kmdp.ccg.model.KnowledgeResourceRef;
+import edu.mayo.kmdp.ccg.model.OperationalDefinition;
 import edu.mayo.kmdp.kbase.query.sparql.v1_1.JenaQuery;
 import edu.mayo.kmdp.knowledgebase.introspectors.fhir.stu3.StructureDefinitionMetadataIntrospector;
+import edu.mayo.kmdp.registry.Registry;
+import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties;
+import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryServerProperties.KnowledgeAssetRepositoryOptions;
 import edu.mayo.kmdp.repository.asset.KnowledgeAssetRepositoryService;
+import edu.mayo.kmdp.repository.asset.SemanticKnowledgeAssetRepository;
 import edu.mayo.kmdp.repository.asset.glossary.KGraphConceptGlossaryLibrary;
 import edu.mayo.kmdp.util.Util;
+import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.List;
@@ -32,6 +40,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.id.ConceptIdentifier;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
 import org.omg.spec.api4kp._20200801.id.Term;
 import org.omg.spec.api4kp._20200801.surrogate.Annotation;
 import org.omg.spec.api4kp._20200801.surrogate.Dependency;
@@ -107,7 +116,6 @@ class GLTests {
   void testLibrary() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
 
     var glossaries = glossary.listGlossaries()
@@ -121,7 +129,6 @@ class GLTests {
   void testEntries() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
     var entries = glossary.listGlossaryEntries(List.of("MOCK-COLL"))
         .orElseGet(Assertions::fail);
@@ -136,7 +143,6 @@ class GLTests {
   void testEntries2() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
     var entries = glossary.listGlossaryEntries(List.of("NOP"))
         .orElseGet(Assertions::fail);
@@ -151,7 +157,6 @@ class GLTests {
   void testEntriesAcrossGlossaries() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
     var entries = glossary.listGlossaryEntries(List.of("MOCK-COLL", "NOP"))
         .orElseGet(Assertions::fail);
@@ -163,7 +168,6 @@ class GLTests {
   void testOneEntry() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
     var entry = glossary.getGlossaryEntry(
             List.of("MOCK-COLL", "NOP"),
@@ -176,7 +180,6 @@ class GLTests {
   void testEntryForNonExistingConcept() {
     var glossary = new KGraphConceptGlossaryLibrary(
         repo,
-        repo.getInnerArtifactRepository(),
         new MockTerms());
     var entry = glossary.getGlossaryEntry(
         List.of("MOCK-COLL", "NOP"),
@@ -185,6 +188,77 @@ class GLTests {
   }
 
 
+  @Test
+  void testEntriesWithStoredDefinitions() {
+    var cfg = KnowledgeAssetRepositoryServerProperties.emptyProperties()
+        .with(KnowledgeAssetRepositoryOptions.CLEARABLE, true)
+        .with(KnowledgeAssetRepositoryOptions.ASSET_NAMESPACE, Registry.DID_URN_URI)
+        .with(KnowledgeAssetRepositoryOptions.ARTIFACT_NAMESPACE, Registry.DID_URN_URI);
+    cfg.put("spring.profiles.active", "jpa");
+    cfg.put("spring.jpa.hibernate.ddl-auto", "create");
+    cfg.setProperty(KnowledgeAssetRepositoryOptions.CARRIER_CHUNK_SIZE.getName(), "1");
+    var largeRepo = (SemanticKnowledgeAssetRepository)
+        KnowledgeAssetRepositoryService.selfContainedRepository(cfg);
+
+    // larger than the compression threshold (8 KB), stored compressed
+    var compressedId = newId(Util.uuid("dddd"), "1.0.0");
+    var compressed = "define \"Compressed\": true\n".repeat(500);
+    // larger than the chunk size (1 KB), stored in chunks
+    var chunkedId = newId(Util.uuid("eeee"), "1.0.0");
+    var chunked = "define \"Chunked\": true\n".repeat(200);
+
+    var asset1 = storedDefinition("aaaa-large", "Compressed", FOO, compressedId);
+    var asset2 = storedDefinition("bbbb-large", "Chunked",
+        Term.newTerm(URI.create("http://mock.term/bar")).asConceptIdentifier(), chunkedId);
+    for (var asset : List.of(asset1, asset2)) {
+      assertTrue(largeRepo.setKnowledgeAssetVersion(
+          asset.getAssetId().getUuid(), asset.getAssetId().getVersionTag(), asset).isSuccess());
+    }
+    assertTrue(largeRepo.setKnowledgeAssetCarrierVersion(
+        asset1.getAssetId().getUuid(), asset1.getAssetId().getVersionTag(),
+        compressedId.getUuid(), compressedId.getVersionTag(),
+        compressed.getBytes()).isSuccess());
+    assertTrue(largeRepo.setKnowledgeAssetCarrierVersionStream(
+        asset2.getAssetId().getUuid(), asset2.getAssetId().getVersionTag(),
+        chunkedId.getUuid(), chunkedId.getVersionTag(),
+        new ByteArrayInputStream(chunked.getBytes())).isSuccess());
+
+    var glossary = new KGraphConceptGlossaryLibrary(
+        largeRepo,
+        new MockTerms());
+    var entries = glossary.listGlossaryEntries(List.of("LARGE"))
+        .orElseGet(Assertions::fail);
+    assertEquals(2, entries.size());
+    assertEquals(compressed, getInlinedExpr(entries, compressedId));
+    assertEquals(chunked, getInlinedExpr(entries, chunkedId));
+  }
+
+  private static KnowledgeAsset storedDefinition(
+      String assetTag, String name, ConceptIdentifier concept, ResourceIdentifier artifactId) {
+    return new KnowledgeAsset()
+        .withName(name)
+        .withAssetId(newId(Util.uuid(assetTag), "1.0.0"))
+        .withProcessingMethod(Query_Technique)
+        .withAnnotation(new Annotation()
+            .withRel(Defines.asConceptIdentifier())
+            .withRef(concept))
+        .withMemberOf(newName("LARGE"))
+        .withFormalType(Service_Profile)
+        .withCarriers(new KnowledgeArtifact()
+            .withArtifactId(artifactId)
+            .withRepresentation(rep(CQL_Essentials, TXT, Charset.defaultCharset())));
+  }
+
+  private static String getInlinedExpr(List<GlossaryEntry> entries, ResourceIdentifier artifactId) {
+    return entries.stream()
+        .flatMap(e -> e.getDef().stream())
+        .map(OperationalDefinition::getComputableSpec)
+        .filter(spec -> spec.getArtifactId().contains(artifactId.getUuid().toString()))
+        .map(KnowledgeResourceRef::getInlinedExpr)
+        .findFirst()
+        .orElseGet(Assertions::fail);
+  }
+
   @Test
   void testGraphInlined() {
     var qry = JenaQuery.wholeGraph();